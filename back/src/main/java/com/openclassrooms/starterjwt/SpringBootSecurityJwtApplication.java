@@ -3,9 +3,11 @@ package com.openclassrooms.starterjwt;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableJpaAuditing
+@EnableScheduling
 public class SpringBootSecurityJwtApplication {
     public static void main(String[] args) {
         SpringApplication.run(SpringBootSecurityJwtApplication.class, args);
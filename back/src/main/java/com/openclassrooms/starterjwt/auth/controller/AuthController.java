@@ -1,39 +1,76 @@
 package com.openclassrooms.starterjwt.auth.controller;
 
 import jakarta.validation.Valid;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import com.openclassrooms.starterjwt.security.jwt.response.JwtResponse;
 import com.openclassrooms.starterjwt.auth.request.LoginRequest;
 import com.openclassrooms.starterjwt.auth.request.SignupRequest;
 import com.openclassrooms.starterjwt.auth.service.AuthLoginService;
+import com.openclassrooms.starterjwt.auth.service.AuthLogoutService;
+import com.openclassrooms.starterjwt.auth.service.AuthRefreshService;
+import com.openclassrooms.starterjwt.auth.request.RefreshTokenRequest;
 import com.openclassrooms.starterjwt.common.response.MessageResponse;
 import com.openclassrooms.starterjwt.auth.service.AuthRegisterService;
+import com.openclassrooms.starterjwt.security.ratelimit.AuthRateLimiter;
 
 @RestController
 @RequestMapping("/api/auth")
 public class AuthController {
     private final AuthLoginService authLoginService;
     private final AuthRegisterService authRegisterService;
+    private final AuthLogoutService authLogoutService;
+    private final AuthRefreshService authRefreshService;
+    private final AuthRateLimiter authRateLimiter;
 
     public AuthController(
         AuthLoginService authLoginService,
-        AuthRegisterService authRegisterService
+        AuthRegisterService authRegisterService,
+        AuthLogoutService authLogoutService,
+        AuthRefreshService authRefreshService,
+        AuthRateLimiter authRateLimiter
     ) {
         this.authLoginService = authLoginService;
         this.authRegisterService = authRegisterService;
+        this.authLogoutService = authLogoutService;
+        this.authRefreshService = authRefreshService;
+        this.authRateLimiter = authRateLimiter;
     }
 
     @PostMapping("/login")
-    public ResponseEntity<JwtResponse> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
+    public ResponseEntity<JwtResponse> authenticateUser(
+        @Valid @RequestBody LoginRequest loginRequest,
+        HttpServletRequest request
+    ) {
+        // Avant le hachage bcrypt : c'est lui que la limite protège
+        authRateLimiter.acquire(AuthRateLimiter.Action.LOGIN, request.getRemoteAddr(), loginRequest.getEmail());
         return ResponseEntity.ok(authLoginService.execute(loginRequest));
     }
 
     @PostMapping("/register")
-    public ResponseEntity<MessageResponse> registerUser(@Valid @RequestBody SignupRequest signUpRequest) {
+    public ResponseEntity<MessageResponse> registerUser(
+        @Valid @RequestBody SignupRequest signUpRequest,
+        HttpServletRequest request
+    ) {
+        authRateLimiter.acquire(AuthRateLimiter.Action.REGISTER, request.getRemoteAddr(), signUpRequest.getEmail());
         return ResponseEntity.ok(authRegisterService.execute(signUpRequest));
     }
+
+    @PostMapping("/refresh")
+    public ResponseEntity<JwtResponse> refreshToken(@Valid @RequestBody RefreshTokenRequest refreshTokenRequest) {
+        return ResponseEntity.ok(authRefreshService.execute(refreshTokenRequest));
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<MessageResponse> logoutUser(
+        @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization
+    ) {
+        return ResponseEntity.ok(authLogoutService.execute(authorization));
+    }
 }
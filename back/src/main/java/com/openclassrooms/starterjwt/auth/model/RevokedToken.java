@@ -0,0 +1,40 @@
+package com.openclassrooms.starterjwt.auth.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import lombok.experimental.Accessors;
+
+import java.util.Date;
+
+/**
+ * A revoked JWT, kept only until the token would have expired on its own.
+ */
+@Entity
+@Table(
+    name = "revoked_tokens",
+    indexes = @Index(name = "idx_revoked_tokens_expires_at", columnList = "expires_at")
+)
+@Data
+@Accessors(chain = true)
+@EqualsAndHashCode(of = {"jti"})
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class RevokedToken {
+    @Id
+    @Column(length = 36)
+    private String jti;
+
+    @Column(name = "expires_at", nullable = false)
+    private Date expiresAt;
+}
@@ -0,0 +1,48 @@
+package com.openclassrooms.starterjwt.auth.repository;
+
+import java.util.Date;
+import java.util.Optional;
+import org.springframework.stereotype.Repository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.jpa.repository.Query;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import com.openclassrooms.starterjwt.auth.model.RefreshToken;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+@Transactional
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "refresh_tokens"))
+    @Query(
+        value = "INSERT INTO `refresh_tokens` (token_hash, family_id, user_id, expires_at, created_at)"
+            + " VALUES (:tokenHash, :familyId, :userId, :expiresAt, CURRENT_TIMESTAMP)",
+        nativeQuery = true
+    )
+    int insertToken(
+        @Param("tokenHash") String tokenHash,
+        @Param("familyId") String familyId,
+        @Param("userId") Long userId,
+        @Param("expiresAt") Date expiresAt
+    );
+
+    // Conditionnelle : sur deux rotations simultanées du même jeton, une seule obtient 1
+    @Modifying
+    @Query("UPDATE RefreshToken r SET r.usedAt = :now WHERE r.id = :id AND r.usedAt IS NULL")
+    int markUsed(@Param("id") Long id, @Param("now") Date now);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken r WHERE r.familyId = :familyId")
+    int deleteFamily(@Param("familyId") String familyId);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken r WHERE r.expiresAt <= :now")
+    int deleteExpired(@Param("now") Date now);
+}
@@ -0,0 +1,23 @@
+package com.openclassrooms.starterjwt.auth.repository;
+
+import java.util.Date;
+import java.util.List;
+import org.springframework.stereotype.Repository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.JpaRepository;
+import com.openclassrooms.starterjwt.auth.model.RevokedToken;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+@Transactional
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+    @Query("SELECT r.jti FROM RevokedToken r WHERE r.expiresAt > :now")
+    List<String> findActiveJtis(@Param("now") Date now);
+
+    @Modifying
+    @Query("DELETE FROM RevokedToken r WHERE r.expiresAt <= :now")
+    int deleteExpired(@Param("now") Date now);
+}
@@ -0,0 +1,43 @@
+package com.openclassrooms.starterjwt.auth.repository.adapter;
+
+import java.util.Date;
+import java.util.Optional;
+import org.springframework.stereotype.Service;
+import com.openclassrooms.starterjwt.auth.model.RefreshToken;
+import com.openclassrooms.starterjwt.auth.repository.RefreshTokenRepository;
+import com.openclassrooms.starterjwt.auth.repository.port.RefreshTokenRepositoryPort;
+
+@Service
+public class RefreshTokenRepositoryAdapter implements RefreshTokenRepositoryPort {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+
+    public RefreshTokenRepositoryAdapter(RefreshTokenRepository refreshTokenRepository) {
+        this.refreshTokenRepository = refreshTokenRepository;
+    }
+
+    @Override
+    public void store(String tokenHash, String familyId, Long userId, Date expiresAt) {
+        refreshTokenRepository.insertToken(tokenHash, familyId, userId, expiresAt);
+    }
+
+    @Override
+    public Optional<RefreshToken> findByHash(String tokenHash) {
+        return refreshTokenRepository.findByTokenHash(tokenHash);
+    }
+
+    @Override
+    public boolean markUsed(Long id) {
+        return refreshTokenRepository.markUsed(id, new Date()) > 0;
+    }
+
+    @Override
+    public void revokeFamily(String familyId) {
+        refreshTokenRepository.deleteFamily(familyId);
+    }
+
+    @Override
+    public int purgeExpired(Date now) {
+        return refreshTokenRepository.deleteExpired(now);
+    }
+}
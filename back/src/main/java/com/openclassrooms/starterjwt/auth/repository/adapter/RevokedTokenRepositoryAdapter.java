@@ -0,0 +1,38 @@
+package com.openclassrooms.starterjwt.auth.repository.adapter;
+
+import java.util.Date;
+import java.util.List;
+import org.springframework.stereotype.Service;
+import com.openclassrooms.starterjwt.auth.model.RevokedToken;
+import com.openclassrooms.starterjwt.auth.repository.RevokedTokenRepository;
+import com.openclassrooms.starterjwt.auth.repository.port.RevokedTokenRepositoryPort;
+
+@Service
+public class RevokedTokenRepositoryAdapter implements RevokedTokenRepositoryPort {
+
+    private final RevokedTokenRepository revokedTokenRepository;
+
+    public RevokedTokenRepositoryAdapter(RevokedTokenRepository revokedTokenRepository) {
+        this.revokedTokenRepository = revokedTokenRepository;
+    }
+
+    @Override
+    public void revoke(String jti, Date expiresAt) {
+        revokedTokenRepository.save(new RevokedToken(jti, expiresAt));
+    }
+
+    @Override
+    public boolean isRevoked(String jti) {
+        return revokedTokenRepository.existsById(jti);
+    }
+
+    @Override
+    public List<String> findActive(Date now) {
+        return revokedTokenRepository.findActiveJtis(now);
+    }
+
+    @Override
+    public int purgeExpired(Date now) {
+        return revokedTokenRepository.deleteExpired(now);
+    }
+}
@@ -0,0 +1,18 @@
+package com.openclassrooms.starterjwt.auth.repository.port;
+
+import java.util.Date;
+import java.util.Optional;
+import com.openclassrooms.starterjwt.auth.model.RefreshToken;
+
+public interface RefreshTokenRepositoryPort {
+
+    void store(String tokenHash, String familyId, Long userId, Date expiresAt);
+
+    Optional<RefreshToken> findByHash(String tokenHash);
+
+    boolean markUsed(Long id);
+
+    void revokeFamily(String familyId);
+
+    int purgeExpired(Date now);
+}
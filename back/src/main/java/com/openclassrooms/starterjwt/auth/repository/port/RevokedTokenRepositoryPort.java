@@ -0,0 +1,15 @@
+package com.openclassrooms.starterjwt.auth.repository.port;
+
+import java.util.Date;
+import java.util.List;
+
+public interface RevokedTokenRepositoryPort {
+
+    void revoke(String jti, Date expiresAt);
+
+    boolean isRevoked(String jti);
+
+    List<String> findActive(Date now);
+
+    int purgeExpired(Date now);
+}
@@ -1,15 +1,15 @@
 package com.openclassrooms.starterjwt.auth.service;
 
+import java.util.UUID;
 import org.springframework.stereotype.Service;
-import com.openclassrooms.starterjwt.user.model.User;
 import org.springframework.security.core.Authentication;
 import com.openclassrooms.starterjwt.security.jwt.JwtUtils;
+import com.openclassrooms.starterjwt.security.jwt.RefreshTokenManager;
 import com.openclassrooms.starterjwt.security.jwt.response.JwtResponse;
 import com.openclassrooms.starterjwt.auth.request.LoginRequest;
 import com.openclassrooms.starterjwt.security.service.UserDetailsImpl;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.authentication.AuthenticationManager;
-import com.openclassrooms.starterjwt.user.repository.port.UserRepositoryPort;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 
 @Service
@@ -17,16 +17,16 @@ public class AuthLoginService {
 
     private final AuthenticationManager authenticationManager;
     private final JwtUtils jwtUtils;
-    private final UserRepositoryPort userRepositoryPort;
+    private final RefreshTokenManager refreshTokenManager;
 
     public AuthLoginService(
         AuthenticationManager authenticationManager,
         JwtUtils jwtUtils,
-        UserRepositoryPort userRepositoryPort
+        RefreshTokenManager refreshTokenManager
     ) {
         this.authenticationManager = authenticationManager;
         this.jwtUtils = jwtUtils;
-        this.userRepositoryPort = userRepositoryPort;
+        this.refreshTokenManager = refreshTokenManager;
     }
 
     public JwtResponse execute(LoginRequest loginRequest) {
@@ -38,21 +38,22 @@ public class AuthLoginService {
         );
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
-        String jwt = jwtUtils.generateJwtToken(authentication);
+        // Une famille de refresh tokens par appareil connecté
+        String familyId = UUID.randomUUID().toString();
+        String jwt = jwtUtils.generateJwtToken(authentication, familyId);
 
+        // Le principal chargé par l'authentification porte déjà tout ce que la réponse expose
         UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
 
-        User user = userRepositoryPort.getByEmail(userDetails.getUsername());
-
-        boolean isAdmin = user != null && user.isAdmin();
-
-        return new JwtResponse(
+        JwtResponse response = new JwtResponse(
             jwt,
             userDetails.getId(),
             userDetails.getUsername(),
             userDetails.getFirstName(),
             userDetails.getLastName(),
-            isAdmin
+            Boolean.TRUE.equals(userDetails.getAdmin())
         );
+        response.setRefreshToken(refreshTokenManager.issue(userDetails.getId(), familyId));
+        return response;
     }
 }
@@ -0,0 +1,54 @@
+package com.openclassrooms.starterjwt.auth.service;
+
+import io.jsonwebtoken.Claims;
+import org.springframework.stereotype.Service;
+import com.openclassrooms.starterjwt.security.jwt.JwtUtils;
+import com.openclassrooms.starterjwt.security.jwt.TokenRevocationList;
+import com.openclassrooms.starterjwt.common.response.MessageResponse;
+import com.openclassrooms.starterjwt.common.exception.BadRequestException;
+import com.openclassrooms.starterjwt.common.exception.UnauthorizedException;
+import com.openclassrooms.starterjwt.auth.repository.port.RefreshTokenRepositoryPort;
+
+@Service
+public class AuthLogoutService {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtUtils jwtUtils;
+    private final TokenRevocationList tokenRevocationList;
+    private final RefreshTokenRepositoryPort refreshTokenRepositoryPort;
+
+    public AuthLogoutService(
+        JwtUtils jwtUtils,
+        TokenRevocationList tokenRevocationList,
+        RefreshTokenRepositoryPort refreshTokenRepositoryPort
+    ) {
+        this.jwtUtils = jwtUtils;
+        this.tokenRevocationList = tokenRevocationList;
+        this.refreshTokenRepositoryPort = refreshTokenRepositoryPort;
+    }
+
+    public MessageResponse execute(String authorizationHeader) {
+        if (authorizationHeader == null || !authorizationHeader.startsWith(BEARER_PREFIX)) {
+            throw new UnauthorizedException("Missing bearer token");
+        }
+
+        Claims claims = jwtUtils.parseJwtClaims(authorizationHeader.substring(BEARER_PREFIX.length()));
+        if (claims == null) {
+            throw new UnauthorizedException("Invalid token");
+        }
+        if (claims.getId() == null) {
+            throw new BadRequestException("Token has no identifier and cannot be revoked");
+        }
+
+        tokenRevocationList.revoke(claims.getId(), claims.getExpiration());
+
+        // Ferme aussi la session côté refresh : plus aucun nouveau jeton pour cet appareil
+        String sessionId = jwtUtils.getSessionIdFromJwtClaims(claims);
+        if (sessionId != null) {
+            refreshTokenRepositoryPort.revokeFamily(sessionId);
+        }
+
+        return new MessageResponse("User logged out successfully!");
+    }
+}
@@ -0,0 +1,81 @@
+package com.openclassrooms.starterjwt.auth.service;
+
+import java.util.Date;
+import org.springframework.stereotype.Service;
+import com.openclassrooms.starterjwt.user.model.User;
+import com.openclassrooms.starterjwt.security.jwt.JwtUtils;
+import com.openclassrooms.starterjwt.auth.model.RefreshToken;
+import org.springframework.transaction.annotation.Transactional;
+import com.openclassrooms.starterjwt.security.jwt.RefreshTokenManager;
+import com.openclassrooms.starterjwt.auth.request.RefreshTokenRequest;
+import com.openclassrooms.starterjwt.security.service.UserDetailsImpl;
+import com.openclassrooms.starterjwt.security.jwt.response.JwtResponse;
+import com.openclassrooms.starterjwt.common.exception.UnauthorizedException;
+import com.openclassrooms.starterjwt.user.repository.port.UserRepositoryPort;
+import com.openclassrooms.starterjwt.auth.repository.port.RefreshTokenRepositoryPort;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+@Service
+public class AuthRefreshService {
+
+    private final JwtUtils jwtUtils;
+    private final RefreshTokenManager refreshTokenManager;
+    private final RefreshTokenRepositoryPort refreshTokenRepositoryPort;
+    private final UserRepositoryPort userRepositoryPort;
+
+    public AuthRefreshService(
+        JwtUtils jwtUtils,
+        RefreshTokenManager refreshTokenManager,
+        RefreshTokenRepositoryPort refreshTokenRepositoryPort,
+        UserRepositoryPort userRepositoryPort
+    ) {
+        this.jwtUtils = jwtUtils;
+        this.refreshTokenManager = refreshTokenManager;
+        this.refreshTokenRepositoryPort = refreshTokenRepositoryPort;
+        this.userRepositoryPort = userRepositoryPort;
+    }
+
+    // La révocation de la famille doit survivre au 401 qui la signale
+    @Transactional(noRollbackFor = UnauthorizedException.class)
+    public JwtResponse execute(RefreshTokenRequest request) {
+        RefreshToken current = refreshTokenRepositoryPort
+            .findByHash(RefreshTokenManager.hash(request.getRefreshToken()))
+            .orElseThrow(() -> new UnauthorizedException("Invalid refresh token"));
+
+        if (current.getExpiresAt().before(new Date())) {
+            throw new UnauthorizedException("Refresh token is expired");
+        }
+
+        if (!refreshTokenRepositoryPort.markUsed(current.getId())) {
+            // Jeton déjà tourné : copie volée ou rejouée, toute la famille est invalidée
+            refreshTokenRepositoryPort.revokeFamily(current.getFamilyId());
+            throw new UnauthorizedException("Refresh token reuse detected");
+        }
+
+        User user = userRepositoryPort.getById(current.getUser().getId());
+        UserDetailsImpl userDetails = UserDetailsImpl
+            .builder()
+            .id(user.getId())
+            .username(user.getEmail())
+            .firstName(user.getFirstName())
+            .lastName(user.getLastName())
+            .admin(user.isAdmin())
+            .build();
+
+        String jwt = jwtUtils.generateJwtToken(
+            new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities()),
+            current.getFamilyId()
+        );
+
+        JwtResponse response = new JwtResponse(
+            jwt,
+            userDetails.getId(),
+            userDetails.getUsername(),
+            userDetails.getFirstName(),
+            userDetails.getLastName(),
+            userDetails.getAdmin()
+        );
+        response.setRefreshToken(refreshTokenManager.issue(user.getId(), current.getFamilyId()));
+        return response;
+    }
+}
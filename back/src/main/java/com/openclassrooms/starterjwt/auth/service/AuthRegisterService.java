@@ -5,6 +5,7 @@ import com.openclassrooms.starterjwt.user.model.User;
 import com.openclassrooms.starterjwt.auth.request.SignupRequest;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import com.openclassrooms.starterjwt.common.response.MessageResponse;
+import com.openclassrooms.starterjwt.security.service.UserDetailsCache;
 import com.openclassrooms.starterjwt.common.exception.BadRequestException;
 import com.openclassrooms.starterjwt.user.repository.port.UserRepositoryPort;
 
@@ -13,13 +14,16 @@ public class AuthRegisterService {
 
     private final PasswordEncoder passwordEncoder;
     private final UserRepositoryPort userRepositoryPort;
+    private final UserDetailsCache userDetailsCache;
 
     public AuthRegisterService(
         PasswordEncoder passwordEncoder,
-        UserRepositoryPort userRepositoryPort
+        UserRepositoryPort userRepositoryPort,
+        UserDetailsCache userDetailsCache
     ) {
         this.passwordEncoder = passwordEncoder;
         this.userRepositoryPort = userRepositoryPort;
+        this.userDetailsCache = userDetailsCache;
     }
 
     public MessageResponse execute(SignupRequest signUpRequest) {
@@ -36,6 +40,7 @@ public class AuthRegisterService {
             .build();
 
         userRepositoryPort.save(user);
+        userDetailsCache.invalidate(user.getEmail());
 
         return new MessageResponse("User registered successfully!");
     }
@@ -2,7 +2,11 @@ package com.openclassrooms.starterjwt.common.exception.handler;
 
 import org.springframework.http.*;
 import jakarta.servlet.http.HttpServletRequest;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.core.NestedExceptionUtils;
+import com.openclassrooms.starterjwt.common.exception.TooManyRequestsException;
+import com.openclassrooms.starterjwt.common.exception.ServiceUnavailableException;
 import com.openclassrooms.starterjwt.common.error.response.ErrorResponse;
 import com.openclassrooms.starterjwt.common.error.builder.ErrorResponseBuilder;
 
@@ -10,17 +14,33 @@ import com.openclassrooms.starterjwt.common.error.builder.ErrorResponseBuilder;
 public class GlobalExceptionHandler {
 
     private final ErrorResponseBuilder builder;
+    private final MeterRegistry meterRegistry;
 
-    public GlobalExceptionHandler(ErrorResponseBuilder builder) {
+    public GlobalExceptionHandler(ErrorResponseBuilder builder, MeterRegistry meterRegistry) {
         this.builder = builder;
+        this.meterRegistry = meterRegistry;
     }
 
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleAny(Exception ex, HttpServletRequest request) {
+        // Refus du bulkhead à l'emprunt d'une connexion : Spring le livre enveloppé (CannotCreateTransactionException)
+        if (NestedExceptionUtils.getMostSpecificCause(ex) instanceof ServiceUnavailableException unavailable) {
+            ex = unavailable;
+        }
         HttpStatus status = resolveHttpStatus(ex);
-
-        return ResponseEntity.status(status)
-            .body(builder.build(status, ex.getMessage(), request));
+        meterRegistry.counter(
+            "http.server.errors",
+            "exception", ex.getClass().getSimpleName(),
+            "status", String.valueOf(status.value())
+        ).increment();
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(status);
+        if (ex instanceof TooManyRequestsException tooManyRequests && tooManyRequests.getRetryAfter() != null) {
+            // En secondes entières, arrondi au-dessus : un client qui obéit ne revient jamais trop tôt
+            long seconds = (tooManyRequests.getRetryAfter().toMillis() + 999) / 1000;
+            response.header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(seconds, 1)));
+        }
+        return response.body(builder.build(status, ex.getMessage(), request));
     }
 
     private HttpStatus resolveHttpStatus(Exception ex) {
@@ -31,6 +51,11 @@ public class GlobalExceptionHandler {
             return responseStatus.value();
         }
 
+        // Exceptions MVC (415, 400 de validation...) : elles portent déjà leur statut
+        if (ex instanceof org.springframework.web.ErrorResponse errorResponse) {
+            return HttpStatus.valueOf(errorResponse.getStatusCode().value());
+        }
+
         return HttpStatus.INTERNAL_SERVER_ERROR;
     }
 }
\ No newline at end of file
@@ -0,0 +1,60 @@
+package com.openclassrooms.starterjwt.common.logging;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Échantillonnage d'un journal répétitif : pour chaque motif, seuls les {@code burst} premiers
+ * événements d'une fenêtre sont journalisés, les suivants sont seulement comptés et leur nombre est
+ * rapporté avec le premier événement journalisé ensuite.
+ * <p>
+ * Motifs en nombre fini (une enum) : compteurs indexés par ordinal, aucune allocation par appel.
+ */
+public class LogSampler<E extends Enum<E>> {
+
+    private final int burst;
+    private final long windowNanos;
+    private final LongSupplier nanoClock;
+    private final AtomicLongArray windowStarts;
+    private final AtomicIntegerArray logged;
+    private final AtomicLongArray suppressed;
+
+    public LogSampler(Class<E> keys, int burst, Duration window) {
+        this(keys, burst, window, System::nanoTime);
+    }
+
+    LogSampler(Class<E> keys, int burst, Duration window, LongSupplier nanoClock) {
+        int size = keys.getEnumConstants().length;
+        this.burst = burst;
+        this.windowNanos = window.toNanos();
+        this.nanoClock = nanoClock;
+        this.windowStarts = new AtomicLongArray(size);
+        this.logged = new AtomicIntegerArray(size);
+        this.suppressed = new AtomicLongArray(size);
+        long now = nanoClock.getAsLong();
+        for (int i = 0; i < size; i++) {
+            windowStarts.set(i, now);
+        }
+    }
+
+    /**
+     * @return {@code -1} si l'événement doit être ignoré, sinon le nombre d'événements de ce motif
+     * ignorés depuis le dernier journalisé
+     */
+    public long sample(E key) {
+        int i = key.ordinal();
+        long now = nanoClock.getAsLong();
+        long start = windowStarts.get(i);
+        // Un seul thread ouvre la nouvelle fenêtre
+        if (now - start >= windowNanos && windowStarts.compareAndSet(i, start, now)) {
+            logged.set(i, 0);
+        }
+        if (logged.incrementAndGet(i) <= burst) {
+            return suppressed.getAndSet(i, 0);
+        }
+        suppressed.incrementAndGet(i);
+        return -1;
+    }
+}
@@ -0,0 +1,30 @@
+package com.openclassrooms.starterjwt.common.model;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Version of a resource or collection, read without loading the entities:
+ * the number of rows and their latest {@code updatedAt}.
+ * Used to answer conditional GETs ({@code If-None-Match} / {@code If-Modified-Since}).
+ */
+public record ResourceVersion(Long count, LocalDateTime lastModified) {
+
+    public boolean exists() {
+        return count != null && count > 0;
+    }
+
+    public String etag() {
+        long micros = lastModified == null
+            ? 0
+            : ChronoUnit.MICROS.between(LocalDateTime.of(1970, 1, 1, 0, 0), lastModified);
+        return "\"" + (count == null ? 0 : count) + "-" + Long.toString(micros, 36) + "\"";
+    }
+
+    public long lastModifiedMillis() {
+        return lastModified == null
+            ? -1
+            : lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
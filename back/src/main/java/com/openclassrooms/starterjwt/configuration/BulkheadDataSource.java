@@ -0,0 +1,106 @@
+package com.openclassrooms.starterjwt.configuration;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Prend un permis du {@link DatabaseBulkhead} à chaque emprunt de connexion et le rend à sa fermeture.
+ * <p>
+ * Le permis couvre donc exactement la durée pendant laquelle la connexion est tenue, quel que soit
+ * le chemin : transaction d'un cas d'usage, appel isolé d'un dépôt, export en flux.
+ * <p>
+ * Un thread qui tient déjà une connexion en emprunte une seconde sans permis : Hibernate lit par exemple
+ * un bloc d'ids de {@code sessions_seq} dans une transaction isolée pendant que la transaction d'insertion
+ * garde la sienne. En attendant un second permis, N créations simultanées se bloqueraient mutuellement
+ * jusqu'au 503 ; ces emprunts imbriqués sont servis par la marge que les permis laissent au pool.
+ */
+public class BulkheadDataSource extends DelegatingDataSource {
+
+    private final Supplier<DatabaseBulkhead> bulkhead;
+
+    // Connexions ouvertes par chaque thread ; partagé avec leurs proxys, qui peuvent être fermés ailleurs
+    private final ThreadLocal<AtomicInteger> held = ThreadLocal.withInitial(AtomicInteger::new);
+
+    public BulkheadDataSource(DataSource target, Supplier<DatabaseBulkhead> bulkhead) {
+        super(target);
+        this.bulkhead = bulkhead;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return borrow(super::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return borrow(() -> super.getConnection(username, password));
+    }
+
+    private Connection borrow(PooledConnection pool) throws SQLException {
+        AtomicInteger heldByThread = held.get();
+        DatabaseBulkhead permits = heldByThread.get() > 0 ? null : bulkhead.get();
+        if (permits != null) {
+            permits.acquire();
+        }
+        try {
+            Connection connection = pool.get();
+            heldByThread.incrementAndGet();
+            return releasingOnClose(connection, heldByThread, permits);
+        } catch (SQLException | RuntimeException | Error e) {
+            if (permits != null) {
+                permits.release();
+            }
+            throw e;
+        }
+    }
+
+    // Une seule restitution par connexion, même si close() est appelée plusieurs fois
+    private static Connection releasingOnClose(
+        Connection connection,
+        AtomicInteger heldByThread,
+        DatabaseBulkhead permits
+    ) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(
+            BulkheadDataSource.class.getClassLoader(),
+            new Class<?>[] {Connection.class},
+            (proxy, method, args) -> switch (method.getName()) {
+                case "close" -> {
+                    try {
+                        connection.close();
+                    } finally {
+                        if (released.compareAndSet(false, true)) {
+                            heldByThread.decrementAndGet();
+                            if (permits != null) {
+                                permits.release();
+                            }
+                        }
+                    }
+                    yield null;
+                }
+                case "equals" -> proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                default -> {
+                    try {
+                        yield method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                }
+            }
+        );
+    }
+
+    @FunctionalInterface
+    private interface PooledConnection {
+        Connection get() throws SQLException;
+    }
+}
@@ -0,0 +1,127 @@
+package com.openclassrooms.starterjwt.configuration;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.NonNull;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compression gzip des listes versionnées, avec cache des représentations déjà compressées.
+ * <p>
+ * Tomcat ne compresse pas une réponse portant un ETag fort ({@code noCompressionStrongETag}) : c'est
+ * le cas des listes servies avec une version de collection. Ce filtre s'en charge, et comme l'ETag
+ * identifie la représentation, le corps compressé est mis en cache sous la clé URL + ETag : tant que
+ * la collection ne change pas, la compression n'est payée qu'une fois. L'ETag renvoyé devient faible,
+ * le corps différant octet à octet de la version non compressée.
+ * <p>
+ * Octets avant/après et temps de compression sont publiés sous {@code http.response.compression.*}.
+ */
+public class CompressedRepresentationFilter extends OncePerRequestFilter {
+
+    private static final String GZIP = "gzip";
+
+    private final Cache<String, byte[]> cache;
+    private final List<MediaType> mimeTypes;
+    private final long minResponseSize;
+    private final DistributionSummary originalBytes;
+    private final DistributionSummary compressedBytes;
+    private final Timer hits;
+    private final Timer misses;
+
+    public CompressedRepresentationFilter(
+        Cache<String, byte[]> cache,
+        List<String> mimeTypes,
+        DataSize minResponseSize,
+        MeterRegistry meterRegistry
+    ) {
+        this.cache = cache;
+        this.mimeTypes = mimeTypes.stream().map(MediaType::parseMediaType).toList();
+        this.minResponseSize = minResponseSize.toBytes();
+        this.originalBytes = DistributionSummary.builder("http.response.compression.bytes")
+            .baseUnit("bytes").tag("encoding", "identity").register(meterRegistry);
+        this.compressedBytes = DistributionSummary.builder("http.response.compression.bytes")
+            .baseUnit("bytes").tag("encoding", GZIP).register(meterRegistry);
+        this.hits = Timer.builder("http.response.compression").tag("cache", "hit").register(meterRegistry);
+        this.misses = Timer.builder("http.response.compression").tag("cache", "miss").register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(
+        @NonNull HttpServletRequest request,
+        @NonNull HttpServletResponse response,
+        @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (!"GET".equals(request.getMethod()) || !acceptsGzip(request)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        filterChain.doFilter(request, wrapper);
+
+        String etag = wrapper.getHeader(HttpHeaders.ETAG);
+        if (wrapper.getStatus() != HttpServletResponse.SC_OK || etag == null
+            || wrapper.getContentSize() < minResponseSize || !isCompressible(wrapper.getContentType())) {
+            wrapper.copyBodyToResponse();
+            return;
+        }
+
+        // La version ne couvre pas la pagination ni les filtres : ils font partie de la clé via la query string
+        String key = request.getRequestURI() + '?' + Objects.toString(request.getQueryString(), "") + '|' + etag;
+        long start = System.nanoTime();
+        byte[] compressed = cache.getIfPresent(key);
+        if (compressed != null) {
+            hits.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        } else {
+            compressed = gzip(wrapper.getContentAsByteArray());
+            cache.put(key, compressed);
+            misses.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        originalBytes.record(wrapper.getContentSize());
+        compressedBytes.record(compressed.length);
+
+        response.setHeader(HttpHeaders.CONTENT_ENCODING, GZIP);
+        response.setHeader(HttpHeaders.ETAG, etag.startsWith("W/") ? etag : "W/" + etag);
+        response.setContentLength(compressed.length);
+        response.getOutputStream().write(compressed);
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        return acceptEncoding != null && acceptEncoding.toLowerCase().contains(GZIP);
+    }
+
+    private boolean isCompressible(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        MediaType mediaType = MediaType.parseMediaType(contentType);
+        return mimeTypes.stream().anyMatch(mimeType -> mimeType.isCompatibleWith(mediaType));
+    }
+
+    static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(body.length / 4, 64));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,57 @@
+package com.openclassrooms.starterjwt.configuration;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.boot.web.server.Compression;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Les réponses sans ETag fort sont compressées par Tomcat ({@code server.compression}) ; les listes
+ * versionnées passent par {@link CompressedRepresentationFilter}, avec les mêmes types MIME et le même seuil.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class CompressionConfig {
+
+    static final String CACHE_NAME = "compressedRepresentations";
+
+    @Bean
+    public FilterRegistrationBean<CompressedRepresentationFilter> compressedRepresentationFilter(
+        ServerProperties serverProperties,
+        @Value("${oc.app.compression.paths:/api/session,/api/teacher}") List<String> paths,
+        @Value("${oc.app.compression.cache.maximumSize:500}") long maximumSize,
+        @Value("${oc.app.compression.cache.ttl:10m}") Duration ttl,
+        MeterRegistry meterRegistry
+    ) {
+        Cache<String, byte[]> cache = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+
+        Compression compression = serverProperties.getCompression();
+        FilterRegistrationBean<CompressedRepresentationFilter> registration = new FilterRegistrationBean<>(
+            new CompressedRepresentationFilter(
+                cache,
+                List.of(compression.getMimeTypes()),
+                compression.getMinResponseSize(),
+                meterRegistry
+            )
+        );
+        // Chemins exacts : seules les listes, pas les détails ni l'export en flux
+        registration.setUrlPatterns(paths);
+        registration.setEnabled(compression.getEnabled());
+        return registration;
+    }
+}
@@ -0,0 +1,44 @@
+package com.openclassrooms.starterjwt.configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Garde-fou base de données du mode threads virtuels ({@code spring.threads.virtual.enabled}).
+ * Actif par défaut avec ce mode, désactivable via {@code oc.app.databaseBulkhead.enabled}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "oc.app.databaseBulkhead.enabled", havingValue = "true")
+public class ConcurrencyConfig {
+
+    // Permis sous la taille du pool : la marge sert les emprunts imbriqués (cf. BulkheadDataSource)
+    @Bean
+    public DatabaseBulkhead databaseBulkhead(
+        @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize,
+        @Value("${oc.app.databaseBulkhead.reservedConnections:2}") int reservedConnections,
+        @Value("${oc.app.databaseBulkhead.maxWait:2s}") Duration maxWait,
+        MeterRegistry meterRegistry
+    ) {
+        int permits = poolSize - reservedConnections;
+        if (reservedConnections < 1 || permits < 1) {
+            throw new IllegalStateException(
+                "oc.app.databaseBulkhead.reservedConnections must be between 1 and the pool size minus 1"
+            );
+        }
+        return new DatabaseBulkhead(permits, maxWait, meterRegistry);
+    }
+
+    // Statique : la source de données doit être enveloppée dès sa création
+    @Bean
+    public static DatabaseBulkheadPostProcessor databaseBulkheadPostProcessor(
+        ObjectProvider<DatabaseBulkhead> databaseBulkhead
+    ) {
+        return new DatabaseBulkheadPostProcessor(databaseBulkhead);
+    }
+}
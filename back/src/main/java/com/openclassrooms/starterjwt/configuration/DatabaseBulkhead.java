@@ -0,0 +1,62 @@
+package com.openclassrooms.starterjwt.configuration;
+
+import com.openclassrooms.starterjwt.common.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limite le nombre de connexions empruntées simultanément au pool (cf. {@link BulkheadDataSource}).
+ * <p>
+ * Avec les threads virtuels, le nombre de requêtes en vol n'est plus borné par le pool Tomcat :
+ * sans ce garde-fou, des milliers de threads attendraient une connexion Hikari jusqu'à son
+ * {@code connection-timeout}. Ici l'attente est courte et bornée, puis la requête est refusée (503).
+ */
+public class DatabaseBulkhead {
+
+    private final Semaphore permits;
+    private final long maxWaitNanos;
+    private final Counter rejected;
+
+    public DatabaseBulkhead(int permits, Duration maxWait, MeterRegistry meterRegistry) {
+        this.permits = new Semaphore(permits, true);
+        this.maxWaitNanos = maxWait.toNanos();
+        this.rejected = Counter.builder("database.bulkhead.rejected")
+            .description("Connection requests shed because no database permit was available in time")
+            .register(meterRegistry);
+        Gauge.builder("database.bulkhead.available", this.permits, Semaphore::availablePermits)
+            .description("Database permits currently available")
+            .register(meterRegistry);
+    }
+
+    /**
+     * @throws ServiceUnavailableException si aucun permis ne se libère dans le délai
+     */
+    public void acquire() {
+        if (!tryAcquire()) {
+            rejected.increment();
+            throw new ServiceUnavailableException("Database is busy, please retry later");
+        }
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    int availablePermits() {
+        return permits.availablePermits();
+    }
+
+    private boolean tryAcquire() {
+        try {
+            return permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.openclassrooms.starterjwt.configuration;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.lang.NonNull;
+import org.springframework.util.function.SingletonSupplier;
+
+import javax.sql.DataSource;
+
+/**
+ * Place la source de données derrière le {@link DatabaseBulkhead}. Le bulkhead n'est résolu qu'au
+ * premier emprunt de connexion : il dépend du registre de métriques, lui-même lié à la source de données.
+ */
+public class DatabaseBulkheadPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<DatabaseBulkhead> bulkhead;
+
+    public DatabaseBulkheadPostProcessor(ObjectProvider<DatabaseBulkhead> bulkhead) {
+        this.bulkhead = bulkhead;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(@NonNull Object bean, @NonNull String beanName) {
+        if (!(bean instanceof DataSource dataSource) || bean instanceof BulkheadDataSource) {
+            return bean;
+        }
+        return new BulkheadDataSource(dataSource, SingletonSupplier.of(bulkhead::getObject));
+    }
+}
@@ -0,0 +1,97 @@
+package com.openclassrooms.starterjwt.configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Service;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * Chronomètre les deux couches de l'hexagone sans toucher au code : chaque méthode publique des cas
+ * d'usage ({@code *Service} d'un package {@code service}) sous {@code usecase.execution}, et chaque
+ * méthode des ports de dépôt sous {@code repository.port.invocation}. Histogrammes et percentiles
+ * p50/p95/p99 publiés, avec l'issue et le type d'exception en tags.
+ */
+public class LayerMetricsPostProcessor implements BeanPostProcessor {
+
+    static final String USE_CASE_TIMER = "usecase.execution";
+    static final String PORT_TIMER = "repository.port.invocation";
+
+    private static final String SERVICE_PACKAGE_SUFFIX = ".service";
+    private static final String PORT_PACKAGE_SUFFIX = ".repository.port";
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public LayerMetricsPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(@NonNull Object bean, @NonNull String beanName) {
+        Class<?> type = AopUtils.getTargetClass(bean);
+
+        if (isUseCase(type)) {
+            return Proxies.advise(bean, timing(USE_CASE_TIMER, "usecase", type.getSimpleName(), method ->
+                Modifier.isPublic(method.getModifiers()) && method.getDeclaringClass() == type));
+        }
+
+        Optional<Class<?>> port = repositoryPort(type);
+        if (port.isPresent()) {
+            return Proxies.advise(bean, timing(PORT_TIMER, "port", port.get().getSimpleName(), method ->
+                ClassUtils.hasMethod(port.get(), method.getName(), method.getParameterTypes())));
+        }
+
+        return bean;
+    }
+
+    // Seules les méthodes du cas d'usage ou du port sont mesurées (pas toString, equals...)
+    private MethodInterceptor timing(String timerName, String componentTag, String component, Predicate<Method> measured) {
+        return invocation -> {
+            if (!measured.test(invocation.getMethod())) {
+                return invocation.proceed();
+            }
+
+            MeterRegistry registry = meterRegistry.getObject();
+            Timer.Sample sample = Timer.start(registry);
+            String exception = "none";
+            try {
+                return invocation.proceed();
+            } catch (Throwable t) {
+                exception = t.getClass().getSimpleName();
+                throw t;
+            } finally {
+                sample.stop(Timer.builder(timerName)
+                    .tag(componentTag, component)
+                    .tag("method", invocation.getMethod().getName())
+                    .tag("outcome", "none".equals(exception) ? "success" : "error")
+                    .tag("exception", exception)
+                    .publishPercentileHistogram()
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(registry));
+            }
+        };
+    }
+
+    static boolean isUseCase(Class<?> type) {
+        return type.getPackageName().endsWith(SERVICE_PACKAGE_SUFFIX)
+            && type.getSimpleName().endsWith("Service")
+            && AnnotatedElementUtils.hasAnnotation(type, Service.class);
+    }
+
+    static Optional<Class<?>> repositoryPort(Class<?> type) {
+        return Arrays.stream(ClassUtils.getAllInterfacesForClass(type))
+            .filter(port -> port.getPackageName().endsWith(PORT_PACKAGE_SUFFIX))
+            .findFirst();
+    }
+}
@@ -0,0 +1,27 @@
+package com.openclassrooms.starterjwt.configuration;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.util.List;
+
+/**
+ * Journal d'accès applicatif. L'écriture des journaux est asynchrone et structurée (voir
+ * {@code logback-spring.xml}) : le thread de la requête ne fait que déposer l'événement.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class LoggingConfig {
+
+    @Bean
+    public FilterRegistrationBean<RequestLogFilter> requestLogFilter() {
+        FilterRegistrationBean<RequestLogFilter> registration = new FilterRegistrationBean<>(new RequestLogFilter());
+        // Premier filtre : la durée couvre toute la chaîne, et le relevé SQL est déjà posé à la sortie
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        registration.setUrlPatterns(List.of("/api/*"));
+        return registration;
+    }
+}
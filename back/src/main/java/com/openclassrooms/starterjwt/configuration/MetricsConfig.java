@@ -0,0 +1,16 @@
+package com.openclassrooms.starterjwt.configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    // Statique : un BeanPostProcessor doit exister avant les beans qu'il instrumente
+    @Bean
+    public static LayerMetricsPostProcessor layerMetricsPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new LayerMetricsPostProcessor(meterRegistry);
+    }
+}
@@ -0,0 +1,30 @@
+package com.openclassrooms.starterjwt.configuration;
+
+import org.aopalliance.aop.Advice;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.AopUtils;
+
+/**
+ * Ajout d'une advice à un bean depuis un {@code BeanPostProcessor}.
+ * Un bean déjà proxifié (transaction, autre post-processeur) reçoit l'advice en tête de sa chaîne
+ * plutôt qu'un second proxy CGLIB autour du premier.
+ */
+final class Proxies {
+
+    private Proxies() {
+    }
+
+    static Object advise(Object bean, Advice advice) {
+        if (bean instanceof Advised advised && !advised.isFrozen() && AopUtils.isAopProxy(bean)) {
+            advised.addAdvice(0, advice);
+            return bean;
+        }
+
+        // Le proxy étend la classe du bean : les injections par type concret restent valides
+        ProxyFactory proxyFactory = new ProxyFactory(bean);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvice(advice);
+        return proxyFactory.getProxy(bean.getClass().getClassLoader());
+    }
+}
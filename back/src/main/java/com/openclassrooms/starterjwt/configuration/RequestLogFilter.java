@@ -0,0 +1,67 @@
+package com.openclassrooms.starterjwt.configuration;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Journal d'accès : une ligne par requête, à la fin de la réponse, avec ses champs en paires
+ * clé/valeur (méthode, chemin, route, statut, durée, instructions SQL) plutôt que dans le texte.
+ * Ni en-têtes ni corps : rien à copier, rien de sensible. Une requête asynchrone (export en flux)
+ * est journalisée à la fin du flux, pas à la fin du premier passage.
+ */
+@Slf4j
+public class RequestLogFilter extends OncePerRequestFilter {
+
+    private static final String START_ATTRIBUTE = RequestLogFilter.class.getName() + ".start";
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(
+        @NonNull HttpServletRequest request,
+        @NonNull HttpServletResponse response,
+        @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        if (!log.isInfoEnabled()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        Object start = request.getAttribute(START_ATTRIBUTE);
+        long startNanos = start != null ? (long) start : System.nanoTime();
+        request.setAttribute(START_ATTRIBUTE, startNanos);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (!request.isAsyncStarted()) {
+                log(request, response, (System.nanoTime() - startNanos) / 1_000_000);
+            }
+        }
+    }
+
+    private static void log(HttpServletRequest request, HttpServletResponse response, long durationMs) {
+        var event = log.atInfo()
+            .addKeyValue("http.request.method", request.getMethod())
+            .addKeyValue("url.path", request.getRequestURI())
+            .addKeyValue("http.route", request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE))
+            .addKeyValue("http.response.status_code", response.getStatus())
+            .addKeyValue("event.duration_ms", durationMs);
+        if (request.getAttribute(SqlTracingFilter.TRACE_ATTRIBUTE) instanceof SqlStatementTrace trace) {
+            event = event
+                .addKeyValue("db.statements", trace.getStatements())
+                .addKeyValue("db.time_ms", trace.getElapsedMs());
+        }
+        event.log("{} {} -> {} ({} ms)", request.getMethod(), request.getRequestURI(), response.getStatus(), durationMs);
+    }
+}
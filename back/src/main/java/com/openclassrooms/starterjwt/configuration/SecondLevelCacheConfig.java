@@ -0,0 +1,90 @@
+package com.openclassrooms.starterjwt.configuration;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Cache de second niveau Hibernate, en mémoire locale (Caffeine derrière l'API JCache).
+ * <p>
+ * Chaque région est bornée en taille (éviction W-TinyLFU de Caffeine) et en durée de vie ;
+ * ses compteurs hit/miss sont publiés sous {@code cache.gets{cache=<région>}}.
+ * Les régions sont créées ici : une région inconnue fait échouer le démarrage plutôt que de
+ * tomber sur un cache non borné.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    static final String TEACHERS_REGION = "teachers";
+    static final String USERS_REGION = "users";
+    static final String USERS_BY_EMAIL_REGION = "usersByEmail";
+
+    // Régions internes de Hibernate pour le cache de requêtes
+    static final String QUERY_RESULTS_REGION = "default-query-results-region";
+    static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(
+        @Value("${oc.app.secondLevelCache.teachers.maximumSize:1000}") long teachersMaximumSize,
+        @Value("${oc.app.secondLevelCache.users.maximumSize:10000}") long usersMaximumSize,
+        @Value("${oc.app.secondLevelCache.queries.maximumSize:10000}") long queriesMaximumSize,
+        @Value("${oc.app.secondLevelCache.ttl:10m}") Duration ttl,
+        MeterRegistry meterRegistry
+    ) {
+        // Un gestionnaire par contexte : plusieurs contextes Spring peuvent cohabiter dans la même JVM (tests)
+        CacheManager cacheManager = new CaffeineCachingProvider()
+            .getCacheManager(URI.create("hibernate-l2-" + UUID.randomUUID()), getClass().getClassLoader());
+
+        createRegion(cacheManager, TEACHERS_REGION, teachersMaximumSize, ttl, meterRegistry);
+        createRegion(cacheManager, USERS_REGION, usersMaximumSize, ttl, meterRegistry);
+        createRegion(cacheManager, USERS_BY_EMAIL_REGION, queriesMaximumSize, ttl, meterRegistry);
+        createRegion(cacheManager, QUERY_RESULTS_REGION, queriesMaximumSize, ttl, meterRegistry);
+        // Jamais expirée : Hibernate y lit la date de dernière écriture de chaque table pour valider le cache de requêtes
+        createRegion(cacheManager, UPDATE_TIMESTAMPS_REGION, 0, null, meterRegistry);
+
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, ConfigSettings.SIMPLE_FACTORY_NAME);
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    private static void createRegion(CacheManager cacheManager, String name, long maximumSize, Duration ttl,
+                                     MeterRegistry meterRegistry) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        // Hibernate y range des entrées immuables : inutile de les copier à chaque lecture
+        configuration.setStoreByValue(false);
+        configuration.setNativeStatisticsEnabled(true);
+        if (maximumSize > 0) {
+            configuration.setMaximumSize(OptionalLong.of(maximumSize));
+        }
+        if (ttl != null) {
+            configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        }
+
+        // Cache Caffeine natif derrière la région JCache : c'est lui qui porte les statistiques
+        Cache<?, ?> region = cacheManager.createCache(name, configuration).unwrap(Cache.class);
+        CaffeineCacheMetrics.monitor(meterRegistry, region, name);
+    }
+}
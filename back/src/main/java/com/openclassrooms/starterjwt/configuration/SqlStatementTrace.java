@@ -0,0 +1,94 @@
+package com.openclassrooms.starterjwt.configuration;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Relevé des requêtes SQL exécutées pendant une requête HTTP, porté par le thread qui la traite.
+ * <p>
+ * Une exécution JDBC compte pour une instruction, y compris un lot ({@code executeBatch}) : c'est le
+ * nombre d'allers-retours avec la base. Les instructions lancées depuis un autre thread (export en
+ * flux, tâches planifiées) ne sont pas rattachées à la requête.
+ */
+public final class SqlStatementTrace {
+
+    private static final ThreadLocal<SqlStatementTrace> CURRENT = new ThreadLocal<>();
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final int maxSlowStatements;
+    private final Map<String, Integer> shapes = new HashMap<>();
+    private final List<SlowStatement> slowStatements = new ArrayList<>();
+    private int statements;
+    private long elapsedMs;
+
+    SqlStatementTrace(int maxSlowStatements) {
+        this.maxSlowStatements = maxSlowStatements;
+    }
+
+    static SqlStatementTrace start(int maxSlowStatements) {
+        SqlStatementTrace trace = new SqlStatementTrace(maxSlowStatements);
+        CURRENT.set(trace);
+        return trace;
+    }
+
+    static SqlStatementTrace current() {
+        return CURRENT.get();
+    }
+
+    static void stop() {
+        CURRENT.remove();
+    }
+
+    void record(String sql, long elapsedMs, boolean slow) {
+        statements++;
+        this.elapsedMs += elapsedMs;
+        shapes.merge(shape(sql), 1, Integer::sum);
+        if (slow && slowStatements.size() < maxSlowStatements) {
+            slowStatements.add(new SlowStatement(sql, elapsedMs));
+        }
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getElapsedMs() {
+        return elapsedMs;
+    }
+
+    public List<SlowStatement> getSlowStatements() {
+        return Collections.unmodifiableList(slowStatements);
+    }
+
+    /**
+     * Formes exécutées plus de {@code threshold} fois : signature d'un N+1 (une requête par élément chargé).
+     */
+    public Map<String, Integer> repeatedShapes(int threshold) {
+        Map<String, Integer> repeated = new HashMap<>();
+        shapes.forEach((shape, count) -> {
+            if (count > threshold) {
+                repeated.put(shape, count);
+            }
+        });
+        return repeated;
+    }
+
+    // Forme d'une instruction : littéraux et listes IN remplacés, espaces normalisés
+    static String shape(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = WHITESPACE.matcher(shape).replaceAll(" ").trim();
+        return IN_LIST.matcher(shape).replaceAll("(?)");
+    }
+
+    public record SlowStatement(String sql, long elapsedMs) {
+    }
+}
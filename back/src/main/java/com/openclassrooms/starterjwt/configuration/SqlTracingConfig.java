@@ -0,0 +1,46 @@
+package com.openclassrooms.starterjwt.configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+
+/**
+ * Traçage des requêtes SQL par requête HTTP : nombre d'instructions, temps passé en base,
+ * instructions lentes et motifs N+1. Désactivable par {@code oc.app.sqlTracing.enabled=false}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "oc.app.sqlTracing", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SqlTracingConfig {
+
+    // Statique : la source de données doit être enveloppée dès sa création
+    @Bean
+    public static SqlTracingPostProcessor sqlTracingPostProcessor(
+        @Value("${oc.app.sqlTracing.slowThreshold:200ms}") Duration slowThreshold,
+        ObjectProvider<MeterRegistry> meterRegistry
+    ) {
+        return new SqlTracingPostProcessor(new SqlTracingListener(slowThreshold, meterRegistry));
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public FilterRegistrationBean<SqlTracingFilter> sqlTracingFilter(
+        @Value("${oc.app.sqlTracing.nPlusOneThreshold:10}") int nPlusOneThreshold,
+        @Value("${oc.app.sqlTracing.maxSlowStatements:10}") int maxSlowStatements,
+        MeterRegistry meterRegistry
+    ) {
+        FilterRegistrationBean<SqlTracingFilter> registration = new FilterRegistrationBean<>(
+            new SqlTracingFilter(nPlusOneThreshold, maxSlowStatements, meterRegistry)
+        );
+        // Juste après l'observation HTTP, pour enrichir son contexte et couvrir la sécurité (chargement de l'utilisateur)
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        return registration;
+    }
+}
@@ -0,0 +1,101 @@
+package com.openclassrooms.starterjwt.configuration;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.filter.ServerHttpObservationFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Ouvre un {@link SqlStatementTrace} pour chaque requête HTTP et en publie le bilan à la fin :
+ * <ul>
+ *   <li>une ligne de journal par requête (DEBUG si rien à signaler, WARN en cas d'instruction lente
+ *   ou de N+1, c'est-à-dire une même forme d'instruction répétée plus de {@code nPlusOneThreshold} fois) ;</li>
+ *   <li>les attributs {@code db.statements} et {@code db.time} sur l'observation HTTP, donc sur la trace ;</li>
+ *   <li>les métriques {@code http.server.requests.db.*} par route.</li>
+ * </ul>
+ */
+@Slf4j
+public class SqlTracingFilter extends OncePerRequestFilter {
+
+    public static final String TRACE_ATTRIBUTE = SqlTracingFilter.class.getName() + ".trace";
+
+    private final int nPlusOneThreshold;
+    private final int maxSlowStatements;
+    private final MeterRegistry meterRegistry;
+
+    public SqlTracingFilter(int nPlusOneThreshold, int maxSlowStatements, MeterRegistry meterRegistry) {
+        this.nPlusOneThreshold = nPlusOneThreshold;
+        this.maxSlowStatements = maxSlowStatements;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(
+        @NonNull HttpServletRequest request,
+        @NonNull HttpServletResponse response,
+        @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        SqlStatementTrace trace = SqlStatementTrace.start(maxSlowStatements);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlStatementTrace.stop();
+            request.setAttribute(TRACE_ATTRIBUTE, trace);
+            report(request, response, trace);
+        }
+    }
+
+    private void report(HttpServletRequest request, HttpServletResponse response, SqlStatementTrace trace) {
+        // Route plutôt que chemin : une seule série par endpoint
+        String uri = Objects.toString(request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE), "UNKNOWN");
+        Map<String, Integer> repeated = trace.repeatedShapes(nPlusOneThreshold);
+
+        DistributionSummary.builder("http.server.requests.db.statements")
+            .tag("uri", uri)
+            .register(meterRegistry)
+            .record(trace.getStatements());
+        Timer.builder("http.server.requests.db.time")
+            .tag("uri", uri)
+            .register(meterRegistry)
+            .record(trace.getElapsedMs(), TimeUnit.MILLISECONDS);
+        if (!repeated.isEmpty()) {
+            meterRegistry.counter("http.server.requests.db.nplusone", "uri", uri).increment();
+        }
+
+        ServerHttpObservationFilter.findObservationContext(request).ifPresent(context -> {
+            context.addHighCardinalityKeyValue(KeyValue.of("db.statements", String.valueOf(trace.getStatements())));
+            context.addHighCardinalityKeyValue(KeyValue.of("db.time", trace.getElapsedMs() + "ms"));
+        });
+
+        if (repeated.isEmpty() && trace.getSlowStatements().isEmpty()) {
+            log.debug("{} {} -> {}: {} SQL statements, {} ms",
+                request.getMethod(), request.getRequestURI(), response.getStatus(),
+                trace.getStatements(), trace.getElapsedMs());
+            return;
+        }
+        log.warn("{} {} -> {}: {} SQL statements, {} ms; slow: {}; N+1: {}",
+            request.getMethod(), request.getRequestURI(), response.getStatus(),
+            trace.getStatements(), trace.getElapsedMs(),
+            trace.getSlowStatements().stream()
+                .map(statement -> statement.elapsedMs() + " ms " + statement.sql())
+                .collect(Collectors.joining(" | ", "[", "]")),
+            repeated.entrySet().stream()
+                .map(entry -> entry.getValue() + "x " + entry.getKey())
+                .collect(Collectors.joining(" | ", "[", "]")));
+    }
+}
@@ -0,0 +1,53 @@
+package com.openclassrooms.starterjwt.configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Reçoit chaque exécution JDBC avec sa durée mesurée par datasource-proxy et l'ajoute au relevé du
+ * thread courant. Hors requête HTTP, seules les instructions lentes sont journalisées.
+ */
+@Slf4j
+public class SqlTracingListener implements QueryExecutionListener {
+
+    static final String SLOW_STATEMENTS_COUNTER = "db.statements.slow";
+
+    private final long slowThresholdMs;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public SqlTracingListener(Duration slowThreshold, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.slowThresholdMs = slowThreshold.toMillis();
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        String sql = queryInfoList.size() == 1
+            ? queryInfoList.get(0).getQuery()
+            : queryInfoList.stream().map(QueryInfo::getQuery).collect(Collectors.joining("; "));
+        long elapsedMs = execInfo.getElapsedTime();
+        boolean slow = elapsedMs >= slowThresholdMs;
+        if (slow) {
+            meterRegistry.getObject().counter(SLOW_STATEMENTS_COUNTER).increment();
+        }
+
+        SqlStatementTrace trace = SqlStatementTrace.current();
+        if (trace != null) {
+            trace.record(sql, elapsedMs, slow);
+        } else if (slow) {
+            log.warn("Slow SQL statement ({} ms): {}", elapsedMs, sql);
+        }
+    }
+}
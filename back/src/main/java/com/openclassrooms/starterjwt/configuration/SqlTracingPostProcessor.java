@@ -0,0 +1,33 @@
+package com.openclassrooms.starterjwt.configuration;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.lang.NonNull;
+
+import javax.sql.DataSource;
+
+/**
+ * Enveloppe la source de données pour chronométrer chaque exécution JDBC (durée réelle côté pilote,
+ * hors hydratation des entités). Remplace {@code show-sql}, qui écrivait chaque requête sur la sortie
+ * standard, de façon synchrone, sur le thread de la requête.
+ */
+public class SqlTracingPostProcessor implements BeanPostProcessor {
+
+    private final SqlTracingListener listener;
+
+    public SqlTracingPostProcessor(SqlTracingListener listener) {
+        this.listener = listener;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(@NonNull Object bean, @NonNull String beanName) {
+        if (!(bean instanceof DataSource dataSource) || bean instanceof ProxyDataSource) {
+            return bean;
+        }
+        // unwrap() est délégué : métriques et santé Hikari continuent de trouver le pool
+        return ProxyDataSourceBuilder.create(beanName, dataSource)
+            .listener(listener)
+            .build();
+    }
+}
@@ -1,30 +1,63 @@
 package com.openclassrooms.starterjwt.security;
 
 import com.openclassrooms.starterjwt.security.jwt.AuthTokenFilter;
+import com.openclassrooms.starterjwt.security.service.BoundedPasswordEncoder;
 import com.openclassrooms.starterjwt.security.service.UserDetailsServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.ProviderManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.util.StringUtils;
 
 @Configuration
 @EnableWebSecurity
 public class WebSecurityConfig {
+    static final String METRICS_ROLE = "METRICS";
+
     @Autowired
     private UserDetailsServiceImpl userDetailsService;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${oc.app.passwordHashing.strength:10}")
+    private int passwordHashingStrength;
+
+    // 0 : un thread par cœur, bcrypt étant purement CPU
+    @Value("${oc.app.passwordHashing.threads:0}")
+    private int passwordHashingThreads;
+
+    @Value("${oc.app.passwordHashing.queueCapacity:32}")
+    private int passwordHashingQueueCapacity;
+
+    @Value("${oc.app.metrics.username:prometheus}")
+    private String metricsUsername;
+
+    // Vide : aucun compte de supervision, le scrape est refusé
+    @Value("${oc.app.metrics.password:}")
+    private String metricsPassword;
+
     @Bean
     public AuthenticationManager authenticationManager(AuthenticationConfiguration authConfig) throws Exception {
         return authConfig.getAuthenticationManager();
@@ -37,17 +70,66 @@ public class WebSecurityConfig {
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        int threads = passwordHashingThreads > 0
+            ? passwordHashingThreads
+            : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(
+            new BCryptPasswordEncoder(passwordHashingStrength),
+            threads,
+            passwordHashingQueueCapacity,
+            meterRegistry
+        );
     }
 
     @Bean
     public DaoAuthenticationProvider authenticationProvider() {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService);
+        authProvider.setUserDetailsPasswordService(userDetailsService);
         authProvider.setPasswordEncoder(passwordEncoder());
         return authProvider;
     }
 
+    /**
+     * Actuateur, sur le même port que l'API : seules les sondes de santé sont publiques. Le scrape
+     * Prometheus (routes, exceptions, caches, état du pool) exige le compte de supervision en HTTP Basic,
+     * indépendant des comptes de l'application.
+     */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain actuatorSecurityFilterChain(HttpSecurity http) throws Exception {
+        http
+            .securityMatcher(EndpointRequest.toAnyEndpoint())
+            .csrf(AbstractHttpConfigurer::disable)
+            .sessionManagement(
+                management -> management.sessionCreationPolicy(
+                    SessionCreationPolicy.STATELESS
+                )
+            )
+            .authorizeHttpRequests(authorize -> authorize
+                .requestMatchers(EndpointRequest.to(HealthEndpoint.class)).permitAll()
+                .anyRequest().hasRole(METRICS_ROLE)
+            )
+            .httpBasic(Customizer.withDefaults())
+            .authenticationManager(metricsAuthenticationManager());
+
+        return http.build();
+    }
+
+    private AuthenticationManager metricsAuthenticationManager() {
+        InMemoryUserDetailsManager accounts = new InMemoryUserDetailsManager();
+        if (StringUtils.hasText(metricsPassword)) {
+            accounts.createUser(User.withUsername(metricsUsername)
+                .password(passwordEncoder().encode(metricsPassword))
+                .roles(METRICS_ROLE)
+                .build());
+        }
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+        provider.setUserDetailsService(accounts);
+        provider.setPasswordEncoder(passwordEncoder());
+        return new ProviderManager(provider);
+    }
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
@@ -0,0 +1,178 @@
+package com.openclassrooms.starterjwt.security.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Set;
+
+/**
+ * Tri préalable des jetons, avant toute vérification cryptographique et sans exception :
+ * longueur, trois segments base64url, algorithme de l'en-tête dans la liste autorisée, {@code exp}
+ * pas encore dépassée, et jeton absent des rejets récents.
+ * <p>
+ * Ces contrôles ne lisent que la forme du jeton : ils peuvent laisser passer un jeton invalide
+ * (le parseur le rejettera) mais jamais écarter un jeton que le parseur aurait accepté.
+ */
+@Component
+public class JwtPreValidator {
+
+    // Seul algorithme émis par JwtUtils ; écarte "none" et la confusion HS/RS
+    static final Set<String> ALLOWED_ALGORITHMS = Set.of("HS512");
+
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final int maxLength;
+    private final Cache<String, JwtRejection> recentRejects;
+
+    public JwtPreValidator(
+        @Value("${oc.app.jwtPrevalidation.maxLength:8192}") int maxLength,
+        @Value("${oc.app.jwtPrevalidation.rejectCache.maximumSize:4MB}") DataSize rejectCacheSize,
+        @Value("${oc.app.jwtPrevalidation.rejectCache.ttl:10m}") Duration rejectCacheTtl
+    ) {
+        this.maxLength = maxLength;
+        // Borné en caractères : un flot de jetons longs ne peut pas gonfler le cache
+        this.recentRejects = Caffeine.newBuilder()
+            .maximumWeight(rejectCacheSize.toBytes())
+            .weigher((String token, JwtRejection reason) -> token.length())
+            .expireAfterWrite(rejectCacheTtl)
+            .build();
+    }
+
+    /**
+     * @return le motif de rejet, ou {@code null} si le jeton doit passer par le parseur
+     */
+    public JwtRejection check(String token) {
+        if (token == null || token.isBlank()) {
+            return JwtRejection.EMPTY;
+        }
+        if (token.length() > maxLength) {
+            return JwtRejection.OVERSIZED;
+        }
+
+        int firstDot = token.indexOf('.');
+        int secondDot = firstDot < 0 ? -1 : token.indexOf('.', firstDot + 1);
+        if (secondDot < 0 || token.indexOf('.', secondDot + 1) >= 0
+            || !isBase64Url(token, 0, firstDot)
+            || !isBase64Url(token, firstDot + 1, secondDot)
+            || !isBase64Url(token, secondDot + 1, token.length())) {
+            return JwtRejection.MALFORMED;
+        }
+
+        JwtRejection recent = recentRejects.getIfPresent(token);
+        if (recent != null) {
+            return recent;
+        }
+
+        String header = decode(token, 0, firstDot);
+        String algorithm = stringMember(header, "alg");
+        if (algorithm == null || !ALLOWED_ALGORITHMS.contains(algorithm)) {
+            return JwtRejection.ALGORITHM;
+        }
+
+        Long expiration = longMember(decode(token, firstDot + 1, secondDot), "exp");
+        if (expiration != null && isPast(expiration)) {
+            return JwtRejection.EXPIRED;
+        }
+        return null;
+    }
+
+    /**
+     * Mémorise un rejet du parseur : le même jeton rejoué est écarté sans nouvelle vérification de signature.
+     */
+    public void remember(String token, JwtRejection reason) {
+        if (token != null && token.length() <= maxLength) {
+            recentRejects.put(token, reason);
+        }
+    }
+
+    // Segment non vide, alphabet base64url sans remplissage, longueur décodable
+    private static boolean isBase64Url(String token, int from, int to) {
+        int length = to - from;
+        if (length == 0 || length % 4 == 1) {
+            return false;
+        }
+        for (int i = from; i < to; i++) {
+            char c = token.charAt(i);
+            if (!(c >= 'A' && c <= 'Z' || c >= 'a' && c <= 'z' || c >= '0' && c <= '9' || c == '-' || c == '_')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String decode(String token, int from, int to) {
+        return new String(DECODER.decode(token.substring(from, to)), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Membre JSON de type chaîne, sans échappement. {@code null} si absent ou d'une autre forme,
+     * auquel cas le parseur tranchera.
+     */
+    static String stringMember(String json, String name) {
+        int i = valueIndex(json, name);
+        if (i < 0 || json.charAt(i) != '"') {
+            return null;
+        }
+        int end = json.indexOf('"', i + 1);
+        if (end < 0 || json.lastIndexOf('\\', end) > i) {
+            return null;
+        }
+        return json.substring(i + 1, end);
+    }
+
+    /**
+     * Membre JSON entier positif (au plus 15 chiffres). {@code null} pour toute autre forme :
+     * décimal, exposant, chaîne.
+     */
+    static Long longMember(String json, String name) {
+        int i = valueIndex(json, name);
+        if (i < 0) {
+            return null;
+        }
+        long value = 0;
+        int end = i;
+        while (end < json.length() && json.charAt(end) >= '0' && json.charAt(end) <= '9') {
+            value = value * 10 + (json.charAt(end) - '0');
+            end++;
+        }
+        if (end == i || end - i > 15) {
+            return null;
+        }
+        int next = skipWhitespace(json, end);
+        return next < json.length() && (json.charAt(next) == ',' || json.charAt(next) == '}') ? value : null;
+    }
+
+    // Début de la valeur du premier membre portant ce nom, -1 si introuvable
+    private static int valueIndex(String json, String name) {
+        String key = '"' + name + '"';
+        int index = json.indexOf(key);
+        if (index < 0) {
+            return -1;
+        }
+        int i = skipWhitespace(json, index + key.length());
+        if (i >= json.length() || json.charAt(i) != ':') {
+            return -1;
+        }
+        i = skipWhitespace(json, i + 1);
+        return i < json.length() ? i : -1;
+    }
+
+    private static int skipWhitespace(String json, int from) {
+        int i = from;
+        while (i < json.length() && Character.isWhitespace(json.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    // exp en secondes ; même règle que jjwt sans tolérance d'horloge : rejeté une fois l'instant dépassé
+    private static boolean isPast(long expiration) {
+        return expiration * 1000 < System.currentTimeMillis();
+    }
+}
@@ -0,0 +1,18 @@
+package com.openclassrooms.starterjwt.security.jwt;
+
+/**
+ * Motif de rejet d'un jeton d'accès.
+ */
+public enum JwtRejection {
+    SIGNATURE,
+    MALFORMED,
+    EXPIRED,
+    UNSUPPORTED,
+    EMPTY,
+    // Au-delà de oc.app.jwtPrevalidation.maxLength
+    OVERSIZED,
+    // Algorithme d'en-tête hors liste autorisée
+    ALGORITHM,
+    // Jeton valide mais utilisateur introuvable ou illisible
+    AUTHENTICATION
+}
@@ -0,0 +1,70 @@
+package com.openclassrooms.starterjwt.security.jwt;
+
+import com.openclassrooms.starterjwt.common.logging.LogSampler;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Rejets de jetons : chacun est compté sous {@code jwt.rejections{reason}}, et le journal est
+ * échantillonné par motif. Un flot de jetons expirés ou forgés ne produit que {@code burst} lignes
+ * par fenêtre, suivies du nombre de rejets passés sous silence. La pile d'appels n'est écrite qu'en DEBUG.
+ */
+@Slf4j
+@Component
+public class JwtRejectionLog {
+
+    static final String REJECTIONS_COUNTER = "jwt.rejections";
+
+    private final LogSampler<JwtRejection> sampler;
+    private final Counter[] counters;
+
+    public JwtRejectionLog(
+        @Value("${oc.app.logging.sampling.burst:10}") int burst,
+        @Value("${oc.app.logging.sampling.window:1m}") Duration window,
+        MeterRegistry meterRegistry
+    ) {
+        this.sampler = new LogSampler<>(JwtRejection.class, burst, window);
+        // Compteurs créés d'avance, indexés par ordinal : aucune recherche dans le registre par rejet
+        JwtRejection[] reasons = JwtRejection.values();
+        this.counters = new Counter[reasons.length];
+        for (JwtRejection reason : reasons) {
+            counters[reason.ordinal()] = meterRegistry.counter(REJECTIONS_COUNTER, "reason", reason.name());
+        }
+    }
+
+    /**
+     * Rejet du tri préalable ou du cache des rejets récents : aucune exception à décrire.
+     */
+    public void reject(JwtRejection reason) {
+        counters[reason.ordinal()].increment();
+        if (!log.isDebugEnabled()) {
+            return;
+        }
+        long suppressed = sampler.sample(reason);
+        if (suppressed < 0) {
+            return;
+        }
+        log.atDebug()
+            .addKeyValue("jwt.rejection", reason)
+            .addKeyValue("log.suppressed", suppressed)
+            .log("JWT rejected before parsing ({}) [{} similar suppressed]", reason, suppressed);
+    }
+
+    public void reject(JwtRejection reason, Exception e) {
+        counters[reason.ordinal()].increment();
+        long suppressed = sampler.sample(reason);
+        if (suppressed < 0) {
+            return;
+        }
+        log.atWarn()
+            .addKeyValue("jwt.rejection", reason)
+            .addKeyValue("log.suppressed", suppressed)
+            .setCause(log.isDebugEnabled() ? e : null)
+            .log("JWT rejected ({}): {} [{} similar suppressed]", reason, e.getMessage(), suppressed);
+    }
+}
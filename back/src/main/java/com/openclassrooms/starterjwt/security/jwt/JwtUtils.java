@@ -2,54 +2,184 @@ package com.openclassrooms.starterjwt.security.jwt;
 
 import com.openclassrooms.starterjwt.security.service.UserDetailsImpl;
 import io.jsonwebtoken.*;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException;
-import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
 
+import javax.crypto.SecretKey;
+import java.security.Key;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
 
-@Slf4j
 @Component
 public class JwtUtils {
-    @Value("${oc.app.jwtSecret}")
-    private String jwtSecret;
+    static final String ID_CLAIM = "id";
+    static final String ADMIN_CLAIM = "admin";
+    static final String FIRST_NAME_CLAIM = "firstName";
+    static final String LAST_NAME_CLAIM = "lastName";
+    static final String SESSION_CLAIM = "sid";
 
-    @Value("${oc.app.jwtExpirationMs}")
-    private int jwtExpirationMs;
+    private final int jwtExpirationMs;
+
+    private final String signingKeyId;
+
+    private final SecretKey signingKey;
+
+    // Clé active + anciennes clés, sélectionnées par l'en-tête "kid" pendant une rotation
+    private final Map<String, SecretKey> verificationKeys;
+
+    // Immuable et thread-safe : construit une seule fois au démarrage
+    private final JwtParser jwtParser;
+
+    private final JwtPreValidator preValidator;
+
+    private final JwtRejectionLog rejectionLog;
+
+    public JwtUtils(
+        @Value("${oc.app.jwtSecret}") String jwtSecret,
+        @Value("${oc.app.jwtExpirationMs}") int jwtExpirationMs,
+        @Value("${oc.app.jwtKeyId:default}") String jwtKeyId,
+        @Value("${oc.app.jwtPreviousSecrets:}") String jwtPreviousSecrets,
+        JwtPreValidator preValidator,
+        JwtRejectionLog rejectionLog
+    ) {
+        this.jwtExpirationMs = jwtExpirationMs;
+        this.preValidator = preValidator;
+        this.rejectionLog = rejectionLog;
+        this.signingKeyId = jwtKeyId;
+        this.signingKey = toKey(jwtSecret);
+        Map<String, SecretKey> keys = parsePreviousSecrets(jwtPreviousSecrets);
+        keys.put(jwtKeyId, signingKey);
+        this.verificationKeys = Map.copyOf(keys);
+        this.jwtParser = Jwts.parser().keyLocator(new LocatorAdapter<Key>() {
+            @Override
+            protected Key locate(JwsHeader header) {
+                // Jeton sans "kid" (émis avant la rotation) : clé active
+                String keyId = header.getKeyId();
+                return keyId == null ? signingKey : verificationKeys.get(keyId);
+            }
+        }).build();
+    }
 
     public String generateJwtToken(Authentication authentication) {
+        return generateJwtToken(authentication, null);
+    }
+
+    /**
+     * @param sessionId famille de refresh tokens à laquelle rattacher le jeton, révoquée au logout
+     */
+    public String generateJwtToken(Authentication authentication, String sessionId) {
 
         UserDetailsImpl userPrincipal = (UserDetailsImpl) authentication.getPrincipal();
 
         return Jwts.builder()
+            .header().keyId(signingKeyId).and()
+            .id(UUID.randomUUID().toString())
             .subject((userPrincipal.getUsername()))
+            .claim(ID_CLAIM, userPrincipal.getId())
+            .claim(ADMIN_CLAIM, userPrincipal.getAdmin())
+            .claim(FIRST_NAME_CLAIM, userPrincipal.getFirstName())
+            .claim(LAST_NAME_CLAIM, userPrincipal.getLastName())
+            .claim(SESSION_CLAIM, sessionId)
             .issuedAt(new Date())
             .expiration(new Date((new Date()).getTime() + jwtExpirationMs))
-            .signWith(SignatureAlgorithm.HS512, jwtSecret)
+            .signWith(signingKey, Jwts.SIG.HS512)
             .compact();
     }
 
     public String getUserNameFromJwtToken(String token) {
-        return Jwts.parser().setSigningKey(jwtSecret).build().parseClaimsJws(token).getBody().getSubject();
+        return jwtParser.parseSignedClaims(token).getPayload().getSubject();
     }
 
     public boolean validateJwtToken(String authToken) {
+        return parseJwtClaims(authToken) != null;
+    }
+
+    /**
+     * Vérifie la signature et l'expiration du jeton en une seule passe, après un tri préalable
+     * qui écarte sans exception les jetons mal formés, expirés ou déjà rejetés.
+     *
+     * @return les claims signés, ou {@code null} si le jeton est invalide
+     */
+    public Claims parseJwtClaims(String authToken) {
+        JwtRejection early = preValidator.check(authToken);
+        if (early != null) {
+            rejectionLog.reject(early);
+            return null;
+        }
         try {
-            Jwts.parser().setSigningKey(jwtSecret).build().parseClaimsJws(authToken);
-            return true;
+            return jwtParser.parseSignedClaims(authToken).getPayload();
         } catch (SignatureException e) {
-            log.error("Invalid JWT signature: {}", e.getMessage());
+            reject(authToken, JwtRejection.SIGNATURE, e);
         } catch (MalformedJwtException e) {
-            log.error("Invalid JWT token: {}", e.getMessage());
+            reject(authToken, JwtRejection.MALFORMED, e);
         } catch (ExpiredJwtException e) {
-            log.error("JWT token is expired: {}", e.getMessage());
+            reject(authToken, JwtRejection.EXPIRED, e);
         } catch (UnsupportedJwtException e) {
-            log.error("JWT token is unsupported: {}", e.getMessage());
+            reject(authToken, JwtRejection.UNSUPPORTED, e);
         } catch (IllegalArgumentException e) {
-            log.error("JWT claims string is empty: {}", e.getMessage());
+            reject(authToken, JwtRejection.EMPTY, e);
+        }
+        return null;
+    }
+
+    private void reject(String authToken, JwtRejection reason, Exception e) {
+        preValidator.remember(authToken, reason);
+        rejectionLog.reject(reason, e);
+    }
+
+    /**
+     * Reconstruit l'utilisateur à partir des claims, sans accès à la base.
+     *
+     * @return {@code null} pour un jeton émis avant l'ajout des claims utilisateur
+     */
+    public UserDetailsImpl getUserDetailsFromJwtClaims(Claims claims) {
+        Number id = claims.get(ID_CLAIM, Number.class);
+        if (id == null) {
+            return null;
+        }
+
+        return UserDetailsImpl
+            .builder()
+            .id(id.longValue())
+            .username(claims.getSubject())
+            .firstName(claims.get(FIRST_NAME_CLAIM, String.class))
+            .lastName(claims.get(LAST_NAME_CLAIM, String.class))
+            .admin(Boolean.TRUE.equals(claims.get(ADMIN_CLAIM, Boolean.class)))
+            .build();
+    }
+
+    public String getSessionIdFromJwtClaims(Claims claims) {
+        return claims.get(SESSION_CLAIM, String.class);
+    }
+
+    // Même dérivation que l'ancien signWith(SignatureAlgorithm, String) : le secret est encodé en base64
+    private static SecretKey toKey(String secret) {
+        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+    }
+
+    /**
+     * Lit les anciennes clés encore acceptées, au format {@code kid=secret,kid=secret}.
+     */
+    private static Map<String, SecretKey> parsePreviousSecrets(String previousSecrets) {
+        Map<String, SecretKey> keys = new HashMap<>();
+        if (!StringUtils.hasText(previousSecrets)) {
+            return keys;
+        }
+
+        for (String entry : previousSecrets.split(",")) {
+            int separator = entry.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalStateException("Invalid JWT previous secret entry, expected kid=secret");
+            }
+            keys.put(entry.substring(0, separator).trim(), toKey(entry.substring(separator + 1).trim()));
         }
-        return false;
+        return keys;
     }
 }
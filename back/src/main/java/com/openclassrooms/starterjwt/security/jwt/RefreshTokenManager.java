@@ -0,0 +1,69 @@
+package com.openclassrooms.starterjwt.security.jwt;
+
+import com.openclassrooms.starterjwt.auth.repository.port.RefreshTokenRepositoryPort;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Date;
+import java.util.HexFormat;
+
+/**
+ * Émission des refresh tokens opaques. Seul leur empreinte SHA-256 est stockée : le jeton porte 256 bits
+ * d'aléa, un hachage lent comme bcrypt n'apporterait rien et coûterait à chaque rotation.
+ */
+@Slf4j
+@Component
+public class RefreshTokenManager {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final RefreshTokenRepositoryPort refreshTokenRepositoryPort;
+    private final long refreshTokenExpirationMs;
+
+    public RefreshTokenManager(
+        RefreshTokenRepositoryPort refreshTokenRepositoryPort,
+        @Value("${oc.app.refreshTokenExpirationMs:2592000000}") long refreshTokenExpirationMs
+    ) {
+        this.refreshTokenRepositoryPort = refreshTokenRepositoryPort;
+        this.refreshTokenExpirationMs = refreshTokenExpirationMs;
+    }
+
+    public String issue(Long userId, String familyId) {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        refreshTokenRepositoryPort.store(
+            hash(token),
+            familyId,
+            userId,
+            new Date(System.currentTimeMillis() + refreshTokenExpirationMs)
+        );
+        return token;
+    }
+
+    public static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    @Scheduled(
+        fixedDelayString = "${oc.app.refreshTokenPurgeIntervalMs:3600000}",
+        initialDelayString = "${oc.app.refreshTokenPurgeIntervalMs:3600000}"
+    )
+    public void purgeExpired() {
+        int purged = refreshTokenRepositoryPort.purgeExpired(new Date());
+        log.debug("Expired refresh tokens purged: {}", purged);
+    }
+}
@@ -0,0 +1,112 @@
+package com.openclassrooms.starterjwt.security.jwt;
+
+import com.openclassrooms.starterjwt.auth.repository.port.RevokedTokenRepositoryPort;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Révocation des jetons par {@code jti}.
+ * <p>
+ * La table {@code revoked_tokens} fait foi ; un filtre de Bloom en mémoire répond seul à l'immense majorité
+ * des requêtes (jeton non révoqué), seuls les positifs sont confirmés en base. Le filtre est reconstruit
+ * périodiquement depuis la table, ce qui purge les entrées expirées et récupère les révocations des autres instances.
+ */
+@Slf4j
+@Component
+public class TokenRevocationList {
+
+    private final RevokedTokenRepositoryPort revokedTokenRepositoryPort;
+    private final int expectedInsertions;
+    private final double falsePositiveRate;
+
+    // Section courte : ajout au filtre et échange du filtre, jamais d'accès à la base
+    private final ReentrantLock filterLock = new ReentrantLock();
+    // Une reconstruction à la fois ; ne bloque que les autres reconstructions
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    private volatile BloomFilter filter;
+    // jti révoqués pendant une reconstruction, rejoués sur le nouveau filtre ; null hors reconstruction
+    private List<String> revokedDuringRefresh;
+
+    public TokenRevocationList(
+        RevokedTokenRepositoryPort revokedTokenRepositoryPort,
+        @Value("${oc.app.tokenRevocation.expectedInsertions:100000}") int expectedInsertions,
+        @Value("${oc.app.tokenRevocation.falsePositiveRate:0.01}") double falsePositiveRate
+    ) {
+        this.revokedTokenRepositoryPort = revokedTokenRepositoryPort;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filter = new BloomFilter(expectedInsertions, falsePositiveRate);
+    }
+
+    public void revoke(String jti, Date expiresAt) {
+        revokedTokenRepositoryPort.revoke(jti, expiresAt);
+        // Après l'écriture : une reconstruction concurrente a soit lu la ligne, soit la rejouera
+        filterLock.lock();
+        try {
+            filter.put(jti);
+            if (revokedDuringRefresh != null) {
+                revokedDuringRefresh.add(jti);
+            }
+        } finally {
+            filterLock.unlock();
+        }
+    }
+
+    public boolean isRevoked(String jti) {
+        if (jti == null || !filter.mightContain(jti)) {
+            return false;
+        }
+        return revokedTokenRepositoryPort.isRevoked(jti);
+    }
+
+    @PostConstruct
+    @Scheduled(
+        fixedDelayString = "${oc.app.tokenRevocation.refreshIntervalMs:60000}",
+        initialDelayString = "${oc.app.tokenRevocation.refreshIntervalMs:60000}"
+    )
+    public void refresh() {
+        refreshLock.lock();
+        try {
+            filterLock.lock();
+            try {
+                revokedDuringRefresh = new ArrayList<>();
+            } finally {
+                filterLock.unlock();
+            }
+
+            // Purge, lecture et construction hors verrou : les révocations concurrentes ne les attendent pas
+            Date now = new Date();
+            int purged = revokedTokenRepositoryPort.purgeExpired(now);
+            List<String> active = revokedTokenRepositoryPort.findActive(now);
+            BloomFilter rebuilt = new BloomFilter(Math.max(expectedInsertions, active.size() * 2), falsePositiveRate);
+            active.forEach(rebuilt::put);
+
+            filterLock.lock();
+            try {
+                revokedDuringRefresh.forEach(rebuilt::put);
+                filter = rebuilt;
+            } finally {
+                filterLock.unlock();
+            }
+
+            log.debug("Token revocation list rebuilt: {} active, {} purged", active.size(), purged);
+        } finally {
+            filterLock.lock();
+            try {
+                revokedDuringRefresh = null;
+            } finally {
+                filterLock.unlock();
+            }
+            refreshLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.openclassrooms.starterjwt.security.ratelimit;
+
+import com.openclassrooms.starterjwt.common.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Limite les appels de connexion et d'inscription, qui coûtent un hachage bcrypt ou une requête
+ * {@code existsByEmail}, par adresse du client et par email visé : une rafale de bourrage
+ * d'identifiants s'épuise sur ses propres seaux sans priver de CPU les autres utilisateurs.
+ * <p>
+ * L'adresse est celle vue par le conteneur ; derrière un proxy, {@code server.forward-headers-strategy}
+ * doit être réglé pour qu'elle reflète le vrai client. Refus comptés sous {@code auth.rate_limit.rejections}.
+ */
+@Component
+public class AuthRateLimiter {
+
+    public enum Action { LOGIN, REGISTER }
+
+    private final boolean enabled;
+    private final TokenBucketLimiter byClient;
+    private final TokenBucketLimiter byEmail;
+    private final MeterRegistry meterRegistry;
+
+    public AuthRateLimiter(
+        @Value("${oc.app.authRateLimit.enabled:true}") boolean enabled,
+        @Value("${oc.app.authRateLimit.maximumKeys:100000}") long maximumKeys,
+        @Value("${oc.app.authRateLimit.client.capacity:20}") int clientCapacity,
+        @Value("${oc.app.authRateLimit.client.refillInterval:3s}") Duration clientRefillInterval,
+        @Value("${oc.app.authRateLimit.email.capacity:5}") int emailCapacity,
+        @Value("${oc.app.authRateLimit.email.refillInterval:30s}") Duration emailRefillInterval,
+        MeterRegistry meterRegistry
+    ) {
+        this.enabled = enabled;
+        this.byClient = new TokenBucketLimiter(clientCapacity, clientRefillInterval, maximumKeys);
+        this.byEmail = new TokenBucketLimiter(emailCapacity, emailRefillInterval, maximumKeys);
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * @throws TooManyRequestsException avec le délai d'attente, repris dans l'en-tête {@code Retry-After}
+     */
+    public void acquire(Action action, String clientAddress, String email) {
+        if (!enabled) {
+            return;
+        }
+        String limit = "client";
+        long wait = byClient.tryAcquire(action + ":" + clientAddress);
+        if (wait == 0 && email != null) {
+            limit = "email";
+            wait = byEmail.tryAcquire(action + ":" + email.trim().toLowerCase(Locale.ROOT));
+        }
+        if (wait > 0) {
+            meterRegistry.counter("auth.rate_limit.rejections",
+                "action", action.name().toLowerCase(Locale.ROOT), "limit", limit).increment();
+            throw new TooManyRequestsException("Too many attempts, please retry later", Duration.ofNanos(wait));
+        }
+    }
+}
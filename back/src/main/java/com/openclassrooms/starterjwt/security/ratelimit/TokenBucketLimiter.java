@@ -0,0 +1,65 @@
+package com.openclassrooms.starterjwt.security.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Seau à jetons par clé : {@code capacity} jetons au plus, un jeton rendu toutes les {@code refillInterval}.
+ * <p>
+ * Chaque seau tient dans un seul {@code long}, l'instant théorique où il sera de nouveau plein
+ * (algorithme GCRA), mis à jour par compare-and-set : pas de verrou, pas de tâche de recharge.
+ * Les seaux vivent dans un cache Caffeine borné en nombre de clés ; un seau inactif assez longtemps
+ * pour être plein est oublié sans rien perdre, puisqu'un seau neuf est plein.
+ */
+public class TokenBucketLimiter {
+
+    private static final Function<String, AtomicLong> NEW_BUCKET = key -> new AtomicLong(Long.MIN_VALUE);
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final Ticker ticker;
+    private final Cache<String, AtomicLong> buckets;
+
+    public TokenBucketLimiter(int capacity, Duration refillInterval, long maximumKeys) {
+        this(capacity, refillInterval, maximumKeys, Ticker.systemTicker());
+    }
+
+    TokenBucketLimiter(int capacity, Duration refillInterval, long maximumKeys, Ticker ticker) {
+        this.intervalNanos = refillInterval.toNanos();
+        this.burstNanos = intervalNanos * capacity;
+        this.ticker = ticker;
+        this.buckets = Caffeine.newBuilder()
+            .maximumSize(maximumKeys)
+            .expireAfterAccess(Duration.ofNanos(burstNanos))
+            .ticker(ticker)
+            .build();
+    }
+
+    /**
+     * Consomme un jeton du seau de {@code key}.
+     *
+     * @return {@code 0} si le jeton est accordé, sinon le délai en nanosecondes avant le prochain jeton
+     */
+    public long tryAcquire(String key) {
+        AtomicLong bucket = buckets.get(key, NEW_BUCKET);
+        long now = ticker.read();
+        while (true) {
+            long fullAt = bucket.get();
+            // Seau neuf ou plein : on repart de maintenant (différence de nanoTime, pas de comparaison directe)
+            long start = fullAt == Long.MIN_VALUE || fullAt - now < 0 ? now : fullAt;
+            long next = start + intervalNanos;
+            long wait = next - now - burstNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (bucket.compareAndSet(fullAt, next)) {
+                return 0;
+            }
+        }
+    }
+}
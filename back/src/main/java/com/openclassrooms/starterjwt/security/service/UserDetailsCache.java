@@ -0,0 +1,44 @@
+package com.openclassrooms.starterjwt.security.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Cache borné (taille + TTL) des principaux chargés par email.
+ * Les compteurs hit/miss/eviction sont publiés sous le nom de cache {@value #CACHE_NAME}.
+ */
+@Component
+public class UserDetailsCache {
+    static final String CACHE_NAME = "userDetails";
+
+    private final Cache<String, UserDetailsImpl> cache;
+
+    public UserDetailsCache(
+        @Value("${oc.app.userDetailsCache.maximumSize:10000}") long maximumSize,
+        @Value("${oc.app.userDetailsCache.ttl:5m}") Duration ttl,
+        MeterRegistry meterRegistry
+    ) {
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    // Une exception levée par le chargement n'est pas mise en cache : un email inconnu reste un miss
+    public UserDetailsImpl get(String email, Function<String, UserDetailsImpl> loader) {
+        return cache.get(email, loader);
+    }
+
+    public void invalidate(String email) {
+        cache.invalidate(email);
+    }
+}
@@ -2,32 +2,52 @@ package com.openclassrooms.starterjwt.security.service;
 
 import org.springframework.stereotype.Service;
 import com.openclassrooms.starterjwt.user.model.User;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import com.openclassrooms.starterjwt.user.repository.port.UserRepositoryPort;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 
 @Service
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
     UserRepositoryPort userRepositoryPort;
+    UserDetailsCache userDetailsCache;
 
-    UserDetailsServiceImpl(UserRepositoryPort userRepositoryPort) {
+    UserDetailsServiceImpl(UserRepositoryPort userRepositoryPort, UserDetailsCache userDetailsCache) {
         this.userRepositoryPort = userRepositoryPort;
+        this.userDetailsCache = userDetailsCache;
     }
 
+    // Pas de transaction autour du cache : un hit ne doit pas emprunter de connexion
     @Override
-    @Transactional
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        User user = userRepositoryPort.getByEmail(username);
+        return userDetailsCache.get(username, this::load);
+    }
+
+    private UserDetailsImpl load(String username) {
+        return toUserDetails(userRepositoryPort.getByEmail(username));
+    }
 
+    private static UserDetailsImpl toUserDetails(User user) {
         return UserDetailsImpl
             .builder()
             .id(user.getId())
             .username(user.getEmail())
             .lastName(user.getLastName())
             .firstName(user.getFirstName())
+            .admin(user.isAdmin())
             .password(user.getPassword())
             .build();
     }
+
+    // Appelé par DaoAuthenticationProvider quand le hash stocké a un coût inférieur au coût configuré
+    @Override
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = userRepositoryPort.getByEmail(userDetails.getUsername());
+        user.setPassword(newPassword);
+        userRepositoryPort.save(user);
+        userDetailsCache.invalidate(userDetails.getUsername());
+
+        return toUserDetails(user);
+    }
 }
@@ -1,21 +1,39 @@
 package com.openclassrooms.starterjwt.session.controller;
 
 import java.util.List;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import jakarta.validation.Valid;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.http.MediaType;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+import com.openclassrooms.starterjwt.common.model.ResourceVersion;
 import com.openclassrooms.starterjwt.session.service.*;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import com.openclassrooms.starterjwt.session.dto.SessionDto;
+import com.openclassrooms.starterjwt.session.dto.SessionPageDto;
+import com.openclassrooms.starterjwt.session.dto.ParticipationDto;
+import com.openclassrooms.starterjwt.session.dto.ParticipationStatus;
+import com.openclassrooms.starterjwt.session.dto.SessionImportReportDto;
+import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import com.openclassrooms.starterjwt.session.request.CreateSessionRequest;
+import com.openclassrooms.starterjwt.session.request.BulkCreateSessionsRequest;
 import com.openclassrooms.starterjwt.session.request.UpdateSessionRequest;
+import com.openclassrooms.starterjwt.session.request.SearchSessionsRequest;
+import com.openclassrooms.starterjwt.session.request.SessionImportFormat;
 
 @RestController
 @RequestMapping("/api/session")
@@ -25,37 +43,65 @@ public class SessionController {
     private final GetSessionService getSessionService;
     private final GetSessionsService getSessionsService;
     private final CreateSessionService createSessionService;
+    private final BulkCreateSessionsService bulkCreateSessionsService;
+    private final ImportSessionsService importSessionsService;
+    private final ExportSessionsService exportSessionsService;
     private final DeleteSessionService deleteSessionService;
     private final UpdateSessionService updateSessionService;
     private final ParticipateSessionService participateSessionService;
     private final NoLongerParticipateSessionService noLongerParticipateSessionService;
+    private final GetWaitlistPositionService getWaitlistPositionService;
 
     public SessionController(
         GetSessionService getSessionService,
         GetSessionsService getSessionsService,
         CreateSessionService createSessionService,
+        BulkCreateSessionsService bulkCreateSessionsService,
+        ImportSessionsService importSessionsService,
+        ExportSessionsService exportSessionsService,
         DeleteSessionService deleteSessionService,
         UpdateSessionService updateSessionService,
         ParticipateSessionService participateSessionService,
-        NoLongerParticipateSessionService noLongerParticipateSessionService
+        NoLongerParticipateSessionService noLongerParticipateSessionService,
+        GetWaitlistPositionService getWaitlistPositionService
     ) {
         this.getSessionService = getSessionService;
         this.getSessionsService = getSessionsService;
         this.createSessionService = createSessionService;
+        this.bulkCreateSessionsService = bulkCreateSessionsService;
+        this.importSessionsService = importSessionsService;
+        this.exportSessionsService = exportSessionsService;
         this.deleteSessionService = deleteSessionService;
         this.updateSessionService = updateSessionService;
         this.participateSessionService = participateSessionService;
         this.noLongerParticipateSessionService = noLongerParticipateSessionService;
+        this.getWaitlistPositionService = getWaitlistPositionService;
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<SessionDto> findById(@PathVariable Long id) {
+    public ResponseEntity<SessionDto> findById(@PathVariable Long id, WebRequest webRequest) {
+        // 304 sur la seule version ; ETag et Last-Modified sont posés sur la réponse dans les deux cas
+        ResourceVersion version = getSessionService.version(id);
+        if (webRequest.checkNotModified(version.etag(), version.lastModifiedMillis())) {
+            return null;
+        }
         return ResponseEntity.ok(getSessionService.execute(id));
     }
 
     @GetMapping
-    public ResponseEntity<List<SessionDto>> findAll() {
-        return ResponseEntity.ok(getSessionsService.execute());
+    public ResponseEntity<SessionPageDto> findAll(@ModelAttribute SearchSessionsRequest request, WebRequest webRequest) {
+        ResourceVersion version = getSessionsService.version(request);
+        if (webRequest.checkNotModified(version.etag(), version.lastModifiedMillis())) {
+            return null;
+        }
+        return ResponseEntity.ok(getSessionsService.execute(request));
+    }
+
+    // Écrit hors du thread de requête, au fil du curseur : la transaction est ouverte dans le corps
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> export(@ModelAttribute SearchSessionsRequest request) {
+        StreamingResponseBody body = out -> exportSessionsService.execute(request, out);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
     }
 
     @PostMapping
@@ -65,6 +111,26 @@ public class SessionController {
         return ResponseEntity.status(201).body(createSessionService.execute(request));
     }
 
+    @PostMapping("/bulk")
+    public ResponseEntity<List<SessionDto>> createAll(
+        @Valid @RequestBody BulkCreateSessionsRequest request
+    ) {
+        return ResponseEntity.status(201).body(bulkCreateSessionsService.execute(request));
+    }
+
+    // Corps lu en flux, sans être chargé en mémoire : pas de @RequestBody
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<SessionImportReportDto> importSessions(
+        @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+        InputStream body
+    ) {
+        Charset charset = contentType.getCharset() != null ? contentType.getCharset() : StandardCharsets.UTF_8;
+        return ResponseEntity.ok(importSessionsService.execute(
+            new InputStreamReader(body, charset),
+            SessionImportFormat.fromContentType(contentType)
+        ));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<SessionDto> update(
         @PathVariable Long id,
@@ -80,9 +146,10 @@ public class SessionController {
     }
 
     @PostMapping("/{id}/participate/{userId}")
-    public ResponseEntity<Void> participate(@PathVariable Long id, @PathVariable Long userId) {
-        participateSessionService.execute(id, userId);
-        return ResponseEntity.ok().build();
+    public ResponseEntity<ParticipationDto> participate(@PathVariable Long id, @PathVariable Long userId) {
+        ParticipationDto participation = participateSessionService.execute(id, userId);
+        int status = participation.getStatus() == ParticipationStatus.WAITLISTED ? 202 : 200;
+        return ResponseEntity.status(status).body(participation);
     }
 
     @DeleteMapping("/{id}/participate/{userId}")
@@ -90,4 +157,9 @@ public class SessionController {
         noLongerParticipateSessionService.execute(id, userId);
         return ResponseEntity.ok().build();
     }
+
+    @GetMapping("/{id}/waitlist/{userId}")
+    public ResponseEntity<ParticipationDto> waitlistPosition(@PathVariable Long id, @PathVariable Long userId) {
+        return ResponseEntity.ok(getWaitlistPositionService.execute(id, userId));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.openclassrooms.starterjwt.session.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ParticipationDto {
+    private ParticipationStatus status;
+    private Long position;
+
+    public static ParticipationDto participating() {
+        return new ParticipationDto(ParticipationStatus.PARTICIPATING, null);
+    }
+
+    public static ParticipationDto waitlisted(long position) {
+        return new ParticipationDto(ParticipationStatus.WAITLISTED, position);
+    }
+}
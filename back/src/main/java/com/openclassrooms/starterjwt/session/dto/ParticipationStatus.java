@@ -0,0 +1,6 @@
+package com.openclassrooms.starterjwt.session.dto;
+
+public enum ParticipationStatus {
+    PARTICIPATING,
+    WAITLISTED
+}
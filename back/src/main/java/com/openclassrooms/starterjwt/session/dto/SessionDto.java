@@ -17,6 +17,8 @@ public class SessionDto {
     private Date date;
     private Long teacherId;
     private String description;
+    private Integer capacity;
+    private int seatsTaken;
     private List<UserDto> users;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
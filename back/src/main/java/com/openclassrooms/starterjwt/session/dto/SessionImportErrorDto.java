@@ -0,0 +1,13 @@
+package com.openclassrooms.starterjwt.session.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SessionImportErrorDto {
+    private long line;
+    private String message;
+}
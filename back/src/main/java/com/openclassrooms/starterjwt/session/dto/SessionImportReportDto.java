@@ -0,0 +1,17 @@
+package com.openclassrooms.starterjwt.session.dto;
+
+import lombok.Data;
+import java.util.List;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SessionImportReportDto {
+    private long imported;
+    private long failed;
+    // Bornée à oc.app.sessionImport.maxErrors ; truncated signale les erreurs non détaillées
+    private List<SessionImportErrorDto> errors;
+    private boolean truncated;
+}
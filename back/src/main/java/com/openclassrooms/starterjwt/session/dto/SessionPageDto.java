@@ -0,0 +1,14 @@
+package com.openclassrooms.starterjwt.session.dto;
+
+import lombok.Data;
+import java.util.List;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SessionPageDto {
+    private List<SessionSummaryDto> items;
+    private String next;
+}
@@ -0,0 +1,22 @@
+package com.openclassrooms.starterjwt.session.dto;
+
+import lombok.Data;
+import java.util.Date;
+import java.time.LocalDateTime;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SessionSummaryDto {
+    private Long id;
+    private String name;
+    private Date date;
+    private Long teacherId;
+    private String description;
+    private Integer capacity;
+    private int participantCount;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -16,6 +16,8 @@ import com.openclassrooms.starterjwt.user.model.User;
 import com.openclassrooms.starterjwt.session.model.Session;
 import com.openclassrooms.starterjwt.user.mapper.UserMapper;
 import com.openclassrooms.starterjwt.session.dto.SessionDto;
+import com.openclassrooms.starterjwt.session.model.SessionSummary;
+import com.openclassrooms.starterjwt.session.dto.SessionSummaryDto;
 import com.openclassrooms.starterjwt.common.mapper.EntityMapper;
 
 @Component
@@ -29,6 +31,8 @@ public abstract class SessionMapper implements EntityMapper<SessionDto, Session>
     @Autowired
     protected UserMapper userMapper; // <-- obligatoire pour l'expression
 
+    // Détail : la session doit avoir été chargée avec ses participants
+    // (SessionRepositoryPort.getWithParticipantsById), sinon chaque appel déclenche un chargement lazy
     @Mapping(source = "description", target = "description")
     @Mapping(source = "teacher.id", target = "teacherId")
     @Mapping(
@@ -41,6 +45,9 @@ public abstract class SessionMapper implements EntityMapper<SessionDto, Session>
     )
     public abstract SessionDto toDto(Session session);
 
+    // Liste : projection sans aucune entité User, seulement le nombre de participants
+    public abstract SessionSummaryDto toSummaryDto(SessionSummary summary);
+
     @Override
     public Session toEntity(SessionDto dto) {
         if (dto == null) return null;
@@ -3,6 +3,7 @@ package com.openclassrooms.starterjwt.session.model;
 import com.openclassrooms.starterjwt.teacher.model.Teacher;
 import com.openclassrooms.starterjwt.user.model.User;
 import jakarta.persistence.*;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
@@ -22,7 +23,9 @@ import java.util.Date;
 import java.util.List;
 
 @Entity
-@Table(name = "sessions")
+@Table(name = "sessions", indexes = {
+    @Index(name = "idx_sessions_date_id", columnList = "date, id")
+})
 @EntityListeners(AuditingEntityListener.class)
 @Data
 @Accessors(chain = true)
@@ -32,8 +35,11 @@ import java.util.List;
 @AllArgsConstructor
 @ToString
 public class Session {
+    // Séquence par blocs (table émulée sous MySQL) : contrairement à IDENTITY, permet le batch JDBC des INSERT.
+    // Les ids inférieurs à la valeur initiale sont réservés aux données de référence de sql/init.sql.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sessions_seq")
+    @SequenceGenerator(name = "sessions_seq", sequenceName = "sessions_seq", initialValue = 1000, allocationSize = 50)
     private Long id;
 
     @NotBlank
@@ -50,15 +56,24 @@ public class Session {
     @Column(nullable = false)
     private String description;
 
-    @ManyToOne()
+    @Min(1)
+    private Integer capacity;
+
+    // Maintenu uniquement par requêtes conditionnelles (cf. SessionRepository.reserveSeat)
+    @Column(nullable = false, updatable = false, columnDefinition = "INT DEFAULT 0")
+    private int seatsTaken;
+
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "teacher_id", referencedColumnName = "id", nullable = false)
     private Teacher teacher;
 
-    @ManyToMany(fetch = FetchType.EAGER)
+    @ToString.Exclude
+    @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(
             name = "PARTICIPATE",
             joinColumns = @JoinColumn(name = "session_id"),
-            inverseJoinColumns = @JoinColumn(name = "user_id")
+            inverseJoinColumns = @JoinColumn(name = "user_id"),
+            uniqueConstraints = @UniqueConstraint(columnNames = {"session_id", "user_id"})
     )
     private List<User> users;
 
@@ -66,7 +81,13 @@ public class Session {
     @Column(updatable = false, columnDefinition="TIMESTAMP DEFAULT CURRENT_TIMESTAMP")
     private LocalDateTime createdAt;
 
+    // Précision à la microseconde : sert de version pour les ETag
     @UpdateTimestamp
-    @Column(columnDefinition="TIMESTAMP DEFAULT CURRENT_TIMESTAMP")
+    @Column(columnDefinition="TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP(6)")
     private LocalDateTime updatedAt;
+
+    @PrePersist
+    void initSeatsTaken() {
+        seatsTaken = users == null ? 0 : users.size();
+    }
 }
@@ -0,0 +1,21 @@
+package com.openclassrooms.starterjwt.session.model;
+
+import java.util.Date;
+import java.time.LocalDateTime;
+
+/**
+ * One row of the export cursor: a session joined with one of its participants
+ * ({@code userId} is null for a session without any). Rows of a same session are contiguous.
+ */
+public record SessionExportRow(
+    Long id,
+    String name,
+    Date date,
+    Long teacherId,
+    String description,
+    Integer capacity,
+    LocalDateTime createdAt,
+    LocalDateTime updatedAt,
+    Long userId
+) {
+}
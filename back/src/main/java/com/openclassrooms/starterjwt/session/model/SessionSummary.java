@@ -0,0 +1,21 @@
+package com.openclassrooms.starterjwt.session.model;
+
+import java.util.Date;
+import java.time.LocalDateTime;
+
+/**
+ * Read model used by listings: the session row plus its participant count,
+ * without materializing any {@code User} entity.
+ */
+public record SessionSummary(
+    Long id,
+    String name,
+    Date date,
+    Long teacherId,
+    String description,
+    Integer capacity,
+    Integer participantCount,
+    LocalDateTime createdAt,
+    LocalDateTime updatedAt
+) {
+}
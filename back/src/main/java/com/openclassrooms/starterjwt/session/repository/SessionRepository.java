@@ -1,25 +1,152 @@
 package com.openclassrooms.starterjwt.session.repository;
 
+import java.util.Date;
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import com.openclassrooms.starterjwt.session.model.Session;
+import com.openclassrooms.starterjwt.session.model.SessionSummary;
+import com.openclassrooms.starterjwt.common.model.ResourceVersion;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 @Transactional
-public interface SessionRepository extends JpaRepository<Session, Long> {
+public interface SessionRepository extends JpaRepository<Session, Long>, SessionRepositoryCustom {
     Optional<Session> findByNameAndTeacherId(String name, Long teacherId);
 
+    @Query("SELECT s FROM Session s LEFT JOIN FETCH s.users WHERE s.id = :id")
+    Optional<Session> findWithUsersById(@Param("id") Long id);
+
+    @Query(
+        "SELECT new com.openclassrooms.starterjwt.session.model.SessionSummary("
+            + "s.id, s.name, s.date, s.teacher.id, s.description,"
+            + " s.capacity, s.seatsTaken,"
+            + " s.createdAt, s.updatedAt)"
+            + " FROM Session s"
+            + " WHERE (:from IS NULL OR s.date >= :from)"
+            + " AND (:to IS NULL OR s.date < :to)"
+            + " AND (:teacherId IS NULL OR s.teacher.id = :teacherId)"
+            + " AND (:name IS NULL OR LOWER(s.name) LIKE LOWER(CONCAT('%', :name, '%')))"
+            + " AND (:afterDate IS NULL OR s.date > :afterDate OR (s.date = :afterDate AND s.id > :afterId))"
+            + " ORDER BY s.date ASC, s.id ASC"
+    )
+    List<SessionSummary> findPage(
+        @Param("from") Date from,
+        @Param("to") Date to,
+        @Param("teacherId") Long teacherId,
+        @Param("name") String name,
+        @Param("afterDate") Date afterDate,
+        @Param("afterId") Long afterId,
+        Limit limit
+    );
+
+    @Query(
+        "SELECT new com.openclassrooms.starterjwt.common.model.ResourceVersion(COUNT(s), MAX(s.updatedAt))"
+            + " FROM Session s WHERE s.id = :id"
+    )
+    ResourceVersion findVersionById(@Param("id") Long id);
+
+    // Mêmes filtres que findPage, sans curseur : la version couvre toutes les pages de la recherche
+    @Query(
+        "SELECT new com.openclassrooms.starterjwt.common.model.ResourceVersion(COUNT(s), MAX(s.updatedAt))"
+            + " FROM Session s"
+            + " WHERE (:from IS NULL OR s.date >= :from)"
+            + " AND (:to IS NULL OR s.date < :to)"
+            + " AND (:teacherId IS NULL OR s.teacher.id = :teacherId)"
+            + " AND (:name IS NULL OR LOWER(s.name) LIKE LOWER(CONCAT('%', :name, '%')))"
+    )
+    ResourceVersion findVersion(
+        @Param("from") Date from,
+        @Param("to") Date to,
+        @Param("teacherId") Long teacherId,
+        @Param("name") String name
+    );
+
+    // IGNORE : un doublon donne 0 ligne, sans exception qui condamnerait la transaction de l'appelant
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "participate"))
+    @Query(
+        value = "INSERT IGNORE INTO `participate` (session_id, user_id) VALUES (:sessionId, :userId)",
+        nativeQuery = true
+    )
+    int insertParticipation(@Param("sessionId") Long sessionId, @Param("userId") Long userId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "participate"))
+    @Query(
+        value = "DELETE FROM `participate` WHERE session_id = :sessionId AND user_id = :userId",
+        nativeQuery = true
+    )
+    int deleteParticipation(@Param("sessionId") Long sessionId, @Param("userId") Long userId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "sessions"))
+    @Query(
+        value = "UPDATE `sessions` SET seats_taken = seats_taken + 1, updated_at = CURRENT_TIMESTAMP(6)"
+            + " WHERE id = :sessionId AND (capacity IS NULL OR seats_taken < capacity)",
+        nativeQuery = true
+    )
+    int reserveSeat(@Param("sessionId") Long sessionId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "sessions"))
+    @Query(
+        value = "UPDATE `sessions` SET seats_taken = seats_taken - 1, updated_at = CURRENT_TIMESTAMP(6)"
+            + " WHERE id = :sessionId AND seats_taken > 0",
+        nativeQuery = true
+    )
+    int releaseSeat(@Param("sessionId") Long sessionId);
+
+    // Même garde que reserveSeat : la capacité ne descend jamais sous les places déjà prises
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "sessions"))
+    @Query(
+        value = "UPDATE `sessions` SET capacity = :capacity, updated_at = CURRENT_TIMESTAMP(6)"
+            + " WHERE id = :sessionId AND seats_taken <= :capacity",
+        nativeQuery = true
+    )
+    int updateCapacity(@Param("sessionId") Long sessionId, @Param("capacity") int capacity);
+
+    @Query(value = "SELECT user_id FROM `participate` WHERE session_id = :sessionId", nativeQuery = true)
+    List<Long> findParticipantIds(@Param("sessionId") Long sessionId);
+
+    @Query(
+        value = "SELECT COUNT(*) FROM `participate` WHERE session_id = :sessionId AND user_id = :userId",
+        nativeQuery = true
+    )
+    long countParticipation(@Param("sessionId") Long sessionId, @Param("userId") Long userId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "sessions"))
+    @Query(
+        value = "UPDATE `sessions` SET seats_taken ="
+            + " (SELECT COUNT(*) FROM `participate` WHERE session_id = :sessionId)"
+            + " WHERE id = :sessionId",
+        nativeQuery = true
+    )
+    void syncSeatsTaken(@Param("sessionId") Long sessionId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "sessions"))
+    @Query(value = "UPDATE `sessions` SET updated_at = CURRENT_TIMESTAMP(6) WHERE id = :sessionId", nativeQuery = true)
+    void touch(@Param("sessionId") Long sessionId);
+
     @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "participate"))
     @Query(value = "DELETE FROM `participate` WHERE session_id = :sessionId", nativeQuery = true)
     void deleteSessionParticipations(@Param("sessionId") Long sessionId);
 
     @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "participate"))
     @Query(value = "DELETE FROM `participate`;", nativeQuery = true)
     void deleteAllSessionsParticipations();
 }
\ No newline at end of file
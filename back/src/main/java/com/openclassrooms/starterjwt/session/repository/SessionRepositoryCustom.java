@@ -0,0 +1,14 @@
+package com.openclassrooms.starterjwt.session.repository;
+
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Stream;
+import com.openclassrooms.starterjwt.session.model.Session;
+import com.openclassrooms.starterjwt.session.model.SessionExportRow;
+
+public interface SessionRepositoryCustom {
+
+    void insertAll(List<Session> sessions);
+
+    Stream<SessionExportRow> streamExport(Date from, Date to, Long teacherId, String name);
+}
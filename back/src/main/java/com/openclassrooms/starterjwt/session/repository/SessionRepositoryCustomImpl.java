@@ -0,0 +1,91 @@
+package com.openclassrooms.starterjwt.session.repository;
+
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Stream;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import com.openclassrooms.starterjwt.session.model.Session;
+import com.openclassrooms.starterjwt.session.model.SessionExportRow;
+import org.springframework.transaction.annotation.Transactional;
+
+public class SessionRepositoryCustomImpl implements SessionRepositoryCustom {
+
+    private static final String EXPORT_QUERY =
+        "SELECT new com.openclassrooms.starterjwt.session.model.SessionExportRow("
+            + "s.id, s.name, s.date, s.teacher.id, s.description, s.capacity,"
+            + " s.createdAt, s.updatedAt, u.id)"
+            + " FROM Session s LEFT JOIN s.users u"
+            + " WHERE (:from IS NULL OR s.date >= :from)"
+            + " AND (:to IS NULL OR s.date < :to)"
+            + " AND (:teacherId IS NULL OR s.teacher.id = :teacherId)"
+            + " AND (:name IS NULL OR LOWER(s.name) LIKE LOWER(CONCAT('%', :name, '%')))"
+            + " ORDER BY s.date ASC, s.id ASC, u.id ASC";
+
+    private static final int EXPORT_FETCH_SIZE = 1000;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize;
+
+    /**
+     * Insère les sessions par paquets de {@code hibernate.jdbc.batch_size} : chaque paquet part en un seul
+     * batch JDBC (une requête multi-lignes avec {@code rewriteBatchedStatements}), puis ses sessions sont
+     * détachées pour que la mémoire ne croisse pas avec le volume importé.
+     * Les sessions passées sont détachées au retour, ids renseignés ; les autres entités du contexte
+     * de l'appelant (professeurs, participants chargés avant l'appel) restent gérées.
+     */
+    @Override
+    @Transactional
+    public void insertAll(List<Session> sessions) {
+        int chunkStart = 0;
+        for (int i = 0; i < sessions.size(); i++) {
+            entityManager.persist(sessions.get(i));
+            if ((i + 1) % batchSize == 0) {
+                entityManager.flush();
+                detach(sessions.subList(chunkStart, i + 1));
+                chunkStart = i + 1;
+            }
+        }
+        entityManager.flush();
+        detach(sessions.subList(chunkStart, sessions.size()));
+    }
+
+    // Pas de clear() : il détacherait aussi les entités que l'appelant manipule encore dans sa transaction
+    private void detach(List<Session> chunk) {
+        chunk.forEach(entityManager::detach);
+    }
+
+    /**
+     * Curseur en avant seulement : projection sans entité, rien ne s'accumule dans le contexte.
+     * Le pilote MySQL n'est pas configuré en {@code useCursorFetch} (toutes les autres requêtes
+     * garderaient sinon un curseur serveur) : seul cet export lit son résultat ligne à ligne,
+     * grâce à la taille {@link Integer#MIN_VALUE} que Connector/J interprète comme du streaming.
+     * La connexion n'exécute rien d'autre tant que le flux est ouvert.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Stream<SessionExportRow> streamExport(Date from, Date to, Long teacherId, String name) {
+        return entityManager.createQuery(EXPORT_QUERY, SessionExportRow.class)
+            .setParameter("from", from)
+            .setParameter("to", to)
+            .setParameter("teacherId", teacherId)
+            .setParameter("name", name)
+            .setHint(HibernateHints.HINT_FETCH_SIZE, exportFetchSize())
+            .setHint(HibernateHints.HINT_READ_ONLY, true)
+            .setHint(HibernateHints.HINT_CACHEABLE, false)
+            .getResultStream();
+    }
+
+    // Les autres pilotes (H2 en test) refusent une taille négative et lisent par paquets
+    private int exportFetchSize() {
+        return entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+            .getJdbcServices().getDialect() instanceof MySQLDialect ? Integer.MIN_VALUE : EXPORT_FETCH_SIZE;
+    }
+}
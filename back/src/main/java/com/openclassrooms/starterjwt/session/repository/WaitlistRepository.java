@@ -0,0 +1,51 @@
+package com.openclassrooms.starterjwt.session.repository;
+
+import java.util.List;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Lock;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import com.openclassrooms.starterjwt.session.model.WaitlistEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+@Transactional
+public interface WaitlistRepository extends JpaRepository<WaitlistEntry, Long> {
+
+    // IGNORE : un doublon donne 0 ligne, sans exception qui condamnerait la transaction de l'appelant
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "waitlist"))
+    @Query(
+        value = "INSERT IGNORE INTO `waitlist` (session_id, user_id, created_at)"
+            + " VALUES (:sessionId, :userId, CURRENT_TIMESTAMP)",
+        nativeQuery = true
+    )
+    int insertEntry(@Param("sessionId") Long sessionId, @Param("userId") Long userId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "waitlist"))
+    @Query(
+        value = "DELETE FROM `waitlist` WHERE session_id = :sessionId AND user_id = :userId",
+        nativeQuery = true
+    )
+    int deleteEntry(@Param("sessionId") Long sessionId, @Param("userId") Long userId);
+
+    // Lecture verrouillante : deux désinscriptions simultanées ne promeuvent jamais la même entrée
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT w FROM WaitlistEntry w WHERE w.session.id = :sessionId ORDER BY w.id ASC")
+    List<WaitlistEntry> findHead(@Param("sessionId") Long sessionId, Limit limit);
+
+    @Query(
+        "SELECT COUNT(w) FROM WaitlistEntry w WHERE w.session.id = :sessionId AND w.id <= ("
+            + "SELECT e.id FROM WaitlistEntry e WHERE e.session.id = :sessionId AND e.user.id = :userId)"
+    )
+    long countUpTo(@Param("sessionId") Long sessionId, @Param("userId") Long userId);
+}
@@ -1,8 +1,15 @@
 package com.openclassrooms.starterjwt.session.repository.adapter;
 
 import java.util.List;
+import java.util.stream.Stream;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import com.openclassrooms.starterjwt.session.model.Session;
+import com.openclassrooms.starterjwt.session.model.SessionSummary;
+import com.openclassrooms.starterjwt.session.model.SessionExportRow;
+import com.openclassrooms.starterjwt.common.model.ResourceVersion;
+import com.openclassrooms.starterjwt.session.request.SessionCursor;
+import com.openclassrooms.starterjwt.session.request.SearchSessionsRequest;
 import com.openclassrooms.starterjwt.common.exception.NotFoundException;
 import com.openclassrooms.starterjwt.session.repository.SessionRepository;
 import com.openclassrooms.starterjwt.session.repository.port.SessionRepositoryPort;
@@ -22,6 +29,12 @@ public class SessionRepositoryAdapter implements SessionRepositoryPort {
             .orElseThrow(() -> new NotFoundException("Session not found with id: " + id));
     }
 
+    @Override
+    public Session getWithParticipantsById(Long id) {
+        return sessionRepository.findWithUsersById(id)
+            .orElseThrow(() -> new NotFoundException("Session not found with id: " + id));
+    }
+
     @Override
     public Session getByNameAndTeacherId(String name, Long teacherId) {
         return sessionRepository.findByNameAndTeacherId(name, teacherId)
@@ -35,13 +48,109 @@ public class SessionRepositoryAdapter implements SessionRepositoryPort {
         sessionRepository.save(session);
     }
 
+    @Override
+    public void saveAll(List<Session> sessions) {
+        sessionRepository.insertAll(sessions);
+    }
+
     @Override
     public void delete(Session session) {
         sessionRepository.delete(session);
     }
 
+    @Override
+    public boolean addParticipant(Long sessionId, Long userId) {
+        return sessionRepository.insertParticipation(sessionId, userId) > 0;
+    }
+
+    @Override
+    public boolean removeParticipant(Long sessionId, Long userId) {
+        return sessionRepository.deleteParticipation(sessionId, userId) > 0;
+    }
+
+    @Override
+    public boolean reserveSeat(Long sessionId) {
+        return sessionRepository.reserveSeat(sessionId) > 0;
+    }
+
+    @Override
+    public void releaseSeat(Long sessionId) {
+        sessionRepository.releaseSeat(sessionId);
+    }
+
+    @Override
+    public boolean changeCapacity(Long sessionId, int capacity) {
+        return sessionRepository.updateCapacity(sessionId, capacity) > 0;
+    }
+
+    @Override
+    public List<Long> findParticipantIds(Long sessionId) {
+        return sessionRepository.findParticipantIds(sessionId);
+    }
+
+    @Override
+    public boolean isParticipant(Long sessionId, Long userId) {
+        return sessionRepository.countParticipation(sessionId, userId) > 0;
+    }
+
+    @Override
+    public void syncSeatsTaken(Long sessionId) {
+        sessionRepository.syncSeatsTaken(sessionId);
+    }
+
+    @Override
+    public void touch(Long sessionId) {
+        sessionRepository.touch(sessionId);
+    }
+
     @Override
     public List<Session> findAll() {
         return sessionRepository.findAll();
     }
-}
\ No newline at end of file
+
+    @Override
+    public List<SessionSummary> findPage(SearchSessionsRequest criteria, SessionCursor after, int limit) {
+        return sessionRepository.findPage(
+            criteria.getFrom(),
+            criteria.getTo(),
+            criteria.getTeacherId(),
+            normalizeName(criteria.getName()),
+            after == null ? null : after.date(),
+            after == null ? null : after.id(),
+            Limit.of(limit)
+        );
+    }
+
+    @Override
+    public Stream<SessionExportRow> streamExport(SearchSessionsRequest criteria) {
+        return sessionRepository.streamExport(
+            criteria.getFrom(),
+            criteria.getTo(),
+            criteria.getTeacherId(),
+            normalizeName(criteria.getName())
+        );
+    }
+
+    @Override
+    public ResourceVersion getVersionById(Long id) {
+        ResourceVersion version = sessionRepository.findVersionById(id);
+        if (!version.exists()) {
+            throw new NotFoundException("Session not found with id: " + id);
+        }
+        return version;
+    }
+
+    @Override
+    public ResourceVersion findVersion(SearchSessionsRequest criteria) {
+        return sessionRepository.findVersion(
+            criteria.getFrom(),
+            criteria.getTo(),
+            criteria.getTeacherId(),
+            normalizeName(criteria.getName())
+        );
+    }
+
+    private static String normalizeName(String name) {
+        return name == null || name.isBlank() ? null : name.trim();
+    }
+}
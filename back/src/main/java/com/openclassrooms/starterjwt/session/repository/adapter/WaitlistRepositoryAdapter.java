@@ -0,0 +1,40 @@
+package com.openclassrooms.starterjwt.session.repository.adapter;
+
+import java.util.Optional;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import com.openclassrooms.starterjwt.session.model.WaitlistEntry;
+import com.openclassrooms.starterjwt.session.repository.WaitlistRepository;
+import com.openclassrooms.starterjwt.session.repository.port.WaitlistRepositoryPort;
+
+@Service
+public class WaitlistRepositoryAdapter implements WaitlistRepositoryPort {
+
+    private final WaitlistRepository waitlistRepository;
+
+    public WaitlistRepositoryAdapter(WaitlistRepository waitlistRepository) {
+        this.waitlistRepository = waitlistRepository;
+    }
+
+    @Override
+    public boolean enqueue(Long sessionId, Long userId) {
+        return waitlistRepository.insertEntry(sessionId, userId) > 0;
+    }
+
+    @Override
+    public boolean remove(Long sessionId, Long userId) {
+        return waitlistRepository.deleteEntry(sessionId, userId) > 0;
+    }
+
+    @Override
+    public Optional<Long> pollHead(Long sessionId) {
+        Optional<WaitlistEntry> head = waitlistRepository.findHead(sessionId, Limit.of(1)).stream().findFirst();
+        head.ifPresent(waitlistRepository::delete);
+        return head.map(entry -> entry.getUser().getId());
+    }
+
+    @Override
+    public long positionOf(Long sessionId, Long userId) {
+        return waitlistRepository.countUpTo(sessionId, userId);
+    }
+}
@@ -2,18 +2,55 @@ package com.openclassrooms.starterjwt.session.repository.port;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 import com.openclassrooms.starterjwt.session.model.Session;
+import com.openclassrooms.starterjwt.session.model.SessionSummary;
+import com.openclassrooms.starterjwt.session.model.SessionExportRow;
+import com.openclassrooms.starterjwt.common.model.ResourceVersion;
+import com.openclassrooms.starterjwt.session.request.SessionCursor;
+import com.openclassrooms.starterjwt.session.request.SearchSessionsRequest;
 import com.openclassrooms.starterjwt.common.exception.NotFoundException;
 
 public interface SessionRepositoryPort {
 
     Session getById(Long id) throws NotFoundException;
 
+    Session getWithParticipantsById(Long id) throws NotFoundException;
+
     Session getByNameAndTeacherId(String name, Long teacherId) throws NotFoundException;
 
     void save(Session session);
 
+    void saveAll(List<Session> sessions);
+
     void delete(Session session);
 
+    boolean addParticipant(Long sessionId, Long userId);
+
+    boolean removeParticipant(Long sessionId, Long userId);
+
+    boolean reserveSeat(Long sessionId);
+
+    void releaseSeat(Long sessionId);
+
+    boolean changeCapacity(Long sessionId, int capacity);
+
+    List<Long> findParticipantIds(Long sessionId);
+
+    boolean isParticipant(Long sessionId, Long userId);
+
+    void syncSeatsTaken(Long sessionId);
+
+    void touch(Long sessionId);
+
     List<Session> findAll();
+
+    List<SessionSummary> findPage(SearchSessionsRequest criteria, SessionCursor after, int limit);
+
+    // À consommer dans une transaction et à fermer (try-with-resources)
+    Stream<SessionExportRow> streamExport(SearchSessionsRequest criteria);
+
+    ResourceVersion getVersionById(Long id) throws NotFoundException;
+
+    ResourceVersion findVersion(SearchSessionsRequest criteria);
 }
\ No newline at end of file
@@ -0,0 +1,14 @@
+package com.openclassrooms.starterjwt.session.repository.port;
+
+import java.util.Optional;
+
+public interface WaitlistRepositoryPort {
+
+    boolean enqueue(Long sessionId, Long userId);
+
+    boolean remove(Long sessionId, Long userId);
+
+    Optional<Long> pollHead(Long sessionId);
+
+    long positionOf(Long sessionId, Long userId);
+}
@@ -0,0 +1,15 @@
+package com.openclassrooms.starterjwt.session.request;
+
+import lombok.Data;
+import java.util.List;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Size;
+import jakarta.validation.constraints.NotEmpty;
+
+@Data
+public class BulkCreateSessionsRequest {
+
+    @NotEmpty
+    @Size(max = 5000)
+    private List<@Valid CreateSessionRequest> sessions;
+}
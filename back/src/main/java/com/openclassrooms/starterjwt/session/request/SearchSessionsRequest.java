@@ -0,0 +1,23 @@
+package com.openclassrooms.starterjwt.session.request;
+
+import lombok.Data;
+import java.util.Date;
+import org.springframework.format.annotation.DateTimeFormat;
+
+@Data
+public class SearchSessionsRequest {
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private Date from;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private Date to;
+
+    private Long teacherId;
+
+    private String name;
+
+    private String cursor;
+
+    private Integer size;
+}
@@ -0,0 +1,43 @@
+package com.openclassrooms.starterjwt.session.request;
+
+import java.util.Date;
+import java.util.Base64;
+import java.nio.charset.StandardCharsets;
+import com.openclassrooms.starterjwt.session.model.SessionSummary;
+import com.openclassrooms.starterjwt.common.exception.BadRequestException;
+
+/**
+ * Position of the last session returned in a page, on the (date, id) sort key.
+ * Serialized as an opaque url-safe token so clients only echo it back.
+ */
+public record SessionCursor(Date date, Long id) {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    public static SessionCursor of(SessionSummary session) {
+        return new SessionCursor(session.date(), session.id());
+    }
+
+    public static SessionCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+
+        try {
+            String raw = new String(DECODER.decode(token), StandardCharsets.US_ASCII);
+            int separator = raw.indexOf(':');
+
+            return new SessionCursor(
+                new Date(Long.parseLong(raw.substring(0, separator))),
+                Long.parseLong(raw.substring(separator + 1))
+            );
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new BadRequestException("Invalid cursor: " + token);
+        }
+    }
+
+    public String encode() {
+        return ENCODER.encodeToString((date.getTime() + ":" + id).getBytes(StandardCharsets.US_ASCII));
+    }
+}
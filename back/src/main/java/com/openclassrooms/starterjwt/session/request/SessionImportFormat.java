@@ -0,0 +1,28 @@
+package com.openclassrooms.starterjwt.session.request;
+
+import org.springframework.http.MediaType;
+import com.openclassrooms.starterjwt.common.exception.BadRequestException;
+
+public enum SessionImportFormat {
+    CSV("text/csv"),
+    NDJSON("application/x-ndjson");
+
+    private final MediaType mediaType;
+
+    SessionImportFormat(String mediaType) {
+        this.mediaType = MediaType.parseMediaType(mediaType);
+    }
+
+    public String mediaType() {
+        return mediaType.toString();
+    }
+
+    public static SessionImportFormat fromContentType(MediaType contentType) {
+        for (SessionImportFormat format : values()) {
+            if (format.mediaType.isCompatibleWith(contentType)) {
+                return format;
+            }
+        }
+        throw new BadRequestException("Unsupported import format: " + contentType);
+    }
+}
@@ -0,0 +1,16 @@
+package com.openclassrooms.starterjwt.session.request;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+// Ligne brute d'un emploi du temps importé : convertie puis validée comme une CreateSessionRequest
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SessionImportRow {
+    private String name;
+    private String date;
+    private String teacherLastName;
+    private String description;
+}
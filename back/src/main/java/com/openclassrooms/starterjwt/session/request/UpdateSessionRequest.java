@@ -3,6 +3,7 @@ package com.openclassrooms.starterjwt.session.request;
 import lombok.Data;
 import java.util.Date;
 import java.util.List;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.Size;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.NotBlank;
@@ -24,5 +25,8 @@ public class UpdateSessionRequest {
     @Size(max = 2500)
     private String description;
 
+    @Min(1)
+    private Integer capacity;
+
     private List<Long> users;
 }
@@ -0,0 +1,111 @@
+package com.openclassrooms.starterjwt.session.service;
+
+import java.util.Map;
+import java.util.List;
+import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.time.LocalDateTime;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import com.openclassrooms.starterjwt.user.model.User;
+import com.openclassrooms.starterjwt.teacher.model.Teacher;
+import com.openclassrooms.starterjwt.session.model.Session;
+import com.openclassrooms.starterjwt.session.dto.SessionDto;
+import com.openclassrooms.starterjwt.common.exception.BadRequestException;
+import com.openclassrooms.starterjwt.session.mapper.SessionMapper;
+import com.openclassrooms.starterjwt.session.request.CreateSessionRequest;
+import com.openclassrooms.starterjwt.session.request.BulkCreateSessionsRequest;
+import com.openclassrooms.starterjwt.user.repository.port.UserRepositoryPort;
+import com.openclassrooms.starterjwt.teacher.service.TeacherCatalog;
+import com.openclassrooms.starterjwt.common.exception.NotFoundException;
+import com.openclassrooms.starterjwt.teacher.repository.port.TeacherRepositoryPort;
+import com.openclassrooms.starterjwt.session.repository.port.SessionRepositoryPort;
+
+@Service
+public class BulkCreateSessionsService {
+
+    private final SessionMapper sessionMapper;
+    private final SessionRepositoryPort sessionRepositoryPort;
+    private final TeacherRepositoryPort teacherRepositoryPort;
+    private final TeacherCatalog teacherCatalog;
+    private final UserRepositoryPort userRepositoryPort;
+
+    public BulkCreateSessionsService(
+        SessionMapper sessionMapper,
+        SessionRepositoryPort sessionRepositoryPort,
+        TeacherRepositoryPort teacherRepositoryPort,
+        TeacherCatalog teacherCatalog,
+        UserRepositoryPort userRepositoryPort
+    ) {
+        this.sessionMapper = sessionMapper;
+        this.sessionRepositoryPort = sessionRepositoryPort;
+        this.teacherRepositoryPort = teacherRepositoryPort;
+        this.teacherCatalog = teacherCatalog;
+        this.userRepositoryPort = userRepositoryPort;
+    }
+
+    /**
+     * Mêmes règles que {@link CreateSessionService}, appliquées à tout le lot avant la première écriture :
+     * une seule requête pour l'ensemble des participants, puis des INSERT envoyés par batch JDBC.
+     * Tout ou rien : une ligne invalide annule le lot entier.
+     */
+    @Transactional
+    public List<SessionDto> execute(BulkCreateSessionsRequest request) {
+        List<CreateSessionRequest> rows = request.getSessions();
+        Map<Long, Teacher> teachers = new HashMap<>();
+        Map<Long, User> users = findUsers(rows);
+        LocalDateTime now = LocalDateTime.now();
+
+        List<Session> sessions = new ArrayList<>(rows.size());
+        for (CreateSessionRequest row : rows) {
+            List<User> participants = null;
+            if (row.getUsers() != null) {
+                // Dédoublonné comme findAllById pour une création simple : un id répété ne compte qu'une place
+                participants = row.getUsers().stream().distinct().map(users::get).filter(Objects::nonNull).toList();
+            }
+
+            if (row.getCapacity() != null && participants != null && participants.size() > row.getCapacity()) {
+                throw new BadRequestException("Session capacity is lower than its number of participants");
+            }
+
+            sessions.add(Session.builder()
+                .name(row.getName())
+                .date(row.getDate())
+                .description(row.getDescription())
+                .teacher(teachers.computeIfAbsent(row.getTeacherId(), this::resolveTeacher))
+                .capacity(row.getCapacity())
+                .users(participants)
+                .createdAt(now)
+                .build());
+        }
+
+        sessionRepositoryPort.saveAll(sessions);
+
+        return sessionMapper.toDto(sessions);
+    }
+
+    private Map<Long, User> findUsers(List<CreateSessionRequest> rows) {
+        List<Long> ids = rows.stream()
+            .map(CreateSessionRequest::getUsers)
+            .filter(Objects::nonNull)
+            .flatMap(Collection::stream)
+            .distinct()
+            .toList();
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return userRepositoryPort.findAllById(ids).stream()
+            .collect(Collectors.toMap(User::getId, Function.identity()));
+    }
+
+    private Teacher resolveTeacher(Long teacherId) {
+        if (teacherCatalog.findById(teacherId).isEmpty()) {
+            throw new NotFoundException("Teacher not found with id: " + teacherId);
+        }
+        return teacherRepositoryPort.getReferenceById(teacherId);
+    }
+}
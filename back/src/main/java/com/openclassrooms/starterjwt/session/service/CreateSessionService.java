@@ -7,9 +7,12 @@ import com.openclassrooms.starterjwt.user.model.User;
 import com.openclassrooms.starterjwt.teacher.model.Teacher;
 import com.openclassrooms.starterjwt.session.model.Session;
 import com.openclassrooms.starterjwt.session.dto.SessionDto;
+import com.openclassrooms.starterjwt.common.exception.BadRequestException;
 import com.openclassrooms.starterjwt.session.mapper.SessionMapper;
 import com.openclassrooms.starterjwt.session.request.CreateSessionRequest;
 import com.openclassrooms.starterjwt.user.repository.port.UserRepositoryPort;
+import com.openclassrooms.starterjwt.teacher.service.TeacherCatalog;
+import com.openclassrooms.starterjwt.common.exception.NotFoundException;
 import com.openclassrooms.starterjwt.teacher.repository.port.TeacherRepositoryPort;
 import com.openclassrooms.starterjwt.session.repository.port.SessionRepositoryPort;
 
@@ -19,33 +22,41 @@ public class CreateSessionService {
     private final SessionMapper sessionMapper;
     private final SessionRepositoryPort sessionRepositoryPort;
     private final TeacherRepositoryPort teacherRepositoryPort;
+    private final TeacherCatalog teacherCatalog;
     private final UserRepositoryPort userRepositoryPort;
 
     public CreateSessionService(
         SessionMapper sessionMapper,
         SessionRepositoryPort sessionRepositoryPort,
         TeacherRepositoryPort teacherRepositoryPort,
+        TeacherCatalog teacherCatalog,
         UserRepositoryPort userRepositoryPort
     ) {
         this.sessionMapper = sessionMapper;
         this.sessionRepositoryPort = sessionRepositoryPort;
         this.teacherRepositoryPort = teacherRepositoryPort;
+        this.teacherCatalog = teacherCatalog;
         this.userRepositoryPort = userRepositoryPort;
     }
 
     public SessionDto execute(CreateSessionRequest request) {
-        Teacher teacher = teacherRepositoryPort.getById(request.getTeacherId());
+        Teacher teacher = resolveTeacher(request.getTeacherId());
         List<User> newUsers = null;
 
         if (request.getUsers() != null) {
             newUsers = userRepositoryPort.findAllById(request.getUsers());
         }
 
+        if (request.getCapacity() != null && newUsers != null && newUsers.size() > request.getCapacity()) {
+            throw new BadRequestException("Session capacity is lower than its number of participants");
+        }
+
         Session session = Session.builder()
             .name(request.getName())
             .date(request.getDate())
             .description(request.getDescription())
             .teacher(teacher)
+            .capacity(request.getCapacity())
             .users(newUsers)
             .createdAt(LocalDateTime.now())
             .build();
@@ -54,4 +65,12 @@ public class CreateSessionService {
 
         return sessionMapper.toDto(session);
     }
+
+    // Existence vérifiée dans le catalogue en mémoire, puis simple référence : plus de SELECT sur teachers
+    private Teacher resolveTeacher(Long teacherId) {
+        if (teacherCatalog.findById(teacherId).isEmpty()) {
+            throw new NotFoundException("Teacher not found with id: " + teacherId);
+        }
+        return teacherRepositoryPort.getReferenceById(teacherId);
+    }
 }
@@ -0,0 +1,86 @@
+package com.openclassrooms.starterjwt.session.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import com.openclassrooms.starterjwt.session.model.SessionExportRow;
+import com.openclassrooms.starterjwt.session.request.SearchSessionsRequest;
+import com.openclassrooms.starterjwt.session.repository.port.SessionRepositoryPort;
+
+@Service
+public class ExportSessionsService {
+
+    static final int FLUSH_EVERY = 500;
+
+    private final SessionRepositoryPort sessionRepositoryPort;
+    private final ObjectMapper objectMapper;
+
+    public ExportSessionsService(
+        SessionRepositoryPort sessionRepositoryPort,
+        ObjectMapper objectMapper
+    ) {
+        this.sessionRepositoryPort = sessionRepositoryPort;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Écrit une ligne JSON par session (ses participants sous forme d'ids), au fil du curseur :
+     * ni les lignes lues ni le document produit ne sont gardés en mémoire, la sortie est vidée
+     * toutes les {@value #FLUSH_EVERY} sessions. Mêmes filtres que la liste paginée.
+     */
+    @Transactional(readOnly = true)
+    public void execute(SearchSessionsRequest request, OutputStream out) throws IOException {
+        try (Stream<SessionExportRow> rows = sessionRepositoryPort.streamExport(request);
+             JsonGenerator generator = objectMapper.createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+
+            Long current = null;
+            long written = 0;
+            Iterator<SessionExportRow> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                SessionExportRow row = iterator.next();
+                if (!row.id().equals(current)) {
+                    if (current != null) {
+                        endSession(generator);
+                        if (++written % FLUSH_EVERY == 0) {
+                            generator.flush();
+                        }
+                    }
+                    startSession(generator, row);
+                    current = row.id();
+                }
+                if (row.userId() != null) {
+                    generator.writeNumber(row.userId());
+                }
+            }
+            if (current != null) {
+                endSession(generator);
+            }
+        }
+    }
+
+    private static void startSession(JsonGenerator generator, SessionExportRow row) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("id", row.id());
+        generator.writeStringField("name", row.name());
+        generator.writePOJOField("date", row.date());
+        generator.writeNumberField("teacherId", row.teacherId());
+        generator.writeStringField("description", row.description());
+        generator.writePOJOField("capacity", row.capacity());
+        generator.writePOJOField("createdAt", row.createdAt());
+        generator.writePOJOField("updatedAt", row.updatedAt());
+        generator.writeArrayFieldStart("users");
+    }
+
+    private static void endSession(JsonGenerator generator) throws IOException {
+        generator.writeEndArray();
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+}
@@ -1,6 +1,7 @@
 package com.openclassrooms.starterjwt.session.service;
 
 import org.springframework.stereotype.Service;
+import com.openclassrooms.starterjwt.common.model.ResourceVersion;
 import com.openclassrooms.starterjwt.session.dto.SessionDto;
 import com.openclassrooms.starterjwt.session.mapper.SessionMapper;
 import com.openclassrooms.starterjwt.session.repository.port.SessionRepositoryPort;
@@ -19,7 +20,12 @@ public class GetSessionService {
         this.sessionRepositoryPort = sessionRepositoryPort;
     }
 
+    // Lecture légère permettant de répondre 304 sans charger ni mapper les entités
+    public ResourceVersion version(Long id) {
+        return sessionRepositoryPort.getVersionById(id);
+    }
+
     public SessionDto execute(Long id) {
-        return sessionMapper.toDto(sessionRepositoryPort.getById(id));
+        return sessionMapper.toDto(sessionRepositoryPort.getWithParticipantsById(id));
     }
 }
@@ -2,13 +2,21 @@ package com.openclassrooms.starterjwt.session.service;
 
 import java.util.List;
 import org.springframework.stereotype.Service;
-import com.openclassrooms.starterjwt.session.dto.SessionDto;
+import com.openclassrooms.starterjwt.common.model.ResourceVersion;
+import com.openclassrooms.starterjwt.session.model.SessionSummary;
+import com.openclassrooms.starterjwt.session.dto.SessionSummaryDto;
+import com.openclassrooms.starterjwt.session.dto.SessionPageDto;
 import com.openclassrooms.starterjwt.session.mapper.SessionMapper;
+import com.openclassrooms.starterjwt.session.request.SessionCursor;
+import com.openclassrooms.starterjwt.session.request.SearchSessionsRequest;
 import com.openclassrooms.starterjwt.session.repository.port.SessionRepositoryPort;
 
 @Service
 public class GetSessionsService {
 
+    static final int DEFAULT_PAGE_SIZE = 20;
+    static final int MAX_PAGE_SIZE = 100;
+
     private final SessionMapper sessionMapper;
     private final SessionRepositoryPort sessionRepositoryPort;
 
@@ -20,10 +28,31 @@ public class GetSessionsService {
         this.sessionRepositoryPort = sessionRepositoryPort;
     }
 
-    public List<SessionDto> execute() {
-        return sessionRepositoryPort.findAll()
-            .stream()
-            .map(sessionMapper::toDto)
+    public ResourceVersion version(SearchSessionsRequest request) {
+        return sessionRepositoryPort.findVersion(request);
+    }
+
+    public SessionPageDto execute(SearchSessionsRequest request) {
+        int size = resolvePageSize(request.getSize());
+        SessionCursor after = SessionCursor.decode(request.getCursor());
+
+        // Une ligne de plus que demandé pour savoir s'il existe une page suivante
+        List<SessionSummary> sessions = sessionRepositoryPort.findPage(request, after, size + 1);
+        boolean hasNext = sessions.size() > size;
+        List<SessionSummary> page = hasNext ? sessions.subList(0, size) : sessions;
+
+        List<SessionSummaryDto> items = page.stream()
+            .map(sessionMapper::toSummaryDto)
             .toList();
+        String next = hasNext ? SessionCursor.of(page.get(size - 1)).encode() : null;
+
+        return new SessionPageDto(items, next);
+    }
+
+    private int resolvePageSize(Integer size) {
+        if (size == null || size < 1) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
     }
 }
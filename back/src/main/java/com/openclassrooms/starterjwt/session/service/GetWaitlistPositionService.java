@@ -0,0 +1,28 @@
+package com.openclassrooms.starterjwt.session.service;
+
+import org.springframework.stereotype.Service;
+import com.openclassrooms.starterjwt.session.dto.ParticipationDto;
+import com.openclassrooms.starterjwt.common.exception.NotFoundException;
+import com.openclassrooms.starterjwt.session.repository.port.WaitlistRepositoryPort;
+
+@Service
+public class GetWaitlistPositionService {
+
+    private final WaitlistRepositoryPort waitlistRepositoryPort;
+
+    public GetWaitlistPositionService(
+        WaitlistRepositoryPort waitlistRepositoryPort
+    ) {
+        this.waitlistRepositoryPort = waitlistRepositoryPort;
+    }
+
+    public ParticipationDto execute(Long sessionId, Long userId) {
+        long position = waitlistRepositoryPort.positionOf(sessionId, userId);
+
+        if (position == 0) {
+            throw new NotFoundException("User " + userId + " is not on the waitlist of session " + sessionId);
+        }
+
+        return ParticipationDto.waitlisted(position);
+    }
+}
@@ -0,0 +1,259 @@
+package com.openclassrooms.starterjwt.session.service;
+
+import java.io.Reader;
+import java.io.IOException;
+import java.io.BufferedReader;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.List;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.stream.Collectors;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import jakarta.validation.Validator;
+import jakarta.validation.ConstraintViolation;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import com.openclassrooms.starterjwt.teacher.model.Teacher;
+import com.openclassrooms.starterjwt.session.model.Session;
+import com.openclassrooms.starterjwt.session.dto.SessionImportErrorDto;
+import com.openclassrooms.starterjwt.session.dto.SessionImportReportDto;
+import com.openclassrooms.starterjwt.session.request.SessionImportRow;
+import com.openclassrooms.starterjwt.session.request.SessionImportFormat;
+import com.openclassrooms.starterjwt.session.request.CreateSessionRequest;
+import com.openclassrooms.starterjwt.common.exception.NotFoundException;
+import com.openclassrooms.starterjwt.teacher.repository.port.TeacherRepositoryPort;
+import com.openclassrooms.starterjwt.session.repository.port.SessionRepositoryPort;
+
+@Slf4j
+@Service
+public class ImportSessionsService {
+
+    private static final String CHUNK_REJECTED = "Chunk rejected by the database";
+
+    private final SessionRepositoryPort sessionRepositoryPort;
+    private final TeacherRepositoryPort teacherRepositoryPort;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+    private final int maxErrors;
+
+    public ImportSessionsService(
+        SessionRepositoryPort sessionRepositoryPort,
+        TeacherRepositoryPort teacherRepositoryPort,
+        Validator validator,
+        ObjectMapper objectMapper,
+        @Value("${oc.app.sessionImport.chunkSize:500}") int chunkSize,
+        @Value("${oc.app.sessionImport.maxErrors:1000}") int maxErrors
+    ) {
+        this.sessionRepositoryPort = sessionRepositoryPort;
+        this.teacherRepositoryPort = teacherRepositoryPort;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+        this.maxErrors = maxErrors;
+    }
+
+    /**
+     * Lit l'emploi du temps ligne à ligne et enregistre les sessions valides par paquets de {@code chunkSize},
+     * chacun dans sa propre transaction : la mémoire reste constante quelle que soit la taille du fichier,
+     * et une ligne invalide est rapportée sans interrompre l'import.
+     * CSV : {@code name,date,teacherLastName,description}, en-tête facultatif ; dates au format ISO.
+     */
+    public SessionImportReportDto execute(Reader body, SessionImportFormat format) {
+        Import state = new Import();
+        Map<String, TeacherLookup> teachers = new HashMap<>();
+
+        try (BufferedReader reader = new BufferedReader(body)) {
+            String line;
+            long lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank() || (lineNumber == 1 && format == SessionImportFormat.CSV && isCsvHeader(line))) {
+                    continue;
+                }
+                try {
+                    state.add(lineNumber, toSession(parse(line, format), teachers));
+                } catch (InvalidRowException e) {
+                    state.fail(lineNumber, e.getMessage());
+                }
+                if (state.chunk.size() >= chunkSize) {
+                    state.flush();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        state.flush();
+
+        return new SessionImportReportDto(state.imported, state.failed, state.errors, state.failed > state.errors.size());
+    }
+
+    private SessionImportRow parse(String line, SessionImportFormat format) {
+        if (format == SessionImportFormat.NDJSON) {
+            try {
+                SessionImportRow row = objectMapper.readValue(line, SessionImportRow.class);
+                if (row == null) {
+                    throw new InvalidRowException("Expected a JSON object");
+                }
+                return row;
+            } catch (JsonProcessingException e) {
+                throw new InvalidRowException("Malformed JSON: " + e.getOriginalMessage());
+            }
+        }
+
+        List<String> fields = splitCsv(line);
+        if (fields.size() != 4) {
+            throw new InvalidRowException("Expected 4 columns but found " + fields.size());
+        }
+        return new SessionImportRow(fields.get(0), fields.get(1), fields.get(2), fields.get(3));
+    }
+
+    private Session toSession(SessionImportRow row, Map<String, TeacherLookup> teachers) {
+        if (row.getTeacherLastName() == null || row.getTeacherLastName().isBlank()) {
+            throw new InvalidRowException("teacherLastName: must not be blank");
+        }
+        // Mémo local à l'import : un professeur inconnu ou ambigu n'est cherché qu'une fois
+        TeacherLookup lookup = teachers.computeIfAbsent(row.getTeacherLastName(), this::findTeacher);
+        if (lookup.teacher() == null) {
+            throw new InvalidRowException(lookup.error());
+        }
+        Teacher teacher = lookup.teacher();
+
+        CreateSessionRequest request = new CreateSessionRequest();
+        request.setName(row.getName());
+        request.setDate(parseDate(row.getDate()));
+        request.setTeacherId(teacher.getId());
+        request.setDescription(row.getDescription());
+
+        Set<ConstraintViolation<CreateSessionRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            throw new InvalidRowException(violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", ")));
+        }
+
+        return Session.builder()
+            .name(request.getName())
+            .date(request.getDate())
+            .description(request.getDescription())
+            .teacher(teacher)
+            .createdAt(LocalDateTime.now())
+            .build();
+    }
+
+    // Le nom de famille n'est pas unique : plusieurs professeurs homonymes rendent la ligne invalide
+    private TeacherLookup findTeacher(String lastName) {
+        try {
+            return new TeacherLookup(teacherRepositoryPort.getByLastName(lastName), null);
+        } catch (NotFoundException e) {
+            return new TeacherLookup(null, "Teacher not found with last name: " + lastName);
+        } catch (IncorrectResultSizeDataAccessException e) {
+            return new TeacherLookup(null, "Ambiguous teacher last name: " + lastName);
+        }
+    }
+
+    private static Date parseDate(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            // Même interprétation que Jackson pour une date seule : minuit UTC
+            return Date.from(LocalDate.parse(value.trim()).atStartOfDay(ZoneOffset.UTC).toInstant());
+        } catch (DateTimeParseException e) {
+            throw new InvalidRowException("date: invalid date '" + value + "', expected yyyy-MM-dd");
+        }
+    }
+
+    private static boolean isCsvHeader(String line) {
+        return line.trim().toLowerCase().startsWith("name,");
+    }
+
+    // CSV simple sur une ligne : champs éventuellement entre guillemets, "" pour un guillemet littéral
+    static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>(4);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new InvalidRowException("Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private class Import {
+        private final List<Session> chunk = new ArrayList<>(chunkSize);
+        private final List<Long> chunkLines = new ArrayList<>(chunkSize);
+        private final List<SessionImportErrorDto> errors = new ArrayList<>();
+        private long imported;
+        private long failed;
+
+        void add(long line, Session session) {
+            chunk.add(session);
+            chunkLines.add(line);
+        }
+
+        void fail(long line, String message) {
+            failed++;
+            if (errors.size() < maxErrors) {
+                errors.add(new SessionImportErrorDto(line, message));
+            }
+        }
+
+        // Un paquet rejeté par la base (contrainte, coupure) n'annule que ses propres lignes
+        void flush() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            try {
+                sessionRepositoryPort.saveAll(chunk);
+                imported += chunk.size();
+            } catch (RuntimeException e) {
+                // Message fixe pour le client : celui d'une DataAccessException contient le SQL
+                log.warn("Session import chunk of {} rows rejected", chunk.size(), e);
+                chunkLines.forEach(line -> fail(line, CHUNK_REJECTED));
+            }
+            chunk.clear();
+            chunkLines.clear();
+        }
+    }
+
+    private record TeacherLookup(Teacher teacher, String error) {
+    }
+
+    private static class InvalidRowException extends RuntimeException {
+        InvalidRowException(String message) {
+            super(message);
+        }
+    }
+}
@@ -1,29 +1,45 @@
 package com.openclassrooms.starterjwt.session.service;
 
 import org.springframework.stereotype.Service;
-import com.openclassrooms.starterjwt.session.model.Session;
+import org.springframework.transaction.annotation.Transactional;
 import com.openclassrooms.starterjwt.common.exception.BadRequestException;
 import com.openclassrooms.starterjwt.session.repository.port.SessionRepositoryPort;
+import com.openclassrooms.starterjwt.session.repository.port.WaitlistRepositoryPort;
 
 @Service
 public class NoLongerParticipateSessionService {
 
     private final SessionRepositoryPort sessionRepositoryPort;
+    private final WaitlistRepositoryPort waitlistRepositoryPort;
+    private final WaitlistPromotion waitlistPromotion;
 
     public NoLongerParticipateSessionService(
-        SessionRepositoryPort sessionRepositoryPort
+        SessionRepositoryPort sessionRepositoryPort,
+        WaitlistRepositoryPort waitlistRepositoryPort,
+        WaitlistPromotion waitlistPromotion
     ) {
         this.sessionRepositoryPort = sessionRepositoryPort;
+        this.waitlistRepositoryPort = waitlistRepositoryPort;
+        this.waitlistPromotion = waitlistPromotion;
     }
 
+    @Transactional
     public void execute(Long sessionId, Long userId) {
-        Session session = sessionRepositoryPort.getById(sessionId);
-
-        boolean removed = session.getUsers().removeIf(u -> u.getId().equals(userId));
-        if (!removed) {
+        if (!sessionRepositoryPort.removeParticipant(sessionId, userId)) {
+            if (waitlistRepositoryPort.remove(sessionId, userId)) {
+                return;
+            }
+            // 404 si la session n'existe pas, sinon l'utilisateur n'y était simplement pas inscrit
+            sessionRepositoryPort.getById(sessionId);
             throw new BadRequestException("User does not participate in this session");
         }
 
-        sessionRepositoryPort.save(session);
+        // La place libérée passe directement à la tête de file, sans toucher au compteur
+        if (!waitlistPromotion.promoteHead(sessionId)) {
+            sessionRepositoryPort.releaseSeat(sessionId);
+        } else {
+            // Compteur inchangé mais liste des participants modifiée : la version (ETag) doit avancer
+            sessionRepositoryPort.touch(sessionId);
+        }
     }
 }
@@ -1,35 +1,54 @@
 package com.openclassrooms.starterjwt.session.service;
 
 import org.springframework.stereotype.Service;
-import com.openclassrooms.starterjwt.user.model.User;
-import com.openclassrooms.starterjwt.session.model.Session;
+import org.springframework.transaction.annotation.Transactional;
+import com.openclassrooms.starterjwt.session.dto.ParticipationDto;
 import com.openclassrooms.starterjwt.common.exception.BadRequestException;
 import com.openclassrooms.starterjwt.user.repository.port.UserRepositoryPort;
 import com.openclassrooms.starterjwt.session.repository.port.SessionRepositoryPort;
+import com.openclassrooms.starterjwt.session.repository.port.WaitlistRepositoryPort;
 
 @Service
 public class ParticipateSessionService {
 
     private final SessionRepositoryPort sessionRepositoryPort;
     private final UserRepositoryPort userRepositoryPort;
+    private final WaitlistRepositoryPort waitlistRepositoryPort;
 
     public ParticipateSessionService(
         SessionRepositoryPort sessionRepositoryPort,
-        UserRepositoryPort userRepositoryPort
+        UserRepositoryPort userRepositoryPort,
+        WaitlistRepositoryPort waitlistRepositoryPort
     ) {
         this.sessionRepositoryPort = sessionRepositoryPort;
         this.userRepositoryPort = userRepositoryPort;
+        this.waitlistRepositoryPort = waitlistRepositoryPort;
     }
 
-    public void execute(Long sessionId, Long userId) {
-        Session session = sessionRepositoryPort.getById(sessionId);
-        User user = userRepositoryPort.getById(userId);
+    @Transactional
+    public ParticipationDto execute(Long sessionId, Long userId) {
+        sessionRepositoryPort.getById(sessionId);
+        userRepositoryPort.getById(userId);
 
-        if (session.getUsers().stream().anyMatch(u -> u.getId().equals(userId))) {
+        // La place d'abord : son verrou exclusif sur la ligne de la session sérialise les inscriptions.
+        // Dans l'autre ordre, le contrôle de clé étrangère de l'insertion prend un verrou partagé
+        // sur cette ligne et deux inscriptions simultanées s'interbloquent en le promouvant.
+        if (sessionRepositoryPort.reserveSeat(sessionId)) {
+            if (!sessionRepositoryPort.addParticipant(sessionId, userId)) {
+                sessionRepositoryPort.releaseSeat(sessionId);
+                throw new BadRequestException("User already participates in this session");
+            }
+            return ParticipationDto.participating();
+        }
+
+        // Session pleine : l'utilisateur passe en file d'attente, sauf s'il participe déjà
+        if (sessionRepositoryPort.isParticipant(sessionId, userId)) {
             throw new BadRequestException("User already participates in this session");
         }
+        if (!waitlistRepositoryPort.enqueue(sessionId, userId)) {
+            throw new BadRequestException("User is already on the waitlist of this session");
+        }
 
-        session.getUsers().add(user);
-        sessionRepositoryPort.save(session);
+        return ParticipationDto.waitlisted(waitlistRepositoryPort.positionOf(sessionId, userId));
     }
 }
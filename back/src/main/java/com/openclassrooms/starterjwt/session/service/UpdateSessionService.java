@@ -1,17 +1,25 @@
 package com.openclassrooms.starterjwt.session.service;
 
+import java.util.Set;
 import java.util.List;
+import java.util.LinkedHashSet;
+import java.util.stream.Collectors;
 import java.time.LocalDateTime;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import com.openclassrooms.starterjwt.user.model.User;
 import com.openclassrooms.starterjwt.teacher.model.Teacher;
 import com.openclassrooms.starterjwt.session.model.Session;
 import com.openclassrooms.starterjwt.session.dto.SessionDto;
+import com.openclassrooms.starterjwt.common.exception.BadRequestException;
 import com.openclassrooms.starterjwt.session.mapper.SessionMapper;
 import com.openclassrooms.starterjwt.session.request.UpdateSessionRequest;
 import com.openclassrooms.starterjwt.user.repository.port.UserRepositoryPort;
+import com.openclassrooms.starterjwt.teacher.service.TeacherCatalog;
+import com.openclassrooms.starterjwt.common.exception.NotFoundException;
 import com.openclassrooms.starterjwt.teacher.repository.port.TeacherRepositoryPort;
 import com.openclassrooms.starterjwt.session.repository.port.SessionRepositoryPort;
+import com.openclassrooms.starterjwt.session.repository.port.WaitlistRepositoryPort;
 
 @Service
 public class UpdateSessionService {
@@ -19,21 +27,37 @@ public class UpdateSessionService {
     private final SessionMapper sessionMapper;
     private final SessionRepositoryPort sessionRepositoryPort;
     private final TeacherRepositoryPort teacherRepositoryPort;
+    private final TeacherCatalog teacherCatalog;
     private final UserRepositoryPort userRepositoryPort;
+    private final WaitlistRepositoryPort waitlistRepositoryPort;
+    private final WaitlistPromotion waitlistPromotion;
 
     public UpdateSessionService(
         SessionMapper sessionMapper,
         SessionRepositoryPort sessionRepositoryPort,
         TeacherRepositoryPort teacherRepositoryPort,
-        UserRepositoryPort userRepositoryPort
+        TeacherCatalog teacherCatalog,
+        UserRepositoryPort userRepositoryPort,
+        WaitlistRepositoryPort waitlistRepositoryPort,
+        WaitlistPromotion waitlistPromotion
     ) {
         this.sessionMapper = sessionMapper;
         this.sessionRepositoryPort = sessionRepositoryPort;
         this.teacherRepositoryPort = teacherRepositoryPort;
+        this.teacherCatalog = teacherCatalog;
         this.userRepositoryPort = userRepositoryPort;
+        this.waitlistRepositoryPort = waitlistRepositoryPort;
+        this.waitlistPromotion = waitlistPromotion;
     }
 
+    /**
+     * Les champs simples passent par l'entité ; la capacité et les participants uniquement par les requêtes
+     * conditionnelles des inscriptions, dans la même transaction : une inscription concurrente n'est ni
+     * écrasée ni comptée au-delà de la capacité.
+     */
+    @Transactional
     public SessionDto execute(Long id, UpdateSessionRequest request) {
+        // Participants non chargés : relus en fin de transaction, après leurs modifications
         Session session = sessionRepositoryPort.getById(id);
         boolean modified = false;
 
@@ -56,25 +80,77 @@ public class UpdateSessionService {
             request.getTeacherId() != null &&
             (session.getTeacher() == null || !request.getTeacherId().equals(session.getTeacher().getId()))
         ) {
-            Teacher teacher = teacherRepositoryPort.getById(request.getTeacherId());
+            Teacher teacher = resolveTeacher(request.getTeacherId());
             session.setTeacher(teacher);
             modified = true;
         }
 
+        if (modified) {
+            session.setUpdatedAt(LocalDateTime.now());
+            sessionRepositoryPort.save(session);
+        }
+
+        Set<Long> added = Set.of();
+        boolean usersModified = false;
+        boolean seatsFreed = false;
         if (request.getUsers() != null) {
-            List<User> newUsers = userRepositoryPort.findAllById(request.getUsers());
+            Set<Long> requested = userRepositoryPort.findAllById(request.getUsers()).stream()
+                .map(User::getId)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+            List<Long> current = sessionRepositoryPort.findParticipantIds(id);
 
-            if (!newUsers.equals(session.getUsers())) {
-                session.setUsers(newUsers);
-                modified = true;
+            // Retraits d'abord : les places libérées servent à la nouvelle capacité et aux ajouts
+            for (Long userId : current) {
+                if (!requested.contains(userId) && sessionRepositoryPort.removeParticipant(id, userId)) {
+                    sessionRepositoryPort.releaseSeat(id);
+                    usersModified = true;
+                    seatsFreed = true;
+                }
             }
+            requested.removeAll(current);
+            added = requested;
         }
 
-        if (modified) {
-            session.setUpdatedAt(LocalDateTime.now());
-            sessionRepositoryPort.save(session);
+        if (request.getCapacity() != null && !request.getCapacity().equals(session.getCapacity())) {
+            if (!sessionRepositoryPort.changeCapacity(id, request.getCapacity())) {
+                throw new BadRequestException("Session capacity is lower than its number of participants");
+            }
+            // Après la requête conditionnelle seulement : l'entité réécrit la même valeur au commit
+            seatsFreed |= session.getCapacity() != null && request.getCapacity() > session.getCapacity();
+            session.setCapacity(request.getCapacity());
+        }
+
+        // Même ordre que participate : la place (verrou exclusif sur la session) avant l'insertion
+        for (Long userId : added) {
+            if (!sessionRepositoryPort.reserveSeat(id)) {
+                throw new BadRequestException("Session capacity is lower than its number of participants");
+            }
+            if (!sessionRepositoryPort.addParticipant(id, userId)) {
+                // Inscrit entre-temps par une autre requête : sa place est déjà comptée
+                sessionRepositoryPort.releaseSeat(id);
+                continue;
+            }
+            // Inscrit directement : il ne garde pas en plus sa place dans la file
+            waitlistRepositoryPort.remove(id, userId);
+            usersModified = true;
+        }
+
+        // Les places libérées reviennent d'abord à la file, pas au prochain appel de participate
+        if (seatsFreed && waitlistPromotion.fillFreeSeats(id) > 0) {
+            usersModified = true;
+        }
+
+        if (usersModified) {
+            session.setSeatsTaken(session.getUsers().size());
         }
 
         return sessionMapper.toDto(session);
     }
+
+    private Teacher resolveTeacher(Long teacherId) {
+        if (teacherCatalog.findById(teacherId).isEmpty()) {
+            throw new NotFoundException("Teacher not found with id: " + teacherId);
+        }
+        return teacherRepositoryPort.getReferenceById(teacherId);
+    }
 }
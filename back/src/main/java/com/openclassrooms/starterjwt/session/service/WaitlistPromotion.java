@@ -0,0 +1,58 @@
+package com.openclassrooms.starterjwt.session.service;
+
+import java.util.Optional;
+import org.springframework.stereotype.Component;
+import com.openclassrooms.starterjwt.session.repository.port.SessionRepositoryPort;
+import com.openclassrooms.starterjwt.session.repository.port.WaitlistRepositoryPort;
+
+/**
+ * Passage de la file d'attente aux participants, partagé par la désinscription et la mise à jour
+ * d'une session. S'exécute dans la transaction de l'appelant : la tête de file est lue avec verrou.
+ */
+@Component
+public class WaitlistPromotion {
+
+    private final SessionRepositoryPort sessionRepositoryPort;
+    private final WaitlistRepositoryPort waitlistRepositoryPort;
+
+    public WaitlistPromotion(
+        SessionRepositoryPort sessionRepositoryPort,
+        WaitlistRepositoryPort waitlistRepositoryPort
+    ) {
+        this.sessionRepositoryPort = sessionRepositoryPort;
+        this.waitlistRepositoryPort = waitlistRepositoryPort;
+    }
+
+    /**
+     * Inscrit la première entrée de la file qui peut l'être, sur une place que l'appelant détient déjà.
+     * Une entrée dont l'utilisateur participe déjà est retirée et la suivante prend son tour.
+     *
+     * @return {@code false} si la file est vide
+     */
+    public boolean promoteHead(Long sessionId) {
+        Optional<Long> head;
+        while ((head = waitlistRepositoryPort.pollHead(sessionId)).isPresent()) {
+            if (sessionRepositoryPort.addParticipant(sessionId, head.get())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Attribue les places libres, une réservation à la fois, jusqu'à ce que la session ou la file soit vide.
+     *
+     * @return le nombre d'utilisateurs promus
+     */
+    public int fillFreeSeats(Long sessionId) {
+        int promoted = 0;
+        while (sessionRepositoryPort.reserveSeat(sessionId)) {
+            if (!promoteHead(sessionId)) {
+                sessionRepositoryPort.releaseSeat(sessionId);
+                break;
+            }
+            promoted++;
+        }
+        return promoted;
+    }
+}
@@ -2,6 +2,8 @@ package com.openclassrooms.starterjwt.teacher.controller;
 
 import java.util.List;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+import com.openclassrooms.starterjwt.common.model.ResourceVersion;
 import org.springframework.web.bind.annotation.GetMapping;
 import com.openclassrooms.starterjwt.teacher.dto.TeacherDto;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -26,12 +28,20 @@ public class TeacherController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<TeacherDto> findById(@PathVariable Long id) {
+    public ResponseEntity<TeacherDto> findById(@PathVariable Long id, WebRequest webRequest) {
+        ResourceVersion version = getTeacherService.version(id);
+        if (webRequest.checkNotModified(version.etag(), version.lastModifiedMillis())) {
+            return null;
+        }
         return ResponseEntity.ok(getTeacherService.execute(id));
     }
 
     @GetMapping
-    public ResponseEntity<List<TeacherDto>> findAll() {
+    public ResponseEntity<List<TeacherDto>> findAll(WebRequest webRequest) {
+        ResourceVersion version = getTeachersService.version();
+        if (webRequest.checkNotModified(version.etag(), version.lastModifiedMillis())) {
+            return null;
+        }
         return ResponseEntity.ok(getTeachersService.execute());
     }
 }
\ No newline at end of file
@@ -2,10 +2,15 @@ package com.openclassrooms.starterjwt.teacher.repository;
 
 import java.util.Optional;
 import org.springframework.stereotype.Repository;
+import org.springframework.data.jpa.repository.Query;
+import com.openclassrooms.starterjwt.common.model.ResourceVersion;
 import com.openclassrooms.starterjwt.teacher.model.Teacher;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 @Repository
 public interface TeacherRepository extends JpaRepository<Teacher, Long> {
     Optional<Teacher> findByLastName(String lastName);
+
+    @Query("SELECT new com.openclassrooms.starterjwt.common.model.ResourceVersion(COUNT(t), MAX(t.updatedAt)) FROM Teacher t")
+    ResourceVersion findVersion();
 }
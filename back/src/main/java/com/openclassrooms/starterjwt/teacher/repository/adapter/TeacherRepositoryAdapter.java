@@ -3,6 +3,7 @@ package com.openclassrooms.starterjwt.teacher.repository.adapter;
 import java.util.List;
 import org.springframework.stereotype.Service;
 import com.openclassrooms.starterjwt.teacher.model.Teacher;
+import com.openclassrooms.starterjwt.common.model.ResourceVersion;
 import com.openclassrooms.starterjwt.common.exception.NotFoundException;
 import com.openclassrooms.starterjwt.teacher.repository.TeacherRepository;
 import com.openclassrooms.starterjwt.teacher.repository.port.TeacherRepositoryPort;
@@ -32,4 +33,15 @@ public class TeacherRepositoryAdapter implements TeacherRepositoryPort {
     public List<Teacher> findAll() {
         return teacherRepository.findAll();
     }
-}
\ No newline at end of file
+
+    // Proxy non initialisé : aucune requête, l'existence a déjà été vérifiée par le catalogue
+    @Override
+    public Teacher getReferenceById(Long id) {
+        return teacherRepository.getReferenceById(id);
+    }
+
+    @Override
+    public ResourceVersion findVersion() {
+        return teacherRepository.findVersion();
+    }
+}
@@ -2,6 +2,7 @@ package com.openclassrooms.starterjwt.teacher.repository.port;
 
 import java.util.List;
 import com.openclassrooms.starterjwt.teacher.model.Teacher;
+import com.openclassrooms.starterjwt.common.model.ResourceVersion;
 import com.openclassrooms.starterjwt.common.exception.NotFoundException;
 
 public interface TeacherRepositoryPort {
@@ -11,4 +12,8 @@ public interface TeacherRepositoryPort {
     Teacher getByLastName(String lastName) throws NotFoundException;
 
     List<Teacher> findAll();
+
+    Teacher getReferenceById(Long id);
+
+    ResourceVersion findVersion();
 }
\ No newline at end of file
@@ -1,25 +1,25 @@
 package com.openclassrooms.starterjwt.teacher.service;
 
 import org.springframework.stereotype.Service;
+import com.openclassrooms.starterjwt.common.model.ResourceVersion;
 import com.openclassrooms.starterjwt.teacher.dto.TeacherDto;
-import com.openclassrooms.starterjwt.teacher.mapper.TeacherMapper;
-import com.openclassrooms.starterjwt.teacher.repository.port.TeacherRepositoryPort;
+import com.openclassrooms.starterjwt.common.exception.NotFoundException;
 
 @Service
 public class GetTeacherService {
 
-    private final TeacherMapper teacherMapper;
-    private final TeacherRepositoryPort teacherRepositoryPort;
+    private final TeacherCatalog teacherCatalog;
 
-    public GetTeacherService(
-        TeacherMapper teacherMapper,
-        TeacherRepositoryPort teacherRepositoryPort
-    ) {
-        this.teacherMapper = teacherMapper;
-        this.teacherRepositoryPort = teacherRepositoryPort;
+    public GetTeacherService(TeacherCatalog teacherCatalog) {
+        this.teacherCatalog = teacherCatalog;
+    }
+
+    public ResourceVersion version(Long id) {
+        return new ResourceVersion(1L, execute(id).getUpdatedAt());
     }
 
     public TeacherDto execute(Long id) {
-        return teacherMapper.toDto(teacherRepositoryPort.getById(id));
+        return teacherCatalog.findById(id)
+            .orElseThrow(() -> new NotFoundException("Teacher not found with id: " + id));
     }
 }
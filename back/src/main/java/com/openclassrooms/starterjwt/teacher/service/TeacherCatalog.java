@@ -0,0 +1,155 @@
+package com.openclassrooms.starterjwt.teacher.service;
+
+import com.openclassrooms.starterjwt.common.model.ResourceVersion;
+import com.openclassrooms.starterjwt.teacher.dto.TeacherDto;
+import com.openclassrooms.starterjwt.teacher.mapper.TeacherMapper;
+import com.openclassrooms.starterjwt.teacher.repository.port.TeacherRepositoryPort;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * Catalogue des professeurs tenu en mémoire : un instantané immuable (liste + index par id) remplacé d'un bloc.
+ * Les {@link TeacherDto} rendus sont des copies : un appelant qui les modifie n'altère pas l'instantané partagé.
+ * <p>
+ * Aucune route n'écrit dans {@code teachers} : l'instantané est chargé au premier accès, puis comparé
+ * périodiquement à la version de la table (nombre de lignes + dernier {@code updatedAt}) et rechargé
+ * seulement si elle a changé. Un id absent déclenche la même vérification avant d'être déclaré inconnu,
+ * au plus une fois par {@code missReloadInterval} : des ids inventés ne peuvent pas transformer chaque
+ * lecture en requêtes. {@link #refresh()} sert de signal explicite après une écriture hors application.
+ */
+@Slf4j
+@Component
+public class TeacherCatalog {
+
+    private final TeacherMapper teacherMapper;
+    private final TeacherRepositoryPort teacherRepositoryPort;
+    private final long missReloadIntervalNanos;
+    private final LongSupplier clock;
+    // Verrou explicite plutôt que synchronized : pas d'épinglage du thread porteur pendant les requêtes
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    private final AtomicLong nextMissReload;
+
+    private volatile Snapshot snapshot;
+
+    @Autowired
+    public TeacherCatalog(
+        TeacherMapper teacherMapper,
+        TeacherRepositoryPort teacherRepositoryPort,
+        @Value("${oc.app.teacherCatalog.missReloadInterval:1s}") Duration missReloadInterval
+    ) {
+        this(teacherMapper, teacherRepositoryPort, missReloadInterval, System::nanoTime);
+    }
+
+    TeacherCatalog(
+        TeacherMapper teacherMapper,
+        TeacherRepositoryPort teacherRepositoryPort,
+        Duration missReloadInterval,
+        LongSupplier clock
+    ) {
+        this.teacherMapper = teacherMapper;
+        this.teacherRepositoryPort = teacherRepositoryPort;
+        this.missReloadIntervalNanos = missReloadInterval.toNanos();
+        this.clock = clock;
+        this.nextMissReload = new AtomicLong(clock.getAsLong());
+    }
+
+    public List<TeacherDto> findAll() {
+        return current().teachers().stream().map(Entry::toDto).toList();
+    }
+
+    public Optional<TeacherDto> findById(Long id) {
+        Entry teacher = current().byId().get(id);
+        if (teacher == null && claimMissReload()) {
+            teacher = reload().byId().get(id);
+        }
+        return Optional.ofNullable(teacher).map(Entry::toDto);
+    }
+
+    public ResourceVersion version() {
+        return current().version();
+    }
+
+    @Scheduled(
+        fixedDelayString = "${oc.app.teacherCatalog.refreshIntervalMs:300000}",
+        initialDelayString = "${oc.app.teacherCatalog.refreshIntervalMs:300000}"
+    )
+    public void refresh() {
+        reload();
+    }
+
+    private Snapshot reload() {
+        reloadLock.lock();
+        try {
+            ResourceVersion version = teacherRepositoryPort.findVersion();
+            Snapshot current = snapshot;
+            if (current != null && current.version().equals(version)) {
+                return current;
+            }
+
+            List<Entry> teachers = teacherRepositoryPort.findAll().stream()
+                .map(teacherMapper::toDto)
+                .map(Entry::of)
+                .toList();
+            Map<Long, Entry> byId = teachers.stream()
+                .collect(Collectors.toUnmodifiableMap(Entry::id, Function.identity()));
+
+            // Version lue avant les lignes : une écriture concurrente provoquera au pire un rechargement de plus
+            snapshot = new Snapshot(teachers, byId, version);
+            log.debug("Teacher catalog reloaded: {} teachers", teachers.size());
+            return snapshot;
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    // Un seul appelant par intervalle obtient le rechargement ; les autres répondent « inconnu » sans attendre
+    private boolean claimMissReload() {
+        long now = clock.getAsLong();
+        long next = nextMissReload.get();
+        return now - next >= 0 && nextMissReload.compareAndSet(next, now + missReloadIntervalNanos);
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        return current != null ? current : reload();
+    }
+
+    private record Snapshot(List<Entry> teachers, Map<Long, Entry> byId, ResourceVersion version) {
+    }
+
+    private record Entry(
+        Long id,
+        String lastName,
+        String firstName,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt
+    ) {
+        static Entry of(TeacherDto teacher) {
+            return new Entry(
+                teacher.getId(),
+                teacher.getLastName(),
+                teacher.getFirstName(),
+                teacher.getCreatedAt(),
+                teacher.getUpdatedAt()
+            );
+        }
+
+        TeacherDto toDto() {
+            return new TeacherDto(id, lastName, firstName, createdAt, updatedAt);
+        }
+    }
+}
@@ -1,14 +1,24 @@
 package com.openclassrooms.starterjwt.user.repository;
 
 import java.util.Optional;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.stereotype.Repository;
 import com.openclassrooms.starterjwt.user.model.User;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 @Transactional
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
+
+    // Cache de requêtes : l'id résolu pour l'email, l'entité elle-même vient de la région "users"
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "usersByEmail")
+    })
     Optional<User> findByEmail(String email);
+
     Boolean existsByEmail(String email);
 }
@@ -0,0 +1,9 @@
+package com.openclassrooms.starterjwt.user.repository;
+
+import java.util.List;
+import com.openclassrooms.starterjwt.user.model.User;
+
+public interface UserRepositoryCustom {
+
+    List<User> findAllCachedById(List<Long> ids);
+}
@@ -0,0 +1,34 @@
+package com.openclassrooms.starterjwt.user.repository;
+
+import java.util.List;
+import java.util.Objects;
+import org.hibernate.Session;
+import org.hibernate.CacheMode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import com.openclassrooms.starterjwt.user.model.User;
+import org.springframework.transaction.annotation.Transactional;
+
+public class UserRepositoryCustomImpl implements UserRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Contrairement à {@code findAllById} (toujours un {@code SELECT ... IN}), consulte d'abord le cache
+     * de second niveau et ne charge en base que les ids manquants, en une seule requête.
+     * Les ids inconnus sont ignorés.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<User> findAllCachedById(List<Long> ids) {
+        return entityManager.unwrap(Session.class)
+            .byMultipleIds(User.class)
+            .with(CacheMode.NORMAL)
+            .enableSessionCheck(true)
+            .multiLoad(ids)
+            .stream()
+            .filter(Objects::nonNull)
+            .toList();
+    }
+}
@@ -50,6 +50,6 @@ public class UserRepositoryAdapter implements UserRepositoryPort {
 
     @Override
     public List<User> findAllById(List<Long> ids) {
-        return userRepository.findAllById(ids);
+        return userRepository.findAllCachedById(ids);
     }
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package com.openclassrooms.starterjwt.user.service;
 
 import org.springframework.stereotype.Service;
 import com.openclassrooms.starterjwt.user.model.User;
+import com.openclassrooms.starterjwt.security.service.UserDetailsCache;
 import com.openclassrooms.starterjwt.common.exception.UnauthorizedException;
 import com.openclassrooms.starterjwt.user.repository.port.UserRepositoryPort;
 
@@ -9,11 +10,14 @@ import com.openclassrooms.starterjwt.user.repository.port.UserRepositoryPort;
 public class DeleteUserService {
 
     private final UserRepositoryPort userRepositoryPort;
+    private final UserDetailsCache userDetailsCache;
 
     public DeleteUserService(
-        UserRepositoryPort userRepositoryPort
+        UserRepositoryPort userRepositoryPort,
+        UserDetailsCache userDetailsCache
     ) {
         this.userRepositoryPort = userRepositoryPort;
+        this.userDetailsCache = userDetailsCache;
     }
 
     public void execute(Long id, String authenticatedEmail) {
@@ -24,5 +28,6 @@ public class DeleteUserService {
         }
 
         userRepositoryPort.delete(user);
+        userDetailsCache.invalidate(user.getEmail());
     }
 }
@@ -17,6 +17,7 @@ import com.openclassrooms.starterjwt.user.repository.UserRepository;
 import com.openclassrooms.starterjwt.session.repository.SessionRepository;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 
 @SpringBootTest
@@ -124,4 +125,118 @@ class AuthControllerIntegrationTest {
             .content(objectMapper.writeValueAsString(login)))
             .andExpect(status().isInternalServerError());
     }
+
+    @Test
+    void logout_shouldRevokeToken() throws Exception {
+        SignupRequest request = new SignupRequest();
+        request.setEmail("logout@test.com");
+        request.setFirstName("Alice");
+        request.setLastName("Smith");
+        request.setPassword("Password123");
+
+        userRepository.findByEmail(request.getEmail()).ifPresent(userRepository::delete);
+        mockMvc.perform(post("/api/auth/register")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(request)))
+            .andExpect(status().isOk());
+
+        LoginRequest login = new LoginRequest();
+        login.setEmail(request.getEmail());
+        login.setPassword(request.getPassword());
+
+        String response = mockMvc.perform(post("/api/auth/login")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(login)))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+        String bearer = "Bearer " + objectMapper.readTree(response).get("token").asText();
+
+        mockMvc.perform(get("/api/session").header("Authorization", bearer))
+            .andExpect(status().isOk());
+
+        mockMvc.perform(post("/api/auth/logout").header("Authorization", bearer))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.message").value("User logged out successfully!"));
+
+        mockMvc.perform(get("/api/session").header("Authorization", bearer))
+            .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void refresh_shouldRotateToken_andRevokeFamilyOnReuse() throws Exception {
+        SignupRequest request = new SignupRequest();
+        request.setEmail("refresh@test.com");
+        request.setFirstName("Alice");
+        request.setLastName("Smith");
+        request.setPassword("Password123");
+
+        userRepository.findByEmail(request.getEmail()).ifPresent(userRepository::delete);
+        mockMvc.perform(post("/api/auth/register")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(request)))
+            .andExpect(status().isOk());
+
+        LoginRequest login = new LoginRequest();
+        login.setEmail(request.getEmail());
+        login.setPassword(request.getPassword());
+
+        String loginResponse = mockMvc.perform(post("/api/auth/login")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(login)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.refreshToken").isNotEmpty())
+            .andReturn().getResponse().getContentAsString();
+        String firstRefresh = objectMapper.readTree(loginResponse).get("refreshToken").asText();
+
+        String refreshResponse = mockMvc.perform(post("/api/auth/refresh")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"refreshToken\":\"" + firstRefresh + "\"}"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.token").isNotEmpty())
+            .andExpect(jsonPath("$.username").value("refresh@test.com"))
+            .andReturn().getResponse().getContentAsString();
+        String secondRefresh = objectMapper.readTree(refreshResponse).get("refreshToken").asText();
+        assertThat(secondRefresh).isNotEqualTo(firstRefresh);
+
+        // Rejeu du premier jeton : détecté, toute la famille est révoquée
+        mockMvc.perform(post("/api/auth/refresh")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"refreshToken\":\"" + firstRefresh + "\"}"))
+            .andExpect(status().isUnauthorized());
+
+        mockMvc.perform(post("/api/auth/refresh")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"refreshToken\":\"" + secondRefresh + "\"}"))
+            .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void logout_shouldFailWithoutToken() throws Exception {
+        mockMvc.perform(post("/api/auth/logout"))
+            .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void login_shouldReturnTooManyRequests_whenEmailIsHammered() throws Exception {
+        LoginRequest login = new LoginRequest();
+        login.setEmail("target@test.com");
+        login.setPassword("WrongPassword123");
+        String body = objectMapper.writeValueAsString(login);
+
+        // Adresse dédiée : le seau par client des autres tests reste intact
+        for (int i = 0; i < 5; i++) {
+            mockMvc.perform(post("/api/auth/login")
+                .with(request -> { request.setRemoteAddr("203.0.113.7"); return request; })
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(result -> assertThat(result.getResponse().getStatus()).isNotEqualTo(429));
+        }
+
+        mockMvc.perform(post("/api/auth/login")
+            .with(request -> { request.setRemoteAddr("203.0.113.8"); return request; })
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(body))
+            .andExpect(status().isTooManyRequests())
+            .andExpect(header().exists("Retry-After"));
+    }
 }
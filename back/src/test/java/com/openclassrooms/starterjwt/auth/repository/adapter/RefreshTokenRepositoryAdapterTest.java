@@ -0,0 +1,84 @@
+package com.openclassrooms.starterjwt.auth.repository.adapter;
+
+import com.openclassrooms.starterjwt.auth.model.RefreshToken;
+import com.openclassrooms.starterjwt.auth.repository.RefreshTokenRepository;
+import com.openclassrooms.starterjwt.user.model.User;
+import com.openclassrooms.starterjwt.user.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TestPropertySource("classpath:h2-mysql.properties")
+@DataJpaTest
+class RefreshTokenRepositoryAdapterTest {
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private RefreshTokenRepositoryAdapter adapter;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        adapter = new RefreshTokenRepositoryAdapter(refreshTokenRepository);
+        user = userRepository.save(new User()
+            .setEmail("refresh@test.com")
+            .setFirstName("John")
+            .setLastName("Doe")
+            .setPassword("secret"));
+    }
+
+    private Date inOneMinute() {
+        return new Date(System.currentTimeMillis() + 60_000);
+    }
+
+    @Test
+    void store_shouldBeFoundByHash() {
+        adapter.store("hash-1", "family-1", user.getId(), inOneMinute());
+
+        RefreshToken token = adapter.findByHash("hash-1").orElseThrow();
+        assertThat(token.getFamilyId()).isEqualTo("family-1");
+        assertThat(token.getUser().getId()).isEqualTo(user.getId());
+        assertThat(token.getUsedAt()).isNull();
+    }
+
+    @Test
+    void markUsed_shouldSucceedOnlyOnce() {
+        adapter.store("hash-1", "family-1", user.getId(), inOneMinute());
+        Long id = adapter.findByHash("hash-1").orElseThrow().getId();
+
+        assertThat(adapter.markUsed(id)).isTrue();
+        assertThat(adapter.markUsed(id)).isFalse();
+    }
+
+    @Test
+    void revokeFamily_shouldDeleteOnlyThatFamily() {
+        adapter.store("hash-1", "family-1", user.getId(), inOneMinute());
+        adapter.store("hash-2", "family-1", user.getId(), inOneMinute());
+        adapter.store("hash-3", "family-2", user.getId(), inOneMinute());
+
+        adapter.revokeFamily("family-1");
+
+        assertThat(adapter.findByHash("hash-1")).isEmpty();
+        assertThat(adapter.findByHash("hash-2")).isEmpty();
+        assertThat(adapter.findByHash("hash-3")).isPresent();
+    }
+
+    @Test
+    void purgeExpired_shouldRemoveExpiredTokens() {
+        adapter.store("expired", "family-1", user.getId(), new Date(System.currentTimeMillis() - 1_000));
+        adapter.store("active", "family-1", user.getId(), inOneMinute());
+
+        assertThat(adapter.purgeExpired(new Date())).isEqualTo(1);
+        assertThat(adapter.findByHash("active")).isPresent();
+    }
+}
@@ -0,0 +1,51 @@
+package com.openclassrooms.starterjwt.auth.repository.adapter;
+
+import com.openclassrooms.starterjwt.auth.repository.RevokedTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TestPropertySource("classpath:h2-mysql.properties")
+@DataJpaTest
+class RevokedTokenRepositoryAdapterTest {
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    private RevokedTokenRepositoryAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        adapter = new RevokedTokenRepositoryAdapter(revokedTokenRepository);
+    }
+
+    @Test
+    void revoke_shouldBeIdempotent() {
+        Date expiresAt = new Date(System.currentTimeMillis() + 60_000);
+
+        adapter.revoke("jti-1", expiresAt);
+        adapter.revoke("jti-1", expiresAt);
+
+        assertThat(adapter.isRevoked("jti-1")).isTrue();
+        assertThat(adapter.isRevoked("jti-2")).isFalse();
+        assertThat(revokedTokenRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void purgeExpired_shouldOnlyRemoveExpiredEntries() {
+        Date now = new Date();
+        adapter.revoke("expired", new Date(now.getTime() - 1_000));
+        adapter.revoke("active", new Date(now.getTime() + 60_000));
+
+        assertThat(adapter.findActive(now)).containsExactly("active");
+        assertThat(adapter.purgeExpired(now)).isEqualTo(1);
+        assertThat(adapter.isRevoked("expired")).isFalse();
+        assertThat(adapter.isRevoked("active")).isTrue();
+    }
+}
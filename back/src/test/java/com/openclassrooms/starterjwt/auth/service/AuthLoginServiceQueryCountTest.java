@@ -0,0 +1,71 @@
+package com.openclassrooms.starterjwt.auth.service;
+
+import com.openclassrooms.starterjwt.auth.request.LoginRequest;
+import com.openclassrooms.starterjwt.security.jwt.response.JwtResponse;
+import com.openclassrooms.starterjwt.security.service.UserDetailsCache;
+import com.openclassrooms.starterjwt.user.model.User;
+import com.openclassrooms.starterjwt.user.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class AuthLoginServiceQueryCountTest {
+
+    private static final String EMAIL = "querycount@test.com";
+
+    @Autowired
+    private AuthLoginService authLoginService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.findByEmail(EMAIL).ifPresent(userRepository::delete);
+        userRepository.save(new User()
+            .setEmail(EMAIL)
+            .setFirstName("Query")
+            .setLastName("Count")
+            .setPassword(passwordEncoder.encode("Password123"))
+            .setAdmin(true));
+
+        // Cache vidé : on mesure une connexion à froid, celle qui touche réellement la base
+        userDetailsCache.invalidate(EMAIL);
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void login_shouldLoadUserOnce() {
+        LoginRequest request = new LoginRequest();
+        request.setEmail(EMAIL);
+        request.setPassword("Password123");
+
+        JwtResponse response = authLoginService.execute(request);
+
+        assertThat(response.getAdmin()).isTrue();
+        assertThat(statistics.getEntityStatistics(User.class.getName()).getLoadCount()).isEqualTo(1);
+        // SELECT users par email + INSERT du refresh token
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+}
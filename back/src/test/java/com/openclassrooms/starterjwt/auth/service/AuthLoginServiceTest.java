@@ -4,10 +4,9 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 import com.openclassrooms.starterjwt.auth.request.LoginRequest;
 import com.openclassrooms.starterjwt.security.jwt.JwtUtils;
+import com.openclassrooms.starterjwt.security.jwt.RefreshTokenManager;
 import com.openclassrooms.starterjwt.security.jwt.response.JwtResponse;
 import com.openclassrooms.starterjwt.security.service.UserDetailsImpl;
-import com.openclassrooms.starterjwt.user.model.User;
-import com.openclassrooms.starterjwt.user.repository.port.UserRepositoryPort;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
@@ -28,7 +27,7 @@ class AuthLoginServiceTest {
     private JwtUtils jwtUtils;
 
     @Mock
-    private UserRepositoryPort userRepositoryPort;
+    private RefreshTokenManager refreshTokenManager;
 
     @Mock
     private Authentication authentication;
@@ -50,18 +49,15 @@ class AuthLoginServiceTest {
                 "test@example.com",
                 "John",
                 "Doe",
-                false,
+                true,
                 "password"
         );
 
-        User user = new User();
-        user.setAdmin(true);
-
         when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
                 .thenReturn(authentication);
         when(authentication.getPrincipal()).thenReturn(userDetails);
-        when(jwtUtils.generateJwtToken(authentication)).thenReturn("jwt-token");
-        when(userRepositoryPort.getByEmail(userDetails.getUsername())).thenReturn(user);
+        when(jwtUtils.generateJwtToken(eq(authentication), anyString())).thenReturn("jwt-token");
+        when(refreshTokenManager.issue(eq(1L), anyString())).thenReturn("refresh-token");
 
         // Act
         JwtResponse jwtResponse = authLoginService.execute(loginRequest);
@@ -69,14 +65,17 @@ class AuthLoginServiceTest {
         // Assert
         assertNotNull(jwtResponse);
         assertEquals("jwt-token", jwtResponse.getToken());
+        assertEquals("refresh-token", jwtResponse.getRefreshToken());
         assertEquals(userDetails.getId(), jwtResponse.getId());
         assertEquals(userDetails.getUsername(), jwtResponse.getUsername());
         assertEquals(userDetails.getFirstName(), jwtResponse.getFirstName());
         assertEquals(userDetails.getLastName(), jwtResponse.getLastName());
+        assertTrue(jwtResponse.getAdmin());
 
         verify(authenticationManager).authenticate(any(UsernamePasswordAuthenticationToken.class));
-        verify(jwtUtils).generateJwtToken(authentication);
-        verify(userRepositoryPort).getByEmail(userDetails.getUsername());
+        ArgumentCaptor<String> familyId = ArgumentCaptor.forClass(String.class);
+        verify(jwtUtils).generateJwtToken(eq(authentication), familyId.capture());
+        verify(refreshTokenManager).issue(1L, familyId.getValue());
     }
 
     @Test
@@ -95,14 +94,10 @@ class AuthLoginServiceTest {
                 "password"
         );
 
-        User user = new User();
-        user.setAdmin(false);
-
         when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
                 .thenReturn(authentication);
         when(authentication.getPrincipal()).thenReturn(userDetails);
-        when(jwtUtils.generateJwtToken(authentication)).thenReturn("jwt-token-2");
-        when(userRepositoryPort.getByEmail(userDetails.getUsername())).thenReturn(user);
+        when(jwtUtils.generateJwtToken(eq(authentication), anyString())).thenReturn("jwt-token-2");
 
         // Act
         JwtResponse jwtResponse = authLoginService.execute(loginRequest);
@@ -129,7 +124,7 @@ class AuthLoginServiceTest {
     }
 
     @Test
-    void testExecute_userIsNull_shouldSetAdminFalse() {
+    void testExecute_adminUnknown_shouldSetAdminFalse() {
         // Arrange
         LoginRequest loginRequest = new LoginRequest();
         loginRequest.setEmail("missing@example.com");
@@ -140,21 +135,20 @@ class AuthLoginServiceTest {
                 "missing@example.com",
                 "Ghost",
                 "User",
-                false,
+                null,
                 "password"
         );
 
         when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
                 .thenReturn(authentication);
         when(authentication.getPrincipal()).thenReturn(userDetails);
-        when(jwtUtils.generateJwtToken(authentication)).thenReturn("jwt-token-3");
-        when(userRepositoryPort.getByEmail(userDetails.getUsername())).thenReturn(null); // <-- user null
+        when(jwtUtils.generateJwtToken(eq(authentication), anyString())).thenReturn("jwt-token-3");
 
         // Act
         JwtResponse jwtResponse = authLoginService.execute(loginRequest);
 
         // Assert
         assertNotNull(jwtResponse);
-        assertFalse(jwtResponse.getAdmin(), "Admin should be false when user is null");
+        assertFalse(jwtResponse.getAdmin(), "Admin should be false when the principal does not carry it");
     }
 }
@@ -0,0 +1,82 @@
+package com.openclassrooms.starterjwt.auth.service;
+
+import com.openclassrooms.starterjwt.auth.repository.port.RefreshTokenRepositoryPort;
+import com.openclassrooms.starterjwt.common.exception.BadRequestException;
+import com.openclassrooms.starterjwt.common.exception.UnauthorizedException;
+import com.openclassrooms.starterjwt.common.response.MessageResponse;
+import com.openclassrooms.starterjwt.security.jwt.JwtUtils;
+import com.openclassrooms.starterjwt.security.jwt.TokenRevocationList;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.*;
+
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(org.mockito.junit.jupiter.MockitoExtension.class)
+class AuthLogoutServiceTest {
+
+    @Mock
+    private JwtUtils jwtUtils;
+
+    @Mock
+    private TokenRevocationList tokenRevocationList;
+
+    @Mock
+    private RefreshTokenRepositoryPort refreshTokenRepositoryPort;
+
+    @InjectMocks
+    private AuthLogoutService authLogoutService;
+
+    @Test
+    void should_revoke_token_until_its_expiration() {
+        // GIVEN
+        Date expiration = new Date((System.currentTimeMillis() / 1000 + 60) * 1000);
+        Claims claims = Jwts.claims().id("jti-1").expiration(expiration).build();
+        when(jwtUtils.parseJwtClaims("token")).thenReturn(claims);
+        when(jwtUtils.getSessionIdFromJwtClaims(claims)).thenReturn("family-1");
+
+        // WHEN
+        MessageResponse response = authLogoutService.execute("Bearer token");
+
+        // THEN
+        assertThat(response.getMessage()).isEqualTo("User logged out successfully!");
+        verify(tokenRevocationList).revoke("jti-1", expiration);
+        verify(refreshTokenRepositoryPort).revokeFamily("family-1");
+    }
+
+    @Test
+    void should_throw_unauthorized_when_header_missing() {
+        assertThatThrownBy(() -> authLogoutService.execute(null))
+            .isInstanceOf(UnauthorizedException.class);
+        assertThatThrownBy(() -> authLogoutService.execute("Basic abc"))
+            .isInstanceOf(UnauthorizedException.class);
+
+        verifyNoInteractions(jwtUtils, tokenRevocationList);
+    }
+
+    @Test
+    void should_throw_unauthorized_when_token_invalid() {
+        when(jwtUtils.parseJwtClaims("bad")).thenReturn(null);
+
+        assertThatThrownBy(() -> authLogoutService.execute("Bearer bad"))
+            .isInstanceOf(UnauthorizedException.class)
+            .hasMessage("Invalid token");
+
+        verifyNoInteractions(tokenRevocationList);
+    }
+
+    @Test
+    void should_throw_bad_request_when_token_has_no_jti() {
+        when(jwtUtils.parseJwtClaims("legacy")).thenReturn(Jwts.claims().subject("john@test.com").build());
+
+        assertThatThrownBy(() -> authLogoutService.execute("Bearer legacy"))
+            .isInstanceOf(BadRequestException.class);
+
+        verifyNoInteractions(tokenRevocationList);
+    }
+}
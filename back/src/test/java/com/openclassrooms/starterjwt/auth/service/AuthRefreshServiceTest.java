@@ -0,0 +1,112 @@
+package com.openclassrooms.starterjwt.auth.service;
+
+import com.openclassrooms.starterjwt.auth.model.RefreshToken;
+import com.openclassrooms.starterjwt.auth.repository.port.RefreshTokenRepositoryPort;
+import com.openclassrooms.starterjwt.auth.request.RefreshTokenRequest;
+import com.openclassrooms.starterjwt.common.exception.UnauthorizedException;
+import com.openclassrooms.starterjwt.security.jwt.JwtUtils;
+import com.openclassrooms.starterjwt.security.jwt.RefreshTokenManager;
+import com.openclassrooms.starterjwt.security.jwt.response.JwtResponse;
+import com.openclassrooms.starterjwt.user.model.User;
+import com.openclassrooms.starterjwt.user.repository.port.UserRepositoryPort;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.*;
+import org.springframework.security.core.Authentication;
+
+import java.util.Date;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(org.mockito.junit.jupiter.MockitoExtension.class)
+class AuthRefreshServiceTest {
+
+    @Mock
+    private JwtUtils jwtUtils;
+
+    @Mock
+    private RefreshTokenManager refreshTokenManager;
+
+    @Mock
+    private RefreshTokenRepositoryPort refreshTokenRepositoryPort;
+
+    @Mock
+    private UserRepositoryPort userRepositoryPort;
+
+    @InjectMocks
+    private AuthRefreshService authRefreshService;
+
+    private static RefreshTokenRequest request(String token) {
+        RefreshTokenRequest request = new RefreshTokenRequest();
+        request.setRefreshToken(token);
+        return request;
+    }
+
+    private static RefreshToken stored(Date expiresAt) {
+        return new RefreshToken()
+            .setId(10L)
+            .setFamilyId("family-1")
+            .setUser(new User().setId(1L))
+            .setExpiresAt(expiresAt);
+    }
+
+    @Test
+    void should_rotate_refresh_token_and_issue_access_token() {
+        // GIVEN
+        RefreshToken current = stored(new Date(System.currentTimeMillis() + 60_000));
+        User user = new User().setId(1L).setEmail("john@test.com").setFirstName("John").setLastName("Doe").setAdmin(true);
+
+        when(refreshTokenRepositoryPort.findByHash(RefreshTokenManager.hash("old"))).thenReturn(Optional.of(current));
+        when(refreshTokenRepositoryPort.markUsed(10L)).thenReturn(true);
+        when(userRepositoryPort.getById(1L)).thenReturn(user);
+        when(jwtUtils.generateJwtToken(any(Authentication.class), eq("family-1"))).thenReturn("jwt");
+        when(refreshTokenManager.issue(1L, "family-1")).thenReturn("new");
+
+        // WHEN
+        JwtResponse response = authRefreshService.execute(request("old"));
+
+        // THEN
+        assertThat(response.getToken()).isEqualTo("jwt");
+        assertThat(response.getRefreshToken()).isEqualTo("new");
+        assertThat(response.getUsername()).isEqualTo("john@test.com");
+        assertThat(response.getAdmin()).isTrue();
+        verify(refreshTokenRepositoryPort, never()).revokeFamily(any());
+    }
+
+    @Test
+    void should_revoke_family_when_token_reused() {
+        RefreshToken current = stored(new Date(System.currentTimeMillis() + 60_000));
+        when(refreshTokenRepositoryPort.findByHash(RefreshTokenManager.hash("old"))).thenReturn(Optional.of(current));
+        when(refreshTokenRepositoryPort.markUsed(10L)).thenReturn(false);
+
+        assertThatThrownBy(() -> authRefreshService.execute(request("old")))
+            .isInstanceOf(UnauthorizedException.class)
+            .hasMessage("Refresh token reuse detected");
+
+        verify(refreshTokenRepositoryPort).revokeFamily("family-1");
+        verifyNoInteractions(jwtUtils, refreshTokenManager);
+    }
+
+    @Test
+    void should_reject_unknown_token() {
+        when(refreshTokenRepositoryPort.findByHash(any())).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> authRefreshService.execute(request("unknown")))
+            .isInstanceOf(UnauthorizedException.class)
+            .hasMessage("Invalid refresh token");
+    }
+
+    @Test
+    void should_reject_expired_token() {
+        RefreshToken current = stored(new Date(System.currentTimeMillis() - 1_000));
+        when(refreshTokenRepositoryPort.findByHash(any())).thenReturn(Optional.of(current));
+
+        assertThatThrownBy(() -> authRefreshService.execute(request("old")))
+            .isInstanceOf(UnauthorizedException.class)
+            .hasMessage("Refresh token is expired");
+
+        verify(refreshTokenRepositoryPort, never()).markUsed(any());
+    }
+}
@@ -3,6 +3,7 @@ package com.openclassrooms.starterjwt.auth.service;
 import com.openclassrooms.starterjwt.auth.request.SignupRequest;
 import com.openclassrooms.starterjwt.common.exception.BadRequestException;
 import com.openclassrooms.starterjwt.common.response.MessageResponse;
+import com.openclassrooms.starterjwt.security.service.UserDetailsCache;
 import com.openclassrooms.starterjwt.user.model.User;
 import com.openclassrooms.starterjwt.user.repository.port.UserRepositoryPort;
 import org.junit.jupiter.api.Test;
@@ -21,6 +22,9 @@ class AuthRegisterServiceTest {
     @Mock
     private UserRepositoryPort userRepositoryPort;
 
+    @Mock
+    private UserDetailsCache userDetailsCache;
+
     @InjectMocks
     private AuthRegisterService authRegisterService;
 
@@ -52,6 +56,7 @@ class AuthRegisterServiceTest {
         assertThat(savedUser.getLastName()).isEqualTo("Doe");
         assertThat(savedUser.getPassword()).isEqualTo("encodedPassword");
         assertThat(savedUser.isAdmin()).isFalse();
+        verify(userDetailsCache).invalidate("john.doe@test.com");
     }
 
     @Test
@@ -69,5 +74,6 @@ class AuthRegisterServiceTest {
 
         verify(userRepositoryPort, never()).save(any());
         verify(passwordEncoder, never()).encode(any());
+        verifyNoInteractions(userDetailsCache);
     }
 }
@@ -4,6 +4,7 @@ import com.openclassrooms.starterjwt.common.error.builder.ErrorResponseBuilder;
 import com.openclassrooms.starterjwt.common.error.response.ErrorResponse;
 import com.openclassrooms.starterjwt.common.exception.BadRequestException;
 import com.openclassrooms.starterjwt.common.exception.handler.GlobalExceptionHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import jakarta.servlet.http.HttpServletRequest;
@@ -17,11 +18,13 @@ class GlobalExceptionHandlerBadRequestTest {
     private ErrorResponseBuilder builder;
     private GlobalExceptionHandler handler;
     private HttpServletRequest request;
+    private SimpleMeterRegistry meterRegistry;
 
     @BeforeEach
     void setUp() {
         builder = mock(ErrorResponseBuilder.class);
-        handler = new GlobalExceptionHandler(builder);
+        meterRegistry = new SimpleMeterRegistry();
+        handler = new GlobalExceptionHandler(builder, meterRegistry);
         request = mock(HttpServletRequest.class);
     }
 
@@ -2,9 +2,18 @@ package com.openclassrooms.starterjwt.common.exception.handler;
 
 import com.openclassrooms.starterjwt.common.error.builder.ErrorResponseBuilder;
 import com.openclassrooms.starterjwt.common.error.response.ErrorResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import java.util.List;
+import java.time.Duration;
+import org.springframework.http.HttpHeaders;
+import com.openclassrooms.starterjwt.common.exception.TooManyRequestsException;
+import com.openclassrooms.starterjwt.common.exception.ServiceUnavailableException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.HttpMediaTypeNotSupportedException;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -15,11 +24,13 @@ class GlobalExceptionHandlerTest {
     private ErrorResponseBuilder builder;
     private GlobalExceptionHandler handler;
     private HttpServletRequest request;
+    private SimpleMeterRegistry meterRegistry;
 
     @BeforeEach
     void setUp() {
         builder = mock(ErrorResponseBuilder.class);
-        handler = new GlobalExceptionHandler(builder);
+        meterRegistry = new SimpleMeterRegistry();
+        handler = new GlobalExceptionHandler(builder, meterRegistry);
         request = mock(HttpServletRequest.class);
     }
 
@@ -58,6 +69,57 @@ class GlobalExceptionHandlerTest {
         assertThat(responseEntity.getBody()).isEqualTo(fakeResponse);
     }
 
+    @Test
+    void handleAny_shouldKeepStatus_forSpringMvcException() {
+        HttpMediaTypeNotSupportedException ex =
+                new HttpMediaTypeNotSupportedException(MediaType.APPLICATION_JSON, List.of(MediaType.TEXT_PLAIN));
+
+        var responseEntity = handler.handleAny(ex, request);
+
+        assertThat(responseEntity.getStatusCode()).isEqualTo(HttpStatus.UNSUPPORTED_MEDIA_TYPE);
+    }
+
+    @Test
+    void handleAny_shouldCountErrorsByExceptionAndStatus() {
+        handler.handleAny(new Exception("first"), request);
+        handler.handleAny(new Exception("second"), request);
+
+        assertThat(meterRegistry.get("http.server.errors")
+                .tag("exception", "Exception")
+                .tag("status", "500")
+                .counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void handleAny_shouldSetRetryAfterInWholeSeconds_forTooManyRequests() {
+        var responseEntity = handler.handleAny(
+            new TooManyRequestsException("Slow down", Duration.ofMillis(2100)), request);
+
+        assertThat(responseEntity.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(responseEntity.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("3");
+    }
+
+    @Test
+    void handleAny_shouldOmitRetryAfter_whenDelayUnknown() {
+        var responseEntity = handler.handleAny(new TooManyRequestsException("Slow down"), request);
+
+        assertThat(responseEntity.getHeaders().containsKey(HttpHeaders.RETRY_AFTER)).isFalse();
+    }
+
+    @Test
+    void handleAny_shouldReturnServiceUnavailable_whenBulkheadRejectionIsWrapped() {
+        Exception ex = new CannotCreateTransactionException(
+            "Could not open JPA EntityManager for transaction",
+            new ServiceUnavailableException("Database is busy, please retry later"));
+
+        var responseEntity = handler.handleAny(ex, request);
+
+        assertThat(responseEntity.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(meterRegistry.get("http.server.errors")
+                .tag("exception", "ServiceUnavailableException")
+                .counter().count()).isEqualTo(1);
+    }
+
     @Test
     void resolveHttpStatus_shouldReturnInternalServerError_ifNoResponseStatusAnnotation() throws Exception {
         // Reflection pour tester la méthode privée
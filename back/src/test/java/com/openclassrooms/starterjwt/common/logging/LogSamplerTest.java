@@ -0,0 +1,45 @@
+package com.openclassrooms.starterjwt.common.logging;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LogSamplerTest {
+
+    private enum Reason { EXPIRED, MALFORMED }
+
+    private final AtomicLong clock = new AtomicLong();
+    private final LogSampler<Reason> sampler = new LogSampler<>(Reason.class, 2, Duration.ofSeconds(10), clock::get);
+
+    @Test
+    void sample_shouldLetBurstThroughThenSuppress() {
+        assertThat(sampler.sample(Reason.EXPIRED)).isZero();
+        assertThat(sampler.sample(Reason.EXPIRED)).isZero();
+        assertThat(sampler.sample(Reason.EXPIRED)).isEqualTo(-1);
+        assertThat(sampler.sample(Reason.EXPIRED)).isEqualTo(-1);
+    }
+
+    @Test
+    void sample_shouldReportSuppressedCountWhenNextWindowOpens() {
+        for (int i = 0; i < 5; i++) {
+            sampler.sample(Reason.EXPIRED);
+        }
+
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        assertThat(sampler.sample(Reason.EXPIRED)).isEqualTo(3);
+        assertThat(sampler.sample(Reason.EXPIRED)).isZero();
+    }
+
+    @Test
+    void sample_shouldKeepIndependentBudgetPerKey() {
+        sampler.sample(Reason.EXPIRED);
+        sampler.sample(Reason.EXPIRED);
+        sampler.sample(Reason.EXPIRED);
+
+        assertThat(sampler.sample(Reason.MALFORMED)).isZero();
+    }
+}
@@ -0,0 +1,31 @@
+package com.openclassrooms.starterjwt.common.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResourceVersionTest {
+
+    private static final LocalDateTime UPDATED_AT = LocalDateTime.of(2025, 3, 1, 9, 30, 15, 123_456_000);
+
+    @Test
+    void etag_shouldChange_withMicrosecondsOrCount() {
+        String etag = new ResourceVersion(3L, UPDATED_AT).etag();
+
+        assertThat(etag).startsWith("\"3-").endsWith("\"");
+        assertThat(new ResourceVersion(3L, UPDATED_AT.plusNanos(1_000)).etag()).isNotEqualTo(etag);
+        assertThat(new ResourceVersion(2L, UPDATED_AT).etag()).isNotEqualTo(etag);
+        assertThat(new ResourceVersion(3L, UPDATED_AT).etag()).isEqualTo(etag);
+    }
+
+    @Test
+    void emptyVersion_shouldNotExist() {
+        ResourceVersion empty = new ResourceVersion(0L, null);
+
+        assertThat(empty.exists()).isFalse();
+        assertThat(empty.etag()).isEqualTo("\"0-0\"");
+        assertThat(empty.lastModifiedMillis()).isEqualTo(-1);
+    }
+}
@@ -0,0 +1,104 @@
+package com.openclassrooms.starterjwt.configuration;
+
+import com.openclassrooms.starterjwt.common.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+class BulkheadDataSourceTest {
+
+    private DataSource target;
+    private DatabaseBulkhead bulkhead;
+    private BulkheadDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        target = mock(DataSource.class);
+        when(target.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        bulkhead = new DatabaseBulkhead(2, Duration.ofMillis(50), new SimpleMeterRegistry());
+        dataSource = new BulkheadDataSource(target, () -> bulkhead);
+    }
+
+    @Test
+    void getConnection_shouldHoldPermitUntilClose() throws SQLException {
+        Connection connection = dataSource.getConnection();
+        assertThat(bulkhead.availablePermits()).isEqualTo(1);
+
+        connection.close();
+        connection.close();
+
+        assertThat(bulkhead.availablePermits()).isEqualTo(2);
+    }
+
+    @Test
+    void getConnection_shouldReject_whenEveryPermitIsHeld() throws Exception {
+        // Un permis par thread : deux autres threads les tiennent tous
+        borrowOnAnotherThread();
+        borrowOnAnotherThread();
+
+        assertThatThrownBy(dataSource::getConnection)
+            .isInstanceOf(ServiceUnavailableException.class);
+        verify(target, times(2)).getConnection();
+    }
+
+    @Test
+    void nestedGetConnection_shouldNotWaitForASecondPermit() throws Exception {
+        borrowOnAnotherThread();
+        Connection outer = dataSource.getConnection();
+        assertThat(bulkhead.availablePermits()).isZero();
+
+        // Bloc d'ids lu en transaction isolée pendant que la transaction d'insertion garde sa connexion
+        Connection nested = dataSource.getConnection();
+        nested.close();
+        assertThat(bulkhead.availablePermits()).isZero();
+
+        outer.close();
+        assertThat(bulkhead.availablePermits()).isEqualTo(1);
+        dataSource.getConnection().close();
+        assertThat(bulkhead.availablePermits()).isEqualTo(1);
+    }
+
+    private void borrowOnAnotherThread() throws Exception {
+        Thread thread = new Thread(() -> {
+            try {
+                dataSource.getConnection();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        thread.start();
+        thread.join();
+    }
+
+    @Test
+    void getConnection_shouldGiveBackPermit_whenPoolFails() throws SQLException {
+        when(target.getConnection()).thenThrow(new SQLException("pool timeout"));
+
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLException.class);
+
+        assertThat(bulkhead.availablePermits()).isEqualTo(2);
+    }
+
+    @Test
+    void connection_shouldDelegateOtherCalls() throws SQLException {
+        Connection pooled = mock(Connection.class);
+        doThrow(new SQLException("broken")).when(pooled).commit();
+        when(target.getConnection()).thenReturn(pooled);
+        Connection connection = dataSource.getConnection();
+
+        connection.setAutoCommit(false);
+
+        verify(pooled).setAutoCommit(false);
+        assertThat(connection).isEqualTo(connection).isNotEqualTo(pooled);
+        assertThatThrownBy(connection::commit).isInstanceOf(SQLException.class).hasMessage("broken");
+    }
+}
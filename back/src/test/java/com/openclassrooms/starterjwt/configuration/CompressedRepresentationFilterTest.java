@@ -0,0 +1,121 @@
+package com.openclassrooms.starterjwt.configuration;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompressedRepresentationFilterTest {
+
+    private static final String BODY = "[" + "{\"name\":\"Yoga\",\"email\":\"yoga@studio.com\"},".repeat(100) + "{}]";
+
+    private SimpleMeterRegistry meterRegistry;
+    private CompressedRepresentationFilter filter;
+    private AtomicInteger calls;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new CompressedRepresentationFilter(
+            Caffeine.newBuilder().maximumSize(10).build(),
+            List.of("application/json"),
+            DataSize.ofKilobytes(1),
+            meterRegistry
+        );
+        calls = new AtomicInteger();
+    }
+
+    private FilterChain chain(String etag, String body, int status) {
+        return (request, response) -> {
+            calls.incrementAndGet();
+            HttpServletResponse http = (HttpServletResponse) response;
+            http.setStatus(status);
+            if (etag != null) {
+                http.setHeader(HttpHeaders.ETAG, etag);
+            }
+            http.setContentType("application/json");
+            http.getOutputStream().write(body.getBytes(StandardCharsets.UTF_8));
+        };
+    }
+
+    private static MockHttpServletRequest gzipRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/session");
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate");
+        return request;
+    }
+
+    private static String gunzip(byte[] bytes) throws Exception {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    @Test
+    void shouldCompressVersionedRepresentation_andReuseItWhileVersionUnchanged() throws Exception {
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        filter.doFilter(gzipRequest(), first, chain("\"2-abc\"", BODY, 200));
+        MockHttpServletResponse second = new MockHttpServletResponse();
+        filter.doFilter(gzipRequest(), second, chain("\"2-abc\"", BODY, 200));
+
+        assertThat(first.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(first.getHeader(HttpHeaders.ETAG)).isEqualTo("W/\"2-abc\"");
+        assertThat(first.getHeader(HttpHeaders.VARY)).isEqualTo(HttpHeaders.ACCEPT_ENCODING);
+        assertThat(first.getContentAsByteArray().length).isLessThan(BODY.length() / 5);
+        assertThat(gunzip(first.getContentAsByteArray())).isEqualTo(BODY);
+        assertThat(second.getContentAsByteArray()).isEqualTo(first.getContentAsByteArray());
+
+        assertThat(meterRegistry.get("http.response.compression").tag("cache", "miss").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("http.response.compression").tag("cache", "hit").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("http.response.compression.bytes").tag("encoding", "identity").summary().totalAmount())
+            .isEqualTo(2.0 * BODY.length());
+    }
+
+    @Test
+    void shouldCompressAgain_whenVersionChanges() throws Exception {
+        filter.doFilter(gzipRequest(), new MockHttpServletResponse(), chain("\"2-abc\"", BODY, 200));
+        MockHttpServletResponse changed = new MockHttpServletResponse();
+        filter.doFilter(gzipRequest(), changed, chain("\"3-def\"", BODY + " ", 200));
+
+        assertThat(gunzip(changed.getContentAsByteArray())).isEqualTo(BODY + " ");
+        assertThat(meterRegistry.get("http.response.compression").tag("cache", "miss").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldPassThrough_whenClientDoesNotAcceptGzip() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/session"), response, chain("\"2-abc\"", BODY, 200));
+
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(response.getContentAsString()).isEqualTo(BODY);
+    }
+
+    @Test
+    void shouldPassThrough_whenBelowThresholdOrUnversionedOrNotOk() throws Exception {
+        MockHttpServletResponse small = new MockHttpServletResponse();
+        filter.doFilter(gzipRequest(), small, chain("\"1-a\"", "[]", 200));
+        MockHttpServletResponse unversioned = new MockHttpServletResponse();
+        filter.doFilter(gzipRequest(), unversioned, chain(null, BODY, 200));
+        MockHttpServletResponse notModified = new MockHttpServletResponse();
+        filter.doFilter(gzipRequest(), notModified, chain("\"1-a\"", "", 304));
+
+        assertThat(small.getContentAsString()).isEqualTo("[]");
+        assertThat(unversioned.getContentAsString()).isEqualTo(BODY);
+        assertThat(notModified.getStatus()).isEqualTo(304);
+        assertThat(List.of(small, unversioned, notModified))
+            .allSatisfy(response -> assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull());
+    }
+}
@@ -0,0 +1,60 @@
+package com.openclassrooms.starterjwt.configuration;
+
+import com.openclassrooms.starterjwt.common.exception.ServiceUnavailableException;
+import com.openclassrooms.starterjwt.session.service.ParticipateSessionService;
+import com.openclassrooms.starterjwt.teacher.repository.port.TeacherRepositoryPort;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+    "spring.threads.virtual.enabled=true",
+    "spring.datasource.hikari.maximum-pool-size=4",
+    "oc.app.databaseBulkhead.maxWait=100ms"
+})
+class ConcurrencyConfigTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private TeacherRepositoryPort teacherRepositoryPort;
+
+    @Autowired
+    private ParticipateSessionService participateSessionService;
+
+    @Autowired
+    private DatabaseBulkhead databaseBulkhead;
+
+    @Test
+    void virtualThreads_shouldPutDataSourceBehindBulkhead() throws SQLException {
+        assertThat(dataSource.isWrapperFor(BulkheadDataSource.class)).isTrue();
+
+        assertThat(teacherRepositoryPort.findAll()).isNotNull();
+        // Taille du pool moins la marge réservée aux emprunts imbriqués
+        assertThat(databaseBulkhead.availablePermits()).isEqualTo(2);
+    }
+
+    @Test
+    void transactionalUseCase_shouldBeRejected_whenPermitsAreExhausted() {
+        for (int i = 0; i < 2; i++) {
+            databaseBulkhead.acquire();
+        }
+        try {
+            // La connexion est prise à l'ouverture de la transaction : c'est là que le permis manque
+            assertThatThrownBy(() -> participateSessionService.execute(1L, 1L))
+                .hasRootCauseInstanceOf(ServiceUnavailableException.class);
+        } finally {
+            for (int i = 0; i < 2; i++) {
+                databaseBulkhead.release();
+            }
+        }
+        assertThat(databaseBulkhead.availablePermits()).isEqualTo(2);
+    }
+}
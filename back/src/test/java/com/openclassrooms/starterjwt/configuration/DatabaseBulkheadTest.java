@@ -0,0 +1,48 @@
+package com.openclassrooms.starterjwt.configuration;
+
+import com.openclassrooms.starterjwt.common.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DatabaseBulkheadTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService callers = Executors.newFixedThreadPool(2);
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+    }
+
+    @Test
+    void acquire_shouldShedLoad_whenPermitsAreExhausted() {
+        DatabaseBulkhead bulkhead = new DatabaseBulkhead(1, Duration.ofMillis(50), meterRegistry);
+        bulkhead.acquire();
+
+        assertThatThrownBy(bulkhead::acquire)
+            .isInstanceOf(ServiceUnavailableException.class);
+        assertThat(meterRegistry.get("database.bulkhead.rejected").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("database.bulkhead.available").gauge().value()).isZero();
+    }
+
+    @Test
+    void acquire_shouldWait_forReleasedPermit() throws Exception {
+        DatabaseBulkhead bulkhead = new DatabaseBulkhead(1, Duration.ofSeconds(5), meterRegistry);
+        bulkhead.acquire();
+
+        Future<?> waiter = callers.submit(bulkhead::acquire);
+        Thread.sleep(50);
+        assertThat(waiter.isDone()).isFalse();
+
+        bulkhead.release();
+        waiter.get(5, TimeUnit.SECONDS);
+        assertThat(bulkhead.availablePermits()).isZero();
+    }
+}
@@ -0,0 +1,77 @@
+package com.openclassrooms.starterjwt.configuration;
+
+import com.openclassrooms.starterjwt.common.exception.NotFoundException;
+import com.openclassrooms.starterjwt.session.repository.adapter.SessionRepositoryAdapter;
+import com.openclassrooms.starterjwt.session.repository.port.SessionRepositoryPort;
+import com.openclassrooms.starterjwt.session.service.GetSessionService;
+import com.openclassrooms.starterjwt.session.service.ParticipateSessionService;
+import com.openclassrooms.starterjwt.teacher.service.TeacherCatalog;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class LayerMetricsPostProcessorTest {
+
+    @Autowired
+    private GetSessionService getSessionService;
+
+    @Autowired
+    private SessionRepositoryPort sessionRepositoryPort;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void shouldTimeUseCasesAndPortsWithOutcome() {
+        assertThatThrownBy(() -> getSessionService.execute(-1L)).isInstanceOf(NotFoundException.class);
+
+        Timer useCase = meterRegistry.get(LayerMetricsPostProcessor.USE_CASE_TIMER)
+            .tag("usecase", "GetSessionService")
+            .tag("method", "execute")
+            .tag("outcome", "error")
+            .tag("exception", "NotFoundException")
+            .timer();
+        Timer port = meterRegistry.get(LayerMetricsPostProcessor.PORT_TIMER)
+            .tag("port", "SessionRepositoryPort")
+            .tag("method", "getWithParticipantsById")
+            .tag("exception", "NotFoundException")
+            .timer();
+        assertThat(useCase.count()).isGreaterThanOrEqualTo(1);
+        assertThat(port.count()).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    void shouldRecordSuccessfulPortCalls() {
+        long before = successCount();
+
+        sessionRepositoryPort.findAll();
+
+        assertThat(successCount()).isEqualTo(before + 1);
+    }
+
+    private long successCount() {
+        Timer timer = meterRegistry.find(LayerMetricsPostProcessor.PORT_TIMER)
+            .tag("port", "SessionRepositoryPort")
+            .tag("method", "findAll")
+            .tag("outcome", "success")
+            .timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    @Test
+    void shouldSelectUseCasesAndPortsOnly() {
+        assertThat(LayerMetricsPostProcessor.isUseCase(GetSessionService.class)).isTrue();
+        assertThat(LayerMetricsPostProcessor.isUseCase(ParticipateSessionService.class)).isTrue();
+        assertThat(LayerMetricsPostProcessor.isUseCase(TeacherCatalog.class)).isFalse();
+        assertThat(LayerMetricsPostProcessor.isUseCase(UserDetailsService.class)).isFalse();
+        assertThat(LayerMetricsPostProcessor.repositoryPort(SessionRepositoryAdapter.class)).contains(SessionRepositoryPort.class);
+        assertThat(LayerMetricsPostProcessor.repositoryPort(GetSessionService.class)).isEmpty();
+    }
+}
@@ -0,0 +1,74 @@
+package com.openclassrooms.starterjwt.configuration;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestLogFilterTest {
+
+    private final Logger logger = (Logger) LoggerFactory.getLogger(RequestLogFilter.class);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    @BeforeEach
+    void setUp() {
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.detachAppender(appender);
+    }
+
+    private static Map<String, Object> keyValues(ILoggingEvent event) {
+        return event.getKeyValuePairs().stream()
+            .filter(pair -> pair.value != null)
+            .collect(Collectors.toMap(pair -> pair.key, pair -> pair.value));
+    }
+
+    @Test
+    void doFilter_shouldLogOneStructuredLinePerRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/session/1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        SqlStatementTrace trace = new SqlStatementTrace(1);
+        trace.record("select * from sessions where id = ?", 3, false);
+
+        new RequestLogFilter().doFilter(request, response, (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/session/{id}");
+            req.setAttribute(SqlTracingFilter.TRACE_ATTRIBUTE, trace);
+            ((MockHttpServletResponse) res).setStatus(404);
+        });
+
+        assertThat(appender.list).hasSize(1);
+        assertThat(keyValues(appender.list.get(0)))
+            .containsEntry("http.request.method", "GET")
+            .containsEntry("url.path", "/api/session/1")
+            .containsEntry("http.route", "/api/session/{id}")
+            .containsEntry("http.response.status_code", 404)
+            .containsEntry("db.statements", 1)
+            .containsEntry("db.time_ms", 3L)
+            .containsKey("event.duration_ms");
+    }
+
+    @Test
+    void doFilter_shouldWaitForAsyncCompletion() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/session/export");
+        request.setAsyncSupported(true);
+
+        new RequestLogFilter().doFilter(request, new MockHttpServletResponse(), (req, res) -> req.startAsync());
+
+        assertThat(appender.list).isEmpty();
+    }
+}
@@ -0,0 +1,99 @@
+package com.openclassrooms.starterjwt.configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.openclassrooms.starterjwt.session.dto.SessionDto;
+import com.openclassrooms.starterjwt.user.dto.UserDto;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Coût par requête d'une liste de {@code SessionDto} (participants imbriqués) : sérialisation seule,
+ * sérialisation + gzip à chaque requête, et sérialisation + représentation compressée lue dans le cache
+ * de {@link CompressedRepresentationFilter}. Les tailles sur le fil sont affichées avant les mesures.
+ * <p>
+ * Lancement : {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.openclassrooms.starterjwt.configuration.ResponseCompressionBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseCompressionBenchmark {
+
+    @Param({"20", "100"})
+    public int sessions;
+
+    private ObjectMapper objectMapper;
+    private List<SessionDto> payload;
+    private Cache<String, byte[]> cache;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = objectMapper();
+        payload = payload(sessions);
+        cache = Caffeine.newBuilder().maximumSize(10).build();
+        cache.put("key", CompressedRepresentationFilter.gzip(objectMapper.writeValueAsBytes(payload)));
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return objectMapper.writeValueAsBytes(payload);
+    }
+
+    @Benchmark
+    public byte[] serializeAndGzip() throws IOException {
+        return CompressedRepresentationFilter.gzip(objectMapper.writeValueAsBytes(payload));
+    }
+
+    @Benchmark
+    public byte[] serializeAndCachedGzip() throws IOException {
+        objectMapper.writeValueAsBytes(payload);
+        return cache.getIfPresent("key");
+    }
+
+    // Dates ISO, comme l'ObjectMapper de Spring Boot
+    static ObjectMapper objectMapper() {
+        return new ObjectMapper().findAndRegisterModules().disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    static List<SessionDto> payload(int sessions) {
+        LocalDateTime now = LocalDateTime.now();
+        return IntStream.range(0, sessions)
+            .mapToObj(i -> {
+                List<UserDto> users = IntStream.range(i * 20, i * 20 + 20)
+                    .mapToObj(u -> new UserDto((long) u, "user" + u + "@studio.com", "Lastname" + u, "Firstname" + u,
+                        false, now.minusMinutes(u), now.minusSeconds(u)))
+                    .toList();
+                return new SessionDto((long) i, "Session " + i, new Date(), 1L,
+                    "Relaxing morning yoga session", 30, users.size(), users, now.minusHours(i), now.minusMinutes(i));
+            })
+            .toList();
+    }
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        ObjectMapper objectMapper = objectMapper();
+        for (int sessions : new int[]{20, 100}) {
+            byte[] json = objectMapper.writeValueAsBytes(payload(sessions));
+            byte[] gzip = CompressedRepresentationFilter.gzip(json);
+            System.out.printf("sessions=%d identity=%d bytes gzip=%d bytes ratio=%.1f%%%n",
+                sessions, json.length, gzip.length, 100.0 * gzip.length / json.length);
+        }
+        new Runner(new OptionsBuilder()
+                .include(ResponseCompressionBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,41 @@
+package com.openclassrooms.starterjwt.configuration;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SqlStatementTraceTest {
+
+    @Test
+    void shape_shouldIgnoreLiteralsWhitespaceAndInListLength() {
+        assertThat(SqlStatementTrace.shape("select u1_0.id from users u1_0\n  where u1_0.id = 42 and u1_0.email='a''b'"))
+            .isEqualTo("select u1_0.id from users u1_0 where u1_0.id = ? and u1_0.email=?");
+        assertThat(SqlStatementTrace.shape("select * from teachers where id in (?, ?, ?)"))
+            .isEqualTo(SqlStatementTrace.shape("select * from teachers where id in (?,?)"));
+    }
+
+    @Test
+    void repeatedShapes_shouldReportOnlyShapesAboveThreshold() {
+        SqlStatementTrace trace = new SqlStatementTrace(10);
+        for (long id = 1; id <= 4; id++) {
+            trace.record("select * from teachers where id = " + id, 1, false);
+        }
+        trace.record("select * from sessions", 3, false);
+
+        assertThat(trace.getStatements()).isEqualTo(5);
+        assertThat(trace.getElapsedMs()).isEqualTo(7);
+        assertThat(trace.repeatedShapes(3)).containsOnlyKeys("select * from teachers where id = ?");
+        assertThat(trace.repeatedShapes(4)).isEmpty();
+    }
+
+    @Test
+    void record_shouldKeepBoundedListOfSlowStatements() {
+        SqlStatementTrace trace = new SqlStatementTrace(2);
+        for (int i = 0; i < 5; i++) {
+            trace.record("select " + i, 500, true);
+        }
+
+        assertThat(trace.getSlowStatements()).hasSize(2);
+        assertThat(trace.getStatements()).isEqualTo(5);
+    }
+}
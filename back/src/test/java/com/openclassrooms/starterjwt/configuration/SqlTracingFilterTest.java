@@ -0,0 +1,102 @@
+package com.openclassrooms.starterjwt.configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SqlTracingFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private SqlTracingListener listener;
+    private SqlTracingFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        listener = new SqlTracingListener(Duration.ofMillis(100), provider(meterRegistry));
+        filter = new SqlTracingFilter(3, 5, meterRegistry);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ObjectProvider<MeterRegistry> provider(SimpleMeterRegistry registry) {
+        ObjectProvider<MeterRegistry> provider = mock(ObjectProvider.class);
+        when(provider.getObject()).thenReturn(registry);
+        return provider;
+    }
+
+    private void execute(String sql, long elapsedMs) {
+        ExecutionInfo execution = new ExecutionInfo();
+        execution.setElapsedTime(elapsedMs);
+        listener.afterQuery(execution, List.of(new QueryInfo(sql)));
+    }
+
+    private static MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/session/1");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/session/{id}");
+        return request;
+    }
+
+    @Test
+    void doFilter_shouldAttachStatementCountAndDatabaseTimeToRequest() throws Exception {
+        MockHttpServletRequest request = request();
+        FilterChain chain = (req, res) -> {
+            execute("select * from sessions where id = 1", 4);
+            execute("select * from teachers where id = 2", 6);
+        };
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        SqlStatementTrace trace = (SqlStatementTrace) request.getAttribute(SqlTracingFilter.TRACE_ATTRIBUTE);
+        assertThat(trace.getStatements()).isEqualTo(2);
+        assertThat(trace.getElapsedMs()).isEqualTo(10);
+        assertThat(meterRegistry.get("http.server.requests.db.statements").tag("uri", "/api/session/{id}")
+            .summary().totalAmount()).isEqualTo(2);
+        assertThat(meterRegistry.get("http.server.requests.db.time").tag("uri", "/api/session/{id}")
+            .timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.find("http.server.requests.db.nplusone").counter()).isNull();
+        // Le relevé ne survit pas à la requête
+        assertThat(SqlStatementTrace.current()).isNull();
+    }
+
+    @Test
+    void doFilter_shouldFlagSameStatementShapeRepeatedAboveThreshold() throws Exception {
+        FilterChain chain = (req, res) -> {
+            execute("select * from sessions", 2);
+            for (long id = 1; id <= 4; id++) {
+                execute("select * from users where id = " + id, 1);
+            }
+        };
+
+        filter.doFilter(request(), new MockHttpServletResponse(), chain);
+
+        assertThat(meterRegistry.get("http.server.requests.db.nplusone").tag("uri", "/api/session/{id}")
+            .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void afterQuery_shouldCountSlowStatementsInsideAndOutsideRequests() throws Exception {
+        MockHttpServletRequest request = request();
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> execute("select sleep(1)", 150));
+        execute("delete from refresh_tokens where expiry_date < now()", 300);
+
+        SqlStatementTrace trace = (SqlStatementTrace) request.getAttribute(SqlTracingFilter.TRACE_ATTRIBUTE);
+        assertThat(trace.getSlowStatements())
+            .containsExactly(new SqlStatementTrace.SlowStatement("select sleep(1)", 150));
+        assertThat(meterRegistry.get(SqlTracingListener.SLOW_STATEMENTS_COUNTER).counter().count()).isEqualTo(2);
+    }
+}
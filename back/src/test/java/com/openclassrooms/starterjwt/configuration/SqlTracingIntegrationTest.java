@@ -0,0 +1,56 @@
+package com.openclassrooms.starterjwt.configuration;
+
+import com.zaxxer.hikari.HikariDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class SqlTracingIntegrationTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void dataSource_shouldBeTracedWhileStillExposingHikariPool() throws Exception {
+        assertThat(dataSource).isInstanceOf(ProxyDataSource.class);
+        assertThat(dataSource.isWrapperFor(HikariDataSource.class)).isTrue();
+
+        SqlStatementTrace trace = SqlStatementTrace.start(10);
+        try {
+            new JdbcTemplate(dataSource).queryForObject("select count(*) from sessions", Long.class);
+        } finally {
+            SqlStatementTrace.stop();
+        }
+
+        assertThat(trace.getStatements()).isEqualTo(1);
+    }
+
+    @Test
+    @WithMockUser
+    void request_shouldCarryItsStatementTrace() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/session/{id}", -1L))
+            .andExpect(status().isNotFound())
+            .andReturn();
+
+        SqlStatementTrace trace = (SqlStatementTrace) result.getRequest().getAttribute(SqlTracingFilter.TRACE_ATTRIBUTE);
+        assertThat(trace).isNotNull();
+        assertThat(trace.getStatements()).isPositive();
+    }
+}
@@ -0,0 +1,150 @@
+package com.openclassrooms.starterjwt.configuration;
+
+import com.openclassrooms.starterjwt.SpringBootSecurityJwtApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Test de charge comparant le mode threads plateforme (pool Tomcat de 200) et le mode threads virtuels.
+ * <p>
+ * Chaque mode démarre l'application sur un port aléatoire, puis {@code load.clients} clients concurrents
+ * enchaînent {@code load.requests} lectures authentifiées de {@code GET /api/session}. On relève
+ * p50/p99, les refus (503 du bulkhead), le pic de threads et le tas utilisé après GC.
+ * <p>
+ * Par défaut la base est H2 en mémoire, sans attente réseau : le gain du mode virtuel y est sous-estimé.
+ * Pour une mesure réaliste, passer {@code -Dspring.datasource.url=jdbc:mysql://...} et les identifiants.
+ * <p>
+ * Lancement : {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.openclassrooms.starterjwt.configuration.VirtualThreadsLoadBenchmark}
+ */
+public class VirtualThreadsLoadBenchmark {
+
+    private static final int CLIENTS = Integer.getInteger("load.clients", 500);
+    private static final int REQUESTS_PER_CLIENT = Integer.getInteger("load.requests", 40);
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+
+    public static void main(String[] args) throws Exception {
+        for (boolean virtualThreads : new boolean[]{false, true}) {
+            run(virtualThreads);
+        }
+    }
+
+    private static void run(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = start(virtualThreads)) {
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            HttpClient client = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+            String token = login(client, baseUrl);
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/session"))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+
+            // Échauffement JIT et pool de connexions
+            load(client, request, 50, 20, new AtomicInteger());
+
+            ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+            threads.resetPeakThreadCount();
+            AtomicInteger rejected = new AtomicInteger();
+            long start = System.nanoTime();
+            List<Long> latencies = load(client, request, CLIENTS, REQUESTS_PER_CLIENT, rejected);
+            long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+            MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+            long heapBeforeGc = memory.getHeapMemoryUsage().getUsed();
+            System.gc();
+            long heapAfterGc = memory.getHeapMemoryUsage().getUsed();
+
+            Collections.sort(latencies);
+            System.out.printf(
+                "%-9s requests=%d elapsed=%dms p50=%.2fms p99=%.2fms max=%.2fms rejected=%d peakThreads=%d heap=%dMB (after GC %dMB)%n",
+                virtualThreads ? "virtual" : "platform",
+                latencies.size(),
+                elapsedMs,
+                percentile(latencies, 0.50),
+                percentile(latencies, 0.99),
+                latencies.get(latencies.size() - 1) / 1_000_000.0,
+                rejected.get(),
+                threads.getPeakThreadCount(),
+                heapBeforeGc / (1024 * 1024),
+                heapAfterGc / (1024 * 1024)
+            );
+        }
+    }
+
+    private static ConfigurableApplicationContext start(boolean virtualThreads) {
+        // Arguments de ligne de commande : ils priment sur application.yml
+        return new SpringApplicationBuilder(SpringBootSecurityJwtApplication.class).run(
+                "--server.port=0",
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--spring.datasource.url=" + System.getProperty("spring.datasource.url",
+                    "jdbc:h2:mem:load;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;"
+                        + "INIT=CREATE SCHEMA IF NOT EXISTS test\\;SET SCHEMA test"),
+                "--spring.datasource.driver-class-name=" + System.getProperty("spring.datasource.driver-class-name", "org.h2.Driver"),
+                "--spring.datasource.username=" + System.getProperty("spring.datasource.username", "sa"),
+                "--spring.datasource.password=" + System.getProperty("spring.datasource.password", ""),
+                "--spring.docker.compose.enabled=false",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=warn"
+            );
+    }
+
+    private static String login(HttpClient client, String baseUrl) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString("{\"email\":\"yoga@studio.com\",\"password\":\"test!1234\"}"))
+            .build();
+        String body = client.send(request, HttpResponse.BodyHandlers.ofString()).body();
+        Matcher matcher = TOKEN.matcher(body);
+        if (!matcher.find()) {
+            throw new IllegalStateException("Login failed: " + body);
+        }
+        return matcher.group(1);
+    }
+
+    private static List<Long> load(HttpClient client, HttpRequest request, int clients, int requestsPerClient,
+                                   AtomicInteger rejected) throws Exception {
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>(clients * requestsPerClient));
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>(clients);
+            for (int i = 0; i < clients; i++) {
+                futures.add(executor.submit(() -> {
+                    for (int r = 0; r < requestsPerClient; r++) {
+                        long start = System.nanoTime();
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        latencies.add(System.nanoTime() - start);
+                        if (response.statusCode() != 200) {
+                            rejected.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        return new ArrayList<>(latencies);
+    }
+
+    private static double percentile(List<Long> sorted, double percentile) {
+        int index = (int) Math.ceil(percentile * sorted.size()) - 1;
+        return sorted.get(Math.max(index, 0)) / 1_000_000.0;
+    }
+}
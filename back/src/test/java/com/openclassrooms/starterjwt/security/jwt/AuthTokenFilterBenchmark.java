@@ -0,0 +1,127 @@
+package com.openclassrooms.starterjwt.security.jwt;
+
+import com.openclassrooms.starterjwt.auth.repository.port.RevokedTokenRepositoryPort;
+import com.openclassrooms.starterjwt.security.service.UserDetailsImpl;
+import com.openclassrooms.starterjwt.security.service.UserDetailsServiceImpl;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Coût de l'authentification d'une requête par {@link AuthTokenFilter}.
+ * <ul>
+ *     <li>{@code claimsToken} : chemin actuel, une seule vérification et aucun accès à la base ;</li>
+ *     <li>{@code legacyToken} : jeton sans claims utilisateur, repli sur {@link UserDetailsServiceImpl} ;</li>
+ *     <li>{@code doubleParseWithLookup} : étapes de l'ancien filtre (validation, relecture du sujet, chargement de l'utilisateur).</li>
+ * </ul>
+ * Le service utilisateur est un bouchon : le gain réel en production inclut en plus l'aller-retour SQL évité.
+ * <p>
+ * Lancement : {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.openclassrooms.starterjwt.security.jwt.AuthTokenFilterBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthTokenFilterBenchmark {
+
+    private static final String SECRET = "FYvfkEBYUt39SSosBnrhFcNivCLgvrq4EONxpvcIgR3F7Q7cdB0MryMiB1IoRiNusplHcE8jC4c5KMMTtuVm5Fc478845877a94d8d5e952f27ca51d3348ee779136b93ad259c533d54c5cbba5c";
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    private AuthTokenFilter filter;
+    private JwtUtils jwtUtils;
+    private UserDetailsServiceImpl userDetailsService;
+    private String claimsToken;
+    private String legacyToken;
+
+    @Setup
+    public void setUp() {
+        jwtUtils = new JwtUtils(SECRET, 3_600_000, "default", "",
+                JwtPreValidationBenchmark.preValidator(), JwtPreValidationBenchmark.rejectionLog(10));
+
+        UserDetailsImpl user = UserDetailsImpl.builder()
+                .id(1L)
+                .username("yoga@studio.com")
+                .firstName("Admin")
+                .lastName("Admin")
+                .admin(true)
+                .build();
+
+        userDetailsService = mock(UserDetailsServiceImpl.class);
+        when(userDetailsService.loadUserByUsername("yoga@studio.com")).thenReturn(user);
+
+        filter = new AuthTokenFilter();
+        ReflectionTestUtils.setField(filter, "jwtUtils", jwtUtils);
+        ReflectionTestUtils.setField(filter, "userDetailsService", userDetailsService);
+        ReflectionTestUtils.setField(filter, "tokenRevocationList", revocationList());
+        ReflectionTestUtils.setField(filter, "rejectionLog", JwtPreValidationBenchmark.rejectionLog(10));
+
+        claimsToken = jwtUtils.generateJwtToken(new UsernamePasswordAuthenticationToken(user, null));
+        legacyToken = Jwts.builder()
+                .subject("yoga@studio.com")
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + 3_600_000))
+                .signWith(SignatureAlgorithm.HS512, SECRET)
+                .compact();
+    }
+
+    @Benchmark
+    public Object claimsToken() throws Exception {
+        return authenticate(claimsToken);
+    }
+
+    @Benchmark
+    public Object legacyToken() throws Exception {
+        return authenticate(legacyToken);
+    }
+
+    @Benchmark
+    public Object doubleParseWithLookup() {
+        if (!jwtUtils.validateJwtToken(claimsToken)) {
+            return null;
+        }
+        return userDetailsService.loadUserByUsername(jwtUtils.getUserNameFromJwtToken(claimsToken));
+    }
+
+    private Object authenticate(String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + token);
+
+        filter.doFilterInternal(request, new MockHttpServletResponse(), NO_OP_CHAIN);
+
+        Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        SecurityContextHolder.clearContext();
+        return principal;
+    }
+
+    // Liste de révocation réelle, sans entrée : seul le filtre de Bloom est consulté
+    private static TokenRevocationList revocationList() {
+        RevokedTokenRepositoryPort port = mock(RevokedTokenRepositoryPort.class);
+        TokenRevocationList revocationList = new TokenRevocationList(port, 100_000, 0.01);
+        revocationList.revoke("revoked-jti", new Date(System.currentTimeMillis() + 3_600_000));
+        return revocationList;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(AuthTokenFilterBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
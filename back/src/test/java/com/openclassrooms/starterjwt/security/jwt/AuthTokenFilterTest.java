@@ -2,6 +2,8 @@ package com.openclassrooms.starterjwt.security.jwt;
 
 import com.openclassrooms.starterjwt.security.service.UserDetailsImpl;
 import com.openclassrooms.starterjwt.security.service.UserDetailsServiceImpl;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.UnsupportedJwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.http.HttpServletRequest;
@@ -20,15 +22,21 @@ class AuthTokenFilterTest {
     private AuthTokenFilter authTokenFilter;
     private JwtUtils jwtUtils;
     private UserDetailsServiceImpl userDetailsService;
+    private TokenRevocationList tokenRevocationList;
+    private JwtRejectionLog rejectionLog;
 
     @BeforeEach
     void setUp() {
         jwtUtils = mock(JwtUtils.class);
         userDetailsService = mock(UserDetailsServiceImpl.class);
+        tokenRevocationList = mock(TokenRevocationList.class);
+        rejectionLog = mock(JwtRejectionLog.class);
 
         authTokenFilter = new AuthTokenFilter();
         ReflectionTestUtils.setField(authTokenFilter, "jwtUtils", jwtUtils);
         ReflectionTestUtils.setField(authTokenFilter, "userDetailsService", userDetailsService);
+        ReflectionTestUtils.setField(authTokenFilter, "tokenRevocationList", tokenRevocationList);
+        ReflectionTestUtils.setField(authTokenFilter, "rejectionLog", rejectionLog);
 
         SecurityContextHolder.clearContext();
     }
@@ -40,17 +48,38 @@ class AuthTokenFilterTest {
         FilterChain chain = mock(FilterChain.class);
 
         String token = "valid.jwt.token";
+        Claims claims = Jwts.claims().subject("john@test.com").add("id", 1L).build();
         when(req.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtUtils.validateJwtToken(token)).thenReturn(true);
-        when(jwtUtils.getUserNameFromJwtToken(token)).thenReturn("john@test.com");
+        when(jwtUtils.parseJwtClaims(token)).thenReturn(claims);
 
         UserDetailsImpl user = UserDetailsImpl.builder().id(1L).username("john@test.com").build();
-        when(userDetailsService.loadUserByUsername("john@test.com")).thenReturn(user);
+        when(jwtUtils.getUserDetailsFromJwtClaims(claims)).thenReturn(user);
 
         authTokenFilter.doFilterInternal(req, resp, chain);
 
         assertThat(SecurityContextHolder.getContext().getAuthentication()).isNotNull();
         assertThat(SecurityContextHolder.getContext().getAuthentication().getPrincipal()).isEqualTo(user);
+        verify(jwtUtils, times(1)).parseJwtClaims(token);
+        verifyNoInteractions(userDetailsService);
+        verify(chain).doFilter(req, resp);
+    }
+
+    @Test
+    void shouldNotAuthenticateWhenTokenRevoked() throws Exception {
+        HttpServletRequest req = mock(HttpServletRequest.class);
+        HttpServletResponse resp = mock(HttpServletResponse.class);
+        FilterChain chain = mock(FilterChain.class);
+
+        String token = "revoked.jwt.token";
+        Claims claims = Jwts.claims().id("jti-1").subject("john@test.com").add("id", 1L).build();
+        when(req.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(jwtUtils.parseJwtClaims(token)).thenReturn(claims);
+        when(tokenRevocationList.isRevoked("jti-1")).thenReturn(true);
+
+        authTokenFilter.doFilterInternal(req, resp, chain);
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        verify(jwtUtils, never()).getUserDetailsFromJwtClaims(any());
         verify(chain).doFilter(req, resp);
     }
 
@@ -96,18 +125,19 @@ class AuthTokenFilterTest {
 
         // Token invalide
         when(req.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtUtils.validateJwtToken(token)).thenReturn(false);
+        when(jwtUtils.parseJwtClaims(token)).thenReturn(null);
         authTokenFilter.doFilterInternal(req, resp, chain);
         assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
 
         // Token valide mais username null
-        when(jwtUtils.validateJwtToken(token)).thenReturn(true);
-        when(jwtUtils.getUserNameFromJwtToken(token)).thenReturn(null);
+        Claims claims = Jwts.claims().build();
+        when(jwtUtils.parseJwtClaims(token)).thenReturn(claims);
         authTokenFilter.doFilterInternal(req, resp, chain);
         assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
 
         // Token valide, username valide mais userDetails null
-        when(jwtUtils.getUserNameFromJwtToken(token)).thenReturn("john@test.com");
+        Claims legacyClaims = Jwts.claims().subject("john@test.com").build();
+        when(jwtUtils.parseJwtClaims(token)).thenReturn(legacyClaims);
         when(userDetailsService.loadUserByUsername("john@test.com")).thenReturn(null);
         authTokenFilter.doFilterInternal(req, resp, chain);
         assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
@@ -122,11 +152,12 @@ class AuthTokenFilterTest {
         FilterChain chain = mock(FilterChain.class);
 
         when(req.getHeader("Authorization")).thenReturn("Bearer token");
-        when(jwtUtils.validateJwtToken("token")).thenThrow(new RuntimeException("error"));
+        when(jwtUtils.parseJwtClaims("token")).thenThrow(new RuntimeException("error"));
 
         authTokenFilter.doFilterInternal(req, resp, chain);
 
         assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        verify(rejectionLog).reject(eq(JwtRejection.AUTHENTICATION), any(RuntimeException.class));
         verify(chain).doFilter(req, resp);
     }
 
@@ -137,7 +168,7 @@ class AuthTokenFilterTest {
         FilterChain chain = mock(FilterChain.class);
 
         when(req.getHeader("Authorization")).thenReturn("Bearer token");
-        when(jwtUtils.validateJwtToken("token")).thenThrow(new UnsupportedJwtException("unsupported"));
+        when(jwtUtils.parseJwtClaims("token")).thenThrow(new UnsupportedJwtException("unsupported"));
 
         authTokenFilter.doFilterInternal(req, resp, chain);
 
@@ -153,7 +184,7 @@ class AuthTokenFilterTest {
 
         String token = "any.jwt.token";
         when(req.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtUtils.validateJwtToken(token)).thenThrow(new IllegalArgumentException("unexpected"));
+        when(jwtUtils.parseJwtClaims(token)).thenThrow(new IllegalArgumentException("unexpected"));
 
         authTokenFilter.doFilterInternal(req, resp, chain);
 
@@ -178,15 +209,16 @@ class AuthTokenFilterTest {
     }
 
     @Test
-    void shouldAuthenticateAndCallSetDetails() throws Exception {
+    void shouldFallBackToDatabaseForTokenWithoutUserClaims() throws Exception {
         HttpServletRequest req = mock(HttpServletRequest.class);
         HttpServletResponse resp = mock(HttpServletResponse.class);
         FilterChain chain = mock(FilterChain.class);
 
-        String token = "valid.jwt.token";
+        String token = "legacy.jwt.token";
+        Claims claims = Jwts.claims().subject("john@test.com").build();
         when(req.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtUtils.validateJwtToken(token)).thenReturn(true);
-        when(jwtUtils.getUserNameFromJwtToken(token)).thenReturn("john@test.com");
+        when(jwtUtils.parseJwtClaims(token)).thenReturn(claims);
+        when(jwtUtils.getUserDetailsFromJwtClaims(claims)).thenReturn(null);
 
         UserDetailsImpl user = UserDetailsImpl.builder().id(1L).username("john@test.com").build();
         when(userDetailsService.loadUserByUsername("john@test.com")).thenReturn(user);
@@ -195,6 +227,7 @@ class AuthTokenFilterTest {
 
         assertThat(SecurityContextHolder.getContext().getAuthentication()).isNotNull();
         assertThat(SecurityContextHolder.getContext().getAuthentication().getPrincipal()).isEqualTo(user);
+        assertThat(SecurityContextHolder.getContext().getAuthentication().getDetails()).isNotNull();
         verify(chain).doFilter(req, resp);
     }
 }
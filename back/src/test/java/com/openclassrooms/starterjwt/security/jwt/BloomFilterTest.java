@@ -0,0 +1,50 @@
+package com.openclassrooms.starterjwt.security.jwt;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BloomFilterTest {
+
+    @Test
+    void mightContain_shouldNeverMissInsertedValues() {
+        BloomFilter filter = new BloomFilter(1_000, 0.01);
+        List<String> values = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            String value = UUID.randomUUID().toString();
+            values.add(value);
+            filter.put(value);
+        }
+
+        assertThat(values).allMatch(filter::mightContain);
+    }
+
+    @Test
+    void mightContain_shouldKeepFalsePositivesNearConfiguredRate() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put(UUID.randomUUID().toString());
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightContain(UUID.randomUUID().toString())) {
+                falsePositives++;
+            }
+        }
+
+        // 1 % attendu, large marge pour éviter les tests instables
+        assertThat(falsePositives).isLessThan(300);
+    }
+
+    @Test
+    void constructor_shouldSizeBitsFromExpectedInsertions() {
+        // ~9,6 bits par élément pour 1 % de faux positifs
+        assertThat(new BloomFilter(100_000, 0.01).bitCount()).isBetween(950_000, 970_000);
+        assertThat(new BloomFilter(0, 0.01).bitCount()).isGreaterThanOrEqualTo(64);
+    }
+}
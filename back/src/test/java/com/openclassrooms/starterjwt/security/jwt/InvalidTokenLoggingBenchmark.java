@@ -0,0 +1,160 @@
+package com.openclassrooms.starterjwt.security.jwt;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.OutputStreamAppender;
+import ch.qos.logback.core.encoder.Encoder;
+import com.openclassrooms.starterjwt.auth.repository.port.RevokedTokenRepositoryPort;
+import com.openclassrooms.starterjwt.security.service.UserDetailsServiceImpl;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.logging.logback.StructuredLogEncoder;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.OutputStream;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Coût de journalisation par requête sous une attaque par jetons expirés : chaque requête traverse
+ * {@link AuthTokenFilter} avec un jeton rejeté.
+ * <ul>
+ *     <li>{@code OFF} : aucune écriture, référence du coût de validation seul ;</li>
+ *     <li>{@code SYNC_TEXT} : ancienne configuration, motif texte écrit sur le thread de la requête ;</li>
+ *     <li>{@code ASYNC_JSON} : configuration actuelle, JSON ECS derrière un {@link AsyncAppender}.</li>
+ * </ul>
+ * {@code sampled=false} journalise chaque rejet, {@code sampled=true} applique l'échantillonnage de
+ * {@link JwtRejectionLog} (10 par minute et par motif). La sortie est un flux nul : le coût d'une vraie
+ * console (appels système, verrou) s'ajoute au mode synchrone et pas au mode asynchrone.
+ * Le tri préalable est neutralisé pour que chaque jeton atteigne le parseur et sa journalisation
+ * (voir {@link JwtPreValidationBenchmark} pour son effet).
+ * <p>
+ * Lancement : {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.openclassrooms.starterjwt.security.jwt.InvalidTokenLoggingBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class InvalidTokenLoggingBenchmark {
+
+    private static final String SECRET = "FYvfkEBYUt39SSosBnrhFcNivCLgvrq4EONxpvcIgR3F7Q7cdB0MryMiB1IoRiNusplHcE8jC4c5KMMTtuVm5Fc478845877a94d8d5e952f27ca51d3348ee779136b93ad259c533d54c5cbba5c";
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    public enum Output { OFF, SYNC_TEXT, ASYNC_JSON }
+
+    @Param({"OFF", "SYNC_TEXT", "ASYNC_JSON"})
+    public Output output;
+
+    @Param({"false", "true"})
+    public boolean sampled;
+
+    private AuthTokenFilter filter;
+    private String expiredToken;
+
+    @Setup
+    public void setUp() {
+        configureLogging(output);
+
+        JwtRejectionLog rejectionLog = JwtPreValidationBenchmark.rejectionLog(sampled ? 10 : Integer.MAX_VALUE);
+        filter = new AuthTokenFilter();
+        ReflectionTestUtils.setField(filter, "jwtUtils", new JwtUtils(SECRET, 3_600_000, "default", "",
+                JwtPreValidationBenchmark.passThrough(), rejectionLog));
+        ReflectionTestUtils.setField(filter, "userDetailsService", mock(UserDetailsServiceImpl.class));
+        ReflectionTestUtils.setField(filter, "tokenRevocationList",
+                new TokenRevocationList(mock(RevokedTokenRepositoryPort.class), 100_000, 0.01));
+        ReflectionTestUtils.setField(filter, "rejectionLog", rejectionLog);
+
+        expiredToken = Jwts.builder()
+                .subject("yoga@studio.com")
+                .issuedAt(new Date(System.currentTimeMillis() - 7_200_000))
+                .expiration(new Date(System.currentTimeMillis() - 3_600_000))
+                .signWith(SignatureAlgorithm.HS512, SECRET)
+                .compact();
+    }
+
+    @TearDown
+    public void tearDown() {
+        ((LoggerContext) LoggerFactory.getILoggerFactory()).stop();
+    }
+
+    @Benchmark
+    public Object expiredToken() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/session");
+        request.addHeader("Authorization", "Bearer " + expiredToken);
+        filter.doFilterInternal(request, new MockHttpServletResponse(), NO_OP_CHAIN);
+        return request;
+    }
+
+    private static void configureLogging(Output output) {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        context.reset();
+        Logger root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        if (output == Output.OFF) {
+            root.setLevel(Level.OFF);
+            return;
+        }
+        root.setLevel(Level.INFO);
+
+        OutputStreamAppender<ILoggingEvent> sink = new OutputStreamAppender<>();
+        sink.setContext(context);
+        sink.setName("sink");
+        sink.setEncoder(encoder(context, output));
+        sink.setOutputStream(OutputStream.nullOutputStream());
+        sink.start();
+        if (output == Output.SYNC_TEXT) {
+            root.addAppender(sink);
+            return;
+        }
+
+        AsyncAppender async = new AsyncAppender();
+        async.setContext(context);
+        async.setQueueSize(8192);
+        async.setNeverBlock(true);
+        async.addAppender(sink);
+        async.start();
+        root.addAppender(async);
+    }
+
+    private static Encoder<ILoggingEvent> encoder(LoggerContext context, Output output) {
+        if (output == Output.SYNC_TEXT) {
+            PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+            encoder.setContext(context);
+            encoder.setPattern("%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p [%15.15t] %-40.40logger{39} : %m%n");
+            encoder.start();
+            return encoder;
+        }
+        // Hors Spring Boot : l'encodeur lit le nom du service dans l'environnement, posé ici à la main
+        context.putObject(Environment.class.getName(), new StandardEnvironment());
+        StructuredLogEncoder encoder = new StructuredLogEncoder();
+        encoder.setContext(context);
+        encoder.setFormat("ecs");
+        encoder.start();
+        return encoder;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(InvalidTokenLoggingBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,122 @@
+package com.openclassrooms.starterjwt.security.jwt;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coût de rejet d'un jeton invalide par {@link JwtUtils#parseJwtClaims}, avec et sans tri préalable
+ * ({@link JwtPreValidator}) :
+ * <ul>
+ *     <li>{@code garbage} : chaîne quelconque, sans structure JWT ;</li>
+ *     <li>{@code algNone} : en-tête {@code "alg":"none"} ;</li>
+ *     <li>{@code expired} : jeton signé mais expiré ;</li>
+ *     <li>{@code forgedReplay} : signature falsifiée, rejouée (cache des rejets récents).</li>
+ * </ul>
+ * Journaux coupés : seul le coût du rejet est mesuré.
+ * <p>
+ * Lancement : {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.openclassrooms.starterjwt.security.jwt.JwtPreValidationBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtPreValidationBenchmark {
+
+    private static final String SECRET = "FYvfkEBYUt39SSosBnrhFcNivCLgvrq4EONxpvcIgR3F7Q7cdB0MryMiB1IoRiNusplHcE8jC4c5KMMTtuVm5Fc478845877a94d8d5e952f27ca51d3348ee779136b93ad259c533d54c5cbba5c";
+
+    @Param({"false", "true"})
+    public boolean preValidation;
+
+    private JwtUtils jwtUtils;
+    private String garbage;
+    private String algNone;
+    private String expired;
+    private String forged;
+
+    @Setup
+    public void setUp() {
+        ((LoggerContext) LoggerFactory.getILoggerFactory()).getLogger(Logger.ROOT_LOGGER_NAME).setLevel(Level.OFF);
+        jwtUtils = new JwtUtils(SECRET, 3_600_000, "default", "",
+                preValidation ? preValidator() : passThrough(), rejectionLog(10));
+
+        garbage = "not-a-jwt-at-all";
+        algNone = Jwts.builder().subject("yoga@studio.com").compact() + "c2ln";
+        expired = Jwts.builder()
+                .subject("yoga@studio.com")
+                .expiration(new Date(System.currentTimeMillis() - 60_000))
+                .signWith(SignatureAlgorithm.HS512, SECRET)
+                .compact();
+        String valid = Jwts.builder()
+                .subject("yoga@studio.com")
+                .expiration(new Date(System.currentTimeMillis() + 3_600_000))
+                .signWith(SignatureAlgorithm.HS512, SECRET)
+                .compact();
+        int last = valid.length() - 2;
+        forged = valid.substring(0, last) + (valid.charAt(last) == 'A' ? 'B' : 'A') + valid.charAt(last + 1);
+    }
+
+    @Benchmark
+    public Object garbage() {
+        return jwtUtils.parseJwtClaims(garbage);
+    }
+
+    @Benchmark
+    public Object algNone() {
+        return jwtUtils.parseJwtClaims(algNone);
+    }
+
+    @Benchmark
+    public Object expired() {
+        return jwtUtils.parseJwtClaims(expired);
+    }
+
+    @Benchmark
+    public Object forgedReplay() {
+        return jwtUtils.parseJwtClaims(forged);
+    }
+
+    static JwtPreValidator preValidator() {
+        return new JwtPreValidator(8192, DataSize.ofMegabytes(4), Duration.ofMinutes(10));
+    }
+
+    // Tri préalable neutralisé : tout jeton va au parseur, comme avant son introduction
+    static JwtPreValidator passThrough() {
+        return new JwtPreValidator(Integer.MAX_VALUE, DataSize.ofBytes(0), Duration.ofMinutes(10)) {
+            @Override
+            public JwtRejection check(String token) {
+                return null;
+            }
+
+            @Override
+            public void remember(String token, JwtRejection reason) {
+            }
+        };
+    }
+
+    static JwtRejectionLog rejectionLog(int burst) {
+        return new JwtRejectionLog(burst, Duration.ofMinutes(1), new SimpleMeterRegistry());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtPreValidationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
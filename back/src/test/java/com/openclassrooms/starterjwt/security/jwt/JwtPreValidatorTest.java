@@ -0,0 +1,92 @@
+package com.openclassrooms.starterjwt.security.jwt;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtPreValidatorTest {
+
+    private static final String SECRET = "FYvfkEBYUt39SSosBnrhFcNivCLgvrq4EONxpvcIgR3F7Q7cdB0MryMiB1IoRiNusplHcE8jC4c5KMMTtuVm5Fc478845877a94d8d5e952f27ca51d3348ee779136b93ad259c533d54c5cbba5c";
+
+    private final JwtPreValidator preValidator = new JwtPreValidator(1024, DataSize.ofKilobytes(64), Duration.ofMinutes(10));
+
+    private static String token(long expirationOffsetMs) {
+        return Jwts.builder()
+            .subject("yoga@studio.com")
+            .expiration(new Date(System.currentTimeMillis() + expirationOffsetMs))
+            .signWith(SignatureAlgorithm.HS512, SECRET)
+            .compact();
+    }
+
+    private static String segment(String json) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void check_shouldLetWellFormedLiveTokenThrough() {
+        assertThat(preValidator.check(token(60_000))).isNull();
+    }
+
+    @Test
+    void check_shouldRejectJunkWithoutParsing() {
+        assertThat(preValidator.check(null)).isEqualTo(JwtRejection.EMPTY);
+        assertThat(preValidator.check("  ")).isEqualTo(JwtRejection.EMPTY);
+        assertThat(preValidator.check("x".repeat(1025))).isEqualTo(JwtRejection.OVERSIZED);
+        assertThat(preValidator.check("abc.def")).isEqualTo(JwtRejection.MALFORMED);
+        assertThat(preValidator.check("abc.def.ghi.jkl")).isEqualTo(JwtRejection.MALFORMED);
+        assertThat(preValidator.check("ab+c.def.ghi")).isEqualTo(JwtRejection.MALFORMED);
+        assertThat(preValidator.check("abcde.def.ghi")).isEqualTo(JwtRejection.MALFORMED);
+        assertThat(preValidator.check("abc..ghi")).isEqualTo(JwtRejection.MALFORMED);
+    }
+
+    @Test
+    void check_shouldRejectAlgorithmsOutsideAllowList() {
+        String payload = segment("{\"sub\":\"yoga@studio.com\"}");
+
+        assertThat(preValidator.check(segment("{\"alg\":\"none\"}") + "." + payload + ".c2ln"))
+            .isEqualTo(JwtRejection.ALGORITHM);
+        assertThat(preValidator.check(segment("{\"alg\":\"RS256\",\"typ\":\"JWT\"}") + "." + payload + ".c2ln"))
+            .isEqualTo(JwtRejection.ALGORITHM);
+        assertThat(preValidator.check(segment("{\"typ\":\"JWT\"}") + "." + payload + ".c2ln"))
+            .isEqualTo(JwtRejection.ALGORITHM);
+    }
+
+    @Test
+    void check_shouldRejectExpiredTokenBeforeSignatureCheck() {
+        assertThat(preValidator.check(token(-60_000))).isEqualTo(JwtRejection.EXPIRED);
+    }
+
+    @Test
+    void check_shouldRejectRecentlyRejectedTokenFromCache() {
+        String token = token(60_000);
+        preValidator.remember(token, JwtRejection.SIGNATURE);
+
+        assertThat(preValidator.check(token)).isEqualTo(JwtRejection.SIGNATURE);
+    }
+
+    @Test
+    void stringMember_shouldReadUnescapedStringOnly() {
+        assertThat(JwtPreValidator.stringMember("{\"kid\":\"k1\", \"alg\" : \"HS512\"}", "alg")).isEqualTo("HS512");
+        assertThat(JwtPreValidator.stringMember("{\"alg\":\"HS\\\"512\"}", "alg")).isNull();
+        assertThat(JwtPreValidator.stringMember("{\"alg\":512}", "alg")).isNull();
+    }
+
+    @Test
+    void longMember_shouldReadPlainIntegerAndIgnoreOtherShapes() {
+        assertThat(JwtPreValidator.longMember("{\"exp\":1700000000}", "exp")).isEqualTo(1_700_000_000L);
+        assertThat(JwtPreValidator.longMember("{\"exp\" : 1700000000 ,\"sub\":\"a\"}", "exp")).isEqualTo(1_700_000_000L);
+        // Aucune de ces formes ne doit faire écarter un jeton que le parseur accepterait
+        assertThat(JwtPreValidator.longMember("{\"exp\":1.9E9}", "exp")).isNull();
+        assertThat(JwtPreValidator.longMember("{\"exp\":\"1700000000\"}", "exp")).isNull();
+        assertThat(JwtPreValidator.longMember("{\"exp\":-1}", "exp")).isNull();
+        assertThat(JwtPreValidator.longMember("{\"name\":\"a\\\"exp\\\":1\"}", "exp")).isNull();
+    }
+}
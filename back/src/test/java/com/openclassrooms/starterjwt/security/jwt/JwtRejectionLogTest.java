@@ -0,0 +1,29 @@
+package com.openclassrooms.starterjwt.security.jwt;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtRejectionLogTest {
+
+    @Test
+    void reject_shouldCountEveryRejectionPerReasonEvenWhenLogIsSampled() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        JwtRejectionLog rejectionLog = new JwtRejectionLog(1, Duration.ofMinutes(1), meterRegistry);
+
+        for (int i = 0; i < 5; i++) {
+            rejectionLog.reject(JwtRejection.EXPIRED, new IllegalStateException("expired"));
+        }
+        rejectionLog.reject(JwtRejection.MALFORMED);
+
+        assertThat(meterRegistry.get(JwtRejectionLog.REJECTIONS_COUNTER).tag("reason", "EXPIRED").counter().count())
+            .isEqualTo(5);
+        assertThat(meterRegistry.get(JwtRejectionLog.REJECTIONS_COUNTER).tag("reason", "MALFORMED").counter().count())
+            .isEqualTo(1);
+        assertThat(meterRegistry.get(JwtRejectionLog.REJECTIONS_COUNTER).tag("reason", "SIGNATURE").counter().count())
+            .isZero();
+    }
+}
@@ -0,0 +1,79 @@
+package com.openclassrooms.starterjwt.security.jwt;
+
+import com.openclassrooms.starterjwt.security.service.UserDetailsImpl;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Débit de {@link JwtUtils} avec la clé et le parseur construits une seule fois.
+ * {@code validateWithParserRebuilt} reproduit l'ancien comportement (clé dérivée et parseur reconstruit à chaque appel).
+ * <p>
+ * Lancement : {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.openclassrooms.starterjwt.security.jwt.JwtUtilsBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class JwtUtilsBenchmark {
+
+    private static final String SECRET = "FYvfkEBYUt39SSosBnrhFcNivCLgvrq4EONxpvcIgR3F7Q7cdB0MryMiB1IoRiNusplHcE8jC4c5KMMTtuVm5Fc478845877a94d8d5e952f27ca51d3348ee779136b93ad259c533d54c5cbba5c";
+
+    private JwtUtils jwtUtils;
+    private Authentication authentication;
+    private String token;
+    private Claims claims;
+
+    @Setup
+    public void setUp() {
+        jwtUtils = new JwtUtils(SECRET, 3_600_000, "default", "",
+                JwtPreValidationBenchmark.preValidator(), JwtPreValidationBenchmark.rejectionLog(10));
+        authentication = new UsernamePasswordAuthenticationToken(UserDetailsImpl.builder()
+                .id(1L)
+                .username("yoga@studio.com")
+                .firstName("Admin")
+                .lastName("Admin")
+                .admin(true)
+                .build(), null);
+        token = jwtUtils.generateJwtToken(authentication);
+        claims = jwtUtils.parseJwtClaims(token);
+    }
+
+    @Benchmark
+    public String sign() {
+        return jwtUtils.generateJwtToken(authentication);
+    }
+
+    @Benchmark
+    public Claims validate() {
+        return jwtUtils.parseJwtClaims(token);
+    }
+
+    @Benchmark
+    public UserDetailsImpl extractClaims() {
+        return jwtUtils.getUserDetailsFromJwtClaims(claims);
+    }
+
+    @Benchmark
+    @SuppressWarnings("deprecation")
+    public Claims validateWithParserRebuilt() {
+        return Jwts.parser().setSigningKey(SECRET).build().parseSignedClaims(token).getPayload();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtUtilsBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
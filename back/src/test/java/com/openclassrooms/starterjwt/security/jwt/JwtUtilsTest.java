@@ -7,29 +7,38 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.util.unit.DataSize;
 
-import java.lang.reflect.Field;
+import io.jsonwebtoken.io.Decoders;
+import java.time.Duration;
 import java.util.Date;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 class JwtUtilsTest {
 
+    private static final String SECRET = "FYvfkEBYUt39SSosBnrhFcNivCLgvrq4EONxpvcIgR3F7Q7cdB0MryMiB1IoRiNusplHcE8jC4c5KMMTtuVm5Fc478845877a94d8d5e952f27ca51d3348ee779136b93ad259c533d54c5cbba5c";
+    private static final String NEXT_SECRET = "c2Vjb25kLXNlY3JldC1mb3Itcm90YXRpb24tdGVzdHMtdGhhdC1pcy1sb25nLWVub3VnaC1mb3ItaHM1MTItc2lnbmF0dXJlcw==";
+    private static final int EXPIRATION_MS = 1000 * 60 * 10; // 10 minutes
+
+    private final JwtPreValidator preValidator = new JwtPreValidator(8192, DataSize.ofMegabytes(1), Duration.ofMinutes(10));
+    private final JwtRejectionLog rejectionLog = mock(JwtRejectionLog.class);
     private JwtUtils jwtUtils;
 
     @BeforeEach
-    void setUp() throws Exception {
-        jwtUtils = new JwtUtils();
-
-        // Injection de jwtSecret via réflexion
-        Field secretField = JwtUtils.class.getDeclaredField("jwtSecret");
-        secretField.setAccessible(true);
-        secretField.set(jwtUtils, "FYvfkEBYUt39SSosBnrhFcNivCLgvrq4EONxpvcIgR3F7Q7cdB0MryMiB1IoRiNusplHcE8jC4c5KMMTtuVm5Fc478845877a94d8d5e952f27ca51d3348ee779136b93ad259c533d54c5cbba5c");
+    void setUp() {
+        jwtUtils = new JwtUtils(SECRET, EXPIRATION_MS, "k1", "", preValidator, rejectionLog);
+    }
 
-        // Injection de la durée d'expiration
-        Field expField = JwtUtils.class.getDeclaredField("jwtExpirationMs");
-        expField.setAccessible(true);
-        expField.set(jwtUtils, 1000 * 60 * 10); // 10 minutes
+    private static Authentication authentication(String username) {
+        UserDetailsImpl user = UserDetailsImpl.builder().id(1L).username(username).build();
+        return new UsernamePasswordAuthenticationToken(user, null);
     }
 
     // ---------- Token valide ----------
@@ -50,12 +59,105 @@ class JwtUtilsTest {
         assertThat(jwtUtils.getUserNameFromJwtToken(token)).isEqualTo("john@test.com");
     }
 
+    @Test
+    void generateJwtToken_shouldCarryUserClaims() {
+        UserDetailsImpl user = UserDetailsImpl.builder()
+                .id(42L)
+                .username("john@test.com")
+                .firstName("John")
+                .lastName("Doe")
+                .admin(true)
+                .password("secret")
+                .build();
+        Authentication auth = new UsernamePasswordAuthenticationToken(user, null);
+
+        Claims claims = jwtUtils.parseJwtClaims(jwtUtils.generateJwtToken(auth));
+        UserDetailsImpl fromClaims = jwtUtils.getUserDetailsFromJwtClaims(claims);
+
+        assertThat(claims.getId()).isNotBlank();
+        assertThat(jwtUtils.getSessionIdFromJwtClaims(claims)).isNull();
+        assertThat(fromClaims.getId()).isEqualTo(42L);
+        assertThat(fromClaims.getUsername()).isEqualTo("john@test.com");
+        assertThat(fromClaims.getFirstName()).isEqualTo("John");
+        assertThat(fromClaims.getLastName()).isEqualTo("Doe");
+        assertThat(fromClaims.getAdmin()).isTrue();
+        assertThat(fromClaims.getPassword()).isNull();
+    }
+
+    @Test
+    void generateJwtToken_shouldCarrySessionId() {
+        Claims claims = jwtUtils.parseJwtClaims(jwtUtils.generateJwtToken(authentication("john@test.com"), "family-1"));
+
+        assertThat(jwtUtils.getSessionIdFromJwtClaims(claims)).isEqualTo("family-1");
+    }
+
+    @Test
+    void getUserDetailsFromJwtClaims_shouldReturnNull_forTokenWithoutUserClaims() {
+        Claims claims = Jwts.claims().subject("john@test.com").build();
+
+        assertThat(jwtUtils.getUserDetailsFromJwtClaims(claims)).isNull();
+    }
+
+    // ---------- Rotation des clés ----------
+
+    @Test
+    void generateJwtToken_shouldSetKeyIdHeader() {
+        String token = jwtUtils.generateJwtToken(authentication("john@test.com"));
+
+        String header = new String(Decoders.BASE64URL.decode(token.substring(0, token.indexOf('.'))));
+        assertThat(header).contains("\"kid\":\"k1\"");
+    }
+
+    @Test
+    void parseJwtClaims_shouldAcceptTokensSignedWithPreviousKey_duringRotation() {
+        String oldToken = jwtUtils.generateJwtToken(authentication("john@test.com"));
+
+        JwtUtils rotated = new JwtUtils(NEXT_SECRET, EXPIRATION_MS, "k2", "k1=" + SECRET, preValidator, rejectionLog);
+        String newToken = rotated.generateJwtToken(authentication("jane@test.com"));
+
+        assertThat(rotated.getUserNameFromJwtToken(oldToken)).isEqualTo("john@test.com");
+        assertThat(rotated.validateJwtToken(newToken)).isTrue();
+        assertThat(jwtUtils.validateJwtToken(newToken)).isFalse();
+    }
+
+    @Test
+    void parseJwtClaims_shouldRejectTokensSignedWithRetiredKey() {
+        String oldToken = jwtUtils.generateJwtToken(authentication("john@test.com"));
+
+        JwtUtils rotated = new JwtUtils(NEXT_SECRET, EXPIRATION_MS, "k2", "", preValidator, rejectionLog);
+
+        assertThat(rotated.parseJwtClaims(oldToken)).isNull();
+    }
+
+    @Test
+    void parseJwtClaims_shouldAcceptLegacyTokenWithoutKeyId() {
+        String legacyToken = Jwts.builder()
+                .subject("john@test.com")
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(SignatureAlgorithm.HS512, SECRET)
+                .compact();
+
+        assertThat(jwtUtils.getUserNameFromJwtToken(legacyToken)).isEqualTo("john@test.com");
+    }
+
+    @Test
+    void constructor_shouldRejectMalformedPreviousSecrets() {
+        assertThatThrownBy(() -> new JwtUtils(SECRET, EXPIRATION_MS, "k2", "missing-separator", preValidator, rejectionLog))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
     // ---------- Cas invalides ----------
 
+    @Test
+    void parseJwtClaims_shouldReturnNull_forInvalidToken() {
+        assertThat(jwtUtils.parseJwtClaims("abc.def")).isNull();
+    }
+
     @Test
     void validateJwtToken_shouldReturnFalse_forNullOrEmptyToken() {
         assertThat(jwtUtils.validateJwtToken(null)).isFalse();
         assertThat(jwtUtils.validateJwtToken("")).isFalse();
+        verify(rejectionLog, times(2)).reject(JwtRejection.EMPTY);
     }
 
     @Test
@@ -77,22 +179,34 @@ class JwtUtilsTest {
         String tamperedToken = token + "123";
 
         assertThat(jwtUtils.validateJwtToken(tamperedToken)).isFalse();
+        // Segment de signature à la longueur impossible : écarté avant le parseur
+        verify(rejectionLog).reject(JwtRejection.MALFORMED);
     }
 
     @Test
-    void validateJwtToken_shouldReturnFalse_forExpiredToken() throws Exception {
-        Field secretField = JwtUtils.class.getDeclaredField("jwtSecret");
-        secretField.setAccessible(true);
-        String secret = (String) secretField.get(jwtUtils);
+    void parseJwtClaims_shouldRejectForgedSignatureOnceThenFromCache() {
+        String token = jwtUtils.generateJwtToken(authentication("john@test.com"));
+        int last = token.length() - 2;
+        String forged = token.substring(0, last) + (token.charAt(last) == 'A' ? 'B' : 'A') + token.charAt(last + 1);
+
+        assertThat(jwtUtils.parseJwtClaims(forged)).isNull();
+        assertThat(jwtUtils.parseJwtClaims(forged)).isNull();
+
+        verify(rejectionLog).reject(eq(JwtRejection.SIGNATURE), any());
+        verify(rejectionLog).reject(JwtRejection.SIGNATURE);
+    }
 
+    @Test
+    void validateJwtToken_shouldReturnFalse_forExpiredToken() {
         String expiredToken = Jwts.builder()
                 .setSubject("john@test.com")
                 .setIssuedAt(new Date(System.currentTimeMillis() - 10_000))
                 .setExpiration(new Date(System.currentTimeMillis() - 5_000))
-                .signWith(SignatureAlgorithm.HS512, secret)
+                .signWith(SignatureAlgorithm.HS512, SECRET)
                 .compact();
 
         assertThat(jwtUtils.validateJwtToken(expiredToken)).isFalse();
+        verify(rejectionLog).reject(JwtRejection.EXPIRED);
     }
 
     @Test
@@ -108,16 +222,12 @@ class JwtUtilsTest {
     }
 
     @Test
-    void validateJwtToken_shouldReturnFalse_forExpiredJwtException() throws Exception {
-        Field secretField = JwtUtils.class.getDeclaredField("jwtSecret");
-        secretField.setAccessible(true);
-        String secret = (String) secretField.get(jwtUtils);
-
+    void validateJwtToken_shouldReturnFalse_forExpiredJwtException() {
         String expiredToken = Jwts.builder()
                 .setSubject("john@test.com")
                 .setIssuedAt(new Date(System.currentTimeMillis() - 20_000))
                 .setExpiration(new Date(System.currentTimeMillis() - 10_000))
-                .signWith(SignatureAlgorithm.HS512, secret)
+                .signWith(SignatureAlgorithm.HS512, SECRET)
                 .compact();
 
         assertThat(jwtUtils.validateJwtToken(expiredToken)).isFalse();
@@ -0,0 +1,49 @@
+package com.openclassrooms.starterjwt.security.jwt;
+
+import com.openclassrooms.starterjwt.auth.repository.port.RefreshTokenRepositoryPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class RefreshTokenManagerTest {
+
+    private RefreshTokenRepositoryPort port;
+    private RefreshTokenManager manager;
+
+    @BeforeEach
+    void setUp() {
+        port = mock(RefreshTokenRepositoryPort.class);
+        manager = new RefreshTokenManager(port, 60_000);
+    }
+
+    @Test
+    void issue_shouldStoreOnlyTheHash() {
+        String token = manager.issue(1L, "family-1");
+
+        ArgumentCaptor<String> hash = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Date> expiresAt = ArgumentCaptor.forClass(Date.class);
+        verify(port).store(hash.capture(), eq("family-1"), eq(1L), expiresAt.capture());
+
+        assertThat(hash.getValue()).isEqualTo(RefreshTokenManager.hash(token)).isNotEqualTo(token).hasSize(64);
+        assertThat(expiresAt.getValue()).isAfter(new Date());
+    }
+
+    @Test
+    void issue_shouldGenerateDistinctTokens() {
+        assertThat(manager.issue(1L, "family-1")).isNotEqualTo(manager.issue(1L, "family-1"));
+    }
+
+    @Test
+    void purgeExpired_shouldDelegateToPort() {
+        manager.purgeExpired();
+
+        verify(port).purgeExpired(any());
+    }
+}
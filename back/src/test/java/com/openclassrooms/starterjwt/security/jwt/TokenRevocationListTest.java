@@ -0,0 +1,93 @@
+package com.openclassrooms.starterjwt.security.jwt;
+
+import com.openclassrooms.starterjwt.auth.repository.port.RevokedTokenRepositoryPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class TokenRevocationListTest {
+
+    private RevokedTokenRepositoryPort port;
+    private TokenRevocationList revocationList;
+
+    @BeforeEach
+    void setUp() {
+        port = mock(RevokedTokenRepositoryPort.class);
+        revocationList = new TokenRevocationList(port, 1_000, 0.01);
+    }
+
+    @Test
+    void isRevoked_shouldAnswerFromFilter_withoutDatabase_forUnknownJti() {
+        assertThat(revocationList.isRevoked("unknown")).isFalse();
+        assertThat(revocationList.isRevoked(null)).isFalse();
+
+        verify(port, never()).isRevoked(any());
+    }
+
+    @Test
+    void revoke_shouldPersistAndConfirmPositivesInDatabase() {
+        Date expiresAt = new Date(System.currentTimeMillis() + 60_000);
+        when(port.isRevoked("jti-1")).thenReturn(true);
+
+        revocationList.revoke("jti-1", expiresAt);
+
+        verify(port).revoke("jti-1", expiresAt);
+        assertThat(revocationList.isRevoked("jti-1")).isTrue();
+    }
+
+    @Test
+    void refresh_shouldPurgeExpiredAndReloadActiveEntries() {
+        when(port.findActive(any())).thenReturn(List.of("jti-from-other-node"));
+        when(port.isRevoked("jti-from-other-node")).thenReturn(true);
+
+        revocationList.refresh();
+
+        verify(port).purgeExpired(any());
+        assertThat(revocationList.isRevoked("jti-from-other-node")).isTrue();
+    }
+
+    @Test
+    void refresh_shouldDropEntriesNoLongerActive() {
+        revocationList.revoke("expired", new Date());
+        when(port.findActive(any())).thenReturn(List.of());
+
+        revocationList.refresh();
+
+        assertThat(revocationList.isRevoked("expired")).isFalse();
+        verify(port, never()).isRevoked("expired");
+    }
+
+    @Test
+    void revoke_shouldNotWaitForRefresh_andSurviveTheRebuild() throws Exception {
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(port.findActive(any())).thenAnswer(invocation -> {
+            reading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return List.of();
+        });
+        when(port.isRevoked("during-refresh")).thenReturn(true);
+
+        Thread refresher = new Thread(revocationList::refresh);
+        refresher.start();
+        assertThat(reading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // Lecture en base en cours : la révocation passe sans attendre la fin de la reconstruction
+        CompletableFuture.runAsync(() -> revocationList.revoke("during-refresh", new Date()))
+            .get(2, TimeUnit.SECONDS);
+
+        release.countDown();
+        refresher.join(5_000);
+
+        assertThat(revocationList.isRevoked("during-refresh")).isTrue();
+    }
+}
@@ -0,0 +1,70 @@
+package com.openclassrooms.starterjwt.security.ratelimit;
+
+import com.openclassrooms.starterjwt.common.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AuthRateLimiterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private AuthRateLimiter limiter(boolean enabled) {
+        return new AuthRateLimiter(enabled, 100,
+            3, Duration.ofSeconds(10),
+            2, Duration.ofMinutes(1),
+            meterRegistry);
+    }
+
+    @Test
+    void acquire_shouldRejectSameEmailFromAnyClient() {
+        AuthRateLimiter limiter = limiter(true);
+        limiter.acquire(AuthRateLimiter.Action.LOGIN, "10.0.0.1", "yoga@studio.com");
+        limiter.acquire(AuthRateLimiter.Action.LOGIN, "10.0.0.2", " Yoga@Studio.com ");
+
+        assertThatThrownBy(() -> limiter.acquire(AuthRateLimiter.Action.LOGIN, "10.0.0.3", "YOGA@studio.com"))
+            .isInstanceOf(TooManyRequestsException.class)
+            .satisfies(e -> assertThat(((TooManyRequestsException) e).getRetryAfter()).isPositive());
+        assertThat(meterRegistry.get("auth.rate_limit.rejections")
+            .tags("action", "login", "limit", "email").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void acquire_shouldRejectClientSprayingEmails() {
+        AuthRateLimiter limiter = limiter(true);
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire(AuthRateLimiter.Action.LOGIN, "10.0.0.1", "user" + i + "@studio.com");
+        }
+
+        assertThatThrownBy(() -> limiter.acquire(AuthRateLimiter.Action.LOGIN, "10.0.0.1", "other@studio.com"))
+            .isInstanceOf(TooManyRequestsException.class);
+        assertThat(meterRegistry.get("auth.rate_limit.rejections")
+            .tags("action", "login", "limit", "client").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void acquire_shouldKeepLoginAndRegisterBudgetsApart() {
+        AuthRateLimiter limiter = limiter(true);
+        limiter.acquire(AuthRateLimiter.Action.LOGIN, "10.0.0.1", "yoga@studio.com");
+        limiter.acquire(AuthRateLimiter.Action.LOGIN, "10.0.0.1", "yoga@studio.com");
+
+        assertThatCode(() -> limiter.acquire(AuthRateLimiter.Action.REGISTER, "10.0.0.1", "yoga@studio.com"))
+            .doesNotThrowAnyException();
+    }
+
+    @Test
+    void acquire_shouldDoNothingWhenDisabled() {
+        AuthRateLimiter limiter = limiter(false);
+
+        assertThatCode(() -> {
+            for (int i = 0; i < 10; i++) {
+                limiter.acquire(AuthRateLimiter.Action.LOGIN, "10.0.0.1", "yoga@studio.com");
+            }
+        }).doesNotThrowAnyException();
+    }
+}
@@ -0,0 +1,66 @@
+package com.openclassrooms.starterjwt.security.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final TokenBucketLimiter limiter = new TokenBucketLimiter(3, Duration.ofSeconds(2), 100, clock::get);
+
+    @Test
+    void tryAcquire_shouldGrantCapacityThenReportWait() {
+        assertThat(limiter.tryAcquire("a")).isZero();
+        assertThat(limiter.tryAcquire("a")).isZero();
+        assertThat(limiter.tryAcquire("a")).isZero();
+
+        assertThat(limiter.tryAcquire("a")).isEqualTo(Duration.ofSeconds(2).toNanos());
+    }
+
+    @Test
+    void tryAcquire_shouldRefillOneTokenPerInterval() {
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("a");
+        }
+
+        clock.addAndGet(Duration.ofMillis(500).toNanos());
+        assertThat(limiter.tryAcquire("a")).isEqualTo(Duration.ofMillis(1500).toNanos());
+
+        clock.addAndGet(Duration.ofMillis(1500).toNanos());
+        assertThat(limiter.tryAcquire("a")).isZero();
+        assertThat(limiter.tryAcquire("a")).isPositive();
+    }
+
+    @Test
+    void tryAcquire_shouldNotBankTokensBeyondCapacity() {
+        clock.addAndGet(Duration.ofHours(1).toNanos());
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire("a")).isZero();
+        }
+        assertThat(limiter.tryAcquire("a")).isPositive();
+    }
+
+    @Test
+    void tryAcquire_shouldKeepIndependentBucketPerKey() {
+        for (int i = 0; i < 4; i++) {
+            limiter.tryAcquire("a");
+        }
+
+        assertThat(limiter.tryAcquire("b")).isZero();
+    }
+
+    @Test
+    void tryAcquire_shouldHandleNegativeNanoTime() {
+        clock.set(Long.MIN_VALUE + 1);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire("a")).isZero();
+        }
+        assertThat(limiter.tryAcquire("a")).isPositive();
+    }
+}
@@ -0,0 +1,108 @@
+package com.openclassrooms.starterjwt.security.service;
+
+import com.openclassrooms.starterjwt.common.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class BoundedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        encoder.shutdown();
+    }
+
+    @Test
+    void encodeAndMatches_shouldRunOnDedicatedPool() {
+        PasswordEncoder delegate = mock(PasswordEncoder.class);
+        when(delegate.encode("secret")).thenAnswer(invocation -> Thread.currentThread().getName());
+        when(delegate.matches("secret", "hash")).thenReturn(true);
+        encoder = new BoundedPasswordEncoder(delegate, 2, 4, meterRegistry);
+
+        assertThat(encoder.encode("secret")).startsWith("password-hashing-");
+        assertThat(encoder.matches("secret", "hash")).isTrue();
+    }
+
+    @Test
+    void encode_shouldShedLoad_whenQueueIsFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        PasswordEncoder delegate = mock(PasswordEncoder.class);
+        when(delegate.encode(any())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return "hash";
+        });
+        encoder = new BoundedPasswordEncoder(delegate, 1, 1, meterRegistry);
+
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> running = callers.submit(() -> encoder.encode("a"));
+            started.await(5, TimeUnit.SECONDS);
+            Future<String> queued = callers.submit(() -> encoder.encode("b"));
+            // Laisse le second appel atteindre la file
+            while (meterRegistry.get("executor.queued").tag("name", BoundedPasswordEncoder.EXECUTOR_NAME).gauge().value() < 1) {
+                Thread.onSpinWait();
+            }
+
+            assertThatThrownBy(() -> encoder.encode("c"))
+                .isInstanceOf(TooManyRequestsException.class);
+            assertThat(meterRegistry.get("password.hashing.rejected").counter().count()).isEqualTo(1);
+
+            release.countDown();
+            assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("hash");
+            assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("hash");
+        } finally {
+            release.countDown();
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    void matches_shouldPropagateDelegateExceptions() {
+        PasswordEncoder delegate = mock(PasswordEncoder.class);
+        when(delegate.matches(any(), any())).thenThrow(new IllegalArgumentException("bad hash"));
+        encoder = new BoundedPasswordEncoder(delegate, 1, 1, meterRegistry);
+
+        assertThatThrownBy(() -> encoder.matches("secret", "hash"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("bad hash");
+    }
+
+    @Test
+    void login_shouldRehashPassword_whenStrengthRaised() {
+        String weakHash = new BCryptPasswordEncoder(4).encode("secret");
+        encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(5), 1, 4, meterRegistry);
+
+        UserDetailsImpl user = UserDetailsImpl.builder().id(1L).username("john@test.com").password(weakHash).build();
+        UserDetailsService userDetailsService = username -> user;
+        UserDetailsPasswordService passwordService = mock(UserDetailsPasswordService.class);
+        when(passwordService.updatePassword(eq(user), any())).thenReturn(user);
+
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider(encoder);
+        provider.setUserDetailsService(userDetailsService);
+        provider.setUserDetailsPasswordService(passwordService);
+
+        provider.authenticate(new UsernamePasswordAuthenticationToken("john@test.com", "secret"));
+
+        verify(passwordService).updatePassword(eq(user), argThat(hash -> hash.startsWith("$2a$05$")));
+        assertThat(encoder.upgradeEncoding(weakHash)).isTrue();
+    }
+}
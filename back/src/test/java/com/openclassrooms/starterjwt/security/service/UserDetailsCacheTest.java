@@ -0,0 +1,83 @@
+package com.openclassrooms.starterjwt.security.service;
+
+import com.openclassrooms.starterjwt.common.exception.NotFoundException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UserDetailsCacheTest {
+
+    private MeterRegistry meterRegistry;
+    private UserDetailsCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new UserDetailsCache(100, Duration.ofMinutes(5), meterRegistry);
+        loads = new AtomicInteger();
+    }
+
+    private UserDetailsImpl load(String email) {
+        loads.incrementAndGet();
+        return UserDetailsImpl.builder().id(1L).username(email).build();
+    }
+
+    private double gets(String result) {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", UserDetailsCache.CACHE_NAME)
+                .tag("result", result)
+                .functionCounter()
+                .count();
+    }
+
+    @Test
+    void get_shouldRecordHitsAndMisses() {
+        cache.get("john@test.com", this::load);
+        cache.get("john@test.com", this::load);
+        cache.get("jane@test.com", this::load);
+
+        assertThat(loads.get()).isEqualTo(2);
+        assertThat(gets("hit")).isEqualTo(1);
+        assertThat(gets("miss")).isEqualTo(2);
+    }
+
+    @Test
+    void get_shouldNotCacheFailedLoads() {
+        assertThatThrownBy(() -> cache.get("ghost@test.com", email -> {
+            loads.incrementAndGet();
+            throw new NotFoundException("User not found");
+        })).isInstanceOf(NotFoundException.class);
+
+        cache.get("ghost@test.com", this::load);
+
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    void get_shouldReload_afterTtl() throws InterruptedException {
+        cache = new UserDetailsCache(100, Duration.ofMillis(20), meterRegistry);
+
+        cache.get("john@test.com", this::load);
+        Thread.sleep(50);
+        cache.get("john@test.com", this::load);
+
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    void invalidate_shouldForceReload() {
+        cache.get("john@test.com", this::load);
+        cache.invalidate("john@test.com");
+        cache.get("john@test.com", this::load);
+
+        assertThat(loads.get()).isEqualTo(2);
+    }
+}
@@ -2,13 +2,16 @@ package com.openclassrooms.starterjwt.security.service;
 
 import com.openclassrooms.starterjwt.user.model.User;
 import com.openclassrooms.starterjwt.user.repository.port.UserRepositoryPort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.time.Duration;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
 
@@ -18,9 +21,16 @@ class UserDetailsServiceImplTest {
     @Mock
     private UserRepositoryPort userRepositoryPort;
 
-    @InjectMocks
+    private UserDetailsCache userDetailsCache;
+
     private UserDetailsServiceImpl service;
 
+    @BeforeEach
+    void setUp() {
+        userDetailsCache = new UserDetailsCache(100, Duration.ofMinutes(5), new SimpleMeterRegistry());
+        service = new UserDetailsServiceImpl(userRepositoryPort, userDetailsCache);
+    }
+
     @Test
     void loadUserByUsername_shouldReturnUserDetails_whenUserExists() {
         User user = new User();
@@ -29,6 +39,7 @@ class UserDetailsServiceImplTest {
         user.setFirstName("John");
         user.setLastName("Doe");
         user.setPassword("secret");
+        user.setAdmin(true);
 
         when(userRepositoryPort.getByEmail("john@test.com")).thenReturn(user);
 
@@ -37,7 +48,56 @@ class UserDetailsServiceImplTest {
         assertThat(result).isNotNull();
         assertThat(result.getUsername()).isEqualTo("john@test.com");
         assertThat(result.getPassword()).isEqualTo("secret");
+        assertThat(((UserDetailsImpl) result).getAdmin()).isTrue();
 
         verify(userRepositoryPort).getByEmail("john@test.com");
     }
+
+    @Test
+    void loadUserByUsername_shouldHitCache_onSecondCall() {
+        User user = new User();
+        user.setId(1L);
+        user.setEmail("john@test.com");
+
+        when(userRepositoryPort.getByEmail("john@test.com")).thenReturn(user);
+
+        UserDetails first = service.loadUserByUsername("john@test.com");
+        UserDetails second = service.loadUserByUsername("john@test.com");
+
+        assertThat(second).isSameAs(first);
+        verify(userRepositoryPort, times(1)).getByEmail("john@test.com");
+    }
+
+    @Test
+    void loadUserByUsername_shouldReload_afterInvalidation() {
+        User user = new User();
+        user.setId(1L);
+        user.setEmail("john@test.com");
+
+        when(userRepositoryPort.getByEmail("john@test.com")).thenReturn(user);
+
+        service.loadUserByUsername("john@test.com");
+        userDetailsCache.invalidate("john@test.com");
+        service.loadUserByUsername("john@test.com");
+
+        verify(userRepositoryPort, times(2)).getByEmail("john@test.com");
+    }
+
+    @Test
+    void updatePassword_shouldPersistNewHash_andEvictCache() {
+        User user = new User();
+        user.setId(1L);
+        user.setEmail("john@test.com");
+        user.setPassword("old-hash");
+
+        when(userRepositoryPort.getByEmail("john@test.com")).thenReturn(user);
+
+        UserDetails before = service.loadUserByUsername("john@test.com");
+        UserDetails updated = service.updatePassword(before, "new-hash");
+
+        assertThat(updated.getPassword()).isEqualTo("new-hash");
+        verify(userRepositoryPort).save(user);
+        assertThat(service.loadUserByUsername("john@test.com").getPassword()).isEqualTo("new-hash");
+        verify(userRepositoryPort, times(3)).getByEmail("john@test.com");
+    }
 }
@@ -2,10 +2,12 @@ package com.openclassrooms.starterjwt.session.controller;
 
 import java.util.List;
 import java.util.Date;
+import java.util.stream.IntStream;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import com.openclassrooms.starterjwt.user.model.User;
 import static org.assertj.core.api.Assertions.assertThat;
 import com.openclassrooms.starterjwt.teacher.model.Teacher;
@@ -13,12 +15,16 @@ import com.openclassrooms.starterjwt.session.model.Session;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.beans.factory.annotation.Autowired;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
+import org.springframework.http.HttpHeaders;
+import static org.hamcrest.Matchers.not;
 import com.openclassrooms.starterjwt.user.repository.UserRepository;
 import org.springframework.security.test.context.support.WithMockUser;
 import com.openclassrooms.starterjwt.session.repository.SessionRepository;
 import com.openclassrooms.starterjwt.session.request.CreateSessionRequest;
+import com.openclassrooms.starterjwt.session.request.BulkCreateSessionsRequest;
 import com.openclassrooms.starterjwt.session.request.UpdateSessionRequest;
 import com.openclassrooms.starterjwt.teacher.repository.TeacherRepository;
+import com.openclassrooms.starterjwt.teacher.service.TeacherCatalog;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -42,6 +48,9 @@ class SessionControllerIntegrationTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private TeacherCatalog teacherCatalog;
+
     private Session savedSession;
     private Teacher savedTeacher;
     private User savedUser;
@@ -57,6 +66,8 @@ class SessionControllerIntegrationTest {
         teacherRepository.findByLastName(teacher.getLastName())
                 .ifPresent(teacherRepository::delete);
         savedTeacher = teacherRepository.save(teacher);
+        // Écriture hors application : signal explicite plutôt que le rechargement limité sur id inconnu
+        teacherCatalog.refresh();
 
         User user = new User();
         user.setEmail("test@test.com");
@@ -92,7 +103,104 @@ class SessionControllerIntegrationTest {
     void findAll_shouldReturnSessions() throws Exception {
         mockMvc.perform(get("/api/session"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.length()").value(1));
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.next").doesNotExist());
+    }
+
+    @Test
+    @WithMockUser
+    void findById_shouldReturn304_untilSessionChanges() throws Exception {
+        String etag = mockMvc.perform(get("/api/session/{id}", savedSession.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/session/{id}", savedSession.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        sessionRepository.save(savedSession.setDescription("Relaxing yoga, updated"));
+
+        mockMvc.perform(get("/api/session/{id}", savedSession.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(etag)))
+                .andExpect(jsonPath("$.description").value("Relaxing yoga, updated"));
+    }
+
+    @Test
+    @WithMockUser
+    void findAll_shouldReturn304_untilCollectionChanges() throws Exception {
+        String etag = mockMvc.perform(get("/api/session"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/session").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        Session other = new Session();
+        other.setName("Evening yoga");
+        other.setDescription("Calm");
+        other.setDate(new Date());
+        other.setTeacher(savedTeacher);
+        sessionRepository.save(other);
+
+        mockMvc.perform(get("/api/session").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2));
+    }
+
+    @Test
+    @WithMockUser
+    void findAll_shouldServeGzip_andRevalidateWithWeakEtag() throws Exception {
+        for (int i = 0; i < 15; i++) {
+            Session session = new Session();
+            session.setName("Compressible session " + i);
+            session.setDescription("Repeated description that compresses well");
+            session.setDate(new Date());
+            session.setTeacher(savedTeacher);
+            sessionRepository.save(session);
+        }
+
+        MvcResult result = mockMvc.perform(get("/api/session").header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.ETAG, org.hamcrest.Matchers.startsWith("W/")))
+                .andReturn();
+
+        mockMvc.perform(get("/api/session")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                        .header(HttpHeaders.IF_NONE_MATCH, result.getResponse().getHeader(HttpHeaders.ETAG)))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @WithMockUser
+    void findAll_shouldPaginateWithCursor() throws Exception {
+        Session second = new Session();
+        second.setName("Second session");
+        second.setDescription("Second");
+        second.setDate(new Date(savedSession.getDate().getTime() + 1000));
+        second.setTeacher(savedTeacher);
+        sessionRepository.save(second);
+
+        String body = mockMvc.perform(get("/api/session").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].id").value(savedSession.getId()))
+                .andExpect(jsonPath("$.next").isNotEmpty())
+                .andReturn().getResponse().getContentAsString();
+        String next = objectMapper.readTree(body).get("next").asText();
+
+        mockMvc.perform(get("/api/session").param("size", "1").param("cursor", next))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(second.getId()));
+    }
+
+    @Test
+    @WithMockUser
+    void findAll_shouldReturn400_whenCursorInvalid() throws Exception {
+        mockMvc.perform(get("/api/session").param("cursor", "%%%"))
+                .andExpect(status().isBadRequest());
     }
 
     @Test
@@ -113,6 +221,115 @@ class SessionControllerIntegrationTest {
         assertThat (sessionRepository.findAll()).hasSize(2);
     }
 
+    @Test
+    @WithMockUser
+    void createAll_shouldPersistEverySession() throws Exception {
+        BulkCreateSessionsRequest request = new BulkCreateSessionsRequest();
+        request.setSessions(IntStream.range(0, 120)
+                .mapToObj(i -> newSessionRequest("Bulk " + i, savedTeacher.getId()))
+                .toList());
+        request.getSessions().get(0).setUsers(List.of(savedUser.getId()));
+
+        mockMvc.perform(post("/api/session/bulk")
+                        .contentType(APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.length()").value(120))
+                .andExpect(jsonPath("$[0].id").isNumber())
+                .andExpect(jsonPath("$[0].users[0].id").value(savedUser.getId()));
+
+        assertThat(sessionRepository.count()).isEqualTo(121);
+    }
+
+    @Test
+    @WithMockUser
+    void createAll_shouldRollbackWholeBatch_whenTeacherNotFound() throws Exception {
+        BulkCreateSessionsRequest request = new BulkCreateSessionsRequest();
+        request.setSessions(List.of(
+                newSessionRequest("Valid", savedTeacher.getId()),
+                newSessionRequest("Orphan", -1L)));
+
+        mockMvc.perform(post("/api/session/bulk")
+                        .contentType(APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isNotFound());
+
+        assertThat(sessionRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    @WithMockUser
+    void importSessions_shouldImportValidCsvRowsAndReportOthers() throws Exception {
+        String csv = """
+                name,date,teacherLastName,description
+                Imported yoga,2026-09-01,Lovelace,From CSV
+                ,2026-09-02,Lovelace,Missing name
+                Imported pilates,2026-09-03,Nobody,Unknown teacher
+                """;
+
+        mockMvc.perform(post("/api/session/import")
+                        .contentType("text/csv")
+                        .content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.failed").value(2))
+                .andExpect(jsonPath("$.errors[0].line").value(3))
+                .andExpect(jsonPath("$.errors[1].line").value(4))
+                .andExpect(jsonPath("$.errors[1].message").value("Teacher not found with last name: Nobody"));
+
+        assertThat(sessionRepository.findByNameAndTeacherId("Imported yoga", savedTeacher.getId())).isPresent();
+    }
+
+    @Test
+    @WithMockUser
+    void importSessions_shouldImportNdjson() throws Exception {
+        String ndjson = "{\"name\":\"Imported yoga\",\"date\":\"2026-09-01\",\"teacherLastName\":\"Lovelace\",\"description\":\"From NDJSON\"}\n";
+
+        mockMvc.perform(post("/api/session/import")
+                        .contentType("application/x-ndjson")
+                        .content(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.failed").value(0));
+
+        assertThat(sessionRepository.findAll()).hasSize(2);
+    }
+
+    @Test
+    @WithMockUser
+    void importSessions_shouldReturn415_whenFormatUnsupported() throws Exception {
+        mockMvc.perform(post("/api/session/import")
+                        .contentType(APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isUnsupportedMediaType());
+    }
+
+    @Test
+    @WithMockUser
+    void export_shouldStreamOneLinePerSessionWithParticipants() throws Exception {
+        Session empty = new Session();
+        empty.setName("Empty session");
+        empty.setDescription("Nobody yet");
+        empty.setDate(new Date(savedSession.getDate().getTime() + 86_400_000L));
+        empty.setTeacher(savedTeacher);
+        sessionRepository.save(empty);
+
+        MvcResult result = mockMvc.perform(get("/api/session/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readTree(lines[0]).get("name").asText()).isEqualTo("Yoga session");
+        assertThat(objectMapper.readTree(lines[0]).get("users").get(0).asLong()).isEqualTo(savedUser.getId());
+        assertThat(objectMapper.readTree(lines[1]).get("users")).isEmpty();
+    }
+
     @Test
     @WithMockUser
     void update_shouldModifySession() throws Exception {
@@ -129,6 +346,88 @@ class SessionControllerIntegrationTest {
                 .andExpect(jsonPath("$.name").value("Updated name"));
     }
 
+    @Test
+    @WithMockUser
+    void update_shouldReplaceParticipantsWithinCapacity() throws Exception {
+        User newUser = new User();
+        newUser.setEmail("replacement@test.com");
+        newUser.setFirstName("Jane");
+        newUser.setLastName("Doe");
+        newUser.setPassword("pass");
+        newUser.setAdmin(false);
+        userRepository.save(newUser);
+
+        UpdateSessionRequest replace = new UpdateSessionRequest();
+        replace.setName("Yoga session");
+        replace.setDescription("Relaxing yoga");
+        replace.setTeacherId(savedTeacher.getId());
+        replace.setDate(savedSession.getDate());
+        replace.setUsers(List.of(newUser.getId()));
+        replace.setCapacity(1);
+
+        mockMvc.perform(put("/api/session/{id}", savedSession.getId())
+                        .contentType(APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(replace)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.users.length()").value(1))
+                .andExpect(jsonPath("$.users[0].id").value(newUser.getId()))
+                .andExpect(jsonPath("$.seatsTaken").value(1))
+                .andExpect(jsonPath("$.capacity").value(1));
+
+        UpdateSessionRequest overflow = new UpdateSessionRequest();
+        overflow.setName("Renamed");
+        overflow.setDescription("Relaxing yoga");
+        overflow.setTeacherId(savedTeacher.getId());
+        overflow.setDate(savedSession.getDate());
+        overflow.setUsers(List.of(newUser.getId(), savedUser.getId()));
+
+        mockMvc.perform(put("/api/session/{id}", savedSession.getId())
+                        .contentType(APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(overflow)))
+                .andExpect(status().isBadRequest());
+
+        // Rejet : toute la mise à jour est annulée
+        Session updated = sessionRepository.findWithUsersById(savedSession.getId()).orElseThrow();
+        assertThat(updated.getName()).isEqualTo("Yoga session");
+        assertThat(updated.getUsers()).containsExactly(newUser);
+        assertThat(updated.getSeatsTaken()).isEqualTo(1);
+    }
+
+    @Test
+    @WithMockUser
+    void update_shouldPromoteWaitlist_whenCapacityRaised() throws Exception {
+        savedSession.setCapacity(1);
+        sessionRepository.save(savedSession);
+
+        User queued = new User();
+        queued.setEmail("raised@test.com");
+        queued.setFirstName("Jane");
+        queued.setLastName("Doe");
+        queued.setPassword("pass");
+        queued.setAdmin(false);
+        userRepository.save(queued);
+
+        mockMvc.perform(post("/api/session/{id}/participate/{userId}", savedSession.getId(), queued.getId()))
+                .andExpect(status().isAccepted());
+
+        UpdateSessionRequest request = new UpdateSessionRequest();
+        request.setName("Yoga session");
+        request.setDescription("Relaxing yoga");
+        request.setTeacherId(savedTeacher.getId());
+        request.setDate(savedSession.getDate());
+        request.setCapacity(2);
+
+        mockMvc.perform(put("/api/session/{id}", savedSession.getId())
+                        .contentType(APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.seatsTaken").value(2))
+                .andExpect(jsonPath("$.users.length()").value(2));
+
+        mockMvc.perform(get("/api/session/{id}/waitlist/{userId}", savedSession.getId(), queued.getId()))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     @WithMockUser
     void delete_shouldRemoveSession() throws Exception {
@@ -152,12 +451,56 @@ class SessionControllerIntegrationTest {
         mockMvc.perform(post("/api/session/{id}/participate/{userId}",
                         savedSession.getId(),
                         newUser.getId()))
-                .andExpect(status().isOk());
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("PARTICIPATING"));
 
-        Session updated = sessionRepository.findById(savedSession.getId()).orElseThrow();
+        Session updated = sessionRepository.findWithUsersById(savedSession.getId()).orElseThrow();
         assertThat(updated.getUsers()).contains(newUser);
     }
 
+    @Test
+    @WithMockUser(username="test@test.com")
+    void participate_shouldWaitlistThenPromote_whenSessionFull() throws Exception {
+        savedSession.setCapacity(1);
+        sessionRepository.save(savedSession);
+        sessionRepository.syncSeatsTaken(savedSession.getId());
+
+        User newUser = new User();
+        newUser.setEmail("queued@test.com");
+        newUser.setFirstName("Jane");
+        newUser.setLastName("Doe");
+        newUser.setPassword("pass");
+        newUser.setAdmin(false);
+        userRepository.save(newUser);
+
+        mockMvc.perform(post("/api/session/{id}/participate/{userId}",
+                        savedSession.getId(),
+                        newUser.getId()))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.status").value("WAITLISTED"))
+                .andExpect(jsonPath("$.position").value(1));
+
+        mockMvc.perform(get("/api/session/{id}/waitlist/{userId}",
+                        savedSession.getId(),
+                        newUser.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.position").value(1));
+
+        mockMvc.perform(delete("/api/session/{id}/participate/{userId}",
+                        savedSession.getId(),
+                        savedUser.getId()))
+                .andExpect(status().isOk());
+
+        Session updated = sessionRepository.findWithUsersById(savedSession.getId()).orElseThrow();
+        assertThat(updated.getUsers()).containsExactly(newUser);
+        assertThat(updated.getSeatsTaken()).isEqualTo(1);
+
+        mockMvc.perform(get("/api/session/{id}/waitlist/{userId}",
+                        savedSession.getId(),
+                        newUser.getId()))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     @WithMockUser(username="test@test.com")
     void noLongerParticipate_shouldRemoveParticipation() throws Exception {
@@ -166,7 +509,7 @@ class SessionControllerIntegrationTest {
                         savedUser.getId()))
                 .andExpect(status().isOk());
 
-        Session updated = sessionRepository.findById(savedSession.getId()).orElseThrow();
+        Session updated = sessionRepository.findWithUsersById(savedSession.getId()).orElseThrow();
         assertThat (updated.getUsers()).doesNotContain(savedUser);
     }
 
@@ -212,4 +555,13 @@ class SessionControllerIntegrationTest {
         mockMvc.perform(delete("/api/session/{id}", 99999L))
                 .andExpect(status().isNotFound());
     }
+
+    private static CreateSessionRequest newSessionRequest(String name, Long teacherId) {
+        CreateSessionRequest request = new CreateSessionRequest();
+        request.setName(name);
+        request.setDescription("Bulk description");
+        request.setTeacherId(teacherId);
+        request.setDate(new Date());
+        return request;
+    }
 }
@@ -0,0 +1,106 @@
+package com.openclassrooms.starterjwt.session.repository;
+
+import com.openclassrooms.starterjwt.session.model.Session;
+import com.openclassrooms.starterjwt.teacher.model.Teacher;
+import com.openclassrooms.starterjwt.teacher.repository.TeacherRepository;
+import com.openclassrooms.starterjwt.user.model.User;
+import com.openclassrooms.starterjwt.user.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.IntStream;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TestPropertySource("classpath:h2-mysql.properties")
+@DataJpaTest(properties = {
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "spring.jpa.properties.hibernate.jdbc.batch_size=50"
+})
+class SessionBatchInsertTest {
+
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Statistics statistics;
+    private Teacher teacher;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        teacher = teacherRepository.save(new Teacher().setFirstName("Ada").setLastName("Lovelace"));
+        user = userRepository.save(new User()
+            .setEmail("batch@test.com")
+            .setFirstName("Batch")
+            .setLastName("User")
+            .setPassword("Password123"));
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void insertAll_shouldSendInsertsInJdbcBatches() {
+        List<Session> sessions = IntStream.range(0, 120)
+            .mapToObj(i -> Session.builder()
+                .name("Batch " + i)
+                .description("Batch insert")
+                .date(new Date())
+                .teacher(teacher)
+                .users(List.of(user))
+                .build())
+            .toList();
+
+        sessionRepository.insertAll(sessions);
+
+        assertThat(sessions).allSatisfy(session -> assertThat(session.getId()).isNotNull());
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(120);
+        // 120 sessions + 120 participations en lignes individuelles donneraient 240 requêtes préparées :
+        // par paquets de 50, il n'en reste qu'une poignée (séquence comprise)
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(20);
+        assertThat(sessionRepository.count()).isEqualTo(120);
+    }
+
+    @Test
+    void insertAll_shouldOnlyDetachInsertedSessions() {
+        List<Session> sessions = IntStream.range(0, 70)
+            .mapToObj(i -> Session.builder()
+                .name("Detach " + i)
+                .description("Batch insert")
+                .date(new Date())
+                .teacher(teacher)
+                .users(List.of(user))
+                .build())
+            .toList();
+
+        sessionRepository.insertAll(sessions);
+
+        assertThat(sessions).noneSatisfy(session -> assertThat(entityManager.getEntityManager().contains(session)).isTrue());
+        // Chargés par l'appelant avant l'insertion : toujours gérés, leurs modifications seront écrites
+        assertThat(entityManager.getEntityManager().contains(user)).isTrue();
+        assertThat(entityManager.getEntityManager().contains(teacher)).isTrue();
+
+        user.setFirstName("Renamed");
+        entityManager.flush();
+        entityManager.clear();
+        assertThat(userRepository.findById(user.getId())).get().extracting(User::getFirstName).isEqualTo("Renamed");
+    }
+}
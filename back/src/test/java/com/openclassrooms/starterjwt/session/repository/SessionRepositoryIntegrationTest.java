@@ -10,6 +10,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.dao.DataIntegrityViolationException;
 import java.util.ArrayList;
 import java.util.Date;
@@ -17,6 +18,7 @@ import java.util.List;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+@TestPropertySource("classpath:h2-mysql.properties")
 @DataJpaTest
 class SessionRepositoryIntegrationTest {
 
@@ -51,7 +53,8 @@ class SessionRepositoryIntegrationTest {
                 .users(new ArrayList<>())
                 .build();
 
-        Session saved = sessionRepository.save(session);
+        // Id issu d'une séquence : l'INSERT (et les horodatages) n'a lieu qu'au flush
+        Session saved = sessionRepository.saveAndFlush(session);
 
         assertThat(saved.getId()).isNotNull();
         assertThat(saved.getCreatedAt()).isNotNull();
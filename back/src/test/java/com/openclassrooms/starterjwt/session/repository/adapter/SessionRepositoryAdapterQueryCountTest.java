@@ -0,0 +1,123 @@
+package com.openclassrooms.starterjwt.session.repository.adapter;
+
+import com.openclassrooms.starterjwt.session.dto.SessionDto;
+import com.openclassrooms.starterjwt.session.dto.SessionSummaryDto;
+import com.openclassrooms.starterjwt.session.mapper.SessionMapper;
+import com.openclassrooms.starterjwt.session.mapper.SessionMapperImpl;
+import com.openclassrooms.starterjwt.session.model.Session;
+import com.openclassrooms.starterjwt.session.repository.SessionRepository;
+import com.openclassrooms.starterjwt.session.request.SearchSessionsRequest;
+import com.openclassrooms.starterjwt.teacher.model.Teacher;
+import com.openclassrooms.starterjwt.teacher.repository.TeacherRepository;
+import com.openclassrooms.starterjwt.user.mapper.UserMapperImpl;
+import com.openclassrooms.starterjwt.user.model.User;
+import com.openclassrooms.starterjwt.user.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TestPropertySource("classpath:h2-mysql.properties")
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({SessionMapperImpl.class, UserMapperImpl.class})
+class SessionRepositoryAdapterQueryCountTest {
+
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SessionMapper sessionMapper;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private SessionRepositoryAdapter adapter;
+    private Statistics statistics;
+    private Long firstSessionId;
+
+    @BeforeEach
+    void setUp() {
+        adapter = new SessionRepositoryAdapter(sessionRepository);
+
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            users.add(userRepository.save(new User()
+                    .setEmail("user" + i + "@test.com")
+                    .setFirstName("First" + i)
+                    .setLastName("Last" + i)
+                    .setPassword("secret")));
+        }
+
+        for (int t = 0; t < 3; t++) {
+            Teacher teacher = teacherRepository.save(new Teacher().setFirstName("T" + t).setLastName("Teacher" + t));
+            Session session = sessionRepository.save(Session.builder()
+                    .name("Session " + t)
+                    .description("Description " + t)
+                    .date(new Date(1_000_000L * (t + 1)))
+                    .teacher(teacher)
+                    .users(new ArrayList<>(users))
+                    .build());
+            if (firstSessionId == null) {
+                firstSessionId = session.getId();
+            }
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void list_shouldIssueSingleStatement() {
+        List<SessionSummaryDto> items = adapter.findPage(new SearchSessionsRequest(), null, 10)
+                .stream()
+                .map(sessionMapper::toSummaryDto)
+                .toList();
+
+        assertThat(items).hasSize(3);
+        assertThat(items).allSatisfy(item -> assertThat(item.getParticipantCount()).isEqualTo(5));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void detail_shouldIssueSingleStatement() {
+        SessionDto dto = sessionMapper.toDto(adapter.getWithParticipantsById(firstSessionId));
+
+        assertThat(dto.getUsers()).hasSize(5);
+        assertThat(dto.getTeacherId()).isNotNull();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void getById_shouldNotLoadParticipants() {
+        Session session = adapter.getById(firstSessionId);
+
+        assertThat(session.getName()).isEqualTo("Session 0");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getCollectionLoadCount()).isZero();
+    }
+}
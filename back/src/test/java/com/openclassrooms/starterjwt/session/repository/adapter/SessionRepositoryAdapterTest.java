@@ -2,7 +2,10 @@ package com.openclassrooms.starterjwt.session.repository.adapter;
 
 import com.openclassrooms.starterjwt.common.exception.NotFoundException;
 import com.openclassrooms.starterjwt.session.model.Session;
+import com.openclassrooms.starterjwt.session.model.SessionSummary;
 import com.openclassrooms.starterjwt.session.repository.SessionRepository;
+import com.openclassrooms.starterjwt.session.request.SearchSessionsRequest;
+import com.openclassrooms.starterjwt.session.request.SessionCursor;
 import com.openclassrooms.starterjwt.teacher.model.Teacher;
 import com.openclassrooms.starterjwt.teacher.repository.TeacherRepository;
 import com.openclassrooms.starterjwt.user.model.User;
@@ -11,6 +14,8 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 
 import java.util.Date;
 import java.util.List;
@@ -18,6 +23,7 @@ import java.util.List;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+@TestPropertySource("classpath:h2-mysql.properties")
 @DataJpaTest
 class SessionRepositoryAdapterTest {
 
@@ -32,6 +38,9 @@ class SessionRepositoryAdapterTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private TestEntityManager entityManager;
+
     private Teacher teacher;
     private User user1, user2;
 
@@ -205,4 +214,198 @@ class SessionRepositoryAdapterTest {
                 .isInstanceOf(NotFoundException.class)
                 .hasMessageContaining("Session not found with name");
     }
-}
+
+    // ---------- FIND PAGE ----------
+
+    private Session saveSession(String name, Date date, Teacher sessionTeacher) {
+        Session session = Session.builder()
+                .name(name)
+                .description(name + " description")
+                .date(date)
+                .teacher(sessionTeacher)
+                .users(List.of())
+                .build();
+        adapter.save(session);
+        return session;
+    }
+
+    @Test
+    void findPage_shouldWalkAllRowsOrderedByDateThenId() {
+        Date sameDay = new Date(2_000_000L);
+        Session s3 = saveSession("Late", new Date(3_000_000L), teacher);
+        Session s1 = saveSession("Early", new Date(1_000_000L), teacher);
+        Session s2a = saveSession("Same A", sameDay, teacher);
+        Session s2b = saveSession("Same B", sameDay, teacher);
+
+        SearchSessionsRequest criteria = new SearchSessionsRequest();
+
+        List<SessionSummary> first = adapter.findPage(criteria, null, 2);
+        assertThat(first).extracting(SessionSummary::id).containsExactly(s1.getId(), s2a.getId());
+
+        List<SessionSummary> second = adapter.findPage(criteria, SessionCursor.of(first.get(1)), 2);
+        assertThat(second).extracting(SessionSummary::id).containsExactly(s2b.getId(), s3.getId());
+
+        List<SessionSummary> third = adapter.findPage(criteria, SessionCursor.of(second.get(1)), 2);
+        assertThat(third).isEmpty();
+    }
+
+    @Test
+    void findPage_shouldApplyFilters() {
+        Teacher other = teacherRepository.save(new Teacher().setFirstName("Alan").setLastName("Turing"));
+        saveSession("Morning Yoga", new Date(1_000_000L), teacher);
+        Session match = saveSession("Evening Yoga", new Date(2_000_000L), teacher);
+        saveSession("Evening Yoga", new Date(2_000_000L), other);
+        saveSession("Evening Pilates", new Date(2_000_000L), teacher);
+        saveSession("Evening Yoga", new Date(9_000_000L), teacher);
+
+        SearchSessionsRequest criteria = new SearchSessionsRequest();
+        criteria.setFrom(new Date(1_500_000L));
+        criteria.setTo(new Date(5_000_000L));
+        criteria.setTeacherId(teacher.getId());
+        criteria.setName(" evening YOGA ");
+
+        List<SessionSummary> result = adapter.findPage(criteria, null, 10);
+
+        assertThat(result).extracting(SessionSummary::id).containsExactly(match.getId());
+    }
+
+    @Test
+    void findPage_shouldCountParticipants() {
+        Session session = Session.builder()
+                .name("Crowded")
+                .description("Crowded session")
+                .date(new Date())
+                .teacher(teacher)
+                .users(List.of(user1, user2))
+                .build();
+        adapter.save(session);
+        saveSession("Empty", new Date(), teacher);
+
+        List<SessionSummary> result = adapter.findPage(new SearchSessionsRequest(), null, 10);
+
+        assertThat(result).extracting(SessionSummary::participantCount).containsExactly(2, 0);
+        assertThat(result.get(0).teacherId()).isEqualTo(teacher.getId());
+    }
+
+    // ---------- PARTICIPATIONS ----------
+
+    @Test
+    void addAndRemoveParticipant_shouldWriteSingleRows() {
+        Session session = saveSession("Participations", new Date(), teacher);
+        Long id = session.getId();
+
+        assertThat(adapter.addParticipant(id, user1.getId())).isTrue();
+        assertThat(adapter.addParticipant(id, user1.getId())).isFalse();
+        assertThat(adapter.addParticipant(id, user2.getId())).isTrue();
+        assertThat(adapter.isParticipant(id, user1.getId())).isTrue();
+        assertThat(countParticipations(id)).isEqualTo(2L);
+
+        assertThat(adapter.removeParticipant(id, user1.getId())).isTrue();
+        assertThat(adapter.removeParticipant(id, user1.getId())).isFalse();
+        assertThat(countParticipations(id)).isEqualTo(1L);
+        assertThat(adapter.isParticipant(id, user1.getId())).isFalse();
+    }
+
+    private long countParticipations(Long sessionId) {
+        entityManager.flush();
+        entityManager.clear();
+        return adapter.getWithParticipantsById(sessionId).getUsers().size();
+    }
+
+    private int seatsTaken(Long sessionId) {
+        entityManager.flush();
+        entityManager.clear();
+        return adapter.getById(sessionId).getSeatsTaken();
+    }
+
+    @Test
+    void reserveSeat_shouldStopAtCapacity() {
+        Session session = Session.builder()
+                .name("Small")
+                .description("Small session")
+                .date(new Date())
+                .teacher(teacher)
+                .capacity(2)
+                .users(List.of())
+                .build();
+        adapter.save(session);
+        Long id = session.getId();
+
+        assertThat(adapter.reserveSeat(id)).isTrue();
+        assertThat(adapter.reserveSeat(id)).isTrue();
+        assertThat(adapter.reserveSeat(id)).isFalse();
+        assertThat(seatsTaken(id)).isEqualTo(2);
+
+        adapter.releaseSeat(id);
+        assertThat(seatsTaken(id)).isEqualTo(1);
+    }
+
+    @Test
+    void reserveSeat_shouldNotLimitSessionsWithoutCapacity() {
+        Long id = saveSession("Unlimited", new Date(), teacher).getId();
+
+        for (int i = 0; i < 50; i++) {
+            assertThat(adapter.reserveSeat(id)).isTrue();
+        }
+        assertThat(seatsTaken(id)).isEqualTo(50);
+    }
+
+    @Test
+    void releaseSeat_shouldNeverGoBelowZero() {
+        Long id = saveSession("Empty", new Date(), teacher).getId();
+
+        adapter.releaseSeat(id);
+
+        assertThat(seatsTaken(id)).isZero();
+    }
+
+    @Test
+    void syncSeatsTaken_shouldCountParticipations() {
+        Long id = saveSession("Sync", new Date(), teacher).getId();
+        adapter.addParticipant(id, user1.getId());
+        adapter.addParticipant(id, user2.getId());
+
+        adapter.syncSeatsTaken(id);
+
+        assertThat(seatsTaken(id)).isEqualTo(2);
+    }
+
+    @Test
+    void save_shouldInitSeatsTakenFromUsers() {
+        Session session = Session.builder()
+                .name("Seeded")
+                .description("Seeded session")
+                .date(new Date())
+                .teacher(teacher)
+                .users(List.of(user1, user2))
+                .build();
+        adapter.save(session);
+
+        assertThat(seatsTaken(session.getId())).isEqualTo(2);
+    }
+
+    // ---------- GET WITH PARTICIPANTS ----------
+
+    @Test
+    void getWithParticipantsById_shouldLoadUsers() {
+        Session session = Session.builder()
+                .name("Detail")
+                .description("Detail session")
+                .date(new Date())
+                .teacher(teacher)
+                .users(List.of(user1, user2))
+                .build();
+        adapter.save(session);
+
+        Session result = adapter.getWithParticipantsById(session.getId());
+
+        assertThat(result.getUsers()).containsExactlyInAnyOrder(user1, user2);
+    }
+
+    @Test
+    void getWithParticipantsById_shouldThrowNotFoundException() {
+        assertThatThrownBy(() -> adapter.getWithParticipantsById(999L))
+                .isInstanceOf(NotFoundException.class)
+                .hasMessageContaining("Session not found with id");
+    }
+}
\ No newline at end of file
@@ -2,12 +2,18 @@ package com.openclassrooms.starterjwt.session.repository.adapter;
 
 import com.openclassrooms.starterjwt.common.exception.NotFoundException;
 import com.openclassrooms.starterjwt.session.model.Session;
+import com.openclassrooms.starterjwt.session.model.SessionSummary;
 import com.openclassrooms.starterjwt.session.repository.SessionRepository;
+import com.openclassrooms.starterjwt.session.request.SearchSessionsRequest;
+import com.openclassrooms.starterjwt.session.request.SessionCursor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.Date;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Limit;
+import org.springframework.dao.DataIntegrityViolationException;
 
 import static org.mockito.Mockito.*;
 import static org.assertj.core.api.Assertions.*;
@@ -41,6 +47,23 @@ class SessionRepositoryAdapterUnitTest {
                 .hasMessageContaining("Session not found");
     }
 
+    @Test
+    void getWithParticipantsById_shouldReturnSession() {
+        Session session = new Session();
+        session.setId(1L);
+        when(sessionRepository.findWithUsersById(1L)).thenReturn(Optional.of(session));
+
+        assertThat(adapter.getWithParticipantsById(1L)).isEqualTo(session);
+    }
+
+    @Test
+    void getWithParticipantsById_shouldThrowNotFound() {
+        when(sessionRepository.findWithUsersById(999L)).thenReturn(Optional.empty());
+        assertThatThrownBy(() -> adapter.getWithParticipantsById(999L))
+                .isInstanceOf(NotFoundException.class)
+                .hasMessageContaining("Session not found");
+    }
+
     @Test
     void save_shouldCallRepository() {
         Session session = new Session();
@@ -55,6 +78,48 @@ class SessionRepositoryAdapterUnitTest {
         verify(sessionRepository).delete(session);
     }
 
+    @Test
+    void addParticipant_shouldReturnTrue_whenRowInserted() {
+        when(sessionRepository.insertParticipation(1L, 2L)).thenReturn(1);
+        assertThat(adapter.addParticipant(1L, 2L)).isTrue();
+    }
+
+    @Test
+    void addParticipant_shouldReturnFalse_whenNoRowInserted() {
+        when(sessionRepository.insertParticipation(1L, 2L)).thenReturn(0);
+        assertThat(adapter.addParticipant(1L, 2L)).isFalse();
+    }
+
+    @Test
+    void addParticipant_shouldNotSwallowDataIntegrityViolation() {
+        when(sessionRepository.insertParticipation(1L, 2L))
+                .thenThrow(new DataIntegrityViolationException("fk"));
+        assertThatThrownBy(() -> adapter.addParticipant(1L, 2L))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    void removeParticipant_shouldReflectAffectedRows() {
+        when(sessionRepository.deleteParticipation(1L, 2L)).thenReturn(1, 0);
+        assertThat(adapter.removeParticipant(1L, 2L)).isTrue();
+        assertThat(adapter.removeParticipant(1L, 2L)).isFalse();
+    }
+
+    @Test
+    void reserveSeat_shouldReflectAffectedRows() {
+        when(sessionRepository.reserveSeat(1L)).thenReturn(1, 0);
+        assertThat(adapter.reserveSeat(1L)).isTrue();
+        assertThat(adapter.reserveSeat(1L)).isFalse();
+    }
+
+    @Test
+    void releaseSeat_and_syncSeatsTaken_shouldCallRepository() {
+        adapter.releaseSeat(1L);
+        adapter.syncSeatsTaken(1L);
+        verify(sessionRepository).releaseSeat(1L);
+        verify(sessionRepository).syncSeatsTaken(1L);
+    }
+
     @Test
     void findAll_shouldReturnAll() {
         List<Session> list = List.of(new Session(), new Session());
@@ -64,6 +129,31 @@ class SessionRepositoryAdapterUnitTest {
         assertThat(result).hasSize(2);
     }
 
+    @Test
+    void findPage_shouldForwardCriteriaAndCursor() {
+        SearchSessionsRequest criteria = new SearchSessionsRequest();
+        criteria.setFrom(new Date(1L));
+        criteria.setTo(new Date(2L));
+        criteria.setTeacherId(3L);
+        criteria.setName("  yoga ");
+        SessionCursor cursor = new SessionCursor(new Date(4L), 5L);
+        List<SessionSummary> list = List.of(new SessionSummary(1L, "S", new Date(4L), 3L, "d", null, 0, null, null));
+        when(sessionRepository.findPage(new Date(1L), new Date(2L), 3L, "yoga", new Date(4L), 5L, Limit.of(11)))
+                .thenReturn(list);
+
+        assertThat(adapter.findPage(criteria, cursor, 11)).isSameAs(list);
+    }
+
+    @Test
+    void findPage_shouldPassNulls_whenNoCursorAndBlankName() {
+        SearchSessionsRequest criteria = new SearchSessionsRequest();
+        criteria.setName(" ");
+        when(sessionRepository.findPage(null, null, null, null, null, null, Limit.of(3)))
+                .thenReturn(List.of());
+
+        assertThat(adapter.findPage(criteria, null, 3)).isEmpty();
+    }
+
     // ---------------------- AJOUTS POUR COUVRIR 100% ----------------------
 
     @Test
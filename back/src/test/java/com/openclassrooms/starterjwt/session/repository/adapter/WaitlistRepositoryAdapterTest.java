@@ -0,0 +1,105 @@
+package com.openclassrooms.starterjwt.session.repository.adapter;
+
+import com.openclassrooms.starterjwt.session.model.Session;
+import com.openclassrooms.starterjwt.session.repository.SessionRepository;
+import com.openclassrooms.starterjwt.session.repository.WaitlistRepository;
+import com.openclassrooms.starterjwt.teacher.model.Teacher;
+import com.openclassrooms.starterjwt.teacher.repository.TeacherRepository;
+import com.openclassrooms.starterjwt.user.model.User;
+import com.openclassrooms.starterjwt.user.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TestPropertySource("classpath:h2-mysql.properties")
+@DataJpaTest
+class WaitlistRepositoryAdapterTest {
+
+    private WaitlistRepositoryAdapter adapter;
+
+    @Autowired
+    private WaitlistRepository waitlistRepository;
+
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Session session;
+    private final List<User> users = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        adapter = new WaitlistRepositoryAdapter(waitlistRepository);
+
+        Teacher teacher = teacherRepository.save(new Teacher().setFirstName("Ada").setLastName("Lovelace"));
+        session = sessionRepository.save(Session.builder()
+                .name("Full")
+                .description("Full session")
+                .date(new Date())
+                .teacher(teacher)
+                .capacity(1)
+                .users(new ArrayList<>())
+                .build());
+
+        for (int i = 0; i < 4; i++) {
+            users.add(userRepository.save(new User()
+                    .setEmail("queued" + i + "@test.com")
+                    .setFirstName("First")
+                    .setLastName("Last")
+                    .setPassword("secret")));
+        }
+    }
+
+    private Long userId(int index) {
+        return users.get(index).getId();
+    }
+
+    @Test
+    void enqueue_shouldRejectDuplicates() {
+        assertThat(adapter.enqueue(session.getId(), userId(0))).isTrue();
+        assertThat(adapter.enqueue(session.getId(), userId(0))).isFalse();
+    }
+
+    @Test
+    void positionOf_shouldFollowFifoOrder() {
+        for (int i = 0; i < 4; i++) {
+            adapter.enqueue(session.getId(), userId(i));
+        }
+
+        assertThat(adapter.positionOf(session.getId(), userId(0))).isEqualTo(1L);
+        assertThat(adapter.positionOf(session.getId(), userId(3))).isEqualTo(4L);
+
+        adapter.remove(session.getId(), userId(1));
+
+        assertThat(adapter.positionOf(session.getId(), userId(3))).isEqualTo(3L);
+        assertThat(adapter.positionOf(session.getId(), userId(1))).isZero();
+    }
+
+    @Test
+    void pollHead_shouldReturnUsersInArrivalOrder() {
+        adapter.enqueue(session.getId(), userId(2));
+        adapter.enqueue(session.getId(), userId(0));
+
+        assertThat(adapter.pollHead(session.getId())).contains(userId(2));
+        assertThat(adapter.pollHead(session.getId())).contains(userId(0));
+        assertThat(adapter.pollHead(session.getId())).isEmpty();
+    }
+
+    @Test
+    void remove_shouldReturnFalse_whenNotQueued() {
+        assertThat(adapter.remove(session.getId(), userId(0))).isFalse();
+    }
+}
@@ -0,0 +1,69 @@
+package com.openclassrooms.starterjwt.session.repository.adapter;
+
+import com.openclassrooms.starterjwt.session.model.WaitlistEntry;
+import com.openclassrooms.starterjwt.session.repository.WaitlistRepository;
+import com.openclassrooms.starterjwt.user.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+import static org.assertj.core.api.Assertions.*;
+
+class WaitlistRepositoryAdapterUnitTest {
+
+    private WaitlistRepository waitlistRepository;
+    private WaitlistRepositoryAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        waitlistRepository = mock(WaitlistRepository.class);
+        adapter = new WaitlistRepositoryAdapter(waitlistRepository);
+    }
+
+    @Test
+    void enqueue_shouldReflectAffectedRows() {
+        when(waitlistRepository.insertEntry(1L, 2L)).thenReturn(1, 0);
+        assertThat(adapter.enqueue(1L, 2L)).isTrue();
+        assertThat(adapter.enqueue(1L, 2L)).isFalse();
+    }
+
+    @Test
+    void enqueue_shouldNotSwallowDataIntegrityViolation() {
+        when(waitlistRepository.insertEntry(1L, 2L)).thenThrow(new DataIntegrityViolationException("fk"));
+        assertThatThrownBy(() -> adapter.enqueue(1L, 2L)).isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    void remove_shouldReflectAffectedRows() {
+        when(waitlistRepository.deleteEntry(1L, 2L)).thenReturn(1, 0);
+        assertThat(adapter.remove(1L, 2L)).isTrue();
+        assertThat(adapter.remove(1L, 2L)).isFalse();
+    }
+
+    @Test
+    void pollHead_shouldDeleteAndReturnHeadUser() {
+        WaitlistEntry head = new WaitlistEntry().setId(5L).setUser(new User().setId(9L));
+        when(waitlistRepository.findHead(1L, Limit.of(1))).thenReturn(List.of(head));
+
+        assertThat(adapter.pollHead(1L)).contains(9L);
+        verify(waitlistRepository).delete(head);
+    }
+
+    @Test
+    void pollHead_shouldReturnEmpty_whenQueueEmpty() {
+        when(waitlistRepository.findHead(1L, Limit.of(1))).thenReturn(List.of());
+
+        assertThat(adapter.pollHead(1L)).isEmpty();
+        verify(waitlistRepository, never()).delete(any());
+    }
+
+    @Test
+    void positionOf_shouldCallRepository() {
+        when(waitlistRepository.countUpTo(1L, 2L)).thenReturn(3L);
+        assertThat(adapter.positionOf(1L, 2L)).isEqualTo(3L);
+    }
+}
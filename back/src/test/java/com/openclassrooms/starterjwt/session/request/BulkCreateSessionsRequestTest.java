@@ -0,0 +1,64 @@
+package com.openclassrooms.starterjwt.session.request;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BulkCreateSessionsRequestTest {
+
+    private static Validator validator;
+
+    @BeforeAll
+    static void setUp() {
+        ValidatorFactory factory = Validation.buildDefaultValidatorFactory();
+        validator = factory.getValidator();
+    }
+
+    @Test
+    void validRequest_shouldHaveNoViolations() {
+        BulkCreateSessionsRequest request = new BulkCreateSessionsRequest();
+        request.setSessions(List.of(row("Yoga"), row("Pilates")));
+
+        Set<ConstraintViolation<BulkCreateSessionsRequest>> violations = validator.validate(request);
+        assertThat(violations).isEmpty();
+    }
+
+    @Test
+    void sessionsCannotBeEmptyOrTooMany() {
+        BulkCreateSessionsRequest request = new BulkCreateSessionsRequest();
+        request.setSessions(List.of());
+
+        Set<ConstraintViolation<BulkCreateSessionsRequest>> violations = validator.validate(request);
+        assertThat(violations).anyMatch(v -> v.getPropertyPath().toString().equals("sessions"));
+
+        request.setSessions(Collections.nCopies(5001, row("Yoga")));
+        violations = validator.validate(request);
+        assertThat(violations).anyMatch(v -> v.getPropertyPath().toString().equals("sessions"));
+    }
+
+    @Test
+    void eachRowIsValidated() {
+        BulkCreateSessionsRequest request = new BulkCreateSessionsRequest();
+        request.setSessions(List.of(row("Yoga"), row("")));
+
+        Set<ConstraintViolation<BulkCreateSessionsRequest>> violations = validator.validate(request);
+        assertThat(violations).anyMatch(v -> v.getPropertyPath().toString().equals("sessions[1].name"));
+    }
+
+    private static CreateSessionRequest row(String name) {
+        CreateSessionRequest row = new CreateSessionRequest();
+        row.setName(name);
+        row.setDate(new Date());
+        row.setTeacherId(1L);
+        row.setDescription("Description");
+        return row;
+    }
+}
@@ -0,0 +1,45 @@
+package com.openclassrooms.starterjwt.session.request;
+
+import com.openclassrooms.starterjwt.common.exception.BadRequestException;
+import com.openclassrooms.starterjwt.session.model.SessionSummary;
+import org.junit.jupiter.api.Test;
+import java.util.Date;
+import static org.assertj.core.api.Assertions.*;
+
+class SessionCursorTest {
+
+    @Test
+    void encode_then_decode_shouldRoundTrip() {
+        SessionCursor cursor = new SessionCursor(new Date(1_750_000_000_000L), 42L);
+
+        SessionCursor decoded = SessionCursor.decode(cursor.encode());
+
+        assertThat(decoded).isEqualTo(cursor);
+    }
+
+    @Test
+    void of_shouldUseSessionDateAndId() {
+        SessionSummary session = new SessionSummary(7L, "Yoga", new Date(1234L), 1L, "desc", 10, 3, null, null);
+
+        SessionCursor cursor = SessionCursor.of(session);
+
+        assertThat(cursor.id()).isEqualTo(7L);
+        assertThat(cursor.date()).isEqualTo(new Date(1234L));
+    }
+
+    @Test
+    void decode_shouldReturnNull_whenBlank() {
+        assertThat(SessionCursor.decode(null)).isNull();
+        assertThat(SessionCursor.decode(" ")).isNull();
+    }
+
+    @Test
+    void decode_shouldThrowBadRequest_whenMalformed() {
+        assertThatThrownBy(() -> SessionCursor.decode("%%%"))
+            .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> SessionCursor.decode("bm9zZXBhcmF0b3I"))
+            .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> SessionCursor.decode("YWJjOjEyMw"))
+            .isInstanceOf(BadRequestException.class);
+    }
+}
@@ -0,0 +1,157 @@
+package com.openclassrooms.starterjwt.session.service;
+
+import com.openclassrooms.starterjwt.common.exception.BadRequestException;
+import com.openclassrooms.starterjwt.common.exception.NotFoundException;
+import com.openclassrooms.starterjwt.session.dto.SessionDto;
+import com.openclassrooms.starterjwt.session.mapper.SessionMapper;
+import com.openclassrooms.starterjwt.session.model.Session;
+import com.openclassrooms.starterjwt.session.request.BulkCreateSessionsRequest;
+import com.openclassrooms.starterjwt.session.request.CreateSessionRequest;
+import com.openclassrooms.starterjwt.teacher.model.Teacher;
+import com.openclassrooms.starterjwt.teacher.dto.TeacherDto;
+import com.openclassrooms.starterjwt.teacher.service.TeacherCatalog;
+import com.openclassrooms.starterjwt.teacher.repository.port.TeacherRepositoryPort;
+import com.openclassrooms.starterjwt.user.model.User;
+import com.openclassrooms.starterjwt.user.repository.port.UserRepositoryPort;
+import com.openclassrooms.starterjwt.session.repository.port.SessionRepositoryPort;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.*;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(org.mockito.junit.jupiter.MockitoExtension.class)
+class BulkCreateSessionsServiceTest {
+
+    @Mock
+    private SessionMapper sessionMapper;
+
+    @Mock
+    private SessionRepositoryPort sessionRepositoryPort;
+
+    @Mock
+    private TeacherRepositoryPort teacherRepositoryPort;
+
+    @Mock
+    private TeacherCatalog teacherCatalog;
+
+    @Mock
+    private UserRepositoryPort userRepositoryPort;
+
+    @InjectMocks
+    private BulkCreateSessionsService bulkCreateSessionsService;
+
+    @Captor
+    private ArgumentCaptor<List<Session>> sessionsCaptor;
+
+    @Test
+    void should_save_all_sessions_at_once_and_load_users_once() {
+        Teacher teacher = new Teacher();
+        teacher.setId(10L);
+        User user1 = new User();
+        user1.setId(1L);
+        User user2 = new User();
+        user2.setId(2L);
+
+        when(teacherCatalog.findById(10L)).thenReturn(Optional.of(new TeacherDto()));
+        when(teacherRepositoryPort.getReferenceById(10L)).thenReturn(teacher);
+        when(userRepositoryPort.findAllById(List.of(1L, 2L))).thenReturn(List.of(user1, user2));
+        List<SessionDto> expected = List.of(new SessionDto(), new SessionDto());
+        when(sessionMapper.toDto(anyList())).thenReturn(expected);
+
+        List<SessionDto> result = bulkCreateSessionsService.execute(
+            request(row("Yoga", 10L, List.of(1L, 2L)), row("Pilates", 10L, List.of(2L)))
+        );
+
+        assertThat(result).isEqualTo(expected);
+        verify(sessionRepositoryPort).saveAll(sessionsCaptor.capture());
+        List<Session> saved = sessionsCaptor.getValue();
+        assertThat(saved).extracting(Session::getName).containsExactly("Yoga", "Pilates");
+        assertThat(saved.get(0).getUsers()).containsExactly(user1, user2);
+        assertThat(saved.get(1).getUsers()).containsExactly(user2);
+        assertThat(saved).allSatisfy(session -> {
+            assertThat(session.getTeacher()).isEqualTo(teacher);
+            assertThat(session.getCreatedAt()).isNotNull();
+        });
+        // Un seul contrôle par professeur, une seule requête pour tous les participants
+        verify(teacherCatalog, times(1)).findById(10L);
+        verify(userRepositoryPort, times(1)).findAllById(anyList());
+    }
+
+    @Test
+    void should_not_load_users_when_no_participants() {
+        when(teacherCatalog.findById(10L)).thenReturn(Optional.of(new TeacherDto()));
+        when(teacherRepositoryPort.getReferenceById(10L)).thenReturn(new Teacher());
+
+        bulkCreateSessionsService.execute(request(row("Yoga", 10L, null)));
+
+        verify(userRepositoryPort, never()).findAllById(anyList());
+        verify(sessionRepositoryPort).saveAll(anyList());
+    }
+
+    @Test
+    void should_throw_and_save_nothing_when_teacher_not_found() {
+        when(teacherCatalog.findById(10L)).thenReturn(Optional.of(new TeacherDto()));
+        when(teacherRepositoryPort.getReferenceById(10L)).thenReturn(new Teacher());
+        when(teacherCatalog.findById(99L)).thenReturn(Optional.empty());
+
+        BulkCreateSessionsRequest request = request(row("Yoga", 10L, null), row("Pilates", 99L, null));
+
+        assertThatThrownBy(() -> bulkCreateSessionsService.execute(request))
+            .isInstanceOf(NotFoundException.class)
+            .hasMessage("Teacher not found with id: 99");
+        verify(sessionRepositoryPort, never()).saveAll(anyList());
+    }
+
+    @Test
+    void should_throw_and_save_nothing_when_capacity_exceeded() {
+        User user1 = new User();
+        user1.setId(1L);
+        User user2 = new User();
+        user2.setId(2L);
+        when(userRepositoryPort.findAllById(List.of(1L, 2L))).thenReturn(List.of(user1, user2));
+
+        CreateSessionRequest full = row("Yoga", 10L, List.of(1L, 2L));
+        full.setCapacity(1);
+
+        assertThatThrownBy(() -> bulkCreateSessionsService.execute(request(full)))
+            .isInstanceOf(BadRequestException.class);
+        verify(sessionRepositoryPort, never()).saveAll(anyList());
+    }
+
+    @Test
+    void should_count_repeated_participant_once() {
+        User user1 = new User();
+        user1.setId(1L);
+        when(teacherCatalog.findById(10L)).thenReturn(Optional.of(new TeacherDto()));
+        when(teacherRepositoryPort.getReferenceById(10L)).thenReturn(new Teacher());
+        when(userRepositoryPort.findAllById(List.of(1L))).thenReturn(List.of(user1));
+
+        CreateSessionRequest row = row("Yoga", 10L, List.of(1L, 1L));
+        row.setCapacity(1);
+
+        bulkCreateSessionsService.execute(request(row));
+
+        verify(sessionRepositoryPort).saveAll(sessionsCaptor.capture());
+        assertThat(sessionsCaptor.getValue().get(0).getUsers()).containsExactly(user1);
+    }
+
+    private static CreateSessionRequest row(String name, Long teacherId, List<Long> users) {
+        CreateSessionRequest row = new CreateSessionRequest();
+        row.setName(name);
+        row.setDescription(name + " description");
+        row.setDate(new Date());
+        row.setTeacherId(teacherId);
+        row.setUsers(users);
+        return row;
+    }
+
+    private static BulkCreateSessionsRequest request(CreateSessionRequest... rows) {
+        BulkCreateSessionsRequest request = new BulkCreateSessionsRequest();
+        request.setSessions(List.of(rows));
+        return request;
+    }
+}
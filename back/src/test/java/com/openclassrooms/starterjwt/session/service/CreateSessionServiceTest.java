@@ -1,10 +1,14 @@
 package com.openclassrooms.starterjwt.session.service;
 
+import com.openclassrooms.starterjwt.common.exception.BadRequestException;
+import com.openclassrooms.starterjwt.common.exception.NotFoundException;
 import com.openclassrooms.starterjwt.session.dto.SessionDto;
 import com.openclassrooms.starterjwt.session.mapper.SessionMapper;
 import com.openclassrooms.starterjwt.session.model.Session;
 import com.openclassrooms.starterjwt.session.request.CreateSessionRequest;
 import com.openclassrooms.starterjwt.teacher.model.Teacher;
+import com.openclassrooms.starterjwt.teacher.dto.TeacherDto;
+import com.openclassrooms.starterjwt.teacher.service.TeacherCatalog;
 import com.openclassrooms.starterjwt.teacher.repository.port.TeacherRepositoryPort;
 import com.openclassrooms.starterjwt.user.model.User;
 import com.openclassrooms.starterjwt.user.repository.port.UserRepositoryPort;
@@ -14,6 +18,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -29,6 +34,9 @@ class CreateSessionServiceTest {
     @Mock
     private TeacherRepositoryPort teacherRepositoryPort;
 
+    @Mock
+    private TeacherCatalog teacherCatalog;
+
     @Mock
     private UserRepositoryPort userRepositoryPort;
 
@@ -52,7 +60,8 @@ class CreateSessionServiceTest {
         User user2 = new User();
         user2.setId(2L);
 
-        when(teacherRepositoryPort.getById(10L)).thenReturn(teacher);
+        when(teacherCatalog.findById(10L)).thenReturn(Optional.of(new TeacherDto()));
+        when(teacherRepositoryPort.getReferenceById(10L)).thenReturn(teacher);
         when(userRepositoryPort.findAllById(List.of(1L, 2L)))
                 .thenReturn(List.of(user1, user2));
 
@@ -75,6 +84,46 @@ class CreateSessionServiceTest {
         assertThat(savedSession.getCreatedAt()).isNotNull();
     }
 
+    @Test
+    void should_create_session_with_capacity() {
+        CreateSessionRequest request = new CreateSessionRequest();
+        request.setName("Yoga");
+        request.setDescription("Morning yoga");
+        request.setDate(new Date());
+        request.setTeacherId(10L);
+        request.setCapacity(12);
+        request.setUsers(List.of(1L));
+
+        when(teacherCatalog.findById(10L)).thenReturn(Optional.of(new TeacherDto()));
+        when(teacherRepositoryPort.getReferenceById(10L)).thenReturn(new Teacher());
+        when(userRepositoryPort.findAllById(List.of(1L))).thenReturn(List.of(new User()));
+
+        createSessionService.execute(request);
+
+        ArgumentCaptor<Session> sessionCaptor = ArgumentCaptor.forClass(Session.class);
+        verify(sessionRepositoryPort).save(sessionCaptor.capture());
+        assertThat(sessionCaptor.getValue().getCapacity()).isEqualTo(12);
+    }
+
+    @Test
+    void should_throw_when_capacity_lower_than_users() {
+        CreateSessionRequest request = new CreateSessionRequest();
+        request.setName("Yoga");
+        request.setDescription("Morning yoga");
+        request.setDate(new Date());
+        request.setTeacherId(10L);
+        request.setCapacity(1);
+        request.setUsers(List.of(1L, 2L));
+
+        when(teacherCatalog.findById(10L)).thenReturn(Optional.of(new TeacherDto()));
+        when(teacherRepositoryPort.getReferenceById(10L)).thenReturn(new Teacher());
+        when(userRepositoryPort.findAllById(List.of(1L, 2L))).thenReturn(List.of(new User(), new User()));
+
+        assertThatThrownBy(() -> createSessionService.execute(request))
+                .isInstanceOf(BadRequestException.class);
+        verify(sessionRepositoryPort, never()).save(any());
+    }
+
     @Test
     void should_create_session_without_users() {
         CreateSessionRequest request = new CreateSessionRequest();
@@ -87,7 +136,8 @@ class CreateSessionServiceTest {
         Teacher teacher = new Teacher();
         teacher.setId(5L);
 
-        when(teacherRepositoryPort.getById(5L)).thenReturn(teacher);
+        when(teacherCatalog.findById(5L)).thenReturn(Optional.of(new TeacherDto()));
+        when(teacherRepositoryPort.getReferenceById(5L)).thenReturn(teacher);
 
         SessionDto expectedDto = new SessionDto();
         when(sessionMapper.toDto(any(Session.class))).thenReturn(expectedDto);
@@ -115,10 +165,10 @@ class CreateSessionServiceTest {
         request.setName("Boxing");
         request.setTeacherId(99L);
 
-        when(teacherRepositoryPort.getById(99L)).thenThrow(new RuntimeException("Teacher not found"));
+        when(teacherCatalog.findById(99L)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> createSessionService.execute(request))
-            .isInstanceOf(RuntimeException.class)
+            .isInstanceOf(NotFoundException.class)
             .hasMessageContaining("Teacher not found");
     }
 
@@ -133,7 +183,8 @@ class CreateSessionServiceTest {
         Teacher teacher = new Teacher();
         teacher.setId(1L);
 
-        when(teacherRepositoryPort.getById(1L)).thenReturn(teacher);
+        when(teacherCatalog.findById(1L)).thenReturn(Optional.of(new TeacherDto()));
+        when(teacherRepositoryPort.getReferenceById(1L)).thenReturn(teacher);
         when(userRepositoryPort.findAllById(request.getUsers())).thenReturn(List.of());
 
         SessionDto expectedDto = new SessionDto();
@@ -166,7 +217,8 @@ class CreateSessionServiceTest {
 
         SessionDto dto = new SessionDto();
 
-        when(teacherRepositoryPort.getById(1L)).thenReturn(teacher);
+        when(teacherCatalog.findById(1L)).thenReturn(Optional.of(new TeacherDto()));
+        when(teacherRepositoryPort.getReferenceById(1L)).thenReturn(teacher);
         when(sessionMapper.toDto(any(Session.class))).thenReturn(dto);
 
         SessionDto result = createSessionService.execute(request);
@@ -0,0 +1,66 @@
+package com.openclassrooms.starterjwt.session.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.openclassrooms.starterjwt.session.model.SessionExportRow;
+import com.openclassrooms.starterjwt.session.repository.port.SessionRepositoryPort;
+import com.openclassrooms.starterjwt.session.request.SearchSessionsRequest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.*;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(org.mockito.junit.jupiter.MockitoExtension.class)
+class ExportSessionsServiceTest {
+
+    @Mock
+    private SessionRepositoryPort sessionRepositoryPort;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private static SessionExportRow row(long id, Long userId) {
+        return new SessionExportRow(id, "Session " + id, new Date(), 7L, "Description", null,
+            LocalDateTime.now(), LocalDateTime.now(), userId);
+    }
+
+    @Test
+    void should_write_one_line_per_session_with_its_participants() throws Exception {
+        SearchSessionsRequest request = new SearchSessionsRequest();
+        AtomicBoolean closed = new AtomicBoolean();
+        when(sessionRepositoryPort.streamExport(request)).thenReturn(
+            Stream.of(row(1, 10L), row(1, 11L), row(2, null), row(3, 10L)).onClose(() -> closed.set(true))
+        );
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        new ExportSessionsService(sessionRepositoryPort, objectMapper).execute(request, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(3);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertThat(first.get("id").asLong()).isEqualTo(1);
+        assertThat(first.get("teacherId").asLong()).isEqualTo(7);
+        assertThat(first.get("users")).extracting(JsonNode::asLong).containsExactly(10L, 11L);
+        assertThat(objectMapper.readTree(lines[1]).get("users")).isEmpty();
+        assertThat(objectMapper.readTree(lines[2]).get("users")).extracting(JsonNode::asLong).containsExactly(10L);
+        // Le curseur est libéré en fin d'export
+        assertThat(closed).isTrue();
+    }
+
+    @Test
+    void should_write_nothing_when_no_session() throws Exception {
+        SearchSessionsRequest request = new SearchSessionsRequest();
+        when(sessionRepositoryPort.streamExport(request)).thenReturn(Stream.empty());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        new ExportSessionsService(sessionRepositoryPort, objectMapper).execute(request, out);
+
+        assertThat(out.size()).isZero();
+    }
+}
@@ -31,12 +31,12 @@ class GetSessionServiceTest {
         SessionDto mockDto = new SessionDto();
         mockDto.setId(sessionId);
 
-        when(sessionRepositoryPort.getById(sessionId)).thenReturn(mockSession);
+        when(sessionRepositoryPort.getWithParticipantsById(sessionId)).thenReturn(mockSession);
         when(sessionMapper.toDto(mockSession)).thenReturn(mockDto);
 
         SessionDto result = getSessionService.execute(sessionId);
 
-        verify(sessionRepositoryPort).getById(sessionId);
+        verify(sessionRepositoryPort).getWithParticipantsById(sessionId);
         verify(sessionMapper).toDto(mockSession);
         assertThat(result).isEqualTo(mockDto);
     }
@@ -45,13 +45,13 @@ class GetSessionServiceTest {
     void should_throw_exception_if_session_not_found() {
         Long sessionId = 99L;
 
-        when(sessionRepositoryPort.getById(sessionId))
+        when(sessionRepositoryPort.getWithParticipantsById(sessionId))
             .thenThrow(new RuntimeException("Session not found"));
 
         assertThatThrownBy(() -> getSessionService.execute(sessionId))
             .isInstanceOf(RuntimeException.class)
             .hasMessageContaining("Session not found");
 
-        verify(sessionRepositoryPort).getById(sessionId);
+        verify(sessionRepositoryPort).getWithParticipantsById(sessionId);
     }
 }
@@ -1,12 +1,17 @@
 package com.openclassrooms.starterjwt.session.service;
 
-import com.openclassrooms.starterjwt.session.dto.SessionDto;
+import com.openclassrooms.starterjwt.common.exception.BadRequestException;
+import com.openclassrooms.starterjwt.session.dto.SessionSummaryDto;
+import com.openclassrooms.starterjwt.session.dto.SessionPageDto;
 import com.openclassrooms.starterjwt.session.mapper.SessionMapper;
-import com.openclassrooms.starterjwt.session.model.Session;
+import com.openclassrooms.starterjwt.session.model.SessionSummary;
+import com.openclassrooms.starterjwt.session.request.SearchSessionsRequest;
+import com.openclassrooms.starterjwt.session.request.SessionCursor;
 import com.openclassrooms.starterjwt.session.repository.port.SessionRepositoryPort;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
+import java.util.Date;
 import java.util.List;
 import java.util.ArrayList;
 import static org.mockito.Mockito.*;
@@ -24,66 +29,111 @@ class GetSessionsServiceTest {
     @InjectMocks
     private GetSessionsService getSessionsService;
 
+    private SessionSummary session(long id) {
+        return new SessionSummary(id, "S" + id, new Date(id * 1000), 1L, "desc", null, 0, null, null);
+    }
+
+    @Test
+    void should_return_page_of_sessionDto_without_next_when_last_page() {
+        SessionSummary session1 = session(1L);
+        SessionSummary session2 = session(2L);
+
+        SessionSummaryDto dto1 = new SessionSummaryDto(); dto1.setId(1L);
+        SessionSummaryDto dto2 = new SessionSummaryDto(); dto2.setId(2L);
+
+        SearchSessionsRequest request = new SearchSessionsRequest();
+
+        when(sessionRepositoryPort.findPage(request, null, GetSessionsService.DEFAULT_PAGE_SIZE + 1))
+            .thenReturn(List.of(session1, session2));
+        when(sessionMapper.toSummaryDto(session1)).thenReturn(dto1);
+        when(sessionMapper.toSummaryDto(session2)).thenReturn(dto2);
+
+        SessionPageDto result = getSessionsService.execute(request);
+
+        assertThat(result.getItems()).containsExactly(dto1, dto2);
+        assertThat(result.getNext()).isNull();
+    }
+
     @Test
-    void should_return_list_of_sessionDto() {
-        Session session1 = new Session(); session1.setId(1L);
-        Session session2 = new Session(); session2.setId(2L);
+    void should_return_next_cursor_when_more_rows_than_page_size() {
+        SessionSummary session1 = session(1L);
+        SessionSummary session2 = session(2L);
+        SessionSummary session3 = session(3L);
 
-        SessionDto dto1 = new SessionDto(); dto1.setId(1L);
-        SessionDto dto2 = new SessionDto(); dto2.setId(2L);
+        SearchSessionsRequest request = new SearchSessionsRequest();
+        request.setSize(2);
 
-        List<Session> mockSessions = List.of(session1, session2);
+        when(sessionRepositoryPort.findPage(request, null, 3))
+            .thenReturn(List.of(session1, session2, session3));
+        when(sessionMapper.toSummaryDto(any(SessionSummary.class))).thenReturn(new SessionSummaryDto());
 
-        when(sessionRepositoryPort.findAll()).thenReturn(mockSessions);
-        when(sessionMapper.toDto(session1)).thenReturn(dto1);
-        when(sessionMapper.toDto(session2)).thenReturn(dto2);
+        SessionPageDto result = getSessionsService.execute(request);
 
-        List<SessionDto> result = getSessionsService.execute();
+        assertThat(result.getItems()).hasSize(2);
+        assertThat(result.getNext()).isEqualTo(SessionCursor.of(session2).encode());
+        verify(sessionMapper, never()).toSummaryDto(session3);
+    }
+
+    @Test
+    void should_pass_decoded_cursor_to_repository() {
+        SessionCursor cursor = new SessionCursor(new Date(5000), 5L);
+        SearchSessionsRequest request = new SearchSessionsRequest();
+        request.setCursor(cursor.encode());
 
-        verify(sessionRepositoryPort).findAll();
-        verify(sessionMapper).toDto(session1);
-        verify(sessionMapper).toDto(session2);
+        when(sessionRepositoryPort.findPage(request, cursor, GetSessionsService.DEFAULT_PAGE_SIZE + 1))
+            .thenReturn(new ArrayList<>());
 
-        assertThat(result).hasSize(2);
-        assertThat(result).containsExactly(dto1, dto2);
+        SessionPageDto result = getSessionsService.execute(request);
+
+        assertThat(result.getItems()).isEmpty();
+        assertThat(result.getNext()).isNull();
     }
 
     @Test
-    void should_return_empty_list_if_no_sessions() {
-        when(sessionRepositoryPort.findAll()).thenReturn(new ArrayList<>());
+    void should_cap_page_size() {
+        SearchSessionsRequest request = new SearchSessionsRequest();
+        request.setSize(10_000);
+
+        when(sessionRepositoryPort.findPage(request, null, GetSessionsService.MAX_PAGE_SIZE + 1))
+            .thenReturn(new ArrayList<>());
 
-        List<SessionDto> result = getSessionsService.execute();
+        getSessionsService.execute(request);
 
-        verify(sessionRepositoryPort).findAll();
-        assertThat(result).isEmpty();
+        verify(sessionRepositoryPort).findPage(request, null, GetSessionsService.MAX_PAGE_SIZE + 1);
     }
 
     @Test
-    void should_call_mapper_for_each_session() {
-        Session session1 = new Session(); session1.setId(1L);
-        Session session2 = new Session(); session2.setId(2L);
-        List<Session> mockSessions = List.of(session1, session2);
+    void should_use_default_page_size_when_invalid() {
+        SearchSessionsRequest request = new SearchSessionsRequest();
+        request.setSize(0);
 
-        when(sessionRepositoryPort.findAll()).thenReturn(mockSessions);
-        when(sessionMapper.toDto(any(Session.class))).thenReturn(new SessionDto());
+        when(sessionRepositoryPort.findPage(request, null, GetSessionsService.DEFAULT_PAGE_SIZE + 1))
+            .thenReturn(new ArrayList<>());
 
-        getSessionsService.execute();
+        getSessionsService.execute(request);
 
-        ArgumentCaptor<Session> captor = ArgumentCaptor.forClass(Session.class);
-        verify(sessionMapper, times(2)).toDto(captor.capture());
+        verify(sessionRepositoryPort).findPage(request, null, GetSessionsService.DEFAULT_PAGE_SIZE + 1);
+    }
+
+    @Test
+    void should_reject_invalid_cursor() {
+        SearchSessionsRequest request = new SearchSessionsRequest();
+        request.setCursor("not-a-cursor");
 
-        List<Session> capturedSessions = captor.getAllValues();
-        assertThat(capturedSessions).containsExactly(session1, session2);
+        assertThatThrownBy(() -> getSessionsService.execute(request))
+            .isInstanceOf(BadRequestException.class)
+            .hasMessageContaining("Invalid cursor");
+
+        verifyNoInteractions(sessionRepositoryPort);
     }
 
     @Test
     void should_throw_exception_if_repository_fails() {
-        when(sessionRepositoryPort.findAll()).thenThrow(new RuntimeException("DB error"));
+        SearchSessionsRequest request = new SearchSessionsRequest();
+        when(sessionRepositoryPort.findPage(any(), any(), anyInt())).thenThrow(new RuntimeException("DB error"));
 
-        assertThatThrownBy(() -> getSessionsService.execute())
+        assertThatThrownBy(() -> getSessionsService.execute(request))
             .isInstanceOf(RuntimeException.class)
             .hasMessageContaining("DB error");
-
-        verify(sessionRepositoryPort).findAll();
     }
 }
@@ -0,0 +1,40 @@
+package com.openclassrooms.starterjwt.session.service;
+
+import com.openclassrooms.starterjwt.common.exception.NotFoundException;
+import com.openclassrooms.starterjwt.session.dto.ParticipationDto;
+import com.openclassrooms.starterjwt.session.dto.ParticipationStatus;
+import com.openclassrooms.starterjwt.session.repository.port.WaitlistRepositoryPort;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.*;
+import static org.mockito.Mockito.*;
+import static org.assertj.core.api.Assertions.*;
+
+@ExtendWith(org.mockito.junit.jupiter.MockitoExtension.class)
+class GetWaitlistPositionServiceTest {
+
+    @Mock
+    private WaitlistRepositoryPort waitlistRepositoryPort;
+
+    @InjectMocks
+    private GetWaitlistPositionService service;
+
+    @Test
+    void should_return_position() {
+        when(waitlistRepositoryPort.positionOf(1L, 2L)).thenReturn(4L);
+
+        ParticipationDto result = service.execute(1L, 2L);
+
+        assertThat(result.getStatus()).isEqualTo(ParticipationStatus.WAITLISTED);
+        assertThat(result.getPosition()).isEqualTo(4L);
+    }
+
+    @Test
+    void should_throw_not_found_when_not_queued() {
+        when(waitlistRepositoryPort.positionOf(1L, 2L)).thenReturn(0L);
+
+        assertThatThrownBy(() -> service.execute(1L, 2L))
+            .isInstanceOf(NotFoundException.class)
+            .hasMessageContaining("not on the waitlist");
+    }
+}
@@ -0,0 +1,189 @@
+package com.openclassrooms.starterjwt.session.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.openclassrooms.starterjwt.common.exception.NotFoundException;
+import com.openclassrooms.starterjwt.session.dto.SessionImportReportDto;
+import com.openclassrooms.starterjwt.session.model.Session;
+import com.openclassrooms.starterjwt.session.repository.port.SessionRepositoryPort;
+import com.openclassrooms.starterjwt.session.request.SessionImportFormat;
+import com.openclassrooms.starterjwt.teacher.model.Teacher;
+import com.openclassrooms.starterjwt.teacher.repository.port.TeacherRepositoryPort;
+import jakarta.validation.Validation;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.*;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(org.mockito.junit.jupiter.MockitoExtension.class)
+class ImportSessionsServiceTest {
+
+    @Mock
+    private SessionRepositoryPort sessionRepositoryPort;
+
+    @Mock
+    private TeacherRepositoryPort teacherRepositoryPort;
+
+    private ImportSessionsService importSessionsService;
+
+    // saveAll reçoit une liste vidée après chaque paquet : on copie son contenu à l'appel
+    private final List<List<Session>> savedChunks = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        importSessionsService = new ImportSessionsService(
+            sessionRepositoryPort,
+            teacherRepositoryPort,
+            Validation.buildDefaultValidatorFactory().getValidator(),
+            new ObjectMapper(),
+            2,
+            2
+        );
+    }
+
+    private void recordChunks() {
+        doAnswer(invocation -> savedChunks.add(new ArrayList<>(invocation.<List<Session>>getArgument(0))))
+            .when(sessionRepositoryPort).saveAll(anyList());
+    }
+
+    private static Teacher teacher(long id, String lastName) {
+        return new Teacher().setId(id).setLastName(lastName).setFirstName("First");
+    }
+
+    @Test
+    void should_import_csv_in_chunks_with_header_and_quotes() {
+        recordChunks();
+        when(teacherRepositoryPort.getByLastName("Delahaye")).thenReturn(teacher(1L, "Delahaye"));
+
+        String csv = """
+            name,date,teacherLastName,description
+            Yoga,2026-06-15,Delahaye,Morning
+            "Power, Yoga",2026-06-16,Delahaye,"Say ""hello""\"
+
+            Stretch,2026-06-17,Delahaye,Evening
+            """;
+
+        SessionImportReportDto report = importSessionsService.execute(new StringReader(csv), SessionImportFormat.CSV);
+
+        assertThat(report.getImported()).isEqualTo(3);
+        assertThat(report.getFailed()).isZero();
+        assertThat(savedChunks).hasSize(2);
+        assertThat(savedChunks.get(0)).extracting(Session::getName).containsExactly("Yoga", "Power, Yoga");
+        assertThat(savedChunks.get(0).get(1).getDescription()).isEqualTo("Say \"hello\"");
+        assertThat(savedChunks.get(1)).extracting(Session::getName).containsExactly("Stretch");
+        // Mémo : un seul accès au professeur pour tout le fichier
+        verify(teacherRepositoryPort, times(1)).getByLastName("Delahaye");
+    }
+
+    @Test
+    void should_import_ndjson() {
+        recordChunks();
+        when(teacherRepositoryPort.getByLastName("Delahaye")).thenReturn(teacher(1L, "Delahaye"));
+
+        String ndjson = """
+            {"name":"Yoga","date":"2026-06-15","teacherLastName":"Delahaye","description":"Morning"}
+            """;
+
+        SessionImportReportDto report = importSessionsService.execute(new StringReader(ndjson), SessionImportFormat.NDJSON);
+
+        assertThat(report.getImported()).isEqualTo(1);
+        assertThat(savedChunks.get(0).get(0).getTeacher().getId()).isEqualTo(1L);
+        assertThat(savedChunks.get(0).get(0).getDate()).isNotNull();
+    }
+
+    @Test
+    void should_report_invalid_rows_and_keep_importing() {
+        recordChunks();
+        when(teacherRepositoryPort.getByLastName("Delahaye")).thenReturn(teacher(1L, "Delahaye"));
+        when(teacherRepositoryPort.getByLastName("Unknown")).thenThrow(new NotFoundException("not found"));
+
+        String csv = """
+            Yoga,2026-06-15,Delahaye,Morning
+            ,2026-06-15,Delahaye,No name
+            Yoga,not-a-date,Delahaye,Bad date
+            Yoga,2026-06-15,Unknown,Missing teacher
+            Yoga,2026-06-15,Unknown,Missing teacher again
+            Too,few,columns
+            Stretch,2026-06-17,Delahaye,Evening
+            """;
+
+        SessionImportReportDto report = importSessionsService.execute(new StringReader(csv), SessionImportFormat.CSV);
+
+        assertThat(report.getImported()).isEqualTo(2);
+        assertThat(report.getFailed()).isEqualTo(5);
+        // maxErrors = 2 : seules les deux premières erreurs sont détaillées
+        assertThat(report.isTruncated()).isTrue();
+        assertThat(report.getErrors()).extracting("line").containsExactly(2L, 3L);
+        assertThat(report.getErrors().get(0).getMessage()).startsWith("name:");
+        assertThat(report.getErrors().get(1).getMessage()).startsWith("date:");
+        verify(teacherRepositoryPort, times(1)).getByLastName("Unknown");
+    }
+
+    @Test
+    void should_report_malformed_json_line() {
+        String ndjson = """
+            {"name":"Yoga",
+            null
+            """;
+
+        SessionImportReportDto report = importSessionsService.execute(new StringReader(ndjson), SessionImportFormat.NDJSON);
+
+        assertThat(report.getImported()).isZero();
+        assertThat(report.getErrors()).extracting("line").containsExactly(1L, 2L);
+        assertThat(report.getErrors().get(0).getMessage()).startsWith("Malformed JSON");
+        verify(sessionRepositoryPort, never()).saveAll(anyList());
+    }
+
+    @Test
+    void should_fail_only_the_rejected_chunk() {
+        when(teacherRepositoryPort.getByLastName("Delahaye")).thenReturn(teacher(1L, "Delahaye"));
+        doThrow(new DataIntegrityViolationException("could not execute statement [insert into sessions ...]"))
+            .doNothing().when(sessionRepositoryPort).saveAll(anyList());
+
+        String csv = """
+            A,2026-06-15,Delahaye,First chunk
+            B,2026-06-15,Delahaye,First chunk
+            C,2026-06-15,Delahaye,Second chunk
+            """;
+
+        SessionImportReportDto report = importSessionsService.execute(new StringReader(csv), SessionImportFormat.CSV);
+
+        assertThat(report.getImported()).isEqualTo(1);
+        assertThat(report.getFailed()).isEqualTo(2);
+        assertThat(report.getErrors()).extracting("line").containsExactly(1L, 2L);
+        // Jamais le message brut de l'exception, qui contient le SQL
+        assertThat(report.getErrors().get(0).getMessage()).isEqualTo("Chunk rejected by the database");
+    }
+
+    @Test
+    void should_report_ambiguous_teacher_last_name_and_keep_importing() {
+        recordChunks();
+        when(teacherRepositoryPort.getByLastName("Delahaye")).thenReturn(teacher(1L, "Delahaye"));
+        when(teacherRepositoryPort.getByLastName("Martin")).thenThrow(new IncorrectResultSizeDataAccessException(1, 2));
+
+        String csv = """
+            Yoga,2026-06-15,Martin,Two teachers share this name
+            Stretch,2026-06-16,Delahaye,Morning
+            Pilates,2026-06-17,Martin,Still ambiguous
+            """;
+
+        SessionImportReportDto report = importSessionsService.execute(new StringReader(csv), SessionImportFormat.CSV);
+
+        assertThat(report.getImported()).isEqualTo(1);
+        assertThat(report.getFailed()).isEqualTo(2);
+        assertThat(report.getErrors()).extracting("line").containsExactly(1L, 3L);
+        assertThat(report.getErrors().get(0).getMessage()).isEqualTo("Ambiguous teacher last name: Martin");
+        verify(teacherRepositoryPort, times(1)).getByLastName("Martin");
+    }
+
+    @Test
+    void splitCsv_shouldHandleQuotedFields() {
+        assertThat(ImportSessionsService.splitCsv("a,\"b,c\",\"d\"\"e\",")).containsExactly("a", "b,c", "d\"e", "");
+    }
+}
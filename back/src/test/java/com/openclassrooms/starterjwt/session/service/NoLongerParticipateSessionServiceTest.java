@@ -1,16 +1,17 @@
 package com.openclassrooms.starterjwt.session.service;
 
 import org.mockito.*;
-import java.util.List;
-import java.util.ArrayList;
+import java.util.Optional;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
 import static org.mockito.Mockito.*;
 import static org.assertj.core.api.Assertions.*;
 import org.junit.jupiter.api.extension.ExtendWith;
-import com.openclassrooms.starterjwt.user.model.User;
 import com.openclassrooms.starterjwt.session.model.Session;
+import com.openclassrooms.starterjwt.common.exception.NotFoundException;
 import com.openclassrooms.starterjwt.common.exception.BadRequestException;
 import com.openclassrooms.starterjwt.session.repository.port.SessionRepositoryPort;
+import com.openclassrooms.starterjwt.session.repository.port.WaitlistRepositoryPort;
 
 @ExtendWith(org.mockito.junit.jupiter.MockitoExtension.class)
 class NoLongerParticipateSessionServiceTest {
@@ -18,45 +19,106 @@ class NoLongerParticipateSessionServiceTest {
     @Mock
     private SessionRepositoryPort sessionRepositoryPort;
 
-    @InjectMocks
+    @Mock
+    private WaitlistRepositoryPort waitlistRepositoryPort;
+
     private NoLongerParticipateSessionService service;
 
+    @BeforeEach
+    void setUp() {
+        // Promotion réelle : c'est elle qui décide qui reçoit la place libérée
+        service = new NoLongerParticipateSessionService(
+            sessionRepositoryPort,
+            waitlistRepositoryPort,
+            new WaitlistPromotion(sessionRepositoryPort, waitlistRepositoryPort)
+        );
+    }
+
+    @Test
+    void should_remove_user_and_release_seat_when_waitlist_empty() {
+        when(sessionRepositoryPort.removeParticipant(100L, 1L)).thenReturn(true);
+        when(waitlistRepositoryPort.pollHead(100L)).thenReturn(Optional.empty());
+
+        service.execute(100L, 1L);
+
+        verify(sessionRepositoryPort).removeParticipant(100L, 1L);
+        verify(sessionRepositoryPort).releaseSeat(100L);
+        verify(sessionRepositoryPort, never()).getById(any());
+        verify(sessionRepositoryPort, never()).save(any());
+    }
+
     @Test
-    void should_remove_user_if_participating() {
-        User user1 = new User();
-        user1.setId(1L);
+    void should_promote_head_of_waitlist() {
+        when(sessionRepositoryPort.removeParticipant(100L, 1L)).thenReturn(true);
+        when(waitlistRepositoryPort.pollHead(100L)).thenReturn(Optional.of(7L));
+        when(sessionRepositoryPort.addParticipant(100L, 7L)).thenReturn(true);
 
-        User user2 = new User();
-        user2.setId(2L);
+        service.execute(100L, 1L);
 
-        Session session = new Session();
-        session.setId(100L);
-        session.setUsers(new ArrayList<>(List.of(user1, user2)));
+        verify(sessionRepositoryPort).addParticipant(100L, 7L);
+        verify(sessionRepositoryPort).touch(100L);
+        verify(sessionRepositoryPort, never()).releaseSeat(any());
+    }
 
-        when(sessionRepositoryPort.getById(100L)).thenReturn(session);
+    @Test
+    void should_pass_seat_to_next_in_line_when_head_cannot_be_added() {
+        when(sessionRepositoryPort.removeParticipant(100L, 1L)).thenReturn(true);
+        when(waitlistRepositoryPort.pollHead(100L)).thenReturn(Optional.of(7L))
+            .thenReturn(Optional.of(8L));
+        when(sessionRepositoryPort.addParticipant(100L, 7L)).thenReturn(false);
+        when(sessionRepositoryPort.addParticipant(100L, 8L)).thenReturn(true);
 
         service.execute(100L, 1L);
 
-        assertThat(session.getUsers()).hasSize(1);
-        assertThat(session.getUsers()).doesNotContain(user1);
-        verify(sessionRepositoryPort).save(session);
+        verify(sessionRepositoryPort).addParticipant(100L, 8L);
+        verify(sessionRepositoryPort).touch(100L);
+        verify(sessionRepositoryPort, never()).releaseSeat(any());
     }
 
     @Test
-    void should_throw_exception_if_user_not_participating() {
-        User user2 = new User();
-        user2.setId(2L);
+    void should_release_seat_when_no_waitlisted_user_can_be_added() {
+        when(sessionRepositoryPort.removeParticipant(100L, 1L)).thenReturn(true);
+        when(waitlistRepositoryPort.pollHead(100L)).thenReturn(Optional.of(7L))
+            .thenReturn(Optional.empty());
+        when(sessionRepositoryPort.addParticipant(100L, 7L)).thenReturn(false);
+
+        service.execute(100L, 1L);
+
+        verify(sessionRepositoryPort).releaseSeat(100L);
+        verify(sessionRepositoryPort, never()).touch(any());
+    }
+
+    @Test
+    void should_remove_user_from_waitlist_if_not_participating() {
+        when(sessionRepositoryPort.removeParticipant(100L, 1L)).thenReturn(false);
+        when(waitlistRepositoryPort.remove(100L, 1L)).thenReturn(true);
+
+        service.execute(100L, 1L);
 
-        Session session = new Session();
-        session.setId(100L);
-        session.setUsers(new ArrayList<>(List.of(user2)));
+        verify(sessionRepositoryPort, never()).releaseSeat(any());
+        verify(waitlistRepositoryPort, never()).pollHead(any());
+    }
 
-        when(sessionRepositoryPort.getById(100L)).thenReturn(session);
+    @Test
+    void should_throw_exception_if_user_not_participating() {
+        when(sessionRepositoryPort.removeParticipant(100L, 1L)).thenReturn(false);
+        when(waitlistRepositoryPort.remove(100L, 1L)).thenReturn(false);
+        when(sessionRepositoryPort.getById(100L)).thenReturn(new Session());
 
         assertThatThrownBy(() -> service.execute(100L, 1L))
             .isInstanceOf(BadRequestException.class)
             .hasMessage("User does not participate in this session");
 
-        verify(sessionRepositoryPort, never()).save(any());
+        verify(sessionRepositoryPort, never()).releaseSeat(any());
+    }
+
+    @Test
+    void should_throw_not_found_if_session_does_not_exist() {
+        when(sessionRepositoryPort.removeParticipant(100L, 1L)).thenReturn(false);
+        when(waitlistRepositoryPort.remove(100L, 1L)).thenReturn(false);
+        when(sessionRepositoryPort.getById(100L)).thenThrow(new NotFoundException("Session not found with id: 100"));
+
+        assertThatThrownBy(() -> service.execute(100L, 1L))
+            .isInstanceOf(NotFoundException.class);
     }
 }
@@ -0,0 +1,148 @@
+package com.openclassrooms.starterjwt.session.service;
+
+import com.openclassrooms.starterjwt.common.exception.BadRequestException;
+import com.openclassrooms.starterjwt.session.dto.ParticipationDto;
+import com.openclassrooms.starterjwt.session.dto.ParticipationStatus;
+import com.openclassrooms.starterjwt.session.model.Session;
+import com.openclassrooms.starterjwt.session.repository.SessionRepository;
+import com.openclassrooms.starterjwt.session.repository.WaitlistRepository;
+import com.openclassrooms.starterjwt.session.repository.adapter.SessionRepositoryAdapter;
+import com.openclassrooms.starterjwt.session.repository.adapter.WaitlistRepositoryAdapter;
+import com.openclassrooms.starterjwt.teacher.model.Teacher;
+import com.openclassrooms.starterjwt.teacher.repository.TeacherRepository;
+import com.openclassrooms.starterjwt.user.model.User;
+import com.openclassrooms.starterjwt.user.repository.UserRepository;
+import com.openclassrooms.starterjwt.user.repository.adapter.UserRepositoryAdapter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Vérifie le surbooking, pas les interblocages : H2 verrouille autrement qu'InnoDB (pas de verrou partagé
+ * pris par le contrôle de clé étrangère), d'où l'ordre place puis insertion imposé par le test unitaire.
+ */
+@TestPropertySource("classpath:h2-mysql.properties")
+@DataJpaTest
+@Import({
+        ParticipateSessionService.class,
+        SessionRepositoryAdapter.class,
+        UserRepositoryAdapter.class,
+        WaitlistRepositoryAdapter.class
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ParticipateSessionServiceConcurrencyTest {
+
+    private static final int CAPACITY = 10;
+    private static final int CONTENDERS = 60;
+
+    @Autowired
+    private ParticipateSessionService participateSessionService;
+
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private WaitlistRepository waitlistRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Session session;
+    private final List<User> users = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        Teacher teacher = teacherRepository.save(new Teacher().setFirstName("Ada").setLastName("Lovelace"));
+        session = sessionRepository.save(Session.builder()
+                .name("Popular")
+                .description("Everybody wants in")
+                .date(new Date())
+                .teacher(teacher)
+                .capacity(CAPACITY)
+                .users(new ArrayList<>())
+                .build());
+
+        for (int i = 0; i < CONTENDERS; i++) {
+            users.add(userRepository.save(new User()
+                    .setEmail("contender" + i + "@test.com")
+                    .setFirstName("First")
+                    .setLastName("Last")
+                    .setPassword("secret")));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        waitlistRepository.deleteAll();
+        sessionRepository.deleteAllSessionsParticipations();
+        sessionRepository.deleteAll();
+        userRepository.deleteAll();
+        teacherRepository.deleteAll();
+    }
+
+    @Test
+    void concurrentParticipations_shouldNeverOverbook() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger waitlisted = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        // Chaque utilisateur tente deux fois pour mêler file d'attente et "déjà inscrit"
+        for (int attempt = 0; attempt < 2; attempt++) {
+            for (User user : users) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    try {
+                        ParticipationDto result = participateSessionService.execute(session.getId(), user.getId());
+                        if (result.getStatus() == ParticipationStatus.PARTICIPATING) {
+                            accepted.incrementAndGet();
+                        } else {
+                            waitlisted.incrementAndGet();
+                        }
+                    } catch (BadRequestException e) {
+                        rejected.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+        }
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        Session reloaded = sessionRepository.findWithUsersById(session.getId()).orElseThrow();
+
+        assertThat(accepted.get()).isEqualTo(CAPACITY);
+        assertThat(waitlisted.get()).isEqualTo(CONTENDERS - CAPACITY);
+        assertThat(rejected.get()).isEqualTo(CONTENDERS);
+        assertThat(waitlistRepository.count()).isEqualTo(CONTENDERS - CAPACITY);
+        assertThat(reloaded.getSeatsTaken()).isEqualTo(CAPACITY);
+        assertThat(reloaded.getUsers()).hasSize(CAPACITY).doesNotHaveDuplicates();
+    }
+}
@@ -2,14 +2,16 @@ package com.openclassrooms.starterjwt.session.service;
 
 import com.openclassrooms.starterjwt.session.model.Session;
 import com.openclassrooms.starterjwt.user.model.User;
+import com.openclassrooms.starterjwt.session.dto.ParticipationDto;
+import com.openclassrooms.starterjwt.session.dto.ParticipationStatus;
 import com.openclassrooms.starterjwt.session.repository.port.SessionRepositoryPort;
+import com.openclassrooms.starterjwt.session.repository.port.WaitlistRepositoryPort;
 import com.openclassrooms.starterjwt.user.repository.port.UserRepositoryPort;
 import com.openclassrooms.starterjwt.common.exception.BadRequestException;
+import com.openclassrooms.starterjwt.common.exception.NotFoundException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
-import java.util.ArrayList;
-import java.util.List;
 import static org.mockito.Mockito.*;
 import static org.assertj.core.api.Assertions.*;
 
@@ -22,49 +24,100 @@ class ParticipateSessionServiceTest {
     @Mock
     private UserRepositoryPort userRepositoryPort;
 
+    @Mock
+    private WaitlistRepositoryPort waitlistRepositoryPort;
+
     @InjectMocks
     private ParticipateSessionService service;
 
     @Test
     void should_add_user_if_not_already_participating() {
         // GIVEN
-        User user1 = new User();
-        user1.setId(1L);
-
-        Session session = new Session();
-        session.setId(100L);
-        session.setUsers(new ArrayList<>()); // aucun participant initialement
-
-        when(sessionRepositoryPort.getById(100L)).thenReturn(session);
-        when(userRepositoryPort.getById(1L)).thenReturn(user1);
+        when(sessionRepositoryPort.getById(100L)).thenReturn(new Session());
+        when(userRepositoryPort.getById(1L)).thenReturn(new User());
+        when(sessionRepositoryPort.addParticipant(100L, 1L)).thenReturn(true);
+        when(sessionRepositoryPort.reserveSeat(100L)).thenReturn(true);
 
         // WHEN
-        service.execute(100L, 1L);
+        ParticipationDto result = service.execute(100L, 1L);
 
         // THEN
-        assertThat(session.getUsers()).hasSize(1);
-        assertThat(session.getUsers()).contains(user1);
-        verify(sessionRepositoryPort).save(session);
+        assertThat(result.getStatus()).isEqualTo(ParticipationStatus.PARTICIPATING);
+        verifyNoInteractions(waitlistRepositoryPort);
+        // La place d'abord : verrou exclusif sur la session avant l'insertion (et son contrôle de clé étrangère)
+        InOrder inOrder = inOrder(sessionRepositoryPort);
+        inOrder.verify(sessionRepositoryPort).reserveSeat(100L);
+        inOrder.verify(sessionRepositoryPort).addParticipant(100L, 1L);
+        verify(sessionRepositoryPort, never()).save(any());
     }
 
     @Test
-    void should_throw_exception_if_user_already_participates() {
-        // GIVEN
-        User user1 = new User();
-        user1.setId(1L);
+    void should_enqueue_user_if_session_is_full() {
+        when(sessionRepositoryPort.getById(100L)).thenReturn(new Session());
+        when(userRepositoryPort.getById(1L)).thenReturn(new User());
+        when(sessionRepositoryPort.reserveSeat(100L)).thenReturn(false);
+        when(sessionRepositoryPort.isParticipant(100L, 1L)).thenReturn(false);
+        when(waitlistRepositoryPort.enqueue(100L, 1L)).thenReturn(true);
+        when(waitlistRepositoryPort.positionOf(100L, 1L)).thenReturn(3L);
+
+        ParticipationDto result = service.execute(100L, 1L);
 
-        Session session = new Session();
-        session.setId(100L);
-        session.setUsers(new ArrayList<>(List.of(user1))); // utilisateur déjà présent
+        assertThat(result.getStatus()).isEqualTo(ParticipationStatus.WAITLISTED);
+        assertThat(result.getPosition()).isEqualTo(3L);
+        verify(sessionRepositoryPort, never()).addParticipant(any(), any());
+    }
+
+    @Test
+    void should_throw_exception_if_user_already_on_waitlist() {
+        when(sessionRepositoryPort.getById(100L)).thenReturn(new Session());
+        when(userRepositoryPort.getById(1L)).thenReturn(new User());
+        when(sessionRepositoryPort.reserveSeat(100L)).thenReturn(false);
+        when(sessionRepositoryPort.isParticipant(100L, 1L)).thenReturn(false);
+        when(waitlistRepositoryPort.enqueue(100L, 1L)).thenReturn(false);
+
+        assertThatThrownBy(() -> service.execute(100L, 1L))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("User is already on the waitlist of this session");
+    }
 
-        when(sessionRepositoryPort.getById(100L)).thenReturn(session);
-        when(userRepositoryPort.getById(1L)).thenReturn(user1);
+    @Test
+    void should_throw_exception_if_user_already_participates() {
+        // GIVEN : place réservée, mais aucune ligne insérée
+        when(sessionRepositoryPort.getById(100L)).thenReturn(new Session());
+        when(userRepositoryPort.getById(1L)).thenReturn(new User());
+        when(sessionRepositoryPort.reserveSeat(100L)).thenReturn(true);
+        when(sessionRepositoryPort.addParticipant(100L, 1L)).thenReturn(false);
 
         // WHEN / THEN
         assertThatThrownBy(() -> service.execute(100L, 1L))
                 .isInstanceOf(BadRequestException.class)
                 .hasMessage("User already participates in this session");
 
-        verify(sessionRepositoryPort, never()).save(any());
+        verify(sessionRepositoryPort).releaseSeat(100L);
+    }
+
+    @Test
+    void should_not_enqueue_participant_of_a_full_session() {
+        when(sessionRepositoryPort.getById(100L)).thenReturn(new Session());
+        when(userRepositoryPort.getById(1L)).thenReturn(new User());
+        when(sessionRepositoryPort.reserveSeat(100L)).thenReturn(false);
+        when(sessionRepositoryPort.isParticipant(100L, 1L)).thenReturn(true);
+
+        assertThatThrownBy(() -> service.execute(100L, 1L))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("User already participates in this session");
+
+        verifyNoInteractions(waitlistRepositoryPort);
+    }
+
+    @Test
+    void should_throw_not_found_if_user_does_not_exist() {
+        when(sessionRepositoryPort.getById(100L)).thenReturn(new Session());
+        when(userRepositoryPort.getById(1L)).thenThrow(new NotFoundException("User not found with id: 1"));
+
+        assertThatThrownBy(() -> service.execute(100L, 1L))
+                .isInstanceOf(NotFoundException.class);
+
+        verify(sessionRepositoryPort, never()).addParticipant(any(), any());
     }
 }
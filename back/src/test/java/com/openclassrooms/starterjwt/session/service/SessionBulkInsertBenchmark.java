@@ -0,0 +1,97 @@
+package com.openclassrooms.starterjwt.session.service;
+
+import com.openclassrooms.starterjwt.SpringBootSecurityJwtApplication;
+import com.openclassrooms.starterjwt.session.request.BulkCreateSessionsRequest;
+import com.openclassrooms.starterjwt.session.request.CreateSessionRequest;
+import com.openclassrooms.starterjwt.teacher.service.TeacherCatalog;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Compare le débit d'insertion (lignes/s) du chemin unitaire ({@link CreateSessionService}, une transaction
+ * et un INSERT par session) et du chemin par lot ({@link BulkCreateSessionsService}, batch JDBC).
+ * <p>
+ * Chaque mode insère {@code bulk.rows} sessions, par lots de {@code bulk.chunk} pour le second, après un
+ * échauffement. Par défaut la base est H2 en mémoire, sans aller-retour réseau : l'écart y est très
+ * inférieur à celui observé sur MySQL, où {@code rewriteBatchedStatements} regroupe chaque batch en un
+ * seul INSERT multi-lignes. Pour une mesure réaliste, passer {@code -Dspring.datasource.url=jdbc:mysql://...}
+ * (avec {@code ?rewriteBatchedStatements=true}) et les identifiants.
+ * <p>
+ * Lancement : {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.openclassrooms.starterjwt.session.service.SessionBulkInsertBenchmark}
+ */
+public class SessionBulkInsertBenchmark {
+
+    private static final int ROWS = Integer.getInteger("bulk.rows", 5000);
+    private static final int CHUNK = Integer.getInteger("bulk.chunk", 1000);
+
+    public static void main(String[] args) {
+        try (ConfigurableApplicationContext context = start()) {
+            CreateSessionService createSessionService = context.getBean(CreateSessionService.class);
+            BulkCreateSessionsService bulkCreateSessionsService = context.getBean(BulkCreateSessionsService.class);
+            Long teacherId = context.getBean(TeacherCatalog.class).findAll().get(0).getId();
+
+            // Échauffement JIT et pool de connexions
+            single(createSessionService, rows(teacherId, 500));
+            bulk(bulkCreateSessionsService, rows(teacherId, 500));
+
+            report("single", ROWS, single(createSessionService, rows(teacherId, ROWS)));
+            report("bulk", ROWS, bulk(bulkCreateSessionsService, rows(teacherId, ROWS)));
+        }
+    }
+
+    private static long single(CreateSessionService service, List<CreateSessionRequest> rows) {
+        long start = System.nanoTime();
+        rows.forEach(service::execute);
+        return System.nanoTime() - start;
+    }
+
+    private static long bulk(BulkCreateSessionsService service, List<CreateSessionRequest> rows) {
+        long start = System.nanoTime();
+        for (int from = 0; from < rows.size(); from += CHUNK) {
+            BulkCreateSessionsRequest request = new BulkCreateSessionsRequest();
+            request.setSessions(rows.subList(from, Math.min(from + CHUNK, rows.size())));
+            service.execute(request);
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static List<CreateSessionRequest> rows(Long teacherId, int count) {
+        List<CreateSessionRequest> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            CreateSessionRequest row = new CreateSessionRequest();
+            row.setName("Benchmark " + i);
+            row.setDescription("Bulk insert benchmark");
+            row.setDate(new Date());
+            row.setTeacherId(teacherId);
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private static void report(String mode, int rows, long elapsedNanos) {
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        System.out.printf("%-6s rows=%d elapsed=%.0fms throughput=%.0f rows/s%n",
+            mode, rows, seconds * 1000, rows / seconds);
+    }
+
+    private static ConfigurableApplicationContext start() {
+        // Arguments de ligne de commande : ils priment sur application.yml
+        return new SpringApplicationBuilder(SpringBootSecurityJwtApplication.class).run(
+                "--spring.main.web-application-type=none",
+                "--spring.datasource.url=" + System.getProperty("spring.datasource.url",
+                    "jdbc:h2:mem:bulk;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;"
+                        + "INIT=CREATE SCHEMA IF NOT EXISTS test\\;SET SCHEMA test"),
+                "--spring.datasource.driver-class-name=" + System.getProperty("spring.datasource.driver-class-name", "org.h2.Driver"),
+                "--spring.datasource.username=" + System.getProperty("spring.datasource.username", "sa"),
+                "--spring.datasource.password=" + System.getProperty("spring.datasource.password", ""),
+                "--spring.docker.compose.enabled=false",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=warn"
+            );
+    }
+}
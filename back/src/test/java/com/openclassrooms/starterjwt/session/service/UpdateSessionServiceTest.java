@@ -1,11 +1,15 @@
 package com.openclassrooms.starterjwt.session.service;
 
+import com.openclassrooms.starterjwt.common.exception.BadRequestException;
 import com.openclassrooms.starterjwt.session.model.Session;
 import com.openclassrooms.starterjwt.teacher.model.Teacher;
 import com.openclassrooms.starterjwt.user.model.User;
 import com.openclassrooms.starterjwt.session.dto.SessionDto;
 import com.openclassrooms.starterjwt.session.mapper.SessionMapper;
 import com.openclassrooms.starterjwt.session.repository.port.SessionRepositoryPort;
+import com.openclassrooms.starterjwt.session.repository.port.WaitlistRepositoryPort;
+import com.openclassrooms.starterjwt.teacher.dto.TeacherDto;
+import com.openclassrooms.starterjwt.teacher.service.TeacherCatalog;
 import com.openclassrooms.starterjwt.teacher.repository.port.TeacherRepositoryPort;
 import com.openclassrooms.starterjwt.user.repository.port.UserRepositoryPort;
 import com.openclassrooms.starterjwt.session.request.UpdateSessionRequest;
@@ -14,6 +18,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 import java.util.ArrayList;
 import static org.mockito.Mockito.*;
 import static org.assertj.core.api.Assertions.*;
@@ -27,12 +32,21 @@ class UpdateSessionServiceTest {
     @Mock
     private TeacherRepositoryPort teacherRepositoryPort;
 
+    @Mock
+    private TeacherCatalog teacherCatalog;
+
     @Mock
     private UserRepositoryPort userRepositoryPort;
 
     @Mock
     private SessionMapper sessionMapper;
 
+    @Mock
+    private WaitlistRepositoryPort waitlistRepositoryPort;
+
+    @Mock
+    private WaitlistPromotion waitlistPromotion;
+
     @InjectMocks
     private UpdateSessionService service;
 
@@ -61,8 +75,12 @@ class UpdateSessionServiceTest {
         SessionDto dto = new SessionDto();
 
         when(sessionRepositoryPort.getById(1L)).thenReturn(session);
-        when(teacherRepositoryPort.getById(10L)).thenReturn(teacher);
+        when(teacherCatalog.findById(10L)).thenReturn(Optional.of(new TeacherDto()));
+        when(teacherRepositoryPort.getReferenceById(10L)).thenReturn(teacher);
         when(userRepositoryPort.findAllById(request.getUsers())).thenReturn(newUsers);
+        when(sessionRepositoryPort.findParticipantIds(1L)).thenReturn(List.of());
+        when(sessionRepositoryPort.addParticipant(eq(1L), anyLong())).thenReturn(true);
+        when(sessionRepositoryPort.reserveSeat(1L)).thenReturn(true);
         when(sessionMapper.toDto(session)).thenReturn(dto);
 
         // WHEN
@@ -73,11 +91,129 @@ class UpdateSessionServiceTest {
         assertThat(session.getDescription()).isEqualTo("New Description");
         assertThat(session.getDate()).isEqualTo(request.getDate());
         assertThat(session.getTeacher()).isEqualTo(teacher);
-        assertThat(session.getUsers()).isEqualTo(newUsers);
         verify(sessionRepositoryPort).save(session);
+        // Participants ajoutés ligne à ligne, jamais par réécriture de la collection
+        // La place avant l'insertion, comme participate
+        InOrder inOrder = inOrder(sessionRepositoryPort);
+        inOrder.verify(sessionRepositoryPort).reserveSeat(1L);
+        inOrder.verify(sessionRepositoryPort).addParticipant(1L, 1L);
+        inOrder.verify(sessionRepositoryPort).reserveSeat(1L);
+        inOrder.verify(sessionRepositoryPort).addParticipant(1L, 2L);
+        verify(sessionRepositoryPort, never()).releaseSeat(any());
+        verify(sessionRepositoryPort, never()).syncSeatsTaken(any());
+        verify(waitlistRepositoryPort).remove(1L, 1L);
+        verify(waitlistRepositoryPort).remove(1L, 2L);
+        verify(waitlistPromotion, never()).fillFreeSeats(any());
         assertThat(result).isEqualTo(dto);
     }
 
+    @Test
+    void should_update_capacity() {
+        Session session = new Session();
+        session.setId(1L);
+        session.setUsers(new ArrayList<>());
+        session.setCapacity(5);
+
+        UpdateSessionRequest request = new UpdateSessionRequest();
+        request.setCapacity(10);
+
+        when(sessionRepositoryPort.getById(1L)).thenReturn(session);
+        when(sessionRepositoryPort.changeCapacity(1L, 10)).thenReturn(true);
+
+        service.execute(1L, request);
+
+        assertThat(session.getCapacity()).isEqualTo(10);
+        verify(sessionRepositoryPort, never()).save(any());
+        verify(waitlistPromotion).fillFreeSeats(1L);
+    }
+
+    @Test
+    void should_throw_when_capacity_lower_than_participants() {
+        Session session = new Session();
+        session.setId(1L);
+        session.setUsers(new ArrayList<>(List.of(new User(), new User())));
+
+        UpdateSessionRequest request = new UpdateSessionRequest();
+        request.setCapacity(1);
+
+        when(sessionRepositoryPort.getById(1L)).thenReturn(session);
+        when(sessionRepositoryPort.changeCapacity(1L, 1)).thenReturn(false);
+
+        assertThatThrownBy(() -> service.execute(1L, request))
+            .isInstanceOf(BadRequestException.class);
+        assertThat(session.getCapacity()).isNull();
+    }
+
+    @Test
+    void should_remove_only_dropped_participants_before_lowering_capacity() {
+        Session session = new Session();
+        session.setId(1L);
+        session.setCapacity(3);
+        session.setUsers(new ArrayList<>());
+
+        UpdateSessionRequest request = new UpdateSessionRequest();
+        request.setUsers(List.of(1L));
+        request.setCapacity(1);
+
+        when(sessionRepositoryPort.getById(1L)).thenReturn(session);
+        when(userRepositoryPort.findAllById(request.getUsers())).thenReturn(List.of(new User(){ { setId(1L); } }));
+        when(sessionRepositoryPort.findParticipantIds(1L)).thenReturn(List.of(1L, 2L, 3L));
+        when(sessionRepositoryPort.removeParticipant(eq(1L), anyLong())).thenReturn(true);
+        when(sessionRepositoryPort.changeCapacity(1L, 1)).thenReturn(true);
+
+        service.execute(1L, request);
+
+        InOrder inOrder = inOrder(sessionRepositoryPort, waitlistPromotion);
+        inOrder.verify(sessionRepositoryPort).removeParticipant(1L, 2L);
+        inOrder.verify(sessionRepositoryPort).removeParticipant(1L, 3L);
+        inOrder.verify(sessionRepositoryPort).changeCapacity(1L, 1);
+        verify(sessionRepositoryPort, times(2)).releaseSeat(1L);
+        verify(sessionRepositoryPort, never()).removeParticipant(1L, 1L);
+        verify(sessionRepositoryPort, never()).addParticipant(any(), any());
+        verify(sessionRepositoryPort, never()).save(any());
+        inOrder.verify(waitlistPromotion).fillFreeSeats(1L);
+    }
+
+    @Test
+    void should_throw_when_added_users_exceed_capacity() {
+        Session session = new Session();
+        session.setId(1L);
+        session.setCapacity(1);
+
+        UpdateSessionRequest request = new UpdateSessionRequest();
+        request.setUsers(List.of(1L, 2L));
+
+        when(sessionRepositoryPort.getById(1L)).thenReturn(session);
+        when(userRepositoryPort.findAllById(request.getUsers()))
+            .thenReturn(List.of(new User(){ { setId(1L); } }, new User(){ { setId(2L); } }));
+        when(sessionRepositoryPort.findParticipantIds(1L)).thenReturn(List.of(1L));
+        when(sessionRepositoryPort.reserveSeat(1L)).thenReturn(false);
+
+        assertThatThrownBy(() -> service.execute(1L, request))
+            .isInstanceOf(BadRequestException.class);
+        verify(sessionRepositoryPort, never()).addParticipant(any(), any());
+    }
+
+    @Test
+    void should_release_seat_when_user_was_added_concurrently() {
+        Session session = new Session();
+        session.setId(1L);
+
+        UpdateSessionRequest request = new UpdateSessionRequest();
+        request.setUsers(List.of(2L));
+
+        when(sessionRepositoryPort.getById(1L)).thenReturn(session);
+        when(userRepositoryPort.findAllById(request.getUsers())).thenReturn(List.of(new User(){ { setId(2L); } }));
+        when(sessionRepositoryPort.findParticipantIds(1L)).thenReturn(List.of());
+        when(sessionRepositoryPort.reserveSeat(1L)).thenReturn(true);
+        when(sessionRepositoryPort.addParticipant(1L, 2L)).thenReturn(false);
+
+        service.execute(1L, request);
+
+        verify(sessionRepositoryPort).releaseSeat(1L);
+        verifyNoInteractions(waitlistRepositoryPort);
+    }
+
     @Test
     void should_not_save_when_nothing_changed() {
         // GIVEN
@@ -106,6 +242,7 @@ class UpdateSessionServiceTest {
 
         when(sessionRepositoryPort.getById(1L)).thenReturn(session);
         when(userRepositoryPort.findAllById(request.getUsers())).thenReturn(users);
+        when(sessionRepositoryPort.findParticipantIds(1L)).thenReturn(List.of(1L));
         when(sessionMapper.toDto(session)).thenReturn(dto);
 
         // WHEN
@@ -113,6 +250,8 @@ class UpdateSessionServiceTest {
 
         // THEN
         verify(sessionRepositoryPort, never()).save(any());
+        verify(sessionRepositoryPort, never()).removeParticipant(any(), any());
+        verify(sessionRepositoryPort, never()).addParticipant(any(), any());
         assertThat(result).isEqualTo(dto);
     }
 
@@ -168,7 +307,8 @@ class UpdateSessionServiceTest {
         newTeacher.setId(10L);
 
         when(sessionRepositoryPort.getById(1L)).thenReturn(session);
-        when(teacherRepositoryPort.getById(10L)).thenReturn(newTeacher);
+        when(teacherCatalog.findById(10L)).thenReturn(Optional.of(new TeacherDto()));
+        when(teacherRepositoryPort.getReferenceById(10L)).thenReturn(newTeacher);
         when(sessionMapper.toDto(session)).thenReturn(new SessionDto());
 
         SessionDto dto = service.execute(1L, request);
@@ -190,7 +330,8 @@ class UpdateSessionServiceTest {
         newTeacher.setId(10L);
 
         when(sessionRepositoryPort.getById(1L)).thenReturn(session);
-        when(teacherRepositoryPort.getById(10L)).thenReturn(newTeacher);
+        when(teacherCatalog.findById(10L)).thenReturn(Optional.of(new TeacherDto()));
+        when(teacherRepositoryPort.getReferenceById(10L)).thenReturn(newTeacher);
         when(sessionMapper.toDto(session)).thenReturn(new SessionDto());
 
         SessionDto dto = service.execute(1L, request);
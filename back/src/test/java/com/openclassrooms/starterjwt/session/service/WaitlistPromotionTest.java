@@ -0,0 +1,69 @@
+package com.openclassrooms.starterjwt.session.service;
+
+import org.mockito.*;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import static org.mockito.Mockito.*;
+import static org.assertj.core.api.Assertions.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import com.openclassrooms.starterjwt.session.repository.port.SessionRepositoryPort;
+import com.openclassrooms.starterjwt.session.repository.port.WaitlistRepositoryPort;
+
+@ExtendWith(org.mockito.junit.jupiter.MockitoExtension.class)
+class WaitlistPromotionTest {
+
+    @Mock
+    private SessionRepositoryPort sessionRepositoryPort;
+
+    @Mock
+    private WaitlistRepositoryPort waitlistRepositoryPort;
+
+    @InjectMocks
+    private WaitlistPromotion promotion;
+
+    @Test
+    void promoteHead_should_skip_entries_that_cannot_be_added() {
+        when(waitlistRepositoryPort.pollHead(100L)).thenReturn(Optional.of(7L))
+            .thenReturn(Optional.of(8L));
+        when(sessionRepositoryPort.addParticipant(100L, 7L)).thenReturn(false);
+        when(sessionRepositoryPort.addParticipant(100L, 8L)).thenReturn(true);
+
+        assertThat(promotion.promoteHead(100L)).isTrue();
+
+        verify(waitlistRepositoryPort, times(2)).pollHead(100L);
+    }
+
+    @Test
+    void promoteHead_should_return_false_when_queue_exhausted() {
+        when(waitlistRepositoryPort.pollHead(100L)).thenReturn(Optional.of(7L))
+            .thenReturn(Optional.empty());
+        when(sessionRepositoryPort.addParticipant(100L, 7L)).thenReturn(false);
+
+        assertThat(promotion.promoteHead(100L)).isFalse();
+    }
+
+    @Test
+    void fillFreeSeats_should_promote_until_session_full() {
+        when(sessionRepositoryPort.reserveSeat(100L)).thenReturn(true, true, false);
+        when(waitlistRepositoryPort.pollHead(100L)).thenReturn(Optional.of(7L))
+            .thenReturn(Optional.of(8L));
+        when(sessionRepositoryPort.addParticipant(eq(100L), anyLong())).thenReturn(true);
+
+        assertThat(promotion.fillFreeSeats(100L)).isEqualTo(2);
+
+        verify(sessionRepositoryPort, never()).releaseSeat(any());
+    }
+
+    @Test
+    void fillFreeSeats_should_give_back_seat_when_queue_empty() {
+        when(sessionRepositoryPort.reserveSeat(100L)).thenReturn(true);
+        when(waitlistRepositoryPort.pollHead(100L)).thenReturn(Optional.of(7L))
+            .thenReturn(Optional.empty());
+        when(sessionRepositoryPort.addParticipant(100L, 7L)).thenReturn(true);
+
+        assertThat(promotion.fillFreeSeats(100L)).isEqualTo(1);
+
+        verify(sessionRepositoryPort, times(2)).reserveSeat(100L);
+        verify(sessionRepositoryPort).releaseSeat(100L);
+    }
+}
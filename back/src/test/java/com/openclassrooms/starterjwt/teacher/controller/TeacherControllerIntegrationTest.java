@@ -4,6 +4,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
 import org.springframework.test.web.servlet.MockMvc;
 import com.openclassrooms.starterjwt.teacher.model.Teacher;
+import com.openclassrooms.starterjwt.teacher.service.TeacherCatalog;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.test.context.support.WithMockUser;
@@ -11,6 +12,7 @@ import com.openclassrooms.starterjwt.teacher.repository.TeacherRepository;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import org.springframework.http.HttpHeaders;
 
 @SpringBootTest
 @AutoConfigureMockMvc
@@ -22,6 +24,9 @@ class TeacherControllerIntegrationTest {
     @Autowired
     private TeacherRepository teacherRepository;
 
+    @Autowired
+    private TeacherCatalog teacherCatalog;
+
     private Teacher savedTeacher;
 
     @BeforeEach
@@ -30,10 +35,10 @@ class TeacherControllerIntegrationTest {
         teacher.setFirstName("Ada");
         teacher.setLastName("Lovelace");
 
-        teacherRepository.findByLastName(teacher.getLastName())
-            .ifPresent(teacherRepository::delete);
-
-        savedTeacher = teacherRepository.save(teacher);
+        // Réutilisé s'il existe : d'autres tests y rattachent des sessions, le supprimer violerait la clé étrangère
+        savedTeacher = teacherRepository.findByLastName(teacher.getLastName())
+            .orElseGet(() -> teacherRepository.save(teacher));
+        teacherCatalog.refresh();
     }
 
     @Test
@@ -53,4 +58,40 @@ class TeacherControllerIntegrationTest {
                 .andExpect(jsonPath("$.id").value(savedTeacher.getId()))
                 .andExpect(jsonPath("$.firstName").value("Ada"));
     }
+
+    @Test
+    @WithMockUser(username = "test", roles = "USER")
+    void findById_shouldReturn304_whenEtagMatches() throws Exception {
+        String etag = mockMvc.perform(get("/api/teacher/" + savedTeacher.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/teacher/" + savedTeacher.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @WithMockUser(username = "test", roles = "USER")
+    void findAll_shouldReturn200_whenCollectionChanged() throws Exception {
+        String etag = mockMvc.perform(get("/api/teacher"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/teacher").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        // Aucune route n'écrit les professeurs : une écriture directe doit être signalée au catalogue
+        teacherRepository.save(savedTeacher.setFirstName("Augusta"));
+        teacherCatalog.refresh();
+
+        mockMvc.perform(get("/api/teacher").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, org.hamcrest.Matchers.not(etag)));
+
+        teacherRepository.save(savedTeacher.setFirstName("Ada"));
+        teacherCatalog.refresh();
+    }
 }
@@ -7,7 +7,9 @@ import com.openclassrooms.starterjwt.teacher.model.Teacher;
 import org.springframework.beans.factory.annotation.Autowired;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.TestPropertySource;
 
+@TestPropertySource("classpath:h2-mysql.properties")
 @DataJpaTest
 class TeacherRepositoryIntegrationTest {
 
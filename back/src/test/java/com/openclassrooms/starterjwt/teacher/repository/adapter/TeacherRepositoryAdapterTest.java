@@ -6,10 +6,12 @@ import com.openclassrooms.starterjwt.teacher.repository.TeacherRepository;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.TestPropertySource;
 import java.util.List;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+@TestPropertySource("classpath:h2-mysql.properties")
 @DataJpaTest
 class TeacherRepositoryAdapterTest {
 
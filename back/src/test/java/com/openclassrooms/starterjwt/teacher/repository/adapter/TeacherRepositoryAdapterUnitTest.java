@@ -2,9 +2,11 @@ package com.openclassrooms.starterjwt.teacher.repository.adapter;
 
 import com.openclassrooms.starterjwt.common.exception.NotFoundException;
 import com.openclassrooms.starterjwt.teacher.model.Teacher;
+import com.openclassrooms.starterjwt.common.model.ResourceVersion;
 import com.openclassrooms.starterjwt.teacher.repository.TeacherRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import static org.mockito.Mockito.*;
@@ -66,4 +68,20 @@ class TeacherRepositoryAdapterUnitTest {
         assertThatThrownBy(() -> adapter.getByLastName("Nonexistent"))
                 .isInstanceOf(NotFoundException.class);
     }
+
+    @Test
+    void getReferenceById_shouldDelegate() {
+        Teacher reference = new Teacher().setId(3L);
+        when(teacherRepository.getReferenceById(3L)).thenReturn(reference);
+
+        assertThat(adapter.getReferenceById(3L)).isSameAs(reference);
+    }
+
+    @Test
+    void findVersion_shouldDelegate() {
+        ResourceVersion version = new ResourceVersion(2L, LocalDateTime.of(2025, 1, 1, 10, 0));
+        when(teacherRepository.findVersion()).thenReturn(version);
+
+        assertThat(adapter.findVersion()).isEqualTo(version);
+    }
 }
@@ -1,12 +1,13 @@
 package com.openclassrooms.starterjwt.teacher.service;
 
+import com.openclassrooms.starterjwt.common.exception.NotFoundException;
+import com.openclassrooms.starterjwt.common.model.ResourceVersion;
 import com.openclassrooms.starterjwt.teacher.dto.TeacherDto;
-import com.openclassrooms.starterjwt.teacher.mapper.TeacherMapper;
-import com.openclassrooms.starterjwt.teacher.model.Teacher;
-import com.openclassrooms.starterjwt.teacher.repository.port.TeacherRepositoryPort;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
+import java.time.LocalDateTime;
+import java.util.Optional;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
 
@@ -14,10 +15,7 @@ import static org.mockito.Mockito.*;
 class GetTeacherServiceTest {
 
     @Mock
-    private TeacherMapper teacherMapper;
-
-    @Mock
-    private TeacherRepositoryPort teacherRepositoryPort;
+    private TeacherCatalog teacherCatalog;
 
     @InjectMocks
     private GetTeacherService getTeacherService;
@@ -26,35 +24,41 @@ class GetTeacherServiceTest {
     void should_return_teacher_dto_when_teacher_exists() {
         // GIVEN
         Long teacherId = 1L;
-        Teacher teacher = new Teacher();
-        teacher.setId(teacherId);
-
         TeacherDto teacherDto = new TeacherDto();
+        teacherDto.setId(teacherId);
 
-        when(teacherRepositoryPort.getById(teacherId)).thenReturn(teacher);
-        when(teacherMapper.toDto(teacher)).thenReturn(teacherDto);
+        when(teacherCatalog.findById(teacherId)).thenReturn(Optional.of(teacherDto));
 
         // WHEN
         TeacherDto result = getTeacherService.execute(teacherId);
 
         // THEN
         assertThat(result).isEqualTo(teacherDto);
-        verify(teacherRepositoryPort).getById(teacherId);
-        verify(teacherMapper).toDto(teacher);
+        verify(teacherCatalog).findById(teacherId);
     }
 
     @Test
     void should_throw_exception_when_teacher_not_found() {
         // GIVEN
         Long teacherId = 99L;
-        when(teacherRepositoryPort.getById(teacherId))
-                .thenThrow(new RuntimeException("Teacher not found"));
+        when(teacherCatalog.findById(teacherId)).thenReturn(Optional.empty());
 
         // WHEN & THEN
-        org.junit.jupiter.api.Assertions.assertThrows(RuntimeException.class,
+        org.junit.jupiter.api.Assertions.assertThrows(NotFoundException.class,
                 () -> getTeacherService.execute(teacherId));
+    }
+
+    @Test
+    void should_derive_version_from_teacher_updated_at() {
+        // GIVEN
+        LocalDateTime updatedAt = LocalDateTime.of(2025, 1, 1, 10, 0);
+        TeacherDto teacherDto = new TeacherDto(1L, "Doe", "Jane", updatedAt, updatedAt);
+        when(teacherCatalog.findById(1L)).thenReturn(Optional.of(teacherDto));
 
-        verify(teacherRepositoryPort).getById(teacherId);
-        verifyNoInteractions(teacherMapper);
+        // WHEN
+        ResourceVersion version = getTeacherService.version(1L);
+
+        // THEN
+        assertThat(version).isEqualTo(new ResourceVersion(1L, updatedAt));
     }
 }
@@ -1,12 +1,11 @@
 package com.openclassrooms.starterjwt.teacher.service;
 
+import com.openclassrooms.starterjwt.common.model.ResourceVersion;
 import com.openclassrooms.starterjwt.teacher.dto.TeacherDto;
-import com.openclassrooms.starterjwt.teacher.mapper.TeacherMapper;
-import com.openclassrooms.starterjwt.teacher.model.Teacher;
-import com.openclassrooms.starterjwt.teacher.repository.port.TeacherRepositoryPort;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
+import java.time.LocalDateTime;
 import java.util.List;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
@@ -15,10 +14,7 @@ import static org.mockito.Mockito.*;
 class GetTeachersServiceTest {
 
     @Mock
-    private TeacherMapper teacherMapper;
-
-    @Mock
-    private TeacherRepositoryPort teacherRepositoryPort;
+    private TeacherCatalog teacherCatalog;
 
     @InjectMocks
     private GetTeachersService getTeachersService;
@@ -26,39 +22,26 @@ class GetTeachersServiceTest {
     @Test
     void should_return_list_of_teacher_dtos() {
         // GIVEN
-        Teacher teacher1 = new Teacher();
-        teacher1.setId(1L);
-        Teacher teacher2 = new Teacher();
-        teacher2.setId(2L);
-
         TeacherDto dto1 = new TeacherDto();
         TeacherDto dto2 = new TeacherDto();
 
-        when(teacherRepositoryPort.findAll()).thenReturn(List.of(teacher1, teacher2));
-        when(teacherMapper.toDto(teacher1)).thenReturn(dto1);
-        when(teacherMapper.toDto(teacher2)).thenReturn(dto2);
+        when(teacherCatalog.findAll()).thenReturn(List.of(dto1, dto2));
 
         // WHEN
         List<TeacherDto> result = getTeachersService.execute();
 
         // THEN
         assertThat(result).containsExactly(dto1, dto2);
-        verify(teacherRepositoryPort).findAll();
-        verify(teacherMapper).toDto(teacher1);
-        verify(teacherMapper).toDto(teacher2);
+        verify(teacherCatalog).findAll();
     }
 
     @Test
-    void should_return_empty_list_when_no_teachers() {
+    void should_return_catalog_version() {
         // GIVEN
-        when(teacherRepositoryPort.findAll()).thenReturn(List.of());
+        ResourceVersion version = new ResourceVersion(2L, LocalDateTime.of(2025, 1, 1, 10, 0));
+        when(teacherCatalog.version()).thenReturn(version);
 
-        // WHEN
-        List<TeacherDto> result = getTeachersService.execute();
-
-        // THEN
-        assertThat(result).isEmpty();
-        verify(teacherRepositoryPort).findAll();
-        verifyNoInteractions(teacherMapper);
+        // WHEN & THEN
+        assertThat(getTeachersService.version()).isEqualTo(version);
     }
 }
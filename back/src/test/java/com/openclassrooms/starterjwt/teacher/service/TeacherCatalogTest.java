@@ -0,0 +1,137 @@
+package com.openclassrooms.starterjwt.teacher.service;
+
+import com.openclassrooms.starterjwt.common.model.ResourceVersion;
+import com.openclassrooms.starterjwt.teacher.dto.TeacherDto;
+import com.openclassrooms.starterjwt.teacher.mapper.TeacherMapper;
+import com.openclassrooms.starterjwt.teacher.model.Teacher;
+import com.openclassrooms.starterjwt.teacher.repository.port.TeacherRepositoryPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TeacherCatalogTest {
+
+    private static final LocalDateTime UPDATED_AT = LocalDateTime.of(2025, 1, 1, 10, 0);
+
+    @Mock
+    private TeacherMapper teacherMapper;
+
+    @Mock
+    private TeacherRepositoryPort teacherRepositoryPort;
+
+    private final AtomicLong clock = new AtomicLong();
+    private TeacherCatalog catalog;
+    private Teacher teacher;
+
+    @BeforeEach
+    void setUp() {
+        catalog = new TeacherCatalog(teacherMapper, teacherRepositoryPort, Duration.ofSeconds(1), clock::get);
+        teacher = new Teacher().setId(1L).setFirstName("Ada").setLastName("Lovelace");
+        lenient().when(teacherMapper.toDto(any(Teacher.class))).thenAnswer(invocation -> {
+            Teacher source = invocation.getArgument(0);
+            return new TeacherDto(source.getId(), source.getLastName(), source.getFirstName(), null, UPDATED_AT);
+        });
+    }
+
+    @Test
+    void findAll_shouldLoadOnce_andServeFromMemory() {
+        when(teacherRepositoryPort.findVersion()).thenReturn(new ResourceVersion(1L, UPDATED_AT));
+        when(teacherRepositoryPort.findAll()).thenReturn(List.of(teacher));
+
+        assertThat(catalog.findAll()).extracting(TeacherDto::getId).containsExactly(1L);
+        assertThat(catalog.findById(1L)).isPresent();
+        assertThat(catalog.findAll()).hasSize(1);
+
+        verify(teacherRepositoryPort, times(1)).findAll();
+        verify(teacherRepositoryPort, times(1)).findVersion();
+    }
+
+    @Test
+    void returnedTeachers_shouldBeCopies_ofTheSharedSnapshot() {
+        when(teacherRepositoryPort.findVersion()).thenReturn(new ResourceVersion(1L, UPDATED_AT));
+        when(teacherRepositoryPort.findAll()).thenReturn(List.of(teacher));
+
+        catalog.findAll().get(0).setLastName("Changed");
+        catalog.findById(1L).orElseThrow().setFirstName("Changed");
+
+        assertThat(catalog.findById(1L)).get()
+            .extracting(TeacherDto::getLastName, TeacherDto::getFirstName)
+            .containsExactly("Lovelace", "Ada");
+        assertThat(catalog.findAll()).extracting(TeacherDto::getLastName).containsExactly("Lovelace");
+    }
+
+    @Test
+    void refresh_shouldNotReload_whenVersionUnchanged() {
+        when(teacherRepositoryPort.findVersion()).thenReturn(new ResourceVersion(1L, UPDATED_AT));
+        when(teacherRepositoryPort.findAll()).thenReturn(List.of(teacher));
+
+        catalog.findAll();
+        catalog.refresh();
+
+        verify(teacherRepositoryPort, times(2)).findVersion();
+        verify(teacherRepositoryPort, times(1)).findAll();
+    }
+
+    @Test
+    void findById_shouldReloadOnMiss_whenTableChanged() {
+        Teacher added = new Teacher().setId(2L).setFirstName("Grace").setLastName("Hopper");
+        when(teacherRepositoryPort.findVersion())
+            .thenReturn(new ResourceVersion(1L, UPDATED_AT))
+            .thenReturn(new ResourceVersion(2L, UPDATED_AT.plusMinutes(1)));
+        when(teacherRepositoryPort.findAll())
+            .thenReturn(List.of(teacher))
+            .thenReturn(List.of(teacher, added));
+
+        catalog.findAll();
+
+        assertThat(catalog.findById(2L)).map(TeacherDto::getFirstName).contains("Grace");
+        assertThat(catalog.version()).isEqualTo(new ResourceVersion(2L, UPDATED_AT.plusMinutes(1)));
+    }
+
+    @Test
+    void findById_shouldReturnEmpty_whenUnknownAndTableUnchanged() {
+        when(teacherRepositoryPort.findVersion()).thenReturn(new ResourceVersion(1L, UPDATED_AT));
+        when(teacherRepositoryPort.findAll()).thenReturn(List.of(teacher));
+
+        assertThat(catalog.findById(42L)).isEmpty();
+        verify(teacherRepositoryPort, times(1)).findAll();
+    }
+
+    @Test
+    void findById_shouldThrottleMissReloads() {
+        when(teacherRepositoryPort.findVersion()).thenReturn(new ResourceVersion(1L, UPDATED_AT));
+        when(teacherRepositoryPort.findAll()).thenReturn(List.of(teacher));
+
+        // Chargement initial puis un seul contrôle de version pour toute la rafale d'ids inconnus
+        for (long id = 100; id < 150; id++) {
+            assertThat(catalog.findById(id)).isEmpty();
+        }
+        verify(teacherRepositoryPort, times(2)).findVersion();
+
+        clock.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertThat(catalog.findById(42L)).isEmpty();
+
+        verify(teacherRepositoryPort, times(3)).findVersion();
+        verify(teacherRepositoryPort, times(1)).findAll();
+    }
+
+    @Test
+    void findById_shouldNotThrottleKnownIds() {
+        when(teacherRepositoryPort.findVersion()).thenReturn(new ResourceVersion(1L, UPDATED_AT));
+        when(teacherRepositoryPort.findAll()).thenReturn(List.of(teacher));
+        catalog.findById(42L);
+
+        assertThat(catalog.findById(1L)).isPresent();
+    }
+}
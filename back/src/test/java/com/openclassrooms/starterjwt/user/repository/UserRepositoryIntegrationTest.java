@@ -4,9 +4,11 @@ import com.openclassrooms.starterjwt.user.model.User;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.TestPropertySource;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+@TestPropertySource("classpath:h2-mysql.properties")
 @DataJpaTest
 class UserRepositoryIntegrationTest {
 
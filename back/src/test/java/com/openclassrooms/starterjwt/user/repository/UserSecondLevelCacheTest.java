@@ -0,0 +1,124 @@
+package com.openclassrooms.starterjwt.user.repository;
+
+import com.openclassrooms.starterjwt.session.model.Session;
+import com.openclassrooms.starterjwt.session.repository.SessionRepository;
+import com.openclassrooms.starterjwt.teacher.model.Teacher;
+import com.openclassrooms.starterjwt.teacher.repository.TeacherRepository;
+import com.openclassrooms.starterjwt.user.model.User;
+import com.openclassrooms.starterjwt.user.repository.port.UserRepositoryPort;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class UserSecondLevelCacheTest {
+
+    @Autowired
+    private UserRepositoryPort userRepositoryPort;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Statistics statistics;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.findByEmail("cached@test.com").ifPresent(userRepository::delete);
+        user = userRepository.save(new User()
+            .setEmail("cached@test.com")
+            .setFirstName("Cached")
+            .setLastName("User")
+            .setPassword("Password123"));
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+    }
+
+    @Test
+    void getById_shouldHitSecondLevelCache_afterFirstLoad() {
+        userRepositoryPort.getById(user.getId());
+        userRepositoryPort.getById(user.getId());
+
+        assertThat(statistics.getEntityStatistics(User.class.getName()).getLoadCount()).isEqualTo(1);
+        assertThat(statistics.getDomainDataRegionStatistics("users").getHitCount()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "users").tag("result", "hit")
+            .functionCounter().count()).isPositive();
+    }
+
+    @Test
+    void getByEmail_shouldUseQueryCache_afterFirstLookup() {
+        userRepositoryPort.getByEmail("cached@test.com");
+        long statements = statistics.getPrepareStatementCount();
+
+        userRepositoryPort.getByEmail("cached@test.com");
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statements);
+        assertThat(statistics.getQueryRegionStatistics("usersByEmail").getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void getByEmail_shouldSeeUpdate_afterUserChanged() {
+        userRepositoryPort.getByEmail("cached@test.com");
+
+        userRepository.save(userRepositoryPort.getById(user.getId()).setFirstName("Renamed"));
+
+        assertThat(userRepositoryPort.getByEmail("cached@test.com").getFirstName()).isEqualTo("Renamed");
+    }
+
+    @Test
+    void findAllById_shouldOnlyQueryMissingIds() {
+        userRepositoryPort.getById(user.getId());
+        statistics.clear();
+
+        List<User> users = userRepositoryPort.findAllById(List.of(user.getId(), -1L));
+
+        assertThat(users).extracting(User::getId).containsExactly(user.getId());
+        assertThat(statistics.getDomainDataRegionStatistics("users").getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void participationUpdates_shouldNotEvictUsers() {
+        Teacher teacher = teacherRepository.findAll().get(0);
+        Session session = sessionRepository.save(new Session()
+            .setName("L2 session")
+            .setDescription("Cache")
+            .setDate(new Date())
+            .setTeacher(teacher));
+        userRepositoryPort.getById(user.getId());
+
+        sessionRepository.insertParticipation(session.getId(), user.getId());
+        sessionRepository.reserveSeat(session.getId());
+        statistics.clear();
+
+        userRepositoryPort.getById(user.getId());
+
+        assertThat(statistics.getDomainDataRegionStatistics("users").getHitCount()).isEqualTo(1);
+
+        sessionRepository.deleteSessionParticipations(session.getId());
+        sessionRepository.delete(session);
+    }
+}
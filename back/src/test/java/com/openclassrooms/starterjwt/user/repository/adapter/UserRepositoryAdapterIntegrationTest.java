@@ -5,11 +5,13 @@ import com.openclassrooms.starterjwt.user.repository.UserRepository;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.TestPropertySource;
 
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+@TestPropertySource("classpath:h2-mysql.properties")
 @DataJpaTest
 class UserRepositoryAdapterIntegrationTest {
 
@@ -95,7 +95,7 @@ class UserRepositoryAdapterUnitTest {
     @Test
     void findAllById_shouldReturnCorrectList() {
         List<User> list = List.of(new User(), new User());
-        when(userRepository.findAllById(List.of(1L, 2L))).thenReturn(list);
+        when(userRepository.findAllCachedById(List.of(1L, 2L))).thenReturn(list);
 
         List<User> result = adapter.findAllById(List.of(1L, 2L));
         assertThat(result).hasSize(2);
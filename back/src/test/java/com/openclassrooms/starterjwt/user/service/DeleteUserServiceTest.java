@@ -1,6 +1,7 @@
 package com.openclassrooms.starterjwt.user.service;
 
 import com.openclassrooms.starterjwt.user.model.User;
+import com.openclassrooms.starterjwt.security.service.UserDetailsCache;
 import com.openclassrooms.starterjwt.user.repository.port.UserRepositoryPort;
 import com.openclassrooms.starterjwt.common.exception.UnauthorizedException;
 import org.junit.jupiter.api.Test;
@@ -15,6 +16,9 @@ class DeleteUserServiceTest {
     @Mock
     private UserRepositoryPort userRepositoryPort;
 
+    @Mock
+    private UserDetailsCache userDetailsCache;
+
     @InjectMocks
     private DeleteUserService deleteUserService;
 
@@ -33,6 +37,7 @@ class DeleteUserServiceTest {
 
         verify(userRepositoryPort).getById(userId);
         verify(userRepositoryPort).delete(user);
+        verify(userDetailsCache).invalidate(email);
     }
 
     @Test
@@ -52,5 +57,6 @@ class DeleteUserServiceTest {
 
         verify(userRepositoryPort).getById(userId);
         verify(userRepositoryPort, never()).delete(any());
+        verifyNoInteractions(userDetailsCache);
     }
 }
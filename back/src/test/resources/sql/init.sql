@@ -10,14 +10,14 @@ VALUES
     ('Julien', 'Moreau'),
     ('Claire', 'Bernard');
 
--- SESSIONS
-INSERT IGNORE INTO test.sessions(name, date, description, teacher_id)
-SELECT 'Morning Yoga', '2026-06-15', 'Relaxing morning yoga session', id
+-- SESSIONS (ids explicites, sous la valeur initiale de sessions_seq)
+INSERT IGNORE INTO test.sessions(id, name, date, description, teacher_id)
+SELECT 1, 'Morning Yoga', '2026-06-15', 'Relaxing morning yoga session', id
 FROM test.teachers
 WHERE last_name='Moreau';
 
-INSERT IGNORE INTO test.sessions(name, date, description, teacher_id)
-SELECT 'Power Yoga', '2026-06-16', 'Intense yoga session for advanced level', id
+INSERT IGNORE INTO test.sessions(id, name, date, description, teacher_id)
+SELECT 2, 'Power Yoga', '2026-06-16', 'Intense yoga session for advanced level', id
 FROM test.teachers
 WHERE last_name='Bernard';
 
@@ -33,3 +33,8 @@ SELECT s.id, u.id
 FROM test.sessions s JOIN test.users u ON u.last_name = 'Doe'
 WHERE s.name IN ('Morning Yoga', 'Power Stretch')
 ON DUPLICATE KEY UPDATE session_id = session_id;
+
+
+-- SEATS
+UPDATE test.sessions s
+SET seats_taken = (SELECT COUNT(*) FROM test.participate p WHERE p.session_id = s.id);
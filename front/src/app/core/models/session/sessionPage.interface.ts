@@ -0,0 +1,6 @@
+import { SessionSummary } from "./sessionSummary.interface";
+
+export interface SessionPage {
+  items: SessionSummary[];
+  next: string | null;
+}
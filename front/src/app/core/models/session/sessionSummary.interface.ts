@@ -0,0 +1,10 @@
+export interface SessionSummary {
+  id: number;
+  name: string;
+  description: string;
+  date: Date;
+  teacherId: number;
+  participantCount: number;
+  createdAt?: Date;
+  updatedAt?: Date;
+}
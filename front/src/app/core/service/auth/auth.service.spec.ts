@@ -71,4 +71,21 @@ describe('AuthService', () => {
 
     req.flush(mockSession);
   });
+
+  it('should exchange refresh token for a new session', () => {
+    const mockSession = {
+      token: 'new-jwt-token',
+      refreshToken: 'new-refresh-token'
+    };
+
+    service.refresh('refresh-token').subscribe(session => {
+      expect(session).toEqual(mockSession);
+    });
+
+    const req = httpMock.expectOne(`${baseUrl}/refresh`);
+    expect(req.request.method).toBe('POST');
+    expect(req.request.body).toEqual({ refreshToken: 'refresh-token' });
+
+    req.flush(mockSession);
+  });
 });
@@ -22,4 +22,8 @@ export class AuthService {
   public login(loginRequest: LoginRequest): Observable<SessionInformation> {
     return this.httpClient.post<SessionInformation>(`${this.pathService}/login`, loginRequest);
   }
+
+  public refresh(refreshToken: string): Observable<SessionInformation> {
+    return this.httpClient.post<SessionInformation>(`${this.pathService}/refresh`, { refreshToken });
+  }
 }
@@ -1,6 +1,7 @@
 import { expect } from '@jest/globals';
 import { TestBed } from '@angular/core/testing';
 import { Session } from '../../models/session/session.interface';
+import { SessionSummary } from '../../models/session/sessionSummary.interface';
 import { provideHttpClient } from '@angular/common/http';
 import { SessionApiService } from './session-api.service';
 import { environment } from 'src/environments/environment';
@@ -34,14 +35,14 @@ describe('SessionApiService', () => {
   });
 
   it('should get all sessions', () => {
-    const session: Session[] = [{
+    const session: SessionSummary[] = [{
       id: 1,
       name: 'Math',
       description: 'Cours de mathématiques',
       teacherId: 42,
-      users: [],
+      participantCount: 0,
       date: new Date('2026-01-10T10:00:00Z')
-    } as Session];
+    }];
 
     service.all().subscribe(result => {
       expect(result).toEqual(session);
@@ -50,7 +51,31 @@ describe('SessionApiService', () => {
     const req = httpMock.expectOne(baseUrl);
     expect(req.request.method).toBe('GET');
 
-    req.flush(session);
+    req.flush({ items: session, next: null });
+  });
+
+  it('should follow the cursor until the last page', () => {
+    const first: SessionSummary = {
+      id: 1,
+      name: 'Math',
+      description: 'Cours de mathématiques',
+      teacherId: 42,
+      participantCount: 0,
+      date: new Date('2026-01-10T10:00:00Z')
+    };
+    const second: SessionSummary = { ...first, id: 2, name: 'Yoga' };
+
+    let result: SessionSummary[] | undefined;
+    service.all().subscribe(sessions => result = sessions);
+
+    httpMock.expectOne(baseUrl).flush({ items: [first], next: 'abc' });
+    expect(result).toBeUndefined();
+
+    const req = httpMock.expectOne(`${baseUrl}?cursor=abc`);
+    expect(req.request.method).toBe('GET');
+    req.flush({ items: [second], next: null });
+
+    expect(result).toEqual([first, second]);
   });
 
   it('should get session detail', () => {
@@ -1,7 +1,9 @@
-import { HttpClient } from '@angular/common/http';
+import { HttpClient, HttpParams } from '@angular/common/http';
 import { Injectable } from '@angular/core';
-import { Observable } from 'rxjs';
+import { EMPTY, Observable, expand, reduce } from 'rxjs';
 import { Session } from '../../models/session/session.interface';
+import { SessionPage } from '../../models/session/sessionPage.interface';
+import { SessionSummary } from '../../models/session/sessionSummary.interface';
 import { environment } from 'src/environments/environment';
 
 @Injectable({
@@ -14,8 +16,17 @@ export class SessionApiService {
   constructor(private httpClient: HttpClient) {
   }
 
-  public all(): Observable<Session[]> {
-    return this.httpClient.get<Session[]>(this.pathService);
+  // Suit le curseur jusqu'à la dernière page : la liste affiche toutes les sessions
+  public all(): Observable<SessionSummary[]> {
+    return this.page().pipe(
+      expand(page => page.next ? this.page(page.next) : EMPTY),
+      reduce((sessions, page) => sessions.concat(page.items), [] as SessionSummary[])
+    );
+  }
+
+  private page(cursor?: string): Observable<SessionPage> {
+    const params = cursor ? new HttpParams().set('cursor', cursor) : undefined;
+    return this.httpClient.get<SessionPage>(this.pathService, { params });
   }
 
   public detail(id: string): Observable<Session> {
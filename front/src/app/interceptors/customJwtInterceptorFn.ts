@@ -1,19 +1,57 @@
-import { HttpEvent, HttpHandlerFn, HttpRequest } from "@angular/common/http";
-import { Observable } from "rxjs";
+import { HttpErrorResponse, HttpEvent, HttpHandlerFn, HttpRequest } from "@angular/common/http";
+import { Observable, catchError, finalize, shareReplay, switchMap, tap, throwError } from "rxjs";
 import { SessionService } from "../core/service/auth/session.service";
+import { AuthService } from "../core/service/auth/auth.service";
+import { SessionInformation } from "../core/models/auth/sessionInformation.interface";
 import { inject } from "@angular/core";
 
+const PUBLIC_AUTH_PATHS = ['/auth/login', '/auth/register', '/auth/refresh'];
+
+// Un seul refresh à la fois : deux rotations du même jeton révoqueraient toute la session côté serveur
+let refreshInFlight$: Observable<SessionInformation> | null = null;
+
 export function customJwtInterceptorFn(request: HttpRequest<unknown>, next: HttpHandlerFn): Observable<HttpEvent<unknown>> {
   const sessionService = inject(SessionService);
+  const authService = inject(AuthService);
+
+  if (PUBLIC_AUTH_PATHS.some(path => request.url.includes(path))) {
+    return next(request);
+  }
+
+  return next(withToken(request, sessionService.sessionInformation?.token)).pipe(
+    catchError((error: unknown) => {
+      const refreshToken = sessionService.sessionInformation?.refreshToken;
+      if (!(error instanceof HttpErrorResponse) || error.status !== 401 || !refreshToken) {
+        return throwError(() => error);
+      }
+
+      if (!refreshInFlight$) {
+        refreshInFlight$ = authService.refresh(refreshToken).pipe(
+          tap(session => sessionService.logIn(session)),
+          catchError(refreshError => {
+            sessionService.logOut();
+            return throwError(() => refreshError);
+          }),
+          finalize(() => refreshInFlight$ = null),
+          shareReplay(1)
+        );
+      }
+
+      return refreshInFlight$.pipe(
+        switchMap(session => next(withToken(request, session.token)))
+      );
+    })
+  );
+}
 
-  const token = sessionService.sessionInformation?.token;
-  if (token) {
-    request = request.clone({
-      setHeaders: {
-        Authorization: `Bearer ${token}`,
-      },
-    });
+function withToken(request: HttpRequest<unknown>, token: string | undefined): HttpRequest<unknown> {
+  if (!token) {
+    return request;
   }
 
-  return next(request);
+  return request.clone({
+    setHeaders: {
+      Authorization: `Bearer ${token}`,
+    },
+  });
 }
@@ -15,8 +15,8 @@ describe('ListComponent', () => {
   let fixture: ComponentFixture<ListComponent>;
 
   const mockSessions = [
-    { id: 1, name: 'Yoga', description: 'Session desc', date: new Date(), teacherId: 10, users: [], createdAt: new Date(), updatedAt: new Date() },
-    { id: 2, name: 'Pilates', description: 'Another desc', date: new Date(), teacherId: 11, users: [], createdAt: new Date(), updatedAt: new Date() }
+    { id: 1, name: 'Yoga', description: 'Session desc', date: new Date(), teacherId: 10, participantCount: 0, createdAt: new Date(), updatedAt: new Date() },
+    { id: 2, name: 'Pilates', description: 'Another desc', date: new Date(), teacherId: 11, participantCount: 0, createdAt: new Date(), updatedAt: new Date() }
   ];
 
   const mockUser = {
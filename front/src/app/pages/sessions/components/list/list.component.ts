@@ -2,7 +2,7 @@ import { Component, inject } from '@angular/core';
 import { map, Observable } from 'rxjs';
 import { SessionInformation } from '../../../../core/models/auth/sessionInformation.interface';
 import { SessionService } from '../../../../core/service/auth/session.service';
-import { Session } from '../../../../core/models/session/session.interface';
+import { SessionSummary } from '../../../../core/models/session/sessionSummary.interface';
 import { SessionApiService } from '../../../../core/service/session/session-api.service';
 import { MaterialModule } from "../../../../shared/material.module";
 import { CommonModule } from "@angular/common";
@@ -65,7 +65,7 @@ export class ListComponent {
   private sessionApiService = inject(SessionApiService);
   private sessionService = inject(SessionService);
 
-  public sessions$: Observable<Session[]> = this.sessionApiService.all();
+  public sessions$: Observable<SessionSummary[]> = this.sessionApiService.all();
   public user$: Observable<SessionInformation | undefined> = this.sessionService.isLogged$.pipe(
     map(() => this.sessionService.sessionInformation)
   );